@@ -0,0 +1,78 @@
+package com.innova.restaurant.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.innova.restaurant.dto.RestaurantWithReviewsDto;
+import com.innova.restaurant.model.document.ReviewDocument;
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.model.enums.UserRole;
+
+/**
+ * Datos de prueba compartidos por los benchmarks
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {}
+
+    static User owner() {
+        User owner = new User("owner1", "owner1@example.com", "hashed", "Ana", "García", UserRole.RESTAURANT_OWNER);
+        owner.setId(1L);
+        return owner;
+    }
+
+    static Restaurant restaurant() {
+        Restaurant restaurant = new Restaurant("La Terraza", "Av. Reforma 10", "+50212345678", "info@laterraza.com",
+                                               LocalTime.of(12, 0), LocalTime.of(23, 0), 80, owner());
+        restaurant.setId(10L);
+        restaurant.setDescription("Cocina mediterránea con terraza");
+        return restaurant;
+    }
+
+    static RestaurantTable table(Long id, Restaurant restaurant) {
+        RestaurantTable table = new RestaurantTable(id.intValue(), 4, restaurant);
+        table.setId(id);
+        return table;
+    }
+
+    static Reservation reservation(Long id, RestaurantTable table, LocalDateTime dateTime) {
+        User customer = new User("customer" + id, "customer" + id + "@example.com", "hashed",
+                                 "Luis", "Pérez", UserRole.CUSTOMER);
+        customer.setId(100L + id);
+        Reservation reservation = new Reservation(customer, table.getRestaurant(), table, dateTime, 2, "Ventana");
+        reservation.setId(id);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        return reservation;
+    }
+
+    static ReviewDocument review(int i, Long restaurantId) {
+        ReviewDocument review = new ReviewDocument();
+        review.setId("review-" + i);
+        review.setUserId(100L + i);
+        review.setRestaurantId(restaurantId);
+        review.setOverallRating(3.5 + (i % 3) * 0.5);
+        review.setComment("Muy buena comida y atención, volveremos pronto");
+        review.setDetailedRatings(Map.of("food", 4.5, "service", 4.0, "ambiance", 5.0));
+        return review;
+    }
+
+    static RestaurantWithReviewsDto restaurantWithReviews(int reviews) {
+        Restaurant restaurant = restaurant();
+        List<ReviewDocument> documents = new ArrayList<>();
+        for (int i = 0; i < reviews; i++) {
+            documents.add(review(i, restaurant.getId()));
+        }
+        Map<Integer, Long> distribution = new TreeMap<>(Map.of(1, 0L, 2, 1L, 3, 4L, 4, 12L, 5, 20L));
+        RestaurantWithReviewsDto.ReviewStats stats = new RestaurantWithReviewsDto.ReviewStats(
+            37, 4.3, distribution, Map.of("food", 4.5, "service", 4.1));
+        return new RestaurantWithReviewsDto(restaurant, documents, stats);
+    }
+}
@@ -0,0 +1,84 @@
+package com.innova.restaurant.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.service.availability.TableAvailabilityIndex;
+
+/**
+ * Coste en memoria de buscar un conflicto de horario en las reservas de una mesa
+ *
+ * Microbenchmark de estructuras de datos, no del camino de reserva: el servicio decide con una
+ * consulta exists en base de datos con la mesa bloqueada, y TableAvailabilityIndex es solo una
+ * pista que no rechaza reservas.
+ * - indexLookup: consulta al índice ordenado por fecha (TableAvailabilityIndex.hasConflict)
+ * - windowScan: recorrido lineal de las reservas de la ventana de conflicto ya cargadas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictLookupBenchmark {
+
+    @Param({"10", "1000"})
+    private int reservationsPerTable;
+
+    private TableAvailabilityIndex index;
+
+    private List<Reservation> window;
+
+    private LocalDateTime requested;
+
+    @Setup
+    public void setUp() {
+        Restaurant restaurant = BenchmarkFixtures.restaurant();
+        RestaurantTable table = BenchmarkFixtures.table(5L, restaurant);
+        LocalDateTime start = LocalDateTime.of(2026, 11, 1, 12, 0);
+
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < reservationsPerTable; i++) {
+            // Reservas cada 3 horas: la hora solicitada cae entre dos de ellas
+            reservations.add(BenchmarkFixtures.reservation((long) i, table, start.plusHours(3L * i)));
+        }
+        index = new TableAvailabilityIndex(null, null, true);
+        index.load(reservations);
+
+        requested = start.plusHours(3L * (reservationsPerTable / 2) + 1);
+        LocalDateTime from = requested.minusHours(TableAvailabilityIndex.CONFLICT_WINDOW_HOURS);
+        LocalDateTime to = requested.plusHours(TableAvailabilityIndex.CONFLICT_WINDOW_HOURS);
+        window = reservations.stream()
+            .filter(r -> !r.getReservationDate().isBefore(from) && !r.getReservationDate().isAfter(to))
+            .toList();
+    }
+
+    @Benchmark
+    public boolean indexLookup() {
+        return index.hasConflict(5L, requested, null);
+    }
+
+    @Benchmark
+    public boolean windowScan() {
+        return window.stream()
+            .anyMatch(r -> r.getStatus() != ReservationStatus.CANCELLED);
+    }
+}
@@ -0,0 +1,83 @@
+package com.innova.restaurant.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.innova.restaurant.dto.RestaurantWithReviewsDto;
+import com.innova.restaurant.model.document.ReviewDocument;
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.Restaurant;
+
+/**
+ * Serialización JSON de las respuestas más frecuentes
+ * El ObjectMapper se configura como el de la aplicación (Spring + fail-on-empty-beans: false)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10"})
+    private int reviewsPerRestaurant;
+
+    private ObjectMapper objectMapper;
+
+    private Reservation reservation;
+
+    private Restaurant restaurant;
+
+    private RestaurantWithReviewsDto restaurantWithReviews;
+
+    private ReviewDocument review;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .build();
+        restaurant = BenchmarkFixtures.restaurant();
+        reservation = BenchmarkFixtures.reservation(1L, BenchmarkFixtures.table(5L, restaurant),
+                                                    LocalDateTime.of(2026, 11, 20, 20, 0));
+        restaurantWithReviews = BenchmarkFixtures.restaurantWithReviews(reviewsPerRestaurant);
+        review = BenchmarkFixtures.review(1, restaurant.getId());
+    }
+
+    @Benchmark
+    public byte[] reservation() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reservation);
+    }
+
+    @Benchmark
+    public byte[] restaurant() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(restaurant);
+    }
+
+    @Benchmark
+    public byte[] restaurantWithReviews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(restaurantWithReviews);
+    }
+
+    @Benchmark
+    public byte[] reviewDocument() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(review);
+    }
+}
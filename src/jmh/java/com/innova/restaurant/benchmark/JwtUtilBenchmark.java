@@ -0,0 +1,95 @@
+package com.innova.restaurant.benchmark;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.innova.restaurant.security.JwtUtil;
+import com.innova.restaurant.security.JwtUtil.VerifiedToken;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Coste por request de la verificación JWT
+ *
+ * - legacyFilterPath: lo que hacía el filtro antes (clave y parser nuevos en cada
+ *   llamada; extractUsername + validateToken = cuatro verificaciones del token)
+ * - parseOnceUncached: una verificación con clave y parser reutilizados, token siempre nuevo
+ * - parseOnceCached: el mismo token en requests sucesivos (acierto en la caché de tokens verificados)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKey123456789benchmarkSecretKey123456789benchmarkKey";
+
+    private JwtUtil jwtUtil;
+
+    private JwtUtil uncachedJwtUtil;
+
+    private String token;
+
+    private String[] distinctTokens;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil(10_000);
+        uncachedJwtUtil = newJwtUtil(0);
+        token = jwtUtil.generateToken("maria@example.com", "CUSTOMER", 7L);
+        distinctTokens = new String[1024];
+        for (int i = 0; i < distinctTokens.length; i++) {
+            distinctTokens[i] = jwtUtil.generateToken("user" + i + "@example.com", "CUSTOMER", (long) i);
+        }
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String username = legacyClaims(token).getSubject();
+        boolean sameUser = legacyClaims(token).getSubject().equals(username);
+        Date expiration = legacyClaims(token).getExpiration();
+        return sameUser && legacyClaims(token) != null && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken parseOnceUncached() {
+        next = (next + 1) & (distinctTokens.length - 1);
+        return uncachedJwtUtil.verify(distinctTokens[next]);
+    }
+
+    @Benchmark
+    public VerifiedToken parseOnceCached() {
+        return jwtUtil.verify(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static JwtUtil newJwtUtil(long claimsCacheMaxSize) {
+        return new JwtUtil(SECRET, 3_600_000L, claimsCacheMaxSize);
+    }
+}
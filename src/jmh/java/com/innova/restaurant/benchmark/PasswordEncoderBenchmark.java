@@ -0,0 +1,52 @@
+package com.innova.restaurant.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Coste de BCrypt por fuerza (login y registro)
+ * SecurityConfig usa la fuerza por defecto (10)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({"4", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        encoded = encoder.encode("password123");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("password123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("password123", encoded);
+    }
+}
@@ -0,0 +1,83 @@
+package com.innova.restaurant.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.innova.restaurant.service.search.SuggestTrie;
+
+/**
+ * Autocompletado en memoria (SuggestTrie) sobre nombres y direcciones sintéticos
+ *
+ * - shortPrefix: una letra, el peor caso de recorrido del subárbol
+ * - wordPrefix: prefijo de una palabra frecuente
+ * - multiTerm: nombre y dirección combinados (verificación de varios términos)
+ *
+ * El setup imprime la memoria estimada del índice (SuggestTrie.estimatedBytes) para el tamaño
+ * medido; con 1M de restaurantes ronda los 190 MB. Requiere -Xmx de al menos 2 GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RestaurantSuggestBenchmark {
+
+    private static final String[] KINDS = {
+        "La", "El", "Casa", "Pizzería", "Taquería", "Café", "Bistro", "Parrilla",
+        "Sushi", "Marisquería", "Cantina", "Comedor", "Asador", "Trattoria", "Bodega", "Mesón"
+    };
+
+    private static final String[] WORDS = {
+        "Norte", "Sur", "Real", "Central", "Mar", "Sol", "Luna", "Jardín",
+        "Plaza", "Río", "Montaña", "Dorado", "Verde", "Azul"
+    };
+
+    @Param({"100000", "1000000"})
+    private int restaurants;
+
+    private SuggestTrie trie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        trie = new SuggestTrie();
+        for (int i = 1; i <= restaurants; i++) {
+            String name = KINDS[random.nextInt(KINDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                + " " + Integer.toString(random.nextInt(200_000), 36);
+            String address = "Calle " + random.nextInt(5_000) + " Zona " + random.nextInt(25);
+            trie.put(i, name, address);
+        }
+        System.out.printf("%nSuggestTrie: %d restaurantes, %d nodos, %.1f MB estimados (%.0f bytes/restaurante)%n",
+            trie.size(), trie.nodeCount(), trie.estimatedBytes() / 1e6, trie.estimatedBytes() / (double) restaurants);
+    }
+
+    @Benchmark
+    public List<SuggestTrie.Suggestion> shortPrefix() {
+        return trie.suggest("p", 10);
+    }
+
+    @Benchmark
+    public List<SuggestTrie.Suggestion> wordPrefix() {
+        return trie.suggest("pizz", 10);
+    }
+
+    @Benchmark
+    public List<SuggestTrie.Suggestion> multiTerm() {
+        return trie.suggest("cafe zona 3", 10);
+    }
+}
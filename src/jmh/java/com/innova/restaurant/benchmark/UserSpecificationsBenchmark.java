@@ -0,0 +1,101 @@
+package com.innova.restaurant.benchmark;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.model.enums.UserRole;
+import com.innova.restaurant.repository.jpa.UserSpecifications;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Construcción de predicados de UserSpecifications (búsqueda de usuarios)
+ * Mide solo la construcción del Criteria, sin ejecutar la consulta
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSpecificationsBenchmark {
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    private CriteriaBuilder criteriaBuilder;
+
+    private Specification<User> nameSearch;
+
+    private Specification<User> combined;
+
+    @Setup
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        Properties properties = new Properties();
+        properties.setProperty("hibernate.hbm2ddl.auto", "create-drop");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.innova.restaurant.model.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaProperties(properties);
+        factory.afterPropertiesSet();
+
+        entityManagerFactory = factory.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        criteriaBuilder = entityManager.getCriteriaBuilder();
+
+        nameSearch = UserSpecifications.hasNameContaining("maria");
+        combined = Specification.where(UserSpecifications.hasNameContaining("maria"))
+            .and(UserSpecifications.hasRole(UserRole.CUSTOMER))
+            .and(UserSpecifications.isActive(true))
+            .and(UserSpecifications.hasEmailContaining("example.com"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Predicate nameSearch() {
+        return toPredicate(nameSearch);
+    }
+
+    @Benchmark
+    public Predicate combinedFilters() {
+        return toPredicate(combined);
+    }
+
+    private Predicate toPredicate(Specification<User> specification) {
+        CriteriaQuery<User> query = criteriaBuilder.createQuery(User.class);
+        Root<User> root = query.from(User.class);
+        return specification.toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,21 @@
+package com.innova.restaurant.loadtest;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+/**
+ * Beans adicionales de la prueba de carga: filtro de métricas por operación
+ *
+ * Sin @Configuration para que el escaneo de componentes no la recoja: solo la registra LoadTestRunner.
+ */
+class LoadTestConfig {
+
+    @Bean
+    FilterRegistrationBean<ServerRequestMetrics.Filter> loadTestMetricsFilter() {
+        FilterRegistrationBean<ServerRequestMetrics.Filter> registration =
+            new FilterRegistrationBean<>(new ServerRequestMetrics.Filter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,237 @@
+package com.innova.restaurant.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Genera la carga mixta contra los controladores Restaurant, Reservation, Hybrid y Auth
+ *
+ * Cada hilo elige una operación según su peso, envía la petición con la cabecera X-Load-Op
+ * y registra la latencia observada por el cliente. Los tokens JWT se obtienen antes de empezar.
+ */
+class LoadTestDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDriver.class);
+
+    private static final int TOKEN_POOL_SIZE = 20;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final LoadTestSeeder data;
+    private final List<Operation> operations = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private int totalWeight;
+
+    private volatile boolean recording;
+
+    LoadTestDriver(int port, LoadTestSeeder data) {
+        this.baseUrl = "http://localhost:" + port;
+        this.data = data;
+
+        operation("restaurants.page", 15, false, random ->
+            get("/api/restaurants?page=" + random.nextInt(Math.max(1, data.restaurants / 20)) + "&size=20"));
+        operation("restaurants.byId", 20, false, random ->
+            get("/api/restaurants/" + restaurantId(random)));
+        operation("restaurants.search", 5, false, random ->
+            get("/api/restaurants/search/text?q=restaurante+" + restaurantId(random) + "&size=20"));
+        operation("restaurants.availability", 15, false, random -> {
+            LocalDateTime from = data.baseTime.plusDays(1 + random.nextInt(60)).withHour(18);
+            return get("/api/restaurants/" + restaurantId(random) + "/availability?partySize=2&from="
+                + from + "&to=" + from.plusHours(4));
+        });
+        operation("restaurants.withReviews", 5, true, random ->
+            get("/api/restaurants/with-reviews?page=" + random.nextInt(Math.max(1, data.restaurants / 10))
+                + "&size=10&reviewsSize=5"));
+        operation("reservations.byId", 10, true, random ->
+            get("/api/reservations/" + (1 + random.nextLong(data.reservations()))));
+        operation("reservations.byRestaurant", 5, true, random ->
+            get("/api/reservations/restaurant/" + restaurantId(random) + "?status=CONFIRMED"));
+        operation("reservations.create", 5, true, random -> {
+            long restaurantId = restaurantId(random);
+            long tableId = data.tableId(restaurantId, random.nextInt(LoadTestSeeder.TABLES_PER_RESTAURANT));
+            // Fechas lejanas y dispersas para que los conflictos sean la excepción
+            LocalDateTime date = data.baseTime.plusDays(400 + random.nextInt(3650)).withHour(random.nextInt(24));
+            String body = "{\"userId\":" + data.customerId(random.nextInt(data.customers))
+                + ",\"restaurantId\":" + restaurantId + ",\"tableId\":" + tableId
+                + ",\"reservationDateTime\":\"" + date + "\",\"numberOfPeople\":2}";
+            return post("/api/reservations", body);
+        });
+        operation("hybrid.reviews", 10, true, random ->
+            get("/api/hybrid/restaurants/" + restaurantId(random) + "/reviews?page=0&size=10"));
+        operation("hybrid.statistics", 10, true, random ->
+            get("/api/hybrid/restaurants/" + restaurantId(random) + "/statistics"));
+        operation("auth.login", 5, false, random ->
+            post("/api/auth/login", loginBody(random.nextInt(data.customers))));
+    }
+
+    /**
+     * Inicia sesión con un grupo de clientes para reutilizar sus tokens durante la prueba
+     */
+    void authenticate() throws IOException, InterruptedException {
+        for (int i = 0; i < TOKEN_POOL_SIZE; i++) {
+            HttpResponse<String> response = client.send(
+                post("/api/auth/login", loginBody(i)).build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login fallido para el cliente " + i + ": " + response.body());
+            }
+            tokens.add(objectMapper.readTree(response.body()).get("accessToken").asText());
+        }
+        logger.info("Tokens JWT obtenidos para {} clientes", tokens.size());
+    }
+
+    /**
+     * Ejecuta la carga durante el tiempo indicado; si record es falso solo calienta la aplicación
+     */
+    void run(int threads, Duration duration, boolean record) throws InterruptedException {
+        recording = record;
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    execute(pick(random), random);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    Map<String, Recorder> recorders() {
+        return recorders;
+    }
+
+    private void execute(Operation operation, ThreadLocalRandom random) {
+        HttpRequest.Builder builder = operation.request().apply(random)
+            .header(ServerRequestMetrics.OPERATION_HEADER, operation.name())
+            .timeout(Duration.ofSeconds(30));
+        if (operation.authenticated()) {
+            builder.header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())));
+        }
+        long started = System.nanoTime();
+        boolean failed;
+        try {
+            HttpResponse<Void> response = client.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (recording) {
+            recorders.computeIfAbsent(operation.name(), key -> new Recorder())
+                .record(System.nanoTime() - started, failed);
+        }
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        int target = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            target -= operation.weight();
+            if (target < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private void operation(String name, int weight, boolean authenticated,
+                           Function<ThreadLocalRandom, HttpRequest.Builder> request) {
+        operations.add(new Operation(name, weight, authenticated, request));
+        totalWeight += weight;
+    }
+
+    private long restaurantId(ThreadLocalRandom random) {
+        return 1 + random.nextInt(data.restaurants);
+    }
+
+    private String loginBody(int customerIndex) {
+        return "{\"username\":\"customer" + data.customerId(customerIndex)
+            + "\",\"password\":\"" + LoadTestSeeder.PASSWORD + "\"}";
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private record Operation(String name, int weight, boolean authenticated,
+                             Function<ThreadLocalRandom, HttpRequest.Builder> request) {}
+
+    /**
+     * Latencias de una operación observadas por el cliente
+     */
+    static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void record(long nanos, boolean failed) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized Map<String, Object> summary(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("errors", errors);
+            summary.put("throughputPerSecond", round(count / seconds));
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p95Ms", percentile(sorted, 0.95));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("maxMs", count == 0 ? 0 : round(sorted[count - 1] / 1e6));
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return round(sorted[Math.max(0, index)] / 1e6);
+        }
+    }
+
+    static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,169 @@
+package com.innova.restaurant.loadtest;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.innova.restaurant.RestaurantReservationPlatformApplication;
+import com.innova.restaurant.service.availability.TableAvailabilityIndex;
+
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+
+/**
+ * Prueba de carga de extremo a extremo sin infraestructura externa
+ *
+ * Arranca la aplicación completa con el perfil test (H2 en memoria) y un MongoDB embebido,
+ * genera el volumen de datos, calienta la JVM y mide la carga mixta. El informe se imprime
+ * por consola y se guarda en JSON (por defecto target/loadtest-report.json).
+ *
+ * Propiedades del sistema:
+ * - loadtest.scale: fracción del volumen completo (1.0 = 10k restaurantes, 5M reservas)
+ * - loadtest.threads, loadtest.warmup-seconds, loadtest.duration-seconds
+ * - loadtest.mongo.uri: MongoDB existente en lugar del embebido
+ * - loadtest.report: ruta del informe JSON
+ */
+public class LoadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    public static void main(String[] args) throws Exception {
+        double scale = Double.parseDouble(System.getProperty("loadtest.scale", "0.01"));
+        int threads = Integer.getInteger("loadtest.threads", 16);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+        String reportPath = System.getProperty("loadtest.report", "target/loadtest-report.json");
+
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        String mongoUri = System.getProperty("loadtest.mongo.uri", "");
+        if (mongoUri.isBlank()) {
+            mongod = Mongod.instance().start(Version.Main.V6_0);
+            ServerAddress address = mongod.current().getServerAddress();
+            mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/restaurant_db";
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                RestaurantReservationPlatformApplication.class, LoadTestConfig.class)
+            .run("--spring.profiles.active=test",
+                 "--server.port=0",
+                 "--spring.jpa.show-sql=false",
+                 "--logging.level.com.innova.restaurant=INFO",
+                 "--logging.level.org.springframework.security=WARN",
+                 // Se mide sin fallar por presupuesto ni retener respuestas para las cabeceras
+                 "--app.db-budget.fail-on-exceeded=false",
+                 "--app.db-budget.expose-headers=false",
+                 "--MONGODB_ATLAS_URI=" + mongoUri);
+        try {
+            LoadTestSeeder seeder = new LoadTestSeeder(context.getBean(JdbcTemplate.class),
+                context.getBean(MongoTemplate.class), context.getBean(PasswordEncoder.class), scale);
+            seeder.seed();
+            // El índice se precargó con las tablas vacías
+            context.getBean(TableAvailabilityIndex.class).afterSingletonsInstantiated();
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestDriver driver = new LoadTestDriver(port, seeder);
+            driver.authenticate();
+
+            logger.info("Calentamiento durante {} s con {} hilos", warmup.toSeconds(), threads);
+            driver.run(threads, warmup, false);
+            ServerRequestMetrics.reset();
+
+            logger.info("Medición durante {} s con {} hilos", duration.toSeconds(), threads);
+            driver.run(threads, duration, true);
+
+            Map<String, Object> report = report(seeder, driver, threads, duration);
+            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            File file = new File(reportPath);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            objectMapper.writeValue(file, report);
+            print(report);
+            logger.info("Informe guardado en {}", file.getAbsolutePath());
+        } finally {
+            context.close();
+            if (mongod != null) {
+                mongod.close();
+            }
+        }
+    }
+
+    private static Map<String, Object> report(LoadTestSeeder seeder, LoadTestDriver driver,
+                                              int threads, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        Map<String, ServerRequestMetrics.Totals> server = ServerRequestMetrics.snapshot();
+
+        Map<String, Object> operations = new TreeMap<>();
+        long requests = 0;
+        long allocatedBytes = 0;
+        for (Map.Entry<String, LoadTestDriver.Recorder> entry : driver.recorders().entrySet()) {
+            Map<String, Object> summary = entry.getValue().summary(seconds);
+            requests += ((Number) summary.get("requests")).longValue();
+            ServerRequestMetrics.Totals totals = server.get(entry.getKey());
+            if (totals != null) {
+                summary.put("sqlStatementsPerRequest", LoadTestDriver.round(totals.average(totals.sqlStatements)));
+                summary.put("mongoCommandsPerRequest", LoadTestDriver.round(totals.average(totals.mongoCommands)));
+                summary.put("allocatedKbPerRequest",
+                            LoadTestDriver.round(totals.average(totals.allocatedBytes) / 1024));
+                allocatedBytes += totals.allocatedBytes.sum();
+            }
+            operations.put(entry.getKey(), summary);
+        }
+
+        Map<String, Object> dataset = new LinkedHashMap<>();
+        dataset.put("restaurants", seeder.restaurants);
+        dataset.put("tables", seeder.tables());
+        dataset.put("reservations", seeder.reservations());
+        dataset.put("reviews", seeder.reviews());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("dataset", dataset);
+        report.put("threads", threads);
+        report.put("durationSeconds", seconds);
+        report.put("throughputPerSecond", LoadTestDriver.round(requests / seconds));
+        report.put("allocationRateMbPerSecond", LoadTestDriver.round(allocatedBytes / seconds / (1024 * 1024)));
+        report.put("operations", operations);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-28s %8s %6s %9s %8s %8s %8s %8s %6s %6s %9s",
+            "operación", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms",
+            "sql", "mongo", "alloc KB"));
+        Map<String, Object> operations = (Map<String, Object>) report.get("operations");
+        operations.forEach((name, value) -> {
+            Map<String, Object> summary = (Map<String, Object>) value;
+            lines.add(String.format("%-28s %8s %6s %9s %8s %8s %8s %8s %6s %6s %9s", name,
+                summary.get("requests"), summary.get("errors"), summary.get("throughputPerSecond"),
+                summary.get("p50Ms"), summary.get("p95Ms"), summary.get("p99Ms"), summary.get("maxMs"),
+                summary.getOrDefault("sqlStatementsPerRequest", "-"),
+                summary.getOrDefault("mongoCommandsPerRequest", "-"),
+                summary.getOrDefault("allocatedKbPerRequest", "-")));
+        });
+        lines.add(String.format("Total: %s req/s, asignación %s MB/s",
+            report.get("throughputPerSecond"), report.get("allocationRateMbPerSecond")));
+        System.out.println(String.join(System.lineSeparator(), lines));
+    }
+
+    private LoadTestRunner() {}
+}
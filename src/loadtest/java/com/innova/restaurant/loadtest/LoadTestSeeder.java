@@ -0,0 +1,226 @@
+package com.innova.restaurant.loadtest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.RestaurantTable;
+
+/**
+ * Carga el volumen de datos de la prueba de carga directamente por JDBC y el driver de MongoDB
+ *
+ * Con scale = 1.0 se generan 10k restaurantes, 100k mesas, 5M reservas y 2M reviews.
+ * Los ids se asignan explícitamente para que el driver pueda elegirlos sin consultar la base.
+ */
+class LoadTestSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestSeeder.class);
+
+    static final String PASSWORD = "password123";
+
+    static final int TABLES_PER_RESTAURANT = 10;
+    static final int RESERVATIONS_PER_TABLE = 50;
+    static final int REVIEWS_PER_RESTAURANT = 200;
+
+    // Días entre reservas de una misma mesa; un tercio de ellas queda en el futuro
+    static final int DAYS_BETWEEN_RESERVATIONS = 6;
+    static final int FUTURE_RESERVATIONS_PER_TABLE = RESERVATIONS_PER_TABLE / 3;
+
+    private static final int BATCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    final int restaurants;
+    final int owners;
+    final int customers;
+    final LocalDateTime baseTime = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    LoadTestSeeder(JdbcTemplate jdbcTemplate, MongoTemplate mongoTemplate,
+                   PasswordEncoder passwordEncoder, double scale) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.restaurants = Math.max(1, (int) Math.round(10_000 * scale));
+        this.owners = Math.max(1, restaurants / 10);
+        this.customers = Math.max(20, restaurants * 5);
+    }
+
+    int tables() {
+        return restaurants * TABLES_PER_RESTAURANT;
+    }
+
+    long reservations() {
+        return (long) tables() * RESERVATIONS_PER_TABLE;
+    }
+
+    long reviews() {
+        return (long) restaurants * REVIEWS_PER_RESTAURANT;
+    }
+
+    /**
+     * Ids de usuario: primero los propietarios, luego los clientes
+     */
+    long customerId(int index) {
+        return owners + 1L + index;
+    }
+
+    long tableId(long restaurantId, int tableIndex) {
+        return (restaurantId - 1) * TABLES_PER_RESTAURANT + tableIndex + 1;
+    }
+
+    void seed() {
+        long started = System.nanoTime();
+        seedUsers();
+        seedRestaurants();
+        seedTables();
+        seedReservations();
+        seedReviews();
+        logger.info("Datos de carga generados en {} s: {} restaurantes, {} mesas, {} reservas, {} reviews",
+                    (System.nanoTime() - started) / 1_000_000_000, restaurants, tables(), reservations(), reviews());
+    }
+
+    private void seedUsers() {
+        // Un solo hash BCrypt para todos: el coste de codificar 50k contraseñas no aporta a la prueba
+        String hash = passwordEncoder.encode(PASSWORD);
+        Timestamp now = Timestamp.valueOf(baseTime);
+        int total = owners + customers;
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= total; i++) {
+            boolean owner = i <= owners;
+            String username = (owner ? "owner" : "customer") + i;
+            rows.add(new Object[] {
+                (long) i, username, username + "@loadtest.local", hash, "Nombre" + i, "Apellido" + i,
+                "555-" + i, owner ? "RESTAURANT_OWNER" : "CUSTOMER", true, now, now
+            });
+            flushIfFull(rows, "INSERT INTO users (id, username, email, password, first_name, last_name, phone, "
+                + "role, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", i == total);
+        }
+        restartIdentity("users", total);
+    }
+
+    private void seedRestaurants() {
+        Timestamp now = Timestamp.valueOf(baseTime);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= restaurants; i++) {
+            rows.add(new Object[] {
+                (long) i, "Restaurante " + i, "Restaurante de prueba de carga " + i, "Calle " + i,
+                "555-" + i, "restaurante" + i + "@loadtest.local", LocalTime.of(0, 0), LocalTime.of(23, 59),
+                TABLES_PER_RESTAURANT * 6, (long) (i % owners) + 1, true, now, now
+            });
+            flushIfFull(rows, "INSERT INTO restaurants (id, name, description, address, phone, email, opening_time, "
+                + "closing_time, max_capacity, owner_id, is_active, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", i == restaurants);
+        }
+        restartIdentity("restaurants", restaurants);
+    }
+
+    private void seedTables() {
+        Timestamp now = Timestamp.valueOf(baseTime);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (long restaurantId = 1; restaurantId <= restaurants; restaurantId++) {
+            for (int t = 0; t < TABLES_PER_RESTAURANT; t++) {
+                rows.add(new Object[] {
+                    tableId(restaurantId, t), t + 1, 2 + (t % 4) * 2, "AVAILABLE", restaurantId, now, now
+                });
+                flushIfFull(rows, "INSERT INTO tables (id, table_number, capacity, status, restaurant_id, "
+                    + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    restaurantId == restaurants && t == TABLES_PER_RESTAURANT - 1);
+            }
+        }
+        restartSequence(RestaurantTable.ID_SEQUENCE, tables(), RestaurantTable.ID_ALLOCATION_SIZE);
+    }
+
+    private void seedReservations() {
+        Timestamp now = Timestamp.valueOf(baseTime);
+        LocalDateTime first = baseTime.withHour(12)
+            .minusDays((long) (RESERVATIONS_PER_TABLE - FUTURE_RESERVATIONS_PER_TABLE) * DAYS_BETWEEN_RESERVATIONS);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        long id = 0;
+        int tables = tables();
+        for (long tableId = 1; tableId <= tables; tableId++) {
+            long restaurantId = (tableId - 1) / TABLES_PER_RESTAURANT + 1;
+            for (int r = 0; r < RESERVATIONS_PER_TABLE; r++) {
+                LocalDateTime date = first.plusDays((long) r * DAYS_BETWEEN_RESERVATIONS)
+                    .plusHours(tableId % 8);
+                String status = date.isAfter(baseTime) ? "CONFIRMED" : "COMPLETED";
+                rows.add(new Object[] {
+                    ++id, customerId(random.nextInt(customers)), restaurantId, tableId,
+                    Timestamp.valueOf(date), 2, null, status, now, now
+                });
+                flushIfFull(rows, "INSERT INTO reservations (id, customer_id, restaurant_id, table_id, "
+                    + "reservation_date, number_of_people, special_requests, status, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", id == reservations());
+            }
+        }
+        restartSequence(Reservation.ID_SEQUENCE, id, Reservation.ID_ALLOCATION_SIZE);
+    }
+
+    private void seedReviews() {
+        mongoTemplate.dropCollection("reviews");
+        mongoTemplate.dropCollection("review_rollups");
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        Date created = Date.from(baseTime.atZone(ZoneId.systemDefault()).toInstant());
+        for (long restaurantId = 1; restaurantId <= restaurants; restaurantId++) {
+            for (int i = 0; i < REVIEWS_PER_RESTAURANT; i++) {
+                double rating = 1 + random.nextInt(5);
+                batch.add(new Document("restaurant_id", restaurantId)
+                    .append("user_id", customerId(random.nextInt(customers)))
+                    .append("rating", (int) rating)
+                    .append("overall_rating", rating)
+                    .append("comment", "Review de prueba de carga")
+                    .append("detailed_ratings", Map.of("food", rating, "service", rating))
+                    .append("is_visible", true)
+                    .append("moderation_status", "approved")
+                    .append("created_at", created));
+                if (batch.size() == BATCH_SIZE) {
+                    mongoTemplate.getCollection("reviews").insertMany(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.getCollection("reviews").insertMany(batch);
+        }
+        mongoTemplate.indexOps("reviews").ensureIndex(new Index().on("restaurant_id", Sort.Direction.ASC));
+        mongoTemplate.indexOps("reviews").ensureIndex(new Index().on("user_id", Sort.Direction.ASC));
+    }
+
+    private void flushIfFull(List<Object[]> rows, String sql, boolean last) {
+        if (rows.size() == BATCH_SIZE || (last && !rows.isEmpty())) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private void restartIdentity(String table, long maxId) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+    }
+
+    /**
+     * El optimizador pooled toma el valor de la secuencia como el último ID del bloque,
+     * por lo que se reinicia un bloque completo por encima del máximo insertado
+     */
+    private void restartSequence(String sequence, long maxId, int allocationSize) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + allocationSize));
+    }
+}
@@ -0,0 +1,86 @@
+package com.innova.restaurant.loadtest;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.innova.restaurant.monitoring.RoundTripBudgetFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Métricas de servidor por operación de la prueba de carga
+ *
+ * Por cada request acumula las sentencias SQL y los comandos MongoDB que cuenta
+ * RoundTripBudgetFilter y los bytes asignados en el hilo que lo atiende.
+ * La operación se identifica con la cabecera X-Load-Op que envía el driver.
+ */
+final class ServerRequestMetrics {
+
+    static final String OPERATION_HEADER = "X-Load-Op";
+
+    private static final Map<String, Totals> TOTALS = new ConcurrentHashMap<>();
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ServerRequestMetrics() {}
+
+    static Map<String, Totals> snapshot() {
+        return Map.copyOf(TOTALS);
+    }
+
+    static void reset() {
+        TOTALS.clear();
+    }
+
+    /**
+     * Totales acumulados de una operación
+     */
+    static final class Totals {
+        final LongAdder requests = new LongAdder();
+        final LongAdder sqlStatements = new LongAdder();
+        final LongAdder mongoCommands = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+
+        double average(LongAdder value) {
+            long count = requests.sum();
+            return count == 0 ? 0 : (double) value.sum() / count;
+        }
+    }
+
+    /**
+     * Filtro exterior a RoundTripBudgetFilter y a toda la cadena de seguridad
+     */
+    static class Filter extends OncePerRequestFilter {
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                String operation = request.getHeader(OPERATION_HEADER);
+                if (operation != null) {
+                    Totals totals = TOTALS.computeIfAbsent(operation, key -> new Totals());
+                    totals.requests.increment();
+                    totals.sqlStatements.add(count(request, RoundTripBudgetFilter.SQL_COUNT_ATTRIBUTE));
+                    totals.mongoCommands.add(count(request, RoundTripBudgetFilter.MONGO_COUNT_ATTRIBUTE));
+                    totals.allocatedBytes.add(THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore);
+                }
+            }
+        }
+
+        private static int count(HttpServletRequest request, String attribute) {
+            Object value = request.getAttribute(attribute);
+            return value instanceof Integer count ? count : 0;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Clase principal de la aplicación Restaurant Reservation Platform
@@ -17,6 +18,7 @@ import org.springframework.data.mongodb.repository.config.EnableMongoRepositorie
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.innova.restaurant.repository.jpa")
 @EnableMongoRepositories(basePackages = "com.innova.restaurant.repository.document")
+@EnableScheduling
 public class RestaurantReservationPlatformApplication {
 
     public static void main(String[] args) {
@@ -1,8 +1,12 @@
 package com.innova.restaurant.config;
 
+import java.util.List;
+
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 
@@ -15,6 +19,11 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Value("${MONGODB_ATLAS_URI:${MONGODB_URI:mongodb://localhost:27017/restaurant_db}}")
     private String mongoUri;
 
+    // Personalizaciones registradas como beans: métricas de Micrometer por comando y del pool,
+    // contadores de la prueba de carga. Este cliente no pasa por MongoAutoConfiguration.
+    @Autowired(required = false)
+    private List<MongoClientSettingsBuilderCustomizer> clientSettingsCustomizers = List.of();
+
     @Override
     protected String getDatabaseName() {
         // Extraer el nombre de la base de datos del URI
@@ -29,6 +38,7 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     protected void configureClientSettings(MongoClientSettings.Builder builder) {
         // Configurar el URI de conexión
         builder.applyConnectionString(new ConnectionString(mongoUri));
+        clientSettingsCustomizers.forEach(customizer -> customizer.customize(builder));
         System.out.println("🔧 MongoDB configurado con URI: " + mongoUri);
     }
 }
\ No newline at end of file
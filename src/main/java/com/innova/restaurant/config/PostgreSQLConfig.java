@@ -43,6 +43,8 @@ public class PostgreSQLConfig {
         config.setUsername(username);
         config.setPassword(password);
         config.setDriverClassName(driverClassName);
+        // Nombre del pool en las métricas hikaricp.* de Micrometer
+        config.setPoolName("restaurant-pool");
         
         // Configuraciones de optimización
         config.setMaximumPoolSize(20);
@@ -51,6 +53,8 @@ public class PostgreSQLConfig {
         config.setIdleTimeout(600000);
         config.setMaxLifetime(1800000);
         config.setLeakDetectionThreshold(60000);
+        // Lotes de INSERT reescritos por el driver como un único INSERT multi-fila
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
         
         return new HikariDataSource(config);
     }
@@ -0,0 +1,27 @@
+package com.innova.restaurant.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.innova.restaurant.monitoring.MongoCommandCounter;
+import com.innova.restaurant.monitoring.SqlStatementCounter;
+
+/**
+ * Registra los contadores de viajes a base de datos por request en Hibernate y en el cliente MongoDB
+ */
+@Configuration
+public class RoundTripMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandCounterCustomizer() {
+        return settings -> settings.addCommandListener(new MongoCommandCounter());
+    }
+}
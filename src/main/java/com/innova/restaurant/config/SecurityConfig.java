@@ -25,6 +25,8 @@ import com.innova.restaurant.security.JwtAuthenticationEntryPoint;
 import com.innova.restaurant.security.JwtAuthenticationFilter;
 import com.innova.restaurant.service.impl.UserDetailsServiceImpl;
 
+import jakarta.servlet.DispatcherType;
+
 /**
  * Configuración de seguridad Spring Security con JWT
  * 
@@ -70,11 +72,16 @@ public class SecurityConfig {
             
             // Configurar autorización de endpoints
             .authorizeHttpRequests(auth -> auth
+                // Re-despacho asíncrono de respuestas en streaming (SSE): la petición original ya se autorizó
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Endpoints públicos - no requieren autenticación
                 .requestMatchers(
                     "/api/auth/**",           // Login, registro, refresh token
                     "/api/restaurants/search", // Búsqueda pública de restaurantes
+                    "/api/restaurants/search/text", // Búsqueda de texto completo
                     "/api/restaurants/{id}",   // Ver detalles públicos de restaurante
+                    "/api/restaurants/*/availability", // Disponibilidad pública de mesas
                     "/api/restaurants",        // Listar restaurantes (público)
                     "/actuator/health",        // Health check
                     "/swagger-ui/**",          // Documentación Swagger
@@ -86,13 +93,18 @@ public class SecurityConfig {
                 .requestMatchers(
                     "/api/restaurants/create",
                     "/api/restaurants/*/manage",
-                    "/api/restaurants/*/status"
+                    "/api/restaurants/*/status",
+                    "/api/reservations/batch"  // Reservas de grupo e importaciones en lote
                 ).hasRole("RESTAURANT_OWNER")
+
+                // Plano de mesas: el servicio comprueba además que el restaurante sea del propietario
+                .requestMatchers("/api/restaurants/*/tables/layout").hasAnyRole("RESTAURANT_OWNER", "ADMIN")
                 
                 // Endpoints específicos para ADMINISTRADORES
                 .requestMatchers(
                     "/api/admin/**",
-                    "/api/users/*/role"
+                    "/api/users/*/role",
+                    "/actuator/**"
                 ).hasRole("ADMIN")
                 
                 // Endpoints que requieren autenticación pero cualquier rol
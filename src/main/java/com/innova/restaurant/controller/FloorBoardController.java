@@ -0,0 +1,50 @@
+package com.innova.restaurant.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.innova.restaurant.dto.FloorBoardDto;
+import com.innova.restaurant.dto.FloorBoardDto.ReservationEntry;
+import com.innova.restaurant.dto.FloorBoardDto.TableEntry;
+import com.innova.restaurant.service.ReservationService;
+import com.innova.restaurant.service.RestaurantTableService;
+import com.innova.restaurant.service.floor.FloorBoardBroadcaster;
+
+/**
+ * Controlador REST del tablero de salón en vivo
+ * Sustituye el sondeo de GET /api/reservations/today/{restaurantId} desde los tablets de sala
+ */
+@RestController
+@RequestMapping("/api/restaurants/{restaurantId}/floor")
+public class FloorBoardController {
+
+    @Autowired
+    private FloorBoardBroadcaster floorBoard;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RestaurantTableService restaurantTableService;
+
+    /**
+     * GET /api/restaurants/{restaurantId}/floor/stream - Tablero en vivo (text/event-stream)
+     * Un evento snapshot con mesas y reservas del día y, después, solo los cambios
+     * (o un evento resync antes de cerrar si el tablero pudo perder cambios: reconectar)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFloor(@PathVariable Long restaurantId) {
+        return floorBoard.subscribe(restaurantId, () -> new FloorBoardDto(
+            restaurantId,
+            LocalDate.now(),
+            restaurantTableService.findByRestaurantId(restaurantId).stream().map(TableEntry::from).toList(),
+            reservationService.findTodayReservations(restaurantId).stream().map(ReservationEntry::from).toList()));
+    }
+}
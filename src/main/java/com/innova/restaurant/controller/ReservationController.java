@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -19,8 +20,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.innova.restaurant.dto.CursorSliceDto;
+import com.innova.restaurant.dto.ReservationBatchResultDto;
 import com.innova.restaurant.model.entity.Reservation;
 import com.innova.restaurant.service.ReservationService;
+import com.innova.restaurant.service.impl.UserDetailsServiceImpl;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Future;
@@ -40,9 +44,16 @@ public class ReservationController {
 
     /**
      * GET /api/reservations - Obtener todas las reservaciones con paginación
+     * Con el parámetro after (vacío para la primera página) se pagina por cursor
      */
     @GetMapping
-    public ResponseEntity<Page<Reservation>> getAllReservations(Pageable pageable) {
+    public ResponseEntity<?> getAllReservations(
+            Pageable pageable,
+            @RequestParam(required = false) String after) {
+        if (after != null) {
+            CursorSliceDto<Reservation> slice = reservationService.findAllReservations(after, pageable.getPageSize());
+            return ResponseEntity.ok(slice);
+        }
         Page<Reservation> reservations = reservationService.findAllReservations(pageable);
         return ResponseEntity.ok(reservations);
     }
@@ -66,6 +77,19 @@ public class ReservationController {
         return ResponseEntity.created(location).body(reservation);
     }
 
+    /**
+     * POST /api/reservations/batch - Crear reservaciones en lote (grupos e importaciones)
+     * Las reservaciones válidas se crean y las demás se rechazan con su motivo, sin abortar el lote
+     * Solo se admiten reservas en restaurantes del propietario autenticado
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ReservationBatchResultDto> createReservations(
+            @AuthenticationPrincipal UserDetailsServiceImpl.CustomUserPrincipal principal,
+            @RequestBody List<CreateReservationRequest> requests) {
+        ReservationBatchResultDto result = reservationService.createReservations(principal.getUserId(), requests);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * PUT /api/v1/reservations/{id} - Actualizar reservación completa
      */
@@ -108,11 +132,18 @@ public class ReservationController {
 
     /**
      * GET /api/v1/reservations/restaurant/{restaurantId} - Reservaciones por restaurante
+     * Con el parámetro after (vacío para la primera página) se pagina por cursor
      */
     @GetMapping("/restaurant/{restaurantId}")
-    public ResponseEntity<List<Reservation>> getReservationsByRestaurant(
+    public ResponseEntity<?> getReservationsByRestaurant(
             @PathVariable Long restaurantId,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        if (after != null) {
+            CursorSliceDto<Reservation> slice = reservationService.findByRestaurant(restaurantId, status, after, size);
+            return ResponseEntity.ok(slice);
+        }
         List<Reservation> reservations = reservationService.findByRestaurant(restaurantId, status);
         return ResponseEntity.ok(reservations);
     }
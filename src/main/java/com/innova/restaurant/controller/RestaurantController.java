@@ -1,6 +1,7 @@
 package com.innova.restaurant.controller;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -8,6 +9,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,10 +22,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.innova.restaurant.dto.CursorSliceDto;
+import com.innova.restaurant.dto.RestaurantAvailabilityDto;
 import com.innova.restaurant.dto.RestaurantWithReviewsDto;
 import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.service.ReservationService;
 import com.innova.restaurant.service.RestaurantService;
+import com.innova.restaurant.service.conditional.ResourceVersion;
+import com.innova.restaurant.service.search.RestaurantSuggestIndex;
+import com.innova.restaurant.service.search.SuggestTrie;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -44,20 +54,38 @@ public class RestaurantController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RestaurantSuggestIndex restaurantSuggestIndex;
+
     /**
      * GET /api/restaurants - Obtener todos los restaurantes con paginación
+     * Con el parámetro after (vacío para la primera página) se pagina por cursor
      */
     @GetMapping
-    public ResponseEntity<Page<Restaurant>> getAllRestaurants(Pageable pageable) {
+    public ResponseEntity<?> getAllRestaurants(
+            Pageable pageable,
+            @RequestParam(required = false) String after) {
+        if (after != null) {
+            CursorSliceDto<Restaurant> slice = restaurantService.findAllRestaurants(after, pageable.getPageSize());
+            return ResponseEntity.ok(slice);
+        }
         Page<Restaurant> restaurants = restaurantService.findAllRestaurants(pageable);
         return ResponseEntity.ok(restaurants);
     }
 
     /**
      * GET /api/restaurants/{id} - Obtener restaurante por ID
+     * Admite If-None-Match / If-Modified-Since (304 sin serializar el cuerpo)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Restaurant> getRestaurantById(@PathVariable Long id) {
+    public ResponseEntity<Restaurant> getRestaurantById(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersion version = restaurantService.getRestaurantVersion(id);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Restaurant restaurant = restaurantService.findRestaurantById(id);
         return ResponseEntity.ok(restaurant);
     }
@@ -114,6 +142,42 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurants);
     }
 
+    /**
+     * GET /api/restaurants/search/text - Búsqueda de texto completo por nombre, descripción y dirección
+     */
+    @GetMapping("/search/text")
+    @Operation(summary = "Búsqueda de texto completo de restaurantes",
+               description = "Resultados ordenados por relevancia, con coincidencia por prefijo y tolerancia a errores tipográficos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Tamaño o número de página inválido")
+    })
+    public ResponseEntity<Slice<Restaurant>> searchRestaurantsText(
+            @RequestParam @Parameter(description = "Texto a buscar") String q,
+            @RequestParam(defaultValue = "true") @Parameter(description = "Solo restaurantes activos") boolean activeOnly,
+            @RequestParam(defaultValue = "0") @Parameter(description = "Número de página") int page,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Tamaño de página") int size) {
+        Slice<Restaurant> restaurants = restaurantService.searchRestaurants(q, activeOnly, page, size);
+        return ResponseEntity.ok(restaurants);
+    }
+
+    /**
+     * GET /api/restaurants/suggest - Autocompletado de nombres y direcciones (en memoria, sin consultar la base de datos)
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Autocompletar restaurantes",
+               description = "Sugerencias por prefijo de cada término sobre restaurantes activos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sugerencias obtenidas exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Límite inválido")
+    })
+    public ResponseEntity<List<SuggestTrie.Suggestion>> suggestRestaurants(
+            @RequestParam @Parameter(description = "Texto tecleado") String q,
+            @RequestParam(defaultValue = "10") @Parameter(description = "Número máximo de sugerencias") int limit) {
+        List<SuggestTrie.Suggestion> suggestions = restaurantSuggestIndex.suggest(q, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     /**
      * GET /api/v1/restaurants/by-owner/{ownerId} - Restaurantes por propietario
      */
@@ -134,6 +198,29 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurant);
     }
 
+    /**
+     * GET /api/restaurants/{id}/availability - Mesas libres para un grupo en una ventana de tiempo
+     */
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Buscar disponibilidad de mesas", 
+               description = "Devuelve, en una sola respuesta, las franjas libres de cada mesa con capacidad suficiente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Disponibilidad calculada exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Restaurante no encontrado")
+    })
+    public ResponseEntity<RestaurantAvailabilityDto> getAvailability(
+            @PathVariable @Parameter(description = "ID del restaurante") Long id,
+            @RequestParam @Parameter(description = "Número de personas") int partySize,
+            @RequestParam @Parameter(description = "Inicio de la ventana (ISO-8601)") String from,
+            @RequestParam(required = false) @Parameter(description = "Fin de la ventana (ISO-8601), por defecto igual a from") String to,
+            @RequestParam(defaultValue = "30") @Parameter(description = "Duración de la franja en minutos") int slot) {
+        
+        LocalDateTime start = LocalDateTime.parse(from);
+        LocalDateTime end = to != null ? LocalDateTime.parse(to) : start;
+        RestaurantAvailabilityDto availability = reservationService.findAvailability(id, partySize, start, end, slot);
+        return ResponseEntity.ok(availability);
+    }
+
     // ===== NUEVOS ENDPOINTS CON REVIEWS INTEGRADOS =====
 
     /**
@@ -158,36 +245,50 @@ public class RestaurantController {
 
     /**
      * GET /api/restaurants/{id}/with-reviews - Obtener restaurante específico con reviews paginados
+     * Admite If-None-Match / If-Modified-Since: el 304 solo consulta la versión de las reviews
      */
     @GetMapping("/{id}/with-reviews")
     @Operation(summary = "Obtener restaurante con reviews paginados", 
                description = "Obtiene un restaurante específico con sus reviews de MongoDB paginados")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Restaurante obtenido exitosamente"),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada"),
         @ApiResponse(responseCode = "404", description = "Restaurante no encontrado")
     })
     public ResponseEntity<RestaurantWithReviewsDto> getRestaurantWithReviews(
             @PathVariable @Parameter(description = "ID del restaurante") Long id,
-            @Parameter(description = "Paginación para reviews") Pageable reviewsPageable) {
+            @Parameter(description = "Paginación para reviews") Pageable reviewsPageable,
+            WebRequest webRequest) {
         
+        ResourceVersion version = restaurantService.getRestaurantWithReviewsVersion(id);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         RestaurantWithReviewsDto restaurant = restaurantService.findRestaurantWithReviews(id, reviewsPageable);
         return ResponseEntity.ok(restaurant);
     }
 
     /**
      * GET /api/restaurants/{id}/with-recent-reviews - Obtener restaurante con reviews recientes
+     * Admite If-None-Match / If-Modified-Since: el 304 solo consulta la versión de las reviews
      */
     @GetMapping("/{id}/with-recent-reviews")
     @Operation(summary = "Obtener restaurante con reviews recientes", 
                description = "Obtiene un restaurante con sus reviews más recientes (sin paginación)")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Restaurante obtenido exitosamente"),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada"),
         @ApiResponse(responseCode = "404", description = "Restaurante no encontrado")
     })
     public ResponseEntity<RestaurantWithReviewsDto> getRestaurantWithRecentReviews(
             @PathVariable @Parameter(description = "ID del restaurante") Long id,
-            @RequestParam(defaultValue = "10") @Parameter(description = "Número de reviews recientes") int limit) {
+            @RequestParam(defaultValue = "10") @Parameter(description = "Número de reviews recientes") int limit,
+            WebRequest webRequest) {
         
+        ResourceVersion version = restaurantService.getRestaurantWithReviewsVersion(id);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         RestaurantWithReviewsDto restaurant = restaurantService.findRestaurantWithRecentReviews(id, limit);
         return ResponseEntity.ok(restaurant);
     }
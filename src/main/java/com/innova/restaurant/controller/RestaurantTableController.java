@@ -4,7 +4,9 @@ import java.net.URI;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,10 +15,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.innova.restaurant.dto.TableLayoutResultDto;
 import com.innova.restaurant.model.entity.RestaurantTable;
 import com.innova.restaurant.model.enums.TableStatus;
+import com.innova.restaurant.model.enums.UserRole;
 import com.innova.restaurant.service.RestaurantTableService;
+import com.innova.restaurant.service.conditional.ResourceVersion;
+import com.innova.restaurant.service.impl.UserDetailsServiceImpl;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
@@ -35,9 +42,14 @@ public class RestaurantTableController {
 
     /**
      * GET /api/restaurants/{restaurantId}/tables - Obtener todas las mesas de un restaurante
+     * Admite If-None-Match (304 sin serializar la lista)
      */
     @GetMapping
-    public ResponseEntity<List<RestaurantTable>> getTablesByRestaurant(@PathVariable Long restaurantId) {
+    public ResponseEntity<List<RestaurantTable>> getTablesByRestaurant(@PathVariable Long restaurantId, WebRequest webRequest) {
+        ResourceVersion version = restaurantTableService.getTablesVersion(restaurantId);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<RestaurantTable> tables = restaurantTableService.findByRestaurantId(restaurantId);
         return ResponseEntity.ok(tables);
     }
@@ -65,6 +77,22 @@ public class RestaurantTableController {
         return ResponseEntity.created(location).body(table);
     }
 
+    /**
+     * PUT /api/restaurants/{restaurantId}/tables/layout - Sustituir el plano completo de mesas
+     * Las mesas se identifican por número: se crean las nuevas, se actualizan las existentes
+     * y se eliminan (o marcan fuera de servicio) las que ya no aparecen, en una sola transacción
+     * Solo el propietario del restaurante o un administrador
+     */
+    @PutMapping("/layout")
+    public ResponseEntity<TableLayoutResultDto> replaceLayout(
+            @PathVariable Long restaurantId,
+            @AuthenticationPrincipal UserDetailsServiceImpl.CustomUserPrincipal principal,
+            @Valid @RequestBody TableLayoutRequest request) {
+        boolean admin = principal.getUser().getRole() == UserRole.ADMIN;
+        TableLayoutResultDto result = restaurantTableService.replaceLayout(restaurantId, principal.getUserId(), admin, request);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * PUT /api/restaurants/{restaurantId}/tables/{tableId} - Actualizar mesa
      */
@@ -120,6 +148,16 @@ public class RestaurantTableController {
         public void setStatus(TableStatus status) { this.status = status; }
     }
 
+    public static class TableLayoutRequest {
+        @NotNull(message = "La lista de mesas es obligatoria")
+        @Valid
+        private List<CreateTableRequest> tables;
+
+        // Getters y Setters
+        public List<CreateTableRequest> getTables() { return tables; }
+        public void setTables(List<CreateTableRequest> tables) { this.tables = tables; }
+    }
+
     public static class UpdateTableRequest {
         private Integer tableNumber;
         private Integer capacity;
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.innova.restaurant.dto.CreateUserDto;
+import com.innova.restaurant.dto.CursorSliceDto;
 import com.innova.restaurant.dto.UpdateUserDto;
 import com.innova.restaurant.dto.UserDto;
 import com.innova.restaurant.model.enums.UserRole;
@@ -29,7 +30,13 @@ public class UserController {
     private UserService userService;
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        if (after != null) {
+            CursorSliceDto<UserDto> slice = userService.getAllUsers(after, size);
+            return ResponseEntity.ok(slice);
+        }
         List<UserDto> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
@@ -7,6 +7,7 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,9 +16,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.innova.restaurant.model.document.ReviewDocument;
 import com.innova.restaurant.model.document.UserActivityDocument;
+import com.innova.restaurant.service.conditional.ResourceVersion;
 import com.innova.restaurant.service.hybrid.HybridReviewService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -66,8 +69,13 @@ public class HybridController {
     @ApiResponse(responseCode = "200", description = "Usar endpoint integrado en su lugar")
     public ResponseEntity<Page<ReviewDocument>> getRestaurantReviews(
             @PathVariable Long restaurantId,
-            Pageable pageable) {
+            Pageable pageable,
+            WebRequest webRequest) {
         
+        ResourceVersion version = hybridReviewService.getReviewsVersion(restaurantId);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<ReviewDocument> reviews = hybridReviewService.getRestaurantReviews(restaurantId, pageable);
         return ResponseEntity.ok(reviews);
     }
@@ -137,8 +145,13 @@ public class HybridController {
     @ApiResponse(responseCode = "200", description = "Usar endpoint integrado en su lugar")
     public ResponseEntity<List<ReviewDocument>> getRecentReviews(
             @PathVariable Long restaurantId,
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest webRequest) {
         
+        ResourceVersion version = hybridReviewService.getReviewsVersion(restaurantId);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<ReviewDocument> reviews = hybridReviewService.getRecentReviews(restaurantId, limit);
         return ResponseEntity.ok(reviews);
     }
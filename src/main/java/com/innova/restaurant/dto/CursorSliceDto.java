@@ -0,0 +1,69 @@
+package com.innova.restaurant.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO de una página obtenida por keyset (cursor)
+ * A diferencia de Page no incluye totales, de modo que no requiere COUNT(*)
+ */
+@Schema(description = "Página de resultados paginada por cursor, sin totales")
+public class CursorSliceDto<T> {
+
+    @Schema(description = "Elementos de la página")
+    private List<T> content;
+
+    @Schema(description = "Tamaño de página solicitado")
+    private int size;
+
+    @Schema(description = "Indica si existen más elementos")
+    private boolean hasNext;
+
+    @Schema(description = "Cursor para solicitar la siguiente página (null si no hay más)")
+    private String nextCursor;
+
+    // Constructor por defecto
+    public CursorSliceDto() {}
+
+    // Constructor completo
+    public CursorSliceDto(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters y Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
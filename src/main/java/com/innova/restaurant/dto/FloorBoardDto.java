@@ -0,0 +1,276 @@
+package com.innova.restaurant.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.model.enums.TableStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO con el estado del salón de un restaurante para el tablero en vivo
+ * Se envía una vez como evento snapshot; después solo llegan los cambios (TableEntry, ReservationEntry, StatusChange)
+ */
+@Schema(description = "Mesas y reservas del día de un restaurante (evento snapshot del tablero en vivo)")
+public class FloorBoardDto {
+
+    @Schema(description = "ID del restaurante")
+    private Long restaurantId;
+
+    @Schema(description = "Día del tablero; las reservas de otros días que lleguen como cambio se retiran o descartan")
+    private LocalDate date;
+
+    @Schema(description = "Mesas del restaurante")
+    private List<TableEntry> tables;
+
+    @Schema(description = "Reservas del día")
+    private List<ReservationEntry> reservations;
+
+    // Constructor por defecto
+    public FloorBoardDto() {}
+
+    // Constructor completo
+    public FloorBoardDto(Long restaurantId, LocalDate date, List<TableEntry> tables, List<ReservationEntry> reservations) {
+        this.restaurantId = restaurantId;
+        this.date = date;
+        this.tables = tables;
+        this.reservations = reservations;
+    }
+
+    // Getters y Setters
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public List<TableEntry> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<TableEntry> tables) {
+        this.tables = tables;
+    }
+
+    public List<ReservationEntry> getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(List<ReservationEntry> reservations) {
+        this.reservations = reservations;
+    }
+
+    /**
+     * Clase anidada con el estado de una mesa
+     */
+    @Schema(description = "Mesa del salón")
+    public static class TableEntry {
+
+        @Schema(description = "ID de la mesa")
+        private Long tableId;
+
+        @Schema(description = "Número de mesa")
+        private Integer tableNumber;
+
+        @Schema(description = "Capacidad de la mesa")
+        private Integer capacity;
+
+        @Schema(description = "Estado de la mesa")
+        private TableStatus status;
+
+        // Constructor por defecto
+        public TableEntry() {}
+
+        // Constructor
+        public TableEntry(Long tableId, Integer tableNumber, Integer capacity, TableStatus status) {
+            this.tableId = tableId;
+            this.tableNumber = tableNumber;
+            this.capacity = capacity;
+            this.status = status;
+        }
+
+        public static TableEntry from(RestaurantTable table) {
+            return new TableEntry(table.getId(), table.getTableNumber(), table.getCapacity(), table.getStatus());
+        }
+
+        // Getters y Setters
+        public Long getTableId() {
+            return tableId;
+        }
+
+        public void setTableId(Long tableId) {
+            this.tableId = tableId;
+        }
+
+        public Integer getTableNumber() {
+            return tableNumber;
+        }
+
+        public void setTableNumber(Integer tableNumber) {
+            this.tableNumber = tableNumber;
+        }
+
+        public Integer getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(Integer capacity) {
+            this.capacity = capacity;
+        }
+
+        public TableStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(TableStatus status) {
+            this.status = status;
+        }
+    }
+
+    /**
+     * Clase anidada con el estado de una reserva
+     */
+    @Schema(description = "Reserva en el tablero")
+    public static class ReservationEntry {
+
+        @Schema(description = "ID de la reserva")
+        private Long reservationId;
+
+        @Schema(description = "ID de la mesa")
+        private Long tableId;
+
+        @Schema(description = "Fecha y hora de la reserva")
+        private LocalDateTime reservationDate;
+
+        @Schema(description = "Número de personas")
+        private Integer numberOfPeople;
+
+        @Schema(description = "Estado de la reserva")
+        private ReservationStatus status;
+
+        @Schema(description = "Solicitudes especiales")
+        private String specialRequests;
+
+        // Constructor por defecto
+        public ReservationEntry() {}
+
+        // Constructor
+        public ReservationEntry(Long reservationId, Long tableId, LocalDateTime reservationDate,
+                                Integer numberOfPeople, ReservationStatus status, String specialRequests) {
+            this.reservationId = reservationId;
+            this.tableId = tableId;
+            this.reservationDate = reservationDate;
+            this.numberOfPeople = numberOfPeople;
+            this.status = status;
+            this.specialRequests = specialRequests;
+        }
+
+        public static ReservationEntry from(Reservation reservation) {
+            return new ReservationEntry(reservation.getId(), reservation.getTable().getId(),
+                                        reservation.getReservationDate(), reservation.getNumberOfPeople(),
+                                        reservation.getStatus(), reservation.getSpecialRequests());
+        }
+
+        // Getters y Setters
+        public Long getReservationId() {
+            return reservationId;
+        }
+
+        public void setReservationId(Long reservationId) {
+            this.reservationId = reservationId;
+        }
+
+        public Long getTableId() {
+            return tableId;
+        }
+
+        public void setTableId(Long tableId) {
+            this.tableId = tableId;
+        }
+
+        public LocalDateTime getReservationDate() {
+            return reservationDate;
+        }
+
+        public void setReservationDate(LocalDateTime reservationDate) {
+            this.reservationDate = reservationDate;
+        }
+
+        public Integer getNumberOfPeople() {
+            return numberOfPeople;
+        }
+
+        public void setNumberOfPeople(Integer numberOfPeople) {
+            this.numberOfPeople = numberOfPeople;
+        }
+
+        public ReservationStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(ReservationStatus status) {
+            this.status = status;
+        }
+
+        public String getSpecialRequests() {
+            return specialRequests;
+        }
+
+        public void setSpecialRequests(String specialRequests) {
+            this.specialRequests = specialRequests;
+        }
+    }
+
+    /**
+     * Clase anidada con un cambio de estado masivo (caducidad, no presentados)
+     */
+    @Schema(description = "Reservas que pasaron a un mismo estado en un barrido")
+    public static class StatusChange {
+
+        @Schema(description = "Nuevo estado")
+        private ReservationStatus status;
+
+        @Schema(description = "IDs de las reservas")
+        private List<Long> reservationIds;
+
+        // Constructor por defecto
+        public StatusChange() {}
+
+        // Constructor
+        public StatusChange(ReservationStatus status, List<Long> reservationIds) {
+            this.status = status;
+            this.reservationIds = reservationIds;
+        }
+
+        // Getters y Setters
+        public ReservationStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(ReservationStatus status) {
+            this.status = status;
+        }
+
+        public List<Long> getReservationIds() {
+            return reservationIds;
+        }
+
+        public void setReservationIds(List<Long> reservationIds) {
+            this.reservationIds = reservationIds;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.innova.restaurant.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO con el resultado de una creación de reservas en lote
+ * Cada elemento indica, en el orden recibido, si se creó la reserva o el motivo del rechazo
+ */
+@Schema(description = "Resultado por elemento de una creación de reservas en lote")
+public class ReservationBatchResultDto {
+
+    @Schema(description = "Reservas recibidas")
+    private int requested;
+
+    @Schema(description = "Reservas creadas")
+    private int created;
+
+    @Schema(description = "Reservas rechazadas")
+    private int rejected;
+
+    @Schema(description = "Resultado de cada reserva, en el orden de la petición")
+    private List<ItemResult> items;
+
+    // Constructor por defecto
+    public ReservationBatchResultDto() {}
+
+    // Constructor completo
+    public ReservationBatchResultDto(List<ItemResult> items) {
+        this.items = items;
+        this.requested = items.size();
+        this.created = (int) items.stream().filter(ItemResult::isCreated).count();
+        this.rejected = requested - created;
+    }
+
+    // Getters y Setters
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<ItemResult> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemResult> items) {
+        this.items = items;
+    }
+
+    /**
+     * Clase anidada con el resultado de una reserva del lote
+     */
+    @Schema(description = "Resultado de una reserva del lote")
+    public static class ItemResult {
+
+        @Schema(description = "Posición de la reserva en la petición (desde 0)")
+        private int index;
+
+        @Schema(description = "ID de la reserva creada (null si se rechazó)")
+        private Long reservationId;
+
+        @Schema(description = "Indica si la reserva se creó")
+        private boolean created;
+
+        @Schema(description = "Motivo del rechazo (null si se creó)")
+        private String error;
+
+        // Constructor por defecto
+        public ItemResult() {}
+
+        // Constructor
+        public ItemResult(int index, Long reservationId, boolean created, String error) {
+            this.index = index;
+            this.reservationId = reservationId;
+            this.created = created;
+            this.error = error;
+        }
+
+        public static ItemResult created(int index, Long reservationId) {
+            return new ItemResult(index, reservationId, true, null);
+        }
+
+        public static ItemResult rejected(int index, String error) {
+            return new ItemResult(index, null, false, error);
+        }
+
+        // Getters y Setters
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public Long getReservationId() {
+            return reservationId;
+        }
+
+        public void setReservationId(Long reservationId) {
+            this.reservationId = reservationId;
+        }
+
+        public boolean isCreated() {
+            return created;
+        }
+
+        public void setCreated(boolean created) {
+            this.created = created;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.innova.restaurant.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO con la disponibilidad de mesas de un restaurante en una ventana de tiempo
+ * Reúne en una sola respuesta las mesas aptas para el grupo y sus horarios libres
+ */
+@Schema(description = "Mesas libres de un restaurante para un tamaño de grupo y ventana de tiempo")
+public class RestaurantAvailabilityDto {
+
+    @Schema(description = "ID del restaurante")
+    private Long restaurantId;
+
+    @Schema(description = "Número de personas solicitado")
+    private int partySize;
+
+    @Schema(description = "Inicio de la ventana de búsqueda")
+    private LocalDateTime from;
+
+    @Schema(description = "Fin de la ventana de búsqueda")
+    private LocalDateTime to;
+
+    @Schema(description = "Duración de cada franja en minutos")
+    private int slotMinutes;
+
+    @Schema(description = "Mesas con al menos una franja libre")
+    private List<TableSlots> tables;
+
+    // Constructor por defecto
+    public RestaurantAvailabilityDto() {}
+
+    // Constructor completo
+    public RestaurantAvailabilityDto(Long restaurantId, int partySize, LocalDateTime from, LocalDateTime to,
+                                     int slotMinutes, List<TableSlots> tables) {
+        this.restaurantId = restaurantId;
+        this.partySize = partySize;
+        this.from = from;
+        this.to = to;
+        this.slotMinutes = slotMinutes;
+        this.tables = tables;
+    }
+
+    // Getters y Setters
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public int getPartySize() {
+        return partySize;
+    }
+
+    public void setPartySize(int partySize) {
+        this.partySize = partySize;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public void setSlotMinutes(int slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+
+    public List<TableSlots> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<TableSlots> tables) {
+        this.tables = tables;
+    }
+
+    /**
+     * Clase anidada con las franjas libres de una mesa
+     */
+    @Schema(description = "Franjas libres de una mesa")
+    public static class TableSlots {
+
+        @Schema(description = "ID de la mesa")
+        private Long tableId;
+
+        @Schema(description = "Número de mesa")
+        private Integer tableNumber;
+
+        @Schema(description = "Capacidad de la mesa")
+        private Integer capacity;
+
+        @Schema(description = "Horas de inicio libres para reservar")
+        private List<LocalDateTime> freeSlots;
+
+        // Constructor por defecto
+        public TableSlots() {}
+
+        // Constructor
+        public TableSlots(Long tableId, Integer tableNumber, Integer capacity, List<LocalDateTime> freeSlots) {
+            this.tableId = tableId;
+            this.tableNumber = tableNumber;
+            this.capacity = capacity;
+            this.freeSlots = freeSlots;
+        }
+
+        // Getters y Setters
+        public Long getTableId() {
+            return tableId;
+        }
+
+        public void setTableId(Long tableId) {
+            this.tableId = tableId;
+        }
+
+        public Integer getTableNumber() {
+            return tableNumber;
+        }
+
+        public void setTableNumber(Integer tableNumber) {
+            this.tableNumber = tableNumber;
+        }
+
+        public Integer getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(Integer capacity) {
+            this.capacity = capacity;
+        }
+
+        public List<LocalDateTime> getFreeSlots() {
+            return freeSlots;
+        }
+
+        public void setFreeSlots(List<LocalDateTime> freeSlots) {
+            this.freeSlots = freeSlots;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.innova.restaurant.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO con el resumen de la aplicación de un plano de mesas
+ * Las mesas resultantes se consultan con GET /api/restaurants/{restaurantId}/tables
+ */
+@Schema(description = "Cambios aplicados al sustituir el plano de mesas de un restaurante")
+public class TableLayoutResultDto {
+
+    @Schema(description = "ID del restaurante")
+    private Long restaurantId;
+
+    @Schema(description = "Mesas nuevas")
+    private int created;
+
+    @Schema(description = "Mesas existentes con capacidad o estado modificados")
+    private int updated;
+
+    @Schema(description = "Mesas existentes sin cambios")
+    private int unchanged;
+
+    @Schema(description = "Mesas eliminadas")
+    private int deleted;
+
+    @Schema(description = "Mesas fuera del plano con historial de reservas, marcadas fuera de servicio")
+    private int retired;
+
+    // Constructor por defecto
+    public TableLayoutResultDto() {}
+
+    // Constructor completo
+    public TableLayoutResultDto(Long restaurantId, int created, int updated, int unchanged, int deleted, int retired) {
+        this.restaurantId = restaurantId;
+        this.created = created;
+        this.updated = updated;
+        this.unchanged = unchanged;
+        this.deleted = deleted;
+        this.retired = retired;
+    }
+
+    // Getters y Setters
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(int unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(int deleted) {
+        this.deleted = deleted;
+    }
+
+    public int getRetired() {
+        return retired;
+    }
+
+    public void setRetired(int retired) {
+        this.retired = retired;
+    }
+}
@@ -1,6 +1,7 @@
 package com.innova.restaurant.model.document;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -13,6 +14,7 @@ import java.util.Map;
  * Almacena reviews de usuarios hacia restaurantes con estructura flexible
  */
 @Document(collection = "reviews")
+@CompoundIndex(name = "idx_review_restaurant_updated", def = "{'restaurant_id': 1, 'updated_at': -1}")
 public class ReviewDocument {
 
     @Id
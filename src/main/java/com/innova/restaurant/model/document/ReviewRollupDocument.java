@@ -0,0 +1,206 @@
+package com.innova.restaurant.model.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Documento ReviewRollup para MongoDB
+ * Acumulados de reviews por restaurante mantenidos con $inc en cada alta/baja de review,
+ * de forma que las estadísticas se leen con una sola búsqueda por ID
+ */
+@Document(collection = "review_rollups")
+public class ReviewRollupDocument {
+
+    // ID del restaurante en PostgreSQL
+    @Id
+    private Long restaurantId;
+
+    @Field("review_count")
+    private long reviewCount;
+
+    // Reviews con overall_rating informado (base del promedio)
+    @Field("rated_count")
+    private long ratedCount;
+
+    @Field("rating_sum")
+    private double ratingSum;
+
+    @Field("high_rated_count")
+    private long highRatedCount;
+
+    // Estrellas ("1".."5") → número de reviews
+    @Field("histogram")
+    private Map<String, Long> histogram = new HashMap<>();
+
+    // Categoría de detailed_ratings → suma y número de valores
+    @Field("category_sums")
+    private Map<String, Double> categorySums = new HashMap<>();
+
+    @Field("category_counts")
+    private Map<String, Long> categoryCounts = new HashMap<>();
+
+    @Field("updated_at")
+    private LocalDateTime updatedAt;
+
+    // Se incrementa en cada $inc; la reconciliación solo reescribe si no ha cambiado
+    @Field("version")
+    private long version;
+
+    // Constructores
+    public ReviewRollupDocument() {}
+
+    public ReviewRollupDocument(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    /**
+     * Compara los acumulados (sin fecha de actualización) para detectar desviaciones
+     */
+    public boolean sameTotals(ReviewRollupDocument other) {
+        return other != null
+            && reviewCount == other.reviewCount
+            && ratedCount == other.ratedCount
+            && Math.abs(ratingSum - other.ratingSum) < 1e-6
+            && highRatedCount == other.highRatedCount
+            && withoutZeros(histogram).equals(withoutZeros(other.histogram))
+            && withoutZeros(categoryCounts).equals(withoutZeros(other.categoryCounts))
+            && sameSums(categorySums, other.categorySums);
+    }
+
+    private static Map<String, Long> withoutZeros(Map<String, Long> counts) {
+        Map<String, Long> result = new HashMap<>();
+        if (counts != null) {
+            counts.forEach((key, value) -> {
+                if (value != null && value != 0L) {
+                    result.put(key, value);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static boolean sameSums(Map<String, Double> a, Map<String, Double> b) {
+        Map<String, Double> left = a != null ? a : Map.of();
+        Map<String, Double> right = b != null ? b : Map.of();
+        for (String key : left.keySet()) {
+            if (Math.abs(left.get(key) - right.getOrDefault(key, 0.0)) > 1e-6) {
+                return false;
+            }
+        }
+        for (String key : right.keySet()) {
+            if (!left.containsKey(key) && Math.abs(right.get(key)) > 1e-6) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Getters y Setters
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public long getRatedCount() {
+        return ratedCount;
+    }
+
+    public void setRatedCount(long ratedCount) {
+        this.ratedCount = ratedCount;
+    }
+
+    public double getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(double ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public long getHighRatedCount() {
+        return highRatedCount;
+    }
+
+    public void setHighRatedCount(long highRatedCount) {
+        this.highRatedCount = highRatedCount;
+    }
+
+    public Map<String, Long> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(Map<String, Long> histogram) {
+        this.histogram = histogram;
+    }
+
+    public Map<String, Double> getCategorySums() {
+        return categorySums;
+    }
+
+    public void setCategorySums(Map<String, Double> categorySums) {
+        this.categorySums = categorySums;
+    }
+
+    public Map<String, Long> getCategoryCounts() {
+        return categoryCounts;
+    }
+
+    public void setCategoryCounts(Map<String, Long> categoryCounts) {
+        this.categoryCounts = categoryCounts;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReviewRollupDocument that = (ReviewRollupDocument) o;
+        return Objects.equals(restaurantId, that.restaurantId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(restaurantId);
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewRollupDocument{" +
+                "restaurantId=" + restaurantId +
+                ", reviewCount=" + reviewCount +
+                ", ratingSum=" + ratingSum +
+                '}';
+    }
+}
@@ -18,6 +18,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.Min;
@@ -32,12 +33,27 @@ import jakarta.validation.constraints.NotNull;
     @Index(name = "idx_reservation_restaurant", columnList = "restaurant_id"),
     @Index(name = "idx_reservation_table", columnList = "table_id"),
     @Index(name = "idx_reservation_date", columnList = "reservation_date"),
-    @Index(name = "idx_reservation_status", columnList = "status")
+    @Index(name = "idx_reservation_status", columnList = "status"),
+    @Index(name = "idx_reservation_restaurant_status_date", columnList = "restaurant_id, status, reservation_date"),
+    @Index(name = "idx_reservation_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_reservation_status_date", columnList = "status, reservation_date")
 })
 public class Reservation {
 
+    /**
+     * Secuencia de IDs de reservas
+     */
+    public static final String ID_SEQUENCE = "reservations_seq";
+
+    /**
+     * IDs reservados por cada llamada a la secuencia (optimizador pooled)
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Secuencia en lugar de IDENTITY para que Hibernate pueda agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_id")
+    @SequenceGenerator(name = "reservation_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull(message = "El cliente es obligatorio")
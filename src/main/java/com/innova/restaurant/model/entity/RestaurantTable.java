@@ -18,6 +18,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -32,8 +33,20 @@ import jakarta.validation.constraints.NotNull;
 })
 public class RestaurantTable {
 
+    /**
+     * Secuencia de IDs de mesas
+     */
+    public static final String ID_SEQUENCE = "tables_seq";
+
+    /**
+     * IDs reservados por cada llamada a la secuencia (optimizador pooled)
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Secuencia en lugar de IDENTITY para que Hibernate pueda agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "table_id")
+    @SequenceGenerator(name = "table_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull(message = "El número de mesa es obligatorio")
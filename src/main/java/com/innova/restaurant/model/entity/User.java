@@ -9,6 +9,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.innova.restaurant.model.enums.UserRole;
 
 import jakarta.persistence.Column;
@@ -53,6 +54,7 @@ public class User implements UserDetails {
     @NotBlank(message = "La contraseña es obligatoria")
     @Size(min = 8, message = "La contraseña debe tener al menos 8 caracteres")
     @Column(nullable = false)
+    @JsonIgnore // Hash BCrypt: nunca se serializa (el propietario va embebido en restaurantes y mesas)
     private String password;
 
     @NotBlank(message = "El nombre es obligatorio")
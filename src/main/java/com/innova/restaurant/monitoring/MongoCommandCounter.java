@@ -0,0 +1,15 @@
+package com.innova.restaurant.monitoring;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Cuenta cada comando enviado a MongoDB en el request en curso
+ */
+public class MongoCommandCounter implements CommandListener {
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        RoundTripCounter.recordMongoCommand();
+    }
+}
@@ -0,0 +1,239 @@
+package com.innova.restaurant.monitoring;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Presupuesto de viajes a base de datos por endpoint
+ *
+ * Cuenta las sentencias SQL y los comandos MongoDB de cada request (incluida la autenticación)
+ * y los publica como métricas db.roundtrips. Fuera de producción también los devuelve en las
+ * cabeceras X-Db-Sql-Count y X-Db-Mongo-Count, escritas justo antes de que se confirme la
+ * respuesta (sin retenerla en memoria). Si un endpoint supera su presupuesto se registra un aviso.
+ *
+ * Con fail-on-exceeded (perfil test) la respuesta se retiene hasta evaluar el presupuesto y, si se
+ * supera, se descarta y se devuelve un 500 con el detalle, para que los tests fallen ante un N+1.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RoundTripBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoundTripBudgetFilter.class);
+
+    public static final String SQL_COUNT_HEADER = "X-Db-Sql-Count";
+    public static final String MONGO_COUNT_HEADER = "X-Db-Mongo-Count";
+
+    /**
+     * Atributos del request con los totales, para filtros exteriores (prueba de carga)
+     */
+    public static final String SQL_COUNT_ATTRIBUTE = RoundTripBudgetFilter.class.getName() + ".sql";
+    public static final String MONGO_COUNT_ATTRIBUTE = RoundTripBudgetFilter.class.getName() + ".mongo";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    /**
+     * Máximo de sentencias SQL y comandos MongoDB permitidos en un request
+     */
+    record Budget(int sqlStatements, int mongoCommands) {
+
+        static Budget parse(String value) {
+            String[] parts = value.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Presupuesto inválido (se espera sql:mongo): " + value);
+            }
+            return new Budget(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean exposeHeaders;
+
+    private final boolean failOnExceeded;
+
+    private final Budget defaultBudget;
+
+    private final Map<String, Budget> endpointBudgets = new HashMap<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    public RoundTripBudgetFilter(MeterRegistry meterRegistry,
+                                 @Value("${app.db-budget.expose-headers:true}") boolean exposeHeaders,
+                                 @Value("${app.db-budget.fail-on-exceeded:false}") boolean failOnExceeded,
+                                 @Value("${app.db-budget.default:50:20}") String defaultBudget,
+                                 @Value("${app.db-budget.endpoints:}") List<String> endpointBudgets) {
+        this.meterRegistry = meterRegistry;
+        this.exposeHeaders = exposeHeaders;
+        this.failOnExceeded = failOnExceeded;
+        this.defaultBudget = Budget.parse(defaultBudget);
+        for (String entry : endpointBudgets) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Presupuesto de endpoint inválido (se espera MÉTODO patrón=sql:mongo): " + entry);
+            }
+            this.endpointBudgets.put(entry.substring(0, separator).trim(), Budget.parse(entry.substring(separator + 1)));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RoundTripCounter.Counts counts = RoundTripCounter.start();
+
+        // Solo se retiene la respuesta para poder sustituirla por un 500; nunca las de streaming (SSE)
+        ContentCachingResponseWrapper buffered = failOnExceeded && !acceptsEventStream(request)
+            ? new ContentCachingResponseWrapper(response)
+            : null;
+        HttpServletResponse downstream = buffered != null ? buffered : response;
+        CountHeadersResponse headers = exposeHeaders ? new CountHeadersResponse(downstream, counts) : null;
+        HttpServletResponse target = headers != null ? headers : downstream;
+
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            RoundTripCounter.stop();
+            request.setAttribute(SQL_COUNT_ATTRIBUTE, counts.getSqlStatements());
+            request.setAttribute(MONGO_COUNT_ATTRIBUTE, counts.getMongoCommands());
+            if (headers != null) {
+                // Respuestas que el contenedor confirma al terminar la cadena (sin flush previo)
+                headers.writeCountHeaders();
+            }
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        record(request.getMethod(), uri, "sql", counts.getSqlStatements());
+        record(request.getMethod(), uri, "mongo", counts.getMongoCommands());
+        String exceeded = pattern != null ? checkBudget(request.getMethod() + " " + uri, request.getMethod(), uri, counts) : null;
+
+        if (buffered == null) {
+            return;
+        }
+        if (exceeded != null && !response.isCommitted()) {
+            buffered.resetBuffer();
+            writeBudgetError(request, response, exceeded, counts);
+            return;
+        }
+        buffered.copyBodyToResponse();
+    }
+
+    /**
+     * Evalúa el presupuesto del endpoint
+     *
+     * @return mensaje del exceso, o null si el request está dentro del presupuesto
+     */
+    private String checkBudget(String endpoint, String method, String uri, RoundTripCounter.Counts counts) {
+        Budget budget = endpointBudgets.getOrDefault(endpoint, defaultBudget);
+        if (counts.getSqlStatements() <= budget.sqlStatements() && counts.getMongoCommands() <= budget.mongoCommands()) {
+            return null;
+        }
+        meterRegistry.counter("db.roundtrips.budget.exceeded", "method", method, "uri", uri).increment();
+        String message = String.format("%s superó su presupuesto de base de datos: %d SQL (máx. %d), %d MongoDB (máx. %d)",
+                                       endpoint, counts.getSqlStatements(), budget.sqlStatements(),
+                                       counts.getMongoCommands(), budget.mongoCommands());
+        logger.warn(message);
+        return message;
+    }
+
+    /**
+     * Sustituye la respuesta retenida por un 500 con el detalle del exceso
+     */
+    private void writeBudgetError(HttpServletRequest request, HttpServletResponse response, String message,
+                                  RoundTripCounter.Counts counts) throws IOException {
+        response.reset();
+        if (exposeHeaders) {
+            response.setHeader(SQL_COUNT_HEADER, String.valueOf(counts.getSqlStatements()));
+            response.setHeader(MONGO_COUNT_HEADER, String.valueOf(counts.getMongoCommands()));
+        }
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        errorResponse.put("status", HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        errorResponse.put("error", "Database Budget Exceeded");
+        errorResponse.put("message", message);
+        errorResponse.put("path", request.getRequestURI());
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+
+    private void record(String method, String uri, String store, int value) {
+        DistributionSummary.builder("db.roundtrips")
+            .description("Viajes a base de datos por request")
+            .tag("method", method)
+            .tag("uri", uri)
+            .tag("store", store)
+            .register(meterRegistry)
+            .record(value);
+    }
+
+    private static boolean acceptsEventStream(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    /**
+     * Escribe las cabeceras de conteo justo antes de que se confirme la respuesta
+     *
+     * Recoge los viajes hechos hasta ese momento; lo que se ejecute después (por ejemplo,
+     * durante un streaming) cuenta para las métricas pero ya no para las cabeceras.
+     */
+    private static final class CountHeadersResponse extends OnCommittedResponseWrapper {
+
+        private final RoundTripCounter.Counts counts;
+
+        private boolean written;
+
+        private CountHeadersResponse(HttpServletResponse response, RoundTripCounter.Counts counts) {
+            super(response);
+            this.counts = counts;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeCountHeaders();
+        }
+
+        void writeCountHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(SQL_COUNT_HEADER, String.valueOf(counts.getSqlStatements()));
+            setHeader(MONGO_COUNT_HEADER, String.valueOf(counts.getMongoCommands()));
+        }
+    }
+}
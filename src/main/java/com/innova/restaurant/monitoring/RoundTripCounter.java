@@ -0,0 +1,55 @@
+package com.innova.restaurant.monitoring;
+
+/**
+ * Contador de viajes a base de datos del request en curso
+ *
+ * Hibernate (StatementInspector) y el driver síncrono de MongoDB (CommandListener) invocan
+ * los contadores en el hilo que ejecuta la consulta, así que basta un ThreadLocal. Fuera de
+ * un request abierto con start() las llamadas no hacen nada.
+ */
+public final class RoundTripCounter {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private RoundTripCounter() {}
+
+    /**
+     * Sentencias SQL y comandos MongoDB acumulados
+     */
+    public static final class Counts {
+        private int sqlStatements;
+        private int mongoCommands;
+
+        public int getSqlStatements() {
+            return sqlStatements;
+        }
+
+        public int getMongoCommands() {
+            return mongoCommands;
+        }
+    }
+
+    public static Counts start() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static void recordSqlStatement() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.sqlStatements++;
+        }
+    }
+
+    public static void recordMongoCommand() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.mongoCommands++;
+        }
+    }
+}
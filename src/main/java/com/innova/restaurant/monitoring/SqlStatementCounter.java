@@ -0,0 +1,15 @@
+package com.innova.restaurant.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta cada sentencia que Hibernate prepara en el request en curso
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RoundTripCounter.recordSqlStatement();
+        return sql;
+    }
+}
@@ -0,0 +1,14 @@
+package com.innova.restaurant.repository.document;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.innova.restaurant.model.document.ReviewRollupDocument;
+
+/**
+ * Repositorio MongoDB para los acumulados de reviews por restaurante
+ * El ID del documento es el ID del restaurante, por lo que findById/findAllById bastan
+ */
+@Repository
+public interface ReviewRollupDocumentRepository extends MongoRepository<ReviewRollupDocument, Long> {
+}
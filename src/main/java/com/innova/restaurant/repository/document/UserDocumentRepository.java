@@ -3,6 +3,8 @@ package com.innova.restaurant.repository.document;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -109,4 +111,10 @@ public interface UserDocumentRepository extends MongoRepository<UserDocument, St
      */
     List<UserDocument> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
         String firstName, String lastName);
-}
\ No newline at end of file
+
+    /**
+     * Página de usuarios posteriores a un ID (paginación por keyset)
+     * Método derivado automático - Spring Data MongoDB genera la query
+     */
+    Slice<UserDocument> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
+}
@@ -0,0 +1,58 @@
+package com.innova.restaurant.repository.jpa;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Motor de la base de datos relacional, detectado una sola vez al crear el bean
+ *
+ * Las funciones propias de PostgreSQL (advisory locks, SKIP LOCKED, índices de texto completo,
+ * secuencias) se activan solo con PostgreSQL; con H2 u otro motor se usa la alternativa portable.
+ * Si el motor no puede detectarse se trata como no PostgreSQL.
+ */
+@Component
+public class DatabasePlatform {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabasePlatform.class);
+
+    private final String productName;
+
+    private final boolean postgres;
+
+    /**
+     * @param jdbcTemplate acceso a la base de datos; null si no hay base de datos relacional
+     */
+    @Autowired
+    public DatabasePlatform(JdbcTemplate jdbcTemplate) {
+        String product = null;
+        if (jdbcTemplate != null) {
+            try {
+                product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            } catch (RuntimeException e) {
+                logger.warn("No se pudo detectar el motor de base de datos: {}", e.getMessage());
+            }
+        }
+        this.productName = product;
+        this.postgres = "PostgreSQL".equalsIgnoreCase(product);
+        logger.info("Motor de base de datos: {}", product != null ? product : "desconocido");
+    }
+
+    /**
+     * Nombre del motor según los metadatos JDBC, o null si no se pudo detectar
+     */
+    public String getProductName() {
+        return productName;
+    }
+
+    /**
+     * Indica si la base de datos es PostgreSQL
+     */
+    public boolean isPostgres() {
+        return postgres;
+    }
+}
@@ -0,0 +1,75 @@
+package com.innova.restaurant.repository.jpa;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.RestaurantTable;
+
+/**
+ * Alinea las secuencias de IDs con las filas ya existentes
+ *
+ * Las tablas migradas de IDENTITY a secuencia conservan sus IDs; la secuencia que crea
+ * ddl-auto empieza en 1 y colisionaría con ellos. Al arrancar (antes de aceptar peticiones)
+ * se adelanta cada secuencia un bloque por encima del MAX(id) de su tabla. Nunca la retrasa,
+ * de modo que es seguro con varias instancias arrancando a la vez.
+ *
+ * Solo PostgreSQL; en H2 las tablas se crean vacías con cada arranque.
+ */
+@Component
+public class IdSequenceAligner implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    /**
+     * Tablas con ID por secuencia: tabla, secuencia y tamaño de bloque del optimizador pooled
+     */
+    static final List<SequenceTarget> TARGETS = List.of(
+        new SequenceTarget("reservations", Reservation.ID_SEQUENCE, Reservation.ID_ALLOCATION_SIZE),
+        new SequenceTarget("tables", RestaurantTable.ID_SEQUENCE, RestaurantTable.ID_ALLOCATION_SIZE)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DatabasePlatform databasePlatform;
+
+    @Autowired
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!databasePlatform.isPostgres()) {
+            return;
+        }
+        try {
+            for (SequenceTarget target : TARGETS) {
+                Long value = jdbcTemplate.queryForObject(alignSql(target), Long.class);
+                logger.info("Secuencia {} alineada con {} en {}", target.sequence(), target.table(), value);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("No se pudieron alinear las secuencias de IDs: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * setval al mayor entre MAX(id) + bloque y el valor actual: el optimizador pooled toma el valor
+     * devuelto como el último ID del bloque, así que el primer bloque empieza por encima de MAX(id)
+     */
+    static String alignSql(SequenceTarget target) {
+        return "SELECT setval('" + target.sequence() + "', GREATEST("
+            + "(SELECT COALESCE(MAX(id), 0) FROM " + target.table() + ") + " + target.allocationSize() + ", "
+            + "(SELECT last_value FROM " + target.sequence() + ")))";
+    }
+
+    record SequenceTarget(String table, String sequence, int allocationSize) {
+    }
+}
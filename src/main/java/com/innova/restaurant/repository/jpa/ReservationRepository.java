@@ -1,23 +1,43 @@
 package com.innova.restaurant.repository.jpa;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.innova.restaurant.model.entity.Reservation;
 import com.innova.restaurant.model.enums.ReservationStatus;
 
+import jakarta.persistence.LockModeType;
+
 /**
  * Repositorio JPA para la entidad Reservation
- * Utiliza métodos automáticos de Spring Data JPA siguiendo el patrón establecido
- * sin usar anotaciones @Query personalizadas.
+ * Utiliza métodos automáticos de Spring Data JPA siguiendo el patrón establecido.
+ * Solo usa @Query en las proyecciones de IDs de mesa y de mesa/fecha, que un método derivado
+ * no puede expresar sin cargar las reservas completas.
  */
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long>, JpaSpecificationExecutor<Reservation> {
 
+    /**
+     * Carga una reserva bloqueando su fila (SELECT ... FOR UPDATE) hasta el fin de la transacción
+     *
+     * Los cambios de estado la cargan así para serializarse con los barridos por bloques
+     * (caducidad de PENDING, NO_SHOW), que bloquean las mismas filas antes de actualizarlas.
+     *
+     * @param id ID de la reserva
+     * @return reserva con su estado actual en base de datos
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Reservation> findLockedById(Long id);
+
     /**
      * Busca reservas por ID de cliente ordenadas por fecha descendente
      *
@@ -63,6 +83,17 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>,
      */
     List<Reservation> findByStatusOrderByReservationDateAsc(ReservationStatus status);
 
+    /**
+     * Busca reservas de un restaurante con un estado ordenadas por fecha
+     * Resuelta por el índice compuesto restaurante + estado + fecha
+     *
+     * @param restaurantId ID del restaurante
+     * @param status estado de la reserva
+     * @return lista de reservas del restaurante con el estado especificado
+     */
+    List<Reservation> findByRestaurantIdAndStatusOrderByReservationDateAsc(
+        Long restaurantId, ReservationStatus status);
+
     /**
      * Cuenta reservas de un restaurante en un rango de fechas
      *
@@ -108,6 +139,95 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>,
     List<Reservation> findByTableIdAndReservationDateBetweenOrderByReservationDateAsc(
         Long tableId, LocalDateTime startDate, LocalDateTime endDate);
 
+    /**
+     * Verifica si una mesa tiene reservas en un rango de fechas excluyendo un estado específico
+     * Comprobación autoritativa de conflictos con la mesa bloqueada (ve las reservas de todas las instancias)
+     *
+     * @param tableId ID de la mesa
+     * @param startDate fecha de inicio
+     * @param endDate fecha de fin
+     * @param status estado a excluir (generalmente CANCELLED)
+     * @return true si existe alguna reserva
+     */
+    boolean existsByTableIdAndReservationDateBetweenAndStatusNot(
+        Long tableId, LocalDateTime startDate, LocalDateTime endDate, ReservationStatus status);
+
+    /**
+     * Igual que existsByTableIdAndReservationDateBetweenAndStatusNot, sin contar una reserva
+     * (la que se está modificando). El ID no puede ser null: id <> NULL no coincide con ninguna fila
+     *
+     * @param tableId ID de la mesa
+     * @param startDate fecha de inicio
+     * @param endDate fecha de fin
+     * @param status estado a excluir (generalmente CANCELLED)
+     * @param id ID de la reserva a ignorar
+     * @return true si existe alguna otra reserva
+     */
+    boolean existsByTableIdAndReservationDateBetweenAndStatusNotAndIdNot(
+        Long tableId, LocalDateTime startDate, LocalDateTime endDate, ReservationStatus status, Long id);
+
+    /**
+     * Mesa y fecha/hora de una reserva, sin cargar la entidad
+     */
+    interface BookedSlot {
+
+        Long getTableId();
+
+        LocalDateTime getReservationDate();
+    }
+
+    /**
+     * Mesa y fecha/hora de las reservas de varias mesas en un rango de fechas excluyendo un estado
+     * Validación de conflictos de un lote completo en una sola consulta, sin cargar las reservas
+     *
+     * @param tableIds IDs de las mesas
+     * @param startDate fecha de inicio
+     * @param endDate fecha de fin
+     * @param status estado a excluir (generalmente CANCELLED)
+     * @return mesa y fecha/hora de cada reserva
+     */
+    @Query("SELECT r.table.id AS tableId, r.reservationDate AS reservationDate FROM Reservation r "
+         + "WHERE r.table.id IN :tableIds AND r.reservationDate BETWEEN :startDate AND :endDate AND r.status <> :status")
+    List<BookedSlot> findBookedSlots(@Param("tableIds") Collection<Long> tableIds,
+                                     @Param("startDate") LocalDateTime startDate,
+                                     @Param("endDate") LocalDateTime endDate,
+                                     @Param("status") ReservationStatus status);
+
+    /**
+     * IDs (sin repetir) de las mesas con reservas posteriores a una fecha, excluyendo un estado
+     * Usado para impedir retirar del plano mesas con reservas pendientes sin cargar las reservas
+     *
+     * @param tableIds IDs de las mesas
+     * @param dateTime fecha a partir de la cual buscar
+     * @param status estado a excluir (generalmente CANCELLED)
+     * @return IDs de las mesas con alguna reserva posterior
+     */
+    @Query("SELECT DISTINCT r.table.id FROM Reservation r "
+         + "WHERE r.table.id IN :tableIds AND r.reservationDate > :dateTime AND r.status <> :status")
+    List<Long> findTableIdsBookedAfter(@Param("tableIds") Collection<Long> tableIds,
+                                       @Param("dateTime") LocalDateTime dateTime,
+                                       @Param("status") ReservationStatus status);
+
+    /**
+     * IDs (sin repetir) de las mesas que tienen reservas de cualquier fecha y estado
+     * Una sola consulta agrupada para separar las mesas con historial de las que pueden borrarse
+     *
+     * @param tableIds IDs de las mesas
+     * @return IDs de las mesas con al menos una reserva
+     */
+    @Query("SELECT DISTINCT r.table.id FROM Reservation r WHERE r.table.id IN :tableIds")
+    List<Long> findTableIdsWithReservations(@Param("tableIds") Collection<Long> tableIds);
+
+    /**
+     * Busca reservas posteriores a una fecha excluyendo un estado específico
+     * Usado para precargar el índice de disponibilidad de mesas
+     *
+     * @param dateTime fecha a partir de la cual buscar
+     * @param status estado a excluir (generalmente CANCELLED)
+     * @return lista de reservas
+     */
+    List<Reservation> findByReservationDateAfterAndStatusNot(LocalDateTime dateTime, ReservationStatus status);
+
     /**
      * Busca reservas activas (no canceladas) de un cliente
      *
@@ -0,0 +1,46 @@
+package com.innova.restaurant.repository.jpa;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.enums.ReservationStatus;
+
+/**
+ * Especificaciones JPA para consultas dinámicas de Reservation
+ *
+ * Filtran sobre las columnas de la reserva (restaurant_id, status) sin cargar
+ * las entidades relacionadas, de forma que la consulta usa el índice compuesto
+ * restaurante + estado + fecha.
+ */
+public class ReservationSpecifications {
+
+    /**
+     * Especificación para filtrar reservas de un restaurante
+     *
+     * @param restaurantId ID del restaurante (puede ser null)
+     * @return especificación para filtrar por restaurante
+     */
+    public static Specification<Reservation> hasRestaurantId(Long restaurantId) {
+        return (root, query, criteriaBuilder) -> {
+            if (restaurantId == null) {
+                return null;
+            }
+            return criteriaBuilder.equal(root.get("restaurant").get("id"), restaurantId);
+        };
+    }
+
+    /**
+     * Especificación para filtrar reservas por estado
+     *
+     * @param status estado de la reserva (puede ser null)
+     * @return especificación para filtrar por estado
+     */
+    public static Specification<Reservation> hasStatus(ReservationStatus status) {
+        return (root, query, criteriaBuilder) -> {
+            if (status == null) {
+                return null;
+            }
+            return criteriaBuilder.equal(root.get("status"), status);
+        };
+    }
+}
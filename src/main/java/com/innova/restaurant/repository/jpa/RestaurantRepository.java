@@ -3,6 +3,8 @@ package com.innova.restaurant.repository.jpa;
 import java.time.LocalTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -95,4 +97,10 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
      * Verifica si existe un restaurante activo con el nombre especificado para un propietario - Query method automático
      */
     boolean existsByNameAndOwnerAndIsActive(String name, User owner, Boolean isActive);
-}
\ No newline at end of file
+
+    /**
+     * Página de restaurantes posteriores a un ID (paginación por keyset) - Query method automático
+     * Devuelve Slice, por lo que no ejecuta COUNT(*)
+     */
+    Slice<Restaurant> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
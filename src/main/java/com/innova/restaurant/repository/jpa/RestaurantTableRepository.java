@@ -1,9 +1,14 @@
 package com.innova.restaurant.repository.jpa;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.innova.restaurant.model.entity.RestaurantTable;
@@ -11,12 +16,47 @@ import com.innova.restaurant.model.enums.TableStatus;
 
 /**
  * Repositorio JPA para la entidad RestaurantTable
- * Utiliza métodos automáticos de Spring Data JPA siguiendo el patrón establecido
- * sin usar anotaciones @Query personalizadas.
+ * Utiliza métodos automáticos de Spring Data JPA siguiendo el patrón establecido.
+ * Solo usa @Query en el resumen agregado de versión y en la proyección de IDs por estado,
+ * que un método derivado no puede expresar sin cargar las mesas completas.
  */
 @Repository
 public interface RestaurantTableRepository extends JpaRepository<RestaurantTable, Long>, JpaSpecificationExecutor<RestaurantTable> {
 
+    /**
+     * Resumen de las mesas de un restaurante para calcular su versión (ETag)
+     */
+    interface TablesVersion {
+
+        LocalDateTime getRestaurantUpdatedAt();
+
+        Long getTableCount();
+
+        LocalDateTime getLastUpdated();
+    }
+
+    /**
+     * Número de mesas y último updated_at de un restaurante en una sola consulta agregada
+     *
+     * @param restaurantId ID del restaurante
+     * @return resumen, o vacío si el restaurante no existe
+     */
+    @Query("SELECT r.updatedAt AS restaurantUpdatedAt, COUNT(t) AS tableCount, MAX(t.updatedAt) AS lastUpdated "
+         + "FROM Restaurant r LEFT JOIN RestaurantTable t ON t.restaurant = r "
+         + "WHERE r.id = :restaurantId GROUP BY r.id, r.updatedAt")
+    Optional<TablesVersion> findTablesVersion(@Param("restaurantId") Long restaurantId);
+
+    /**
+     * IDs de las mesas indicadas que existen y no están en un estado, leídos siempre de la base de datos
+     *
+     * @param tableIds IDs de las mesas
+     * @param status estado excluido
+     * @return IDs de las mesas que siguen existiendo en otro estado
+     */
+    @Query("SELECT t.id FROM RestaurantTable t WHERE t.id IN :tableIds AND t.status <> :status")
+    List<Long> findTableIdsWithStatusNot(@Param("tableIds") Collection<Long> tableIds,
+                                         @Param("status") TableStatus status);
+
     /**
      * Busca mesas por ID de restaurante
      *
@@ -3,6 +3,8 @@ package com.innova.restaurant.repository.jpa;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
@@ -115,4 +117,14 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
      */
     List<User> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
         String firstName, String lastName);
-}
\ No newline at end of file
+
+    /**
+     * Página de usuarios posteriores a un ID (paginación por keyset)
+     * Devuelve Slice, por lo que no ejecuta COUNT(*)
+     *
+     * @param id último ID de la página anterior
+     * @param pageable tamaño de página
+     * @return página de usuarios ordenados por ID
+     */
+    Slice<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -10,7 +10,10 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.security.JwtUtil.VerifiedToken;
 import com.innova.restaurant.service.impl.UserDetailsServiceImpl;
+import com.innova.restaurant.service.impl.UserDetailsServiceImpl.CustomUserPrincipal;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -29,30 +32,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        VerifiedToken verified = null;
 
-        // Extraer JWT del header Authorization
+        // Extraer y verificar JWT del header Authorization (firma y expiración)
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                verified = jwtUtil.verify(jwt);
             } catch (Exception e) {
-                logger.error("Error extracting username from JWT: " + e.getMessage());
+                logger.error("Error validating JWT: " + e.getMessage());
             }
         }
 
-        // Validar token y establecer autenticación
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        // Establecer autenticación a partir del token verificado
+        if (verified != null && verified.subject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolvePrincipal(verified);
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (userDetails != null && userDetails.isEnabled()) {
                 UsernamePasswordAuthenticationToken authToken = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -63,6 +69,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Resuelve el principal del token
+     *
+     * Con claim userId se usa la caché de principals (búsqueda por ID solo en un fallo);
+     * los tokens sin userId se resuelven por username como antes.
+     */
+    private UserDetails resolvePrincipal(VerifiedToken verified) {
+        String subject = verified.subject();
+        Long userId = verified.userId();
+        if (userId == null) {
+            return userDetailsService.loadUserByUsername(subject);
+        }
+
+        CustomUserPrincipal principal = principalCache.get(userId, userDetailsService::loadUserById);
+        if (principal == null) {
+            return null;
+        }
+        // El subject debe seguir identificando al mismo usuario (email o username)
+        User user = principal.getUser();
+        if (!subject.equals(user.getEmail()) && !subject.equals(user.getUsername())) {
+            return null;
+        }
+        return principal;
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String path = request.getRequestURI();
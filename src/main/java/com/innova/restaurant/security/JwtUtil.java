@@ -1,17 +1,30 @@
 package com.innova.restaurant.security;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 
@@ -21,54 +34,112 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:mySecretKey}")
-    private String secret;
+    private final Long expiration;
+
+    // Clave y parser inmutables, construidos una sola vez
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    // Hash SHA-256 del token → datos ya verificados, hasta la expiración del token
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    @Autowired
+    public JwtUtil(@Value("${jwt.secret:mySecretKey}") String secret,
+                   @Value("${jwt.expiration:86400000}") Long expiration, // 24 hours in milliseconds
+                   @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
 
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
-    private Long expiration;
+    /**
+     * Datos de un token con firma y expiración verificadas
+     *
+     * Inmutable: la misma instancia se comparte entre peticiones desde la caché.
+     */
+    public record VerifiedToken(String subject, String role, Long userId, Instant expiration) {
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        boolean isExpired() {
+            return !expiration.isAfter(Instant.now());
+        }
     }
 
     /**
      * Extrae el username del token
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     /**
      * Extrae la fecha de expiración del token
      */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verify(token).expiration());
     }
 
     /**
-     * Extrae un claim específico del token
+     * Verifica firma y expiración del token y devuelve sus datos
+     *
+     * El token se verifica una sola vez; las llamadas siguientes con el mismo token
+     * reutilizan el resultado hasta su expiración. Un token sin claim exp no es válido.
+     * Lanza JwtException si el token no es válido
      */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public VerifiedToken verify(String token) {
+        String key = tokenHash(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified != null) {
+            if (!verified.isExpired()) {
+                return verified;
+            }
+            verifiedTokens.invalidate(key);
+        }
+        Jws<Claims> jws = parser.parseClaimsJws(token);
+        Claims claims = jws.getBody();
+        if (claims.getExpiration() == null) {
+            throw new MissingClaimException(jws.getHeader(), claims, "El token no tiene fecha de expiración");
+        }
+        verified = new VerifiedToken(claims.getSubject(), claims.get("role", String.class),
+                                     claims.get("userId", Long.class), claims.getExpiration().toInstant());
+        verifiedTokens.put(key, verified);
+        return verified;
     }
 
-    /**
-     * Extrae todos los claims del token
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
 
     /**
-     * Verifica si el token ha expirado
+     * Cada entrada vive hasta la expiración de su token
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            long remainingMillis = token.expiration().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
     /**
@@ -96,7 +167,7 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -104,8 +175,8 @@ public class JwtUtil {
      * Valida el token contra los detalles del usuario
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final VerifiedToken verified = verify(token);
+        return (userDetails.getUsername().equals(verified.subject()) && !verified.isExpired());
     }
 
     /**
@@ -113,7 +184,7 @@ public class JwtUtil {
      */
     public Boolean isTokenValid(String token) {
         try {
-            return !isTokenExpired(token);
+            return !verify(token).isExpired();
         } catch (Exception e) {
             return false;
         }
@@ -141,7 +212,7 @@ public class JwtUtil {
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + (expiration * 7))) // 7 veces más tiempo que access token
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -156,13 +227,13 @@ public class JwtUtil {
      * Extrae el rol del usuario del token
      */
     public String extractRole(String token) {
-        return extractClaim(token, claims -> claims.get("role", String.class));
+        return verify(token).role();
     }
 
     /**
      * Extrae el ID del usuario del token
      */
     public Long extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", Long.class));
+        return verify(token).userId();
     }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.innova.restaurant.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innova.restaurant.service.cache.CacheInvalidationBus;
+import com.innova.restaurant.service.impl.UserDetailsServiceImpl.CustomUserPrincipal;
+
+/**
+ * Caché acotada con TTL de principals autenticados, indexada por ID de usuario
+ *
+ * El filtro JWT resuelve el principal a partir del claim userId ya verificado; solo
+ * en un fallo de caché consulta PostgreSQL. Los cambios de estado, rol o borrado del
+ * usuario invalidan la entrada para que el siguiente request vea el dato actual, también
+ * en las demás instancias (CacheInvalidationBus).
+ */
+@Component
+public class PrincipalCache {
+
+    static final String PRINCIPALS = "principals";
+
+    private final Cache<Long, CustomUserPrincipal> principals;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    public PrincipalCache(CacheInvalidationBus invalidationBus,
+                          @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.principals = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+        this.invalidationBus = invalidationBus;
+        invalidationBus.register(PRINCIPALS, key -> principals.invalidate(Long.valueOf(key)), principals::invalidateAll);
+    }
+
+    /**
+     * Obtiene el principal del usuario, cargándolo si no está en caché
+     *
+     * @param userId ID del usuario (claim userId del token)
+     * @param loader carga desde base de datos; puede devolver null si no existe
+     * @return principal o null si el usuario no existe
+     */
+    public CustomUserPrincipal get(Long userId, Function<Long, CustomUserPrincipal> loader) {
+        return principals.get(userId, loader);
+    }
+
+    /**
+     * Invalida el principal de un usuario
+     *
+     * Dentro de una transacción se invalida también tras el commit, para que un
+     * request concurrente no vuelva a cachear el estado anterior al cambio.
+     */
+    public void invalidate(Long userId) {
+        principals.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(userId);
+                }
+            });
+        }
+        invalidationBus.publish(PRINCIPALS, userId);
+    }
+
+    /**
+     * Número aproximado de principals en caché
+     */
+    public long size() {
+        return principals.estimatedSize();
+    }
+}
@@ -7,6 +7,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.innova.restaurant.controller.ReservationController;
+import com.innova.restaurant.dto.CursorSliceDto;
+import com.innova.restaurant.dto.ReservationBatchResultDto;
+import com.innova.restaurant.dto.RestaurantAvailabilityDto;
 import com.innova.restaurant.model.entity.Reservation;
 
 /**
@@ -19,6 +22,11 @@ public interface ReservationService {
      */
     Page<Reservation> findAllReservations(Pageable pageable);
 
+    /**
+     * Encuentra todas las reservaciones paginadas por cursor (fecha, ID), sin totales
+     */
+    CursorSliceDto<Reservation> findAllReservations(String after, int size);
+
     /**
      * Encuentra una reservación por ID
      */
@@ -29,6 +37,12 @@ public interface ReservationService {
      */
     Reservation createReservation(ReservationController.CreateReservationRequest request);
 
+    /**
+     * Crea un lote de reservaciones, informando el resultado de cada una
+     * Solo se aceptan reservas en restaurantes del propietario que envía el lote
+     */
+    ReservationBatchResultDto createReservations(Long ownerId, List<ReservationController.CreateReservationRequest> requests);
+
     /**
      * Actualiza una reservación completa
      */
@@ -54,6 +68,11 @@ public interface ReservationService {
      */
     List<Reservation> findByRestaurant(Long restaurantId, String status);
 
+    /**
+     * Encuentra reservaciones por restaurante paginadas por cursor (fecha, ID)
+     */
+    CursorSliceDto<Reservation> findByRestaurant(Long restaurantId, String status, String after, int size);
+
     /**
      * Encuentra reservaciones por rango de fechas
      */
@@ -73,4 +92,10 @@ public interface ReservationService {
      * Check-in de una reservación
      */
     Reservation checkInReservation(Long id);
+
+    /**
+     * Busca las mesas libres de un restaurante para un tamaño de grupo y ventana de tiempo
+     */
+    RestaurantAvailabilityDto findAvailability(Long restaurantId, int partySize,
+                                               LocalDateTime from, LocalDateTime to, int slotMinutes);
 }
\ No newline at end of file
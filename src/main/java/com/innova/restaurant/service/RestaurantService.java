@@ -4,10 +4,13 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.innova.restaurant.controller.RestaurantController;
+import com.innova.restaurant.dto.CursorSliceDto;
 import com.innova.restaurant.dto.RestaurantWithReviewsDto;
 import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.service.conditional.ResourceVersion;
 
 /**
  * Interfaz del servicio de restaurantes
@@ -19,11 +22,26 @@ public interface RestaurantService {
      */
     Page<Restaurant> findAllRestaurants(Pageable pageable);
 
+    /**
+     * Encuentra todos los restaurantes paginados por cursor (ID), sin totales
+     */
+    CursorSliceDto<Restaurant> findAllRestaurants(String after, int size);
+
     /**
      * Encuentra un restaurante por ID
      */
     Restaurant findRestaurantById(Long id);
 
+    /**
+     * Versión del restaurante para GET condicional (sin consultar la base de datos si está en caché)
+     */
+    ResourceVersion getRestaurantVersion(Long id);
+
+    /**
+     * Versión del restaurante junto con sus reviews para GET condicional
+     */
+    ResourceVersion getRestaurantWithReviewsVersion(Long id);
+
     /**
      * Crea un nuevo restaurante
      */
@@ -45,10 +63,17 @@ public interface RestaurantService {
     void deleteRestaurant(Long id);
 
     /**
-     * Busca restaurantes por nombre
+     * Busca restaurantes cuyo nombre contiene el texto, sin distinguir mayúsculas
+     * Solo el nombre; para dirección y descripción está searchRestaurants. Acotado a una página
      */
     List<Restaurant> searchByName(String name, boolean activeOnly);
 
+    /**
+     * Búsqueda de texto completo por nombre, descripción y dirección, ordenada por relevancia
+     * Devuelve Slice, por lo que no ejecuta COUNT(*)
+     */
+    Slice<Restaurant> searchRestaurants(String query, boolean activeOnly, int page, int size);
+
     /**
      * Encuentra restaurantes por propietario
      */
@@ -3,8 +3,11 @@ package com.innova.restaurant.service;
 import java.util.List;
 
 import com.innova.restaurant.controller.RestaurantTableController.CreateTableRequest;
+import com.innova.restaurant.controller.RestaurantTableController.TableLayoutRequest;
 import com.innova.restaurant.controller.RestaurantTableController.UpdateTableRequest;
+import com.innova.restaurant.dto.TableLayoutResultDto;
 import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.service.conditional.ResourceVersion;
 
 /**
  * Servicio para gestión de mesas de restaurantes
@@ -21,11 +24,24 @@ public interface RestaurantTableService {
      */
     RestaurantTable findTableById(Long tableId, Long restaurantId);
 
+    /**
+     * Versión de la lista de mesas de un restaurante para GET condicional
+     */
+    ResourceVersion getTablesVersion(Long restaurantId);
+
     /**
      * Crear nueva mesa para un restaurante
      */
     RestaurantTable createTable(Long restaurantId, CreateTableRequest request);
 
+    /**
+     * Sustituir el plano completo de mesas de un restaurante
+     *
+     * @param requesterId usuario autenticado: debe ser el propietario del restaurante
+     * @param admin si el usuario es administrador (puede modificar cualquier restaurante)
+     */
+    TableLayoutResultDto replaceLayout(Long restaurantId, Long requesterId, boolean admin, TableLayoutRequest request);
+
     /**
      * Actualizar mesa existente
      */
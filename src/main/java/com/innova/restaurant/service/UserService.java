@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.innova.restaurant.dto.CreateUserDto;
+import com.innova.restaurant.dto.CursorSliceDto;
 import com.innova.restaurant.dto.UpdateUserDto;
 import com.innova.restaurant.dto.UserDto;
 import com.innova.restaurant.model.enums.UserRole;
@@ -64,6 +65,15 @@ public interface UserService {
      */
     List<UserDto> getAllUsers();
 
+    /**
+     * Obtiene usuarios paginados por cursor (ID), sin totales
+     *
+     * @param after cursor de la página anterior (vacío para la primera página)
+     * @param size tamaño de página
+     * @return página de usuarios con el cursor siguiente
+     */
+    CursorSliceDto<UserDto> getAllUsers(String after, int size);
+
     /**
      * Obtiene usuarios por rol
      *
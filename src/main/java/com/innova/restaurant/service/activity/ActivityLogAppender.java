@@ -0,0 +1,237 @@
+package com.innova.restaurant.service.activity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.innova.restaurant.model.document.UserActivityDocument;
+
+/**
+ * Registro asíncrono y por lotes de actividad (user_activities)
+ *
+ * Las peticiones solo encolan el documento en un buffer acotado; un hilo de fondo
+ * lo vacía con inserciones no ordenadas en lotes de batch-size documentos, o antes
+ * si pasa flush-interval-ms desde el último vaciado.
+ *
+ * Con el buffer lleno se aplica la política configurada:
+ * - DROP_NEWEST: se descarta la actividad entrante
+ * - DROP_OLDEST: se descarta la actividad más antigua del buffer
+ * - BLOCK: la petición espera hasta block-timeout-ms y después descarta
+ *
+ * Al parar la aplicación se escribe todo lo pendiente.
+ */
+@Component
+public class ActivityLogAppender implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogAppender.class);
+
+    /**
+     * Espera máxima al hilo de vaciado durante el apagado
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Política cuando el buffer está lleno
+     */
+    public enum OverflowPolicy {
+        DROP_NEWEST,
+        DROP_OLDEST,
+        BLOCK
+    }
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ArrayBlockingQueue<UserActivityDocument> buffer;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final long blockTimeoutMillis;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private volatile boolean running;
+
+    private volatile boolean stopped;
+
+    private Thread flusher;
+
+    @Autowired
+    public ActivityLogAppender(MongoTemplate mongoTemplate,
+                               @Value("${app.activity-log.capacity:10000}") int capacity,
+                               @Value("${app.activity-log.batch-size:500}") int batchSize,
+                               @Value("${app.activity-log.flush-interval-ms:1000}") long flushIntervalMillis,
+                               @Value("${app.activity-log.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+                               @Value("${app.activity-log.block-timeout-ms:50}") long blockTimeoutMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = Math.max(0, blockTimeoutMillis);
+    }
+
+    /**
+     * Encola una actividad sin esperar a MongoDB
+     *
+     * @param activity actividad a registrar
+     * @return true si se encoló, false si se descartó
+     */
+    public boolean append(UserActivityDocument activity) {
+        if (stopped) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+
+        boolean accepted = switch (overflowPolicy) {
+            case DROP_NEWEST -> buffer.offer(activity);
+            case DROP_OLDEST -> offerDroppingOldest(activity);
+            case BLOCK -> offerBlocking(activity);
+        };
+
+        if (!accepted) {
+            droppedCount.incrementAndGet();
+        } else if (buffer.size() >= batchSize && flusher != null) {
+            LockSupport.unpark(flusher);
+        }
+        return accepted;
+    }
+
+    /**
+     * Escribe de inmediato todo lo pendiente en el hilo actual
+     */
+    public synchronized void flush() {
+        List<UserActivityDocument> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "activity-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        running = false;
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!buffer.isEmpty()) {
+            logger.warn("Apagado con {} actividades sin escribir", buffer.size());
+        }
+        logger.info("Registro de actividad detenido: {} escritas, {} descartadas, {} fallidas",
+                    writtenCount.get(), droppedCount.get(), failedCount.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    private void runFlusher() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (running) {
+            if (buffer.size() < batchSize) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+            flushSafely();
+        }
+        // Vaciado final tras stop()
+        flushSafely();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Error inesperado al vaciar el registro de actividad", e);
+        }
+    }
+
+    private boolean offerDroppingOldest(UserActivityDocument activity) {
+        while (!buffer.offer(activity)) {
+            if (buffer.poll() != null) {
+                droppedCount.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerBlocking(UserActivityDocument activity) {
+        try {
+            return buffer.offer(activity, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Inserción no ordenada: un documento inválido no impide escribir el resto del lote
+     */
+    private void write(List<UserActivityDocument> batch) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserActivityDocument.class)
+                .insert(batch)
+                .execute();
+            writtenCount.addAndGet(batch.size());
+        } catch (BulkOperationException e) {
+            int inserted = e.getResult().getInsertedCount();
+            writtenCount.addAndGet(inserted);
+            failedCount.addAndGet(batch.size() - inserted);
+            logger.warn("Lote de actividad escrito parcialmente: {} de {} ({} errores)",
+                        inserted, batch.size(), e.getErrors().size());
+        } catch (RuntimeException e) {
+            failedCount.addAndGet(batch.size());
+            logger.warn("No se pudo escribir un lote de {} actividades: {}", batch.size(), e.getMessage());
+        }
+    }
+}
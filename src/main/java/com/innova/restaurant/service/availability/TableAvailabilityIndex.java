@@ -0,0 +1,429 @@
+package com.innova.restaurant.service.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.repository.jpa.ReservationRepository;
+import com.innova.restaurant.service.cache.CacheInvalidationBus;
+
+/**
+ * Índice en memoria de ocupación de mesas
+ *
+ * Mantiene, por cada mesa, un mapa ordenado fecha/hora → reservas activas
+ * (no canceladas) y responde en O(log n) si un hueco está probablemente ocupado.
+ *
+ * Es una pista, no la fuente de verdad: ni un hueco libre ni uno ocupado en el índice
+ * deciden una reserva. Las altas y modificaciones validan siempre con la consulta a base
+ * de datos con la mesa bloqueada (ReservationServiceImpl).
+ *
+ * - Se precarga al arrancar con las reservas futuras de ReservationRepository
+ * - Se actualiza tras el commit de cada creación, modificación, cambio de estado o liberación masiva
+ * - Los cambios se propagan a las demás instancias por CacheInvalidationBus; hasta que llegan
+ *   (desfase del canal, normalmente por debajo del segundo) otra instancia puede ver libre un hueco
+ *   ya ocupado, que la base de datos rechaza, u ocupado uno recién liberado, que rechaza de más
+ * - Los cambios que llegan durante una recarga (resync) se reaplican sobre ella al terminar
+ * - Purga a diario las reservas pasadas
+ */
+@Component
+public class TableAvailabilityIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableAvailabilityIndex.class);
+
+    /**
+     * Margen a cada lado de una reserva en el que la mesa se considera ocupada
+     */
+    public static final long CONFLICT_WINDOW_HOURS = 1;
+
+    /**
+     * Canal de CacheInvalidationBus por el que se replican los cambios del índice
+     */
+    static final String CHANNEL = "table-availability";
+
+    private static final String TRACK = "T";
+
+    private static final String RELEASE = "R";
+
+    private static final String SEPARATOR = "|";
+
+    private static final String ENTRY_SEPARATOR = ";";
+
+    /**
+     * Reservas como máximo por mensaje publicado
+     */
+    private static final int MESSAGE_CHUNK = 100;
+
+    private final ReservationRepository reservationRepository;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    private final boolean enabled;
+
+    // Mesa → (fecha/hora → IDs de reservas activas en ese instante)
+    private final Map<Long, NavigableMap<LocalDateTime, Set<Long>>> schedules = new ConcurrentHashMap<>();
+
+    // Reserva → posición actual en el índice, para poder moverla o liberarla
+    private final Map<Long, Slot> slotsByReservation = new ConcurrentHashMap<>();
+
+    // Cambios aplicados durante una recarga, para reaplicarlos sobre lo leído de la base de datos
+    // (null fuera de una recarga); también serializa los cambios con el final de la recarga
+    private final Object changes = new Object();
+    private List<Runnable> replay;
+
+    private volatile boolean ready = false;
+
+    @Autowired
+    public TableAvailabilityIndex(ReservationRepository reservationRepository,
+                                  CacheInvalidationBus invalidationBus,
+                                  @Value("${app.reservations.availability-index.enabled:true}") boolean enabled) {
+        this.reservationRepository = reservationRepository;
+        this.invalidationBus = invalidationBus;
+        this.enabled = enabled;
+        if (invalidationBus != null && enabled) {
+            invalidationBus.register(CHANNEL, this::receive, this::resync);
+        }
+    }
+
+    /**
+     * Precarga el índice antes de que el servidor web empiece a aceptar peticiones
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            logger.info("Índice de disponibilidad de mesas deshabilitado");
+            return;
+        }
+        try {
+            load(findActive());
+            logger.info("Índice de disponibilidad cargado con {} reservas en {} mesas",
+                        slotsByReservation.size(), schedules.size());
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo precargar el índice de disponibilidad, se usará la base de datos: {}",
+                        e.getMessage());
+        }
+    }
+
+    /**
+     * El canal entre instancias pudo perder cambios: se vacía y se recarga desde la base de datos
+     *
+     * Mientras tanto el índice no está listo. Los cambios que siguen llegando (tras el commit local
+     * o por el canal) se aplican y se anotan: la consulta pudo leer un estado anterior a ellos
+     * (por ejemplo, una reserva que se cancela mientras se recarga), así que se reaplican en orden
+     * sobre lo leído antes de volver a marcar el índice como listo.
+     */
+    void resync() {
+        synchronized (changes) {
+            ready = false;
+            replay = new ArrayList<>();
+            schedules.clear();
+            slotsByReservation.clear();
+        }
+        List<Reservation> active = null;
+        try {
+            active = findActive();
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo recargar el índice de disponibilidad, se usará la base de datos: {}",
+                        e.getMessage());
+        }
+        synchronized (changes) {
+            if (active != null) {
+                active.forEach(this::apply);
+                replay.forEach(Runnable::run);
+                ready = true;
+                logger.info("Índice de disponibilidad recargado con {} reservas ({} cambios reaplicados)",
+                            slotsByReservation.size(), replay.size());
+            }
+            replay = null;
+        }
+    }
+
+    private List<Reservation> findActive() {
+        LocalDateTime from = LocalDateTime.now().minusHours(CONFLICT_WINDOW_HOURS);
+        return reservationRepository.findByReservationDateAfterAndStatusNot(from, ReservationStatus.CANCELLED);
+    }
+
+    /**
+     * Carga un conjunto de reservas y marca el índice como listo
+     */
+    public void load(List<Reservation> reservations) {
+        reservations.forEach(this::apply);
+        ready = true;
+    }
+
+    /**
+     * Indica si el índice puede usarse para validar disponibilidad
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Verifica si existe una reserva activa en la mesa dentro de la ventana de conflicto
+     *
+     * @param tableId ID de la mesa
+     * @param dateTime fecha y hora solicitada
+     * @param excludeReservationId reserva a ignorar (la propia al modificarla), puede ser null
+     * @return true si la mesa está ocupada en esa ventana
+     */
+    public boolean hasConflict(Long tableId, LocalDateTime dateTime, Long excludeReservationId) {
+        NavigableMap<LocalDateTime, Set<Long>> schedule = schedules.get(tableId);
+        if (schedule == null) {
+            return false;
+        }
+        LocalDateTime start = dateTime.minusHours(CONFLICT_WINDOW_HOURS);
+        LocalDateTime end = dateTime.plusHours(CONFLICT_WINDOW_HOURS);
+
+        synchronized (schedule) {
+            for (Set<Long> ids : schedule.subMap(start, true, end, true).values()) {
+                if (ids.size() > 1 || !ids.contains(excludeReservationId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Refleja en el índice el estado guardado de una reserva
+     *
+     * Dentro de una transacción el cambio se aplica tras el commit, de forma que
+     * un rollback nunca deja huecos ocupados en el índice. Las demás instancias
+     * lo reciben por el canal de invalidación, también tras el commit.
+     */
+    public void track(Reservation reservation) {
+        trackAll(List.of(reservation));
+    }
+
+    /**
+     * Refleja en el índice el estado guardado de varias reservas (altas en lote)
+     *
+     * Se publican como mucho MESSAGE_CHUNK reservas por mensaje, para no llenar la colección
+     * capada del canal con un lote grande.
+     */
+    public void trackAll(Collection<Reservation> reservations) {
+        List<Tracked> tracked = reservations.stream()
+            .map(r -> new Tracked(r.getId(), r.getTable().getId(), r.getReservationDate(), r.getStatus()))
+            .toList();
+        if (tracked.isEmpty()) {
+            return;
+        }
+        Runnable track = () -> change(() -> tracked.forEach(this::apply));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    track.run();
+                }
+            });
+        } else {
+            track.run();
+        }
+        for (int from = 0; from < tracked.size(); from += MESSAGE_CHUNK) {
+            publish(TRACK + SEPARATOR + tracked.subList(from, Math.min(from + MESSAGE_CHUNK, tracked.size()))
+                .stream()
+                .map(Tracked::encode)
+                .collect(Collectors.joining(ENTRY_SEPARATOR)));
+        }
+    }
+
+    /**
+     * Libera reservas cuyo estado se cambió con una actualización masiva, sin entidades
+     * (por ejemplo, PENDING caducadas canceladas en bloque). Dentro de una transacción se aplica tras el commit.
+     */
+    public void release(Collection<Long> reservationIds) {
+        List<Long> ids = List.copyOf(reservationIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        Runnable release = () -> change(() -> releaseLocally(ids));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release.run();
+                }
+            });
+        } else {
+            release.run();
+        }
+        for (int from = 0; from < ids.size(); from += MESSAGE_CHUNK) {
+            publish(RELEASE + SEPARATOR + ids.subList(from, Math.min(from + MESSAGE_CHUNK, ids.size()))
+                .stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(ENTRY_SEPARATOR)));
+        }
+    }
+
+    /**
+     * Purga diaria de las reservas que ya no pueden generar conflictos
+     */
+    @Scheduled(cron = "${app.reservations.availability-index.eviction-cron:0 0 4 * * *}")
+    public void evictPast() {
+        if (isReady()) {
+            evictBefore(LocalDateTime.now().minusHours(CONFLICT_WINDOW_HOURS));
+        }
+    }
+
+    /**
+     * Elimina del índice las reservas anteriores a la fecha indicada
+     */
+    public void evictBefore(LocalDateTime cutoff) {
+        slotsByReservation.entrySet().removeIf(entry -> {
+            Slot slot = entry.getValue();
+            if (slot.dateTime.isBefore(cutoff)) {
+                remove(entry.getKey(), slot);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Número de reservas activas indexadas
+     */
+    public int size() {
+        return slotsByReservation.size();
+    }
+
+    /**
+     * Aplica un cambio del índice publicado por otra instancia
+     */
+    void receive(String message) {
+        try {
+            String[] parts = message.split(Pattern.quote(SEPARATOR), 2);
+            String[] entries = parts.length == 2 ? parts[1].split(ENTRY_SEPARATOR) : new String[0];
+            if (TRACK.equals(parts[0]) && entries.length > 0) {
+                List<Tracked> tracked = Arrays.stream(entries).map(Tracked::decode).toList();
+                change(() -> tracked.forEach(this::apply));
+            } else if (RELEASE.equals(parts[0]) && entries.length > 0) {
+                List<Long> ids = Arrays.stream(entries).map(Long::valueOf).toList();
+                change(() -> releaseLocally(ids));
+            } else {
+                logger.warn("Mensaje de disponibilidad desconocido: {}", message);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Mensaje de disponibilidad inválido {}: {}", message, e.getMessage());
+        }
+    }
+
+    private void publish(String message) {
+        if (invalidationBus != null && enabled) {
+            invalidationBus.publish(CHANNEL, message);
+        }
+    }
+
+    /**
+     * Aplica un cambio; si hay una recarga en curso lo anota para reaplicarlo al terminarla
+     */
+    private void change(Runnable change) {
+        synchronized (changes) {
+            if (replay != null) {
+                replay.add(change);
+            }
+            change.run();
+        }
+    }
+
+    private void releaseLocally(List<Long> reservationIds) {
+        for (Long reservationId : reservationIds) {
+            Slot previous = slotsByReservation.remove(reservationId);
+            if (previous != null) {
+                remove(reservationId, previous);
+            }
+        }
+    }
+
+    private void apply(Reservation reservation) {
+        apply(reservation.getId(), reservation.getTable().getId(),
+              reservation.getReservationDate(), reservation.getStatus());
+    }
+
+    private void apply(Tracked tracked) {
+        apply(tracked.reservationId(), tracked.tableId(), tracked.dateTime(), tracked.status());
+    }
+
+    private void apply(Long reservationId, Long tableId, LocalDateTime dateTime, ReservationStatus status) {
+        Slot previous = slotsByReservation.remove(reservationId);
+        if (previous != null) {
+            remove(reservationId, previous);
+        }
+        if (status == ReservationStatus.CANCELLED) {
+            return;
+        }
+
+        Slot slot = new Slot(tableId, dateTime);
+        NavigableMap<LocalDateTime, Set<Long>> schedule =
+            schedules.computeIfAbsent(tableId, id -> new TreeMap<>());
+        synchronized (schedule) {
+            schedule.computeIfAbsent(dateTime, time -> new HashSet<>()).add(reservationId);
+        }
+        slotsByReservation.put(reservationId, slot);
+    }
+
+    private void remove(Long reservationId, Slot slot) {
+        NavigableMap<LocalDateTime, Set<Long>> schedule = schedules.get(slot.tableId);
+        if (schedule == null) {
+            return;
+        }
+        synchronized (schedule) {
+            Set<Long> ids = schedule.get(slot.dateTime);
+            if (ids != null) {
+                ids.remove(reservationId);
+                if (ids.isEmpty()) {
+                    schedule.remove(slot.dateTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * Estado de una reserva tal como se aplica y se publica a las demás instancias
+     */
+    private record Tracked(Long reservationId, Long tableId, LocalDateTime dateTime, ReservationStatus status) {
+
+        String encode() {
+            return reservationId + "," + tableId + "," + dateTime + "," + status.name();
+        }
+
+        static Tracked decode(String entry) {
+            String[] fields = entry.split(",");
+            return new Tracked(Long.valueOf(fields[0]), Long.valueOf(fields[1]),
+                               LocalDateTime.parse(fields[2]), ReservationStatus.valueOf(fields[3]));
+        }
+    }
+
+    /**
+     * Posición de una reserva dentro del índice
+     */
+    private static final class Slot {
+        private final Long tableId;
+        private final LocalDateTime dateTime;
+
+        private Slot(Long tableId, LocalDateTime dateTime) {
+            this.tableId = tableId;
+            this.dateTime = dateTime;
+        }
+    }
+}
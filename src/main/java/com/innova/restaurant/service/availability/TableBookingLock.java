@@ -0,0 +1,198 @@
+package com.innova.restaurant.service.availability;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+
+/**
+ * Bloqueo por mesa para serializar reservas concurrentes
+ *
+ * Dos peticiones sobre la misma mesa no pueden validar disponibilidad e insertar
+ * a la vez; peticiones sobre mesas distintas no se bloquean entre sí.
+ *
+ * - En el proceso: locks segmentados (striped) indexados por ID de mesa
+ * - Entre nodos: pg_advisory_xact_lock de PostgreSQL, liberado al terminar la transacción
+ * - Altas en lote: todas las mesas del lote, adquiridas siempre en el mismo orden
+ *
+ * Dentro de una transacción el lock local se mantiene hasta el commit o rollback,
+ * de modo que la siguiente petición ya ve la reserva confirmada. La validación que se
+ * ejecuta con el lock tomado debe consultar la base de datos: el índice en memoria de
+ * cada instancia no ve al instante las reservas confirmadas por las demás.
+ */
+@Component
+public class TableBookingLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableBookingLock.class);
+
+    /**
+     * Espacio de claves de los advisory locks de reservas de mesa
+     */
+    private static final int ADVISORY_LOCK_NAMESPACE = 0x52455356; // "RESV"
+
+    private final ReentrantLock[] stripes;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean databaseLockSupported;
+
+    /**
+     * @param jdbcTemplate acceso a la base de datos; null para usar solo los locks en memoria
+     */
+    @Autowired
+    public TableBookingLock(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform,
+                            @Value("${app.reservations.booking-lock.stripes:256}") int stripeCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseLockSupported = jdbcTemplate != null && databasePlatform.isPostgres();
+        logger.info("Advisory locks de PostgreSQL para reservas: {}",
+                    databaseLockSupported ? "activos" : "no disponibles");
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Ejecuta una acción con la mesa bloqueada
+     *
+     * @param tableId ID de la mesa
+     * @param action validación e inserción/actualización de la reserva
+     * @return resultado de la acción
+     */
+    public <T> T executeLocked(Long tableId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(tableId);
+        lock.lock();
+        boolean releaseOnCompletion = false;
+        try {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        lock.unlock();
+                    }
+                });
+                releaseOnCompletion = true;
+                acquireDatabaseLock(tableId);
+            }
+            return action.get();
+        } finally {
+            if (!releaseOnCompletion) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una acción con varias mesas bloqueadas (altas en lote)
+     *
+     * Los segmentos se toman en orden de índice y los advisory locks en orden de ID de mesa,
+     * en una sola sentencia, para que dos lotes que comparten mesas no se bloqueen mutuamente.
+     *
+     * @param tableIds IDs de las mesas
+     * @param action validación e inserción de las reservas
+     * @return resultado de la acción
+     */
+    public <T> T executeLocked(Collection<Long> tableIds, Supplier<T> action) {
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        for (Long tableId : tableIds) {
+            stripeIndexes.add(stripeIndex(tableId));
+        }
+        ReentrantLock[] held = new ReentrantLock[stripeIndexes.size()];
+        int count = 0;
+        boolean releaseOnCompletion = false;
+        try {
+            for (int index : stripeIndexes) {
+                stripes[index].lock();
+                held[count++] = stripes[index];
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        unlockAll(held, held.length);
+                    }
+                });
+                releaseOnCompletion = true;
+                acquireDatabaseLocks(new TreeSet<>(tableIds));
+            }
+            return action.get();
+        } finally {
+            if (!releaseOnCompletion) {
+                unlockAll(held, count);
+            }
+        }
+    }
+
+    /**
+     * Número de segmentos de lock
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    private ReentrantLock stripeFor(Long tableId) {
+        return stripes[stripeIndex(tableId)];
+    }
+
+    private int stripeIndex(Long tableId) {
+        int hash = tableId.hashCode();
+        hash ^= (hash >>> 16);
+        return hash & (stripes.length - 1);
+    }
+
+    private static void unlockAll(ReentrantLock[] held, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            held[i].unlock();
+        }
+    }
+
+    /**
+     * Bloqueo transaccional en PostgreSQL para coordinar varias instancias
+     */
+    private void acquireDatabaseLock(Long tableId) {
+        if (!databaseLockSupported) {
+            return;
+        }
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)",
+                           (ResultSetExtractor<Void>) rs -> null,
+                           ADVISORY_LOCK_NAMESPACE, tableId.intValue());
+    }
+
+    /**
+     * Advisory locks de varias mesas en orden ascendente con un único round trip
+     */
+    private void acquireDatabaseLocks(TreeSet<Long> tableIds) {
+        if (!databaseLockSupported) {
+            return;
+        }
+        Integer[] keys = tableIds.stream().map(Long::intValue).toArray(Integer[]::new);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Array array = connection.createArrayOf("integer", keys);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT pg_advisory_xact_lock(?, k) FROM (SELECT unnest(?::int[]) AS k ORDER BY k) AS ordered")) {
+                statement.setInt(1, ADVISORY_LOCK_NAMESPACE);
+                statement.setArray(2, array);
+                statement.executeQuery().close();
+            } finally {
+                array.free();
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,372 @@
+package com.innova.restaurant.service.cache;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mongodb.CursorType;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Canal de invalidación de cachés locales entre instancias
+ *
+ * Cada invalidación emitida por la capa de servicio se publica, tras el commit, como un
+ * documento en la colección capada cache_invalidations de MongoDB. Un hilo de fondo la lee
+ * con un cursor tailable y aplica las invalidaciones de las demás instancias a los manejadores
+ * registrados por cada caché. No requiere replica set (a diferencia de los change streams).
+ *
+ * Al reabrir el cursor (fallo de red o cursor cerrado por el servidor) se retoma en orden de
+ * inserción ($natural) justo después del último mensaje leído, comparando por igualdad de _id:
+ * los ObjectId los generan los clientes y no son monótonos entre nodos, así que un filtro
+ * _id > último podría saltarse mensajes.
+ *
+ * Si se pueden haber perdido mensajes se avisa a los manejadores de resincronización: en esta
+ * instancia cuando la colección capada ya descartó el último mensaje leído y, si esta instancia
+ * no pudo publicar alguna invalidación, en las demás con un mensaje de resincronización en cuanto
+ * vuelve a publicar.
+ *
+ * Métricas: cache.invalidation.published / received / dropped / resync y cache.invalidation.lag
+ * (tiempo entre la publicación y la aplicación en esta instancia, sujeto al desfase de relojes).
+ */
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    static final String COLLECTION = "cache_invalidations";
+
+    /**
+     * Mensaje que pide a las demás instancias resincronizar todo (no es el nombre de ninguna caché)
+     */
+    static final String RESYNC = "*resync";
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    private final long collectionSizeBytes;
+
+    private final long maxDocuments;
+
+    private final long retryIntervalMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+
+    private final Map<String, Runnable> resyncHandlers = new ConcurrentHashMap<>();
+
+    /**
+     * Alguna invalidación de esta instancia no llegó a publicarse
+     */
+    private final AtomicBoolean lostMessages = new AtomicBoolean();
+
+    private final ThreadPoolExecutor publisher;
+
+    private final Counter publishedCounter;
+
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+
+    private Thread subscriber;
+
+    @Autowired
+    public CacheInvalidationBus(MongoTemplate mongoTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+                                @Value("${app.cache.invalidation.collection-size-bytes:1048576}") long collectionSizeBytes,
+                                @Value("${app.cache.invalidation.max-documents:10000}") long maxDocuments,
+                                @Value("${app.cache.invalidation.retry-interval-ms:5000}") long retryIntervalMillis,
+                                @Value("${app.cache.invalidation.publish-queue-capacity:10000}") int publishQueueCapacity) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.collectionSizeBytes = collectionSizeBytes;
+        this.maxDocuments = maxDocuments;
+        this.retryIntervalMillis = Math.max(1, retryIntervalMillis);
+        this.publishedCounter = meterRegistry.counter("cache.invalidation.published");
+        this.droppedCounter = meterRegistry.counter("cache.invalidation.dropped");
+        // Las inserciones no bloquean el request; con la cola llena se descarta la invalidación
+        // (la entrada remota caducará por TTL)
+        this.publisher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, publishQueueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "cache-invalidation-publisher");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, executor) -> {
+                droppedCounter.increment();
+                lostMessages.set(true);
+            });
+    }
+
+    /**
+     * Registra el manejador que invalida localmente las claves de una caché
+     */
+    public void register(String cache, Consumer<String> handler) {
+        handlers.put(cache, handler);
+    }
+
+    /**
+     * Registra además la acción que deja la caché en un estado correcto cuando se han podido
+     * perder invalidaciones (por ejemplo, vaciarla entera)
+     */
+    public void register(String cache, Consumer<String> handler, Runnable onResync) {
+        register(cache, handler);
+        resyncHandlers.put(cache, onResync);
+    }
+
+    /**
+     * Publica la invalidación de una clave para las demás instancias
+     *
+     * Dentro de una transacción se publica tras el commit, cuando el dato ya es visible.
+     */
+    public void publish(String cache, Object key) {
+        if (!enabled) {
+            return;
+        }
+        String value = String.valueOf(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publisher.execute(() -> insert(cache, value));
+                }
+            });
+        } else {
+            publisher.execute(() -> insert(cache, value));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("Invalidación de cachés entre instancias deshabilitada");
+            return;
+        }
+        running = true;
+        subscriber = new Thread(this::runSubscriber, "cache-invalidation-subscriber");
+        subscriber.setDaemon(true);
+        subscriber.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        publisher.shutdown();
+        try {
+            publisher.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (subscriber != null) {
+                subscriber.interrupt();
+                subscriber.join(SHUTDOWN_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Aplica una invalidación leída de la colección (las propias ya se aplicaron localmente)
+     */
+    void handle(Document message) {
+        if (nodeId.equals(message.getString("node"))) {
+            return;
+        }
+        String cache = message.getString("cache");
+        if (RESYNC.equals(cache)) {
+            logger.info("La instancia {} perdió invalidaciones: resincronizando", message.getString("node"));
+            resync();
+            return;
+        }
+        Consumer<String> handler = handlers.get(cache);
+        if (handler == null) {
+            return;
+        }
+        handler.accept(message.getString("key"));
+        meterRegistry.counter("cache.invalidation.received", "cache", cache).increment();
+        Date publishedAt = message.getDate("published_at");
+        if (publishedAt != null) {
+            long lagMillis = Math.max(0, System.currentTimeMillis() - publishedAt.getTime());
+            Timer.builder("cache.invalidation.lag")
+                .description("Tiempo desde la publicación hasta la invalidación en esta instancia")
+                .tag("cache", cache)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofMillis(lagMillis));
+        }
+    }
+
+    /**
+     * Ejecuta los manejadores de resincronización de todas las cachés
+     */
+    void resync() {
+        meterRegistry.counter("cache.invalidation.resync").increment();
+        resyncHandlers.forEach((cache, onResync) -> {
+            try {
+                onResync.run();
+            } catch (RuntimeException e) {
+                logger.warn("No se pudo resincronizar la caché {}: {}", cache, e.getMessage());
+            }
+        });
+    }
+
+    private void insert(String cache, String key) {
+        try {
+            insertDocument(cache, key);
+            publishedCounter.increment();
+        } catch (RuntimeException e) {
+            droppedCounter.increment();
+            lostMessages.set(true);
+            logger.warn("No se pudo publicar la invalidación {}:{}: {}", cache, key, e.getMessage());
+            return;
+        }
+        // El canal vuelve a funcionar: las demás instancias deben resincronizar lo que no recibieron
+        if (lostMessages.compareAndSet(true, false)) {
+            try {
+                insertDocument(RESYNC, nodeId);
+            } catch (RuntimeException e) {
+                lostMessages.set(true);
+            }
+        }
+    }
+
+    private void insertDocument(String cache, String key) {
+        mongoTemplate.getCollection(COLLECTION).insertOne(new Document("cache", cache)
+            .append("key", key)
+            .append("node", nodeId)
+            .append("published_at", new Date()));
+    }
+
+    private void runSubscriber() {
+        ObjectId position = null;
+        boolean initialized = false;
+        while (running) {
+            try {
+                MongoCollection<Document> collection = mongoTemplate.getCollection(ensureCollection());
+                if (!initialized) {
+                    // Solo interesan las invalidaciones posteriores al arranque
+                    Document latest = collection.find().sort(new Document("$natural", -1)).first();
+                    position = latest != null ? latest.getObjectId("_id") : null;
+                    initialized = true;
+                }
+                try (MongoCursor<Document> cursor = collection.find()
+                        .cursorType(CursorType.TailableAwait)
+                        .maxAwaitTime(1, TimeUnit.SECONDS)
+                        .iterator()) {
+                    position = tail(cursor, position);
+                }
+                pause(Math.min(retryIntervalMillis, 1000));
+            } catch (MongoException | DataAccessException e) {
+                logger.warn("Canal de invalidación no disponible, reintento en {} ms: {}",
+                            retryIntervalMillis, e.getMessage());
+                pause(retryIntervalMillis);
+            } catch (RuntimeException e) {
+                logger.error("Error inesperado en el canal de invalidación", e);
+                pause(retryIntervalMillis);
+            }
+        }
+    }
+
+    /**
+     * Lee el cursor tailable (en orden de inserción) desde el principio de la colección
+     *
+     * Descarta los mensajes hasta encontrar el último leído (resumeAfter) y aplica los siguientes.
+     * Si se alcanza el final sin encontrarlo, la colección capada ya lo descartó: los mensajes
+     * descartados en la búsqueda pueden ser nuevos, así que se resincroniza.
+     *
+     * @return último mensaje leído, desde el que retomar al reabrir el cursor
+     */
+    ObjectId tail(MongoCursor<Document> cursor, ObjectId resumeAfter) {
+        ObjectId position = resumeAfter;
+        boolean skipping = resumeAfter != null;
+        while (running) {
+            Document message = cursor.tryNext();
+            if (message == null) {
+                if (skipping) {
+                    logger.warn("El último mensaje leído ya no está en {}: resincronizando", COLLECTION);
+                    skipping = false;
+                    resync();
+                }
+                if (cursor.getServerCursor() == null) {
+                    // Cursor cerrado por el servidor (colección vacía): se reabre tras una pausa
+                    return position;
+                }
+                continue;
+            }
+            ObjectId id = message.getObjectId("_id");
+            if (skipping) {
+                skipping = !id.equals(resumeAfter);
+                continue;
+            }
+            position = id;
+            handle(message);
+        }
+        return position;
+    }
+
+    private String ensureCollection() {
+        if (!mongoTemplate.collectionExists(COLLECTION)) {
+            try {
+                mongoTemplate.createCollection(COLLECTION,
+                    CollectionOptions.empty().capped().size(collectionSizeBytes).maxDocuments(maxDocuments));
+            } catch (MongoException | DataAccessException e) {
+                // Otra instancia la creó al mismo tiempo
+                if (!mongoTemplate.collectionExists(COLLECTION)) {
+                    throw e;
+                }
+            }
+        }
+        return COLLECTION;
+    }
+
+    private void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.innova.restaurant.service.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.model.enums.TableStatus;
+import com.innova.restaurant.model.enums.UserRole;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caché de lectura para el detalle de restaurante y su lista de mesas
+ *
+ * Las entradas son instantáneas inmutables tomadas al cargar (con el propietario incluido)
+ * y cada lectura devuelve entidades nuevas y desacopladas: lo que haga quien llama con ellas
+ * no afecta a la caché ni a otras peticiones. Los métodos que modifican siguen cargando la
+ * entidad del repositorio. La lista de mesas incluye el restaurante serializado, por lo que
+ * un cambio en el restaurante invalida ambas entradas. Estadísticas en cache.* (cache=restaurants|restaurant-tables).
+ * Las invalidaciones se propagan a las demás instancias por CacheInvalidationBus.
+ */
+@Component
+public class RestaurantCache {
+
+    static final String RESTAURANTS = "restaurants";
+
+    static final String TABLES = "restaurant-tables";
+
+    private final CacheInvalidationBus invalidationBus;
+
+    private final Cache<Long, RestaurantSnapshot> restaurants;
+
+    private final Cache<Long, TablesSnapshot> tables;
+
+    @Autowired
+    public RestaurantCache(MeterRegistry meterRegistry,
+                           CacheInvalidationBus invalidationBus,
+                           @Value("${app.cache.restaurants.max-size:10000}") long restaurantsMaxSize,
+                           @Value("${app.cache.restaurants.ttl-seconds:600}") long restaurantsTtlSeconds,
+                           @Value("${app.cache.tables.max-size:10000}") long tablesMaxSize,
+                           @Value("${app.cache.tables.ttl-seconds:600}") long tablesTtlSeconds) {
+        this.restaurants = Caffeine.newBuilder()
+            .maximumSize(restaurantsMaxSize)
+            .expireAfterWrite(Duration.ofSeconds(restaurantsTtlSeconds))
+            .recordStats()
+            .build();
+        this.tables = Caffeine.newBuilder()
+            .maximumSize(tablesMaxSize)
+            .expireAfterWrite(Duration.ofSeconds(tablesTtlSeconds))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, restaurants, RESTAURANTS);
+        CaffeineCacheMetrics.monitor(meterRegistry, tables, TABLES);
+
+        this.invalidationBus = invalidationBus;
+        invalidationBus.register(RESTAURANTS, key -> {
+            restaurants.invalidate(Long.valueOf(key));
+            tables.invalidate(Long.valueOf(key));
+        }, restaurants::invalidateAll);
+        invalidationBus.register(TABLES, key -> tables.invalidate(Long.valueOf(key)), tables::invalidateAll);
+    }
+
+    /**
+     * Obtiene un restaurante, cargándolo si no está en caché
+     *
+     * @param loader carga desde base de datos (con el propietario inicializado); si devuelve null no se cachea
+     * @return copia propia de quien llama, o null si no existe
+     */
+    public Restaurant getRestaurant(Long restaurantId, Function<Long, Restaurant> loader) {
+        RestaurantSnapshot snapshot = restaurants.get(restaurantId, id -> {
+            Restaurant loaded = loader.apply(id);
+            return loaded != null ? RestaurantSnapshot.of(loaded) : null;
+        });
+        return snapshot != null ? snapshot.toEntity() : null;
+    }
+
+    /**
+     * Obtiene las mesas de un restaurante, cargándolas si no están en caché
+     *
+     * @param loader carga desde base de datos (con restaurante y propietario inicializados)
+     * @return copias propias de quien llama, que comparten una única copia del restaurante
+     */
+    public List<RestaurantTable> getTables(Long restaurantId, Function<Long, List<RestaurantTable>> loader) {
+        return tables.get(restaurantId, id -> TablesSnapshot.of(loader.apply(id))).toEntities();
+    }
+
+    /**
+     * Invalida el restaurante y sus mesas (que lo incluyen)
+     */
+    public void evictRestaurant(Long restaurantId) {
+        afterCommitToo(() -> {
+            restaurants.invalidate(restaurantId);
+            tables.invalidate(restaurantId);
+        });
+        invalidationBus.publish(RESTAURANTS, restaurantId);
+    }
+
+    /**
+     * Invalida solo la lista de mesas de un restaurante
+     */
+    public void evictTables(Long restaurantId) {
+        afterCommitToo(() -> tables.invalidate(restaurantId));
+        invalidationBus.publish(TABLES, restaurantId);
+    }
+
+    /**
+     * Invalida de inmediato y, dentro de una transacción, otra vez tras el commit
+     * para que una lectura concurrente no vuelva a cachear el estado anterior
+     */
+    private void afterCommitToo(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Propietario tal como se cachea, sin la contraseña
+     */
+    record OwnerSnapshot(Long id, String username, String email, String firstName,
+                         String lastName, String phone, UserRole role, Boolean isActive,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static OwnerSnapshot of(User owner) {
+            return new OwnerSnapshot(owner.getId(), owner.getUsername(), owner.getEmail(), owner.getFirstName(),
+                                     owner.getLastName(), owner.getPhone(), owner.getRole(), owner.getIsActive(),
+                                     owner.getCreatedAt(), owner.getUpdatedAt());
+        }
+
+        User toEntity() {
+            User owner = new User();
+            owner.setId(id);
+            owner.setUsername(username);
+            owner.setEmail(email);
+            owner.setFirstName(firstName);
+            owner.setLastName(lastName);
+            owner.setPhone(phone);
+            owner.setRole(role);
+            owner.setIsActive(isActive);
+            owner.setCreatedAt(createdAt);
+            owner.setUpdatedAt(updatedAt);
+            return owner;
+        }
+    }
+
+    /**
+     * Restaurante tal como se cachea
+     */
+    record RestaurantSnapshot(Long id, String name, String description, String address, String phone, String email,
+                              LocalTime openingTime, LocalTime closingTime, Integer maxCapacity,
+                              OwnerSnapshot owner, Boolean isActive, LocalDateTime createdAt,
+                              LocalDateTime updatedAt) {
+
+        static RestaurantSnapshot of(Restaurant restaurant) {
+            User owner = restaurant.getOwner();
+            return new RestaurantSnapshot(restaurant.getId(), restaurant.getName(), restaurant.getDescription(),
+                                          restaurant.getAddress(), restaurant.getPhone(), restaurant.getEmail(),
+                                          restaurant.getOpeningTime(), restaurant.getClosingTime(),
+                                          restaurant.getMaxCapacity(), owner != null ? OwnerSnapshot.of(owner) : null,
+                                          restaurant.getIsActive(), restaurant.getCreatedAt(),
+                                          restaurant.getUpdatedAt());
+        }
+
+        Restaurant toEntity() {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setId(id);
+            restaurant.setName(name);
+            restaurant.setDescription(description);
+            restaurant.setAddress(address);
+            restaurant.setPhone(phone);
+            restaurant.setEmail(email);
+            restaurant.setOpeningTime(openingTime);
+            restaurant.setClosingTime(closingTime);
+            restaurant.setMaxCapacity(maxCapacity);
+            restaurant.setOwner(owner != null ? owner.toEntity() : null);
+            restaurant.setIsActive(isActive);
+            restaurant.setCreatedAt(createdAt);
+            restaurant.setUpdatedAt(updatedAt);
+            return restaurant;
+        }
+    }
+
+    /**
+     * Mesa tal como se cachea
+     */
+    record TableSnapshot(Long id, Integer tableNumber, Integer capacity, TableStatus status,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static TableSnapshot of(RestaurantTable table) {
+            return new TableSnapshot(table.getId(), table.getTableNumber(), table.getCapacity(), table.getStatus(),
+                                     table.getCreatedAt(), table.getUpdatedAt());
+        }
+
+        RestaurantTable toEntity(Restaurant restaurant) {
+            RestaurantTable table = new RestaurantTable();
+            table.setId(id);
+            table.setTableNumber(tableNumber);
+            table.setCapacity(capacity);
+            table.setStatus(status);
+            table.setRestaurant(restaurant);
+            table.setCreatedAt(createdAt);
+            table.setUpdatedAt(updatedAt);
+            return table;
+        }
+    }
+
+    /**
+     * Mesas de un restaurante tal como se cachean: el restaurante se guarda una sola vez
+     */
+    record TablesSnapshot(RestaurantSnapshot restaurant, List<TableSnapshot> tables) {
+
+        static TablesSnapshot of(List<RestaurantTable> tables) {
+            Restaurant restaurant = tables.isEmpty() ? null : tables.get(0).getRestaurant();
+            return new TablesSnapshot(restaurant != null ? RestaurantSnapshot.of(restaurant) : null,
+                                      tables.stream().map(TableSnapshot::of).toList());
+        }
+
+        List<RestaurantTable> toEntities() {
+            Restaurant copy = restaurant != null ? restaurant.toEntity() : null;
+            return tables.stream().map(table -> table.toEntity(copy)).toList();
+        }
+    }
+}
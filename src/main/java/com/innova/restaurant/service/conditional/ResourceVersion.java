@@ -0,0 +1,112 @@
+package com.innova.restaurant.service.conditional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * Versión de un recurso para GET condicional (ETag + Last-Modified)
+ *
+ * Se calcula a partir de updated_at, IDs y contadores de lo que forma la respuesta,
+ * sin construir ni serializar el cuerpo, y se compara con WebRequest.checkNotModified.
+ * El ETag es débil (W/"...") cuando la respuesta embebe entidades relacionadas cuya
+ * serialización puede cambiar sin que cambien las partes de la versión.
+ */
+public final class ResourceVersion {
+
+    private static final String SEPARATOR = "|";
+
+    private final String etag;
+
+    private final long lastModified;
+
+    private ResourceVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Versión con ETag fuerte
+     *
+     * @param lastModified última modificación, o null si no es fiable (por ejemplo, listas con borrados)
+     * @param parts valores que identifican el estado del recurso
+     */
+    public static ResourceVersion strong(LocalDateTime lastModified, Object... parts) {
+        return new ResourceVersion(quote(hash(parts)), toMillis(lastModified));
+    }
+
+    /**
+     * Versión con ETag débil
+     *
+     * @param lastModified última modificación, o null si no es fiable (por ejemplo, listas con borrados)
+     * @param parts valores que identifican el estado del recurso
+     */
+    public static ResourceVersion weak(LocalDateTime lastModified, Object... parts) {
+        return new ResourceVersion("W/" + quote(hash(parts)), toMillis(lastModified));
+    }
+
+    /**
+     * Versión de una respuesta compuesta por este recurso y otro
+     *
+     * El ETag resultante es débil y Last-Modified es el más reciente de ambos
+     * (o ninguno si alguno de los dos no lo tiene).
+     */
+    public ResourceVersion and(ResourceVersion other) {
+        long combined = lastModified < 0 || other.lastModified < 0
+            ? -1
+            : Math.max(lastModified, other.lastModified);
+        return new ResourceVersion("W/" + quote(hash(etag, other.etag)), combined);
+    }
+
+    /**
+     * ETag entrecomillado (con prefijo W/ si es débil)
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Última modificación en milisegundos desde epoch, -1 si no se conoce
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public boolean isWeak() {
+        return etag.startsWith("W/");
+    }
+
+    /**
+     * Convierte una fecha leída directamente de MongoDB (java.util.Date en UTC)
+     */
+    public static LocalDateTime fromInstant(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    private static String hash(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i]);
+        }
+        return DigestUtils.md5DigestAsHex(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    @Override
+    public String toString() {
+        return etag;
+    }
+}
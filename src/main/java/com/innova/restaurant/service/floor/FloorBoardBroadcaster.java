@@ -0,0 +1,540 @@
+package com.innova.restaurant.service.floor;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innova.restaurant.dto.FloorBoardDto;
+import com.innova.restaurant.dto.FloorBoardDto.ReservationEntry;
+import com.innova.restaurant.dto.FloorBoardDto.StatusChange;
+import com.innova.restaurant.dto.FloorBoardDto.TableEntry;
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.service.cache.CacheInvalidationBus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Difusión del tablero de salón en vivo por Server-Sent Events
+ *
+ * Cada tablet abierto en GET /api/restaurants/{id}/floor/stream recibe un evento snapshot
+ * (una sola consulta de reservas del día; las mesas salen de RestaurantCache) y después solo
+ * los cambios que publica la capa de servicio tras el commit:
+ *
+ * - reservation: alta, modificación, cambio de estado o check-in (ReservationEntry)
+ * - reservations: altas en lote (lista de ReservationEntry)
+ * - reservations-status: cambio masivo de los barridos de caducidad y no presentados (StatusChange)
+ * - table / table-removed / tables: cambios de mesa, baja y plano completo (TableEntry)
+ *
+ * Cada cambio se serializa una sola vez y se encola en cada suscriptor sin bloquear al
+ * publicador; un pool pequeño de hilos vacía las colas.
+ *
+ * A las demás instancias solo llega por CacheInvalidationBus un aviso pequeño
+ * (restaurante|evento|IDs); la instancia que tiene tablets del restaurante reconstruye el evento
+ * con una consulta (FloorBoardLoader) y las demás lo ignoran.
+ *
+ * Cuando un tablet puede haber perdido cambios (acumula más de max-pending-events, el canal entre
+ * instancias perdió mensajes o no se pudo reconstruir un aviso) recibe un evento resync y se
+ * cierra la conexión: el navegador reconecta y recibe un snapshot nuevo.
+ *
+ * Métricas: floor.board.subscribers, floor.board.events (cambios recibidos, locales o remotos)
+ * y floor.board.subscribers.dropped (conexiones cerradas por acumular demasiados eventos).
+ */
+@Component
+public class FloorBoardBroadcaster implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(FloorBoardBroadcaster.class);
+
+    static final String CHANNEL = "floor-board";
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * Reservas máximas por evento en las altas en lote, para acotar el tamaño de cada mensaje
+     */
+    static final int MAX_ENTRIES_PER_EVENT = 100;
+
+    private final ObjectMapper objectMapper;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    private final FloorBoardLoader loader;
+
+    private final long timeoutMillis;
+
+    private final int maxPendingEvents;
+
+    private final ExecutorService sender;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final Counter eventsCounter;
+
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+
+    @Autowired
+    public FloorBoardBroadcaster(ObjectMapper objectMapper,
+                                 CacheInvalidationBus invalidationBus,
+                                 FloorBoardLoader loader,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.floor-board.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${app.floor-board.max-pending-events:256}") int maxPendingEvents,
+                                 @Value("${app.floor-board.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.invalidationBus = invalidationBus;
+        this.loader = loader;
+        this.timeoutMillis = timeoutMillis;
+        this.maxPendingEvents = Math.max(1, maxPendingEvents);
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Como mucho una tarea de vaciado en cola por suscriptor
+        this.sender = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "floor-board-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.eventsCounter = meterRegistry.counter("floor.board.events");
+        this.droppedCounter = meterRegistry.counter("floor.board.subscribers.dropped");
+        Gauge.builder("floor.board.subscribers", subscriberCount, AtomicInteger::get)
+            .description("Tablets conectados al tablero de salón en esta instancia")
+            .register(meterRegistry);
+
+        invalidationBus.register(CHANNEL, this::receive, this::resyncAll);
+    }
+
+    /**
+     * Abre la conexión de un tablet
+     *
+     * El suscriptor se registra antes de cargar el snapshot y retiene los cambios hasta enviarlo;
+     * como cada cambio lleva el estado completo, repetir uno que el snapshot ya incluye es inocuo.
+     *
+     * @param snapshot carga de mesas y reservas del día; sus excepciones se propagan al request
+     */
+    public SseEmitter subscribe(Long restaurantId, Supplier<FloorBoardDto> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(restaurantId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        subscribers.compute(restaurantId, (id, board) -> {
+            Set<Subscriber> current = board != null ? board : ConcurrentHashMap.newKeySet();
+            current.add(subscriber);
+            return current;
+        });
+        subscriberCount.incrementAndGet();
+        try {
+            subscriber.start(new Message("snapshot", toJson(snapshot.get())));
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        return emitter;
+    }
+
+    /**
+     * Alta, modificación o cambio de estado de una reserva
+     */
+    public void reservationChanged(Reservation reservation) {
+        publish(reservation.getRestaurant().getId(), "reservation", ReservationEntry.from(reservation),
+                String.valueOf(reservation.getId()));
+    }
+
+    /**
+     * Altas en lote: eventos reservations de como mucho MAX_ENTRIES_PER_EVENT reservas por restaurante
+     */
+    public void reservationsChanged(List<Reservation> reservations) {
+        Map<Long, List<ReservationEntry>> byRestaurant = new LinkedHashMap<>();
+        for (Reservation reservation : reservations) {
+            byRestaurant.computeIfAbsent(reservation.getRestaurant().getId(), id -> new ArrayList<>())
+                .add(ReservationEntry.from(reservation));
+        }
+        byRestaurant.forEach((restaurantId, entries) -> {
+            for (int from = 0; from < entries.size(); from += MAX_ENTRIES_PER_EVENT) {
+                List<ReservationEntry> chunk = entries.subList(from, Math.min(entries.size(), from + MAX_ENTRIES_PER_EVENT));
+                publish(restaurantId, "reservations", chunk,
+                        joinIds(chunk.stream().map(ReservationEntry::getReservationId).toList()));
+            }
+        });
+    }
+
+    /**
+     * Reservas de un restaurante que pasaron a un mismo estado con una actualización masiva
+     */
+    public void reservationsStatusChanged(Long restaurantId, ReservationStatus status, List<Long> reservationIds) {
+        publish(restaurantId, "reservations-status", new StatusChange(status, List.copyOf(reservationIds)),
+                joinIds(reservationIds) + "|" + status.name());
+    }
+
+    /**
+     * Alta o modificación de una mesa
+     */
+    public void tableChanged(RestaurantTable table) {
+        publish(table.getRestaurant().getId(), "table", TableEntry.from(table), String.valueOf(table.getId()));
+    }
+
+    /**
+     * Baja de una mesa
+     */
+    public void tableRemoved(Long restaurantId, Long tableId) {
+        publish(restaurantId, "table-removed", Map.of("tableId", tableId), String.valueOf(tableId));
+    }
+
+    /**
+     * Plano de mesas sustituido por completo
+     */
+    public void layoutReplaced(Long restaurantId, List<RestaurantTable> tables) {
+        // Las demás instancias releen el plano entero: el aviso no necesita IDs
+        publish(restaurantId, "tables", tables.stream().map(TableEntry::from).toList(), "");
+    }
+
+    /**
+     * Comentario periódico para que proxies y balanceadores no corten las conexiones inactivas
+     * y para detectar las que el cliente ya cerró
+     */
+    @Scheduled(fixedDelayString = "${app.floor-board.heartbeat-ms:15000}",
+               initialDelayString = "${app.floor-board.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> board : subscribers.values()) {
+            for (Subscriber subscriber : board) {
+                subscriber.offer(Message.HEARTBEAT);
+            }
+        }
+    }
+
+    /**
+     * Tablets conectados en esta instancia
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Set<Subscriber> board : subscribers.values()) {
+            for (Subscriber subscriber : board) {
+                subscriber.emitter.complete();
+            }
+        }
+        sender.shutdown();
+        try {
+            sender.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Serializa el cambio y lo entrega tras el commit; a las demás instancias solo llega el aviso
+     */
+    private void publish(Long restaurantId, String name, Object payload, String notice) {
+        Message message = new Message(name, toJson(payload));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(restaurantId, message);
+                }
+            });
+        } else {
+            deliver(restaurantId, message);
+        }
+        invalidationBus.publish(CHANNEL, restaurantId + "|" + name + "|" + notice);
+    }
+
+    /**
+     * Aviso publicado por otra instancia: restaurante|evento|IDs (y |estado en reservations-status)
+     *
+     * Solo se consulta la base de datos si hay tablets de ese restaurante en esta instancia.
+     */
+    void receive(String notice) {
+        String[] parts = notice.split("\\|", -1);
+        if (parts.length < 3) {
+            logger.warn("Aviso de tablero con formato inválido: {}", notice);
+            return;
+        }
+        Long restaurantId = Long.valueOf(parts[0]);
+        String name = parts[1];
+        if (!subscribers.containsKey(restaurantId)) {
+            eventsCounter.increment();
+            return;
+        }
+        List<Long> ids = parseIds(parts[2]);
+        try {
+            Object payload = switch (name) {
+                case "reservation" -> loader.reservations(ids).stream().findFirst().orElse(null);
+                case "reservations" -> loader.reservations(ids);
+                case "reservations-status" -> new StatusChange(ReservationStatus.valueOf(parts[3]), ids);
+                case "table" -> loader.table(ids.get(0)).orElse(null);
+                case "table-removed" -> Map.of("tableId", ids.get(0));
+                case "tables" -> loader.tables(restaurantId);
+                default -> null;
+            };
+            if (payload == null) {
+                // Entidad ya borrada (llegará su propio aviso) o evento desconocido
+                eventsCounter.increment();
+                return;
+            }
+            deliver(restaurantId, new Message(name, toJson(payload)));
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo reconstruir el aviso de tablero {}: {}", notice, e.getMessage());
+            resync(restaurantId);
+        }
+    }
+
+    /**
+     * El canal entre instancias pudo perder avisos: todos los tablets de esta instancia se resincronizan
+     */
+    void resyncAll() {
+        for (Long restaurantId : subscribers.keySet()) {
+            resync(restaurantId);
+        }
+    }
+
+    private void resync(Long restaurantId) {
+        Set<Subscriber> board = subscribers.get(restaurantId);
+        if (board == null) {
+            return;
+        }
+        for (Subscriber subscriber : board) {
+            subscriber.resync();
+        }
+    }
+
+    private void deliver(Long restaurantId, Message message) {
+        eventsCounter.increment();
+        Set<Subscriber> board = subscribers.get(restaurantId);
+        if (board == null) {
+            return;
+        }
+        for (Subscriber subscriber : board) {
+            subscriber.offer(message);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        // Atómico por restaurante: un alta concurrente no puede caer en un conjunto ya retirado del mapa
+        subscribers.computeIfPresent(subscriber.restaurantId, (id, board) -> {
+            if (board.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return board.isEmpty() ? null : board;
+        });
+    }
+
+    private static String joinIds(List<Long> ids) {
+        StringBuilder joined = new StringBuilder();
+        for (Long id : ids) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(id);
+        }
+        return joined.toString();
+    }
+
+    private static List<Long> parseIds(String value) {
+        List<Long> ids = new ArrayList<>();
+        for (String id : value.split(",")) {
+            if (!id.isEmpty()) {
+                ids.add(Long.valueOf(id));
+            }
+        }
+        return ids;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento del tablero", e);
+        }
+    }
+
+    /**
+     * Evento SSE ya serializado; sin nombre es un comentario de heartbeat
+     */
+    record Message(String name, String json) {
+
+        static final Message HEARTBEAT = new Message(null, null);
+
+        /**
+         * El tablero pudo perder cambios: el cliente debe descartarlo y reconectar para un snapshot nuevo
+         */
+        static final Message RESYNC = new Message("resync", "{}");
+
+        SseEmitter.SseEventBuilder toEvent() {
+            return name == null
+                ? SseEmitter.event().comment("heartbeat")
+                : SseEmitter.event().name(name).data(json);
+        }
+    }
+
+    /**
+     * Conexión de un tablet con su cola de eventos pendientes
+     *
+     * Como mucho una tarea de vaciado activa por suscriptor, así los eventos salen en orden
+     * y un cliente lento solo retrasa su propia cola.
+     */
+    private final class Subscriber {
+
+        private final Long restaurantId;
+
+        private final SseEmitter emitter;
+
+        private final ArrayDeque<Message> pending = new ArrayDeque<>();
+
+        private boolean ready;
+
+        private boolean draining;
+
+        /**
+         * Solo queda por enviar el evento resync; después se cierra la conexión
+         */
+        private boolean closing;
+
+        private boolean closed;
+
+        private Subscriber(Long restaurantId, SseEmitter emitter) {
+            this.restaurantId = restaurantId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Envía el snapshot por delante de los cambios retenidos mientras se cargaba
+         */
+        void start(Message snapshot) {
+            synchronized (this) {
+                pending.addFirst(snapshot);
+                ready = true;
+            }
+            scheduleDrain();
+        }
+
+        void offer(Message message) {
+            boolean overflow;
+            synchronized (this) {
+                if (closed || closing) {
+                    return;
+                }
+                overflow = pending.size() >= maxPendingEvents;
+                if (!overflow) {
+                    pending.addLast(message);
+                }
+            }
+            if (overflow) {
+                droppedCounter.increment();
+                resync();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Descarta los cambios pendientes y deja solo el evento resync; la conexión se cierra al enviarlo
+         */
+        void resync() {
+            synchronized (this) {
+                if (closed || closing) {
+                    return;
+                }
+                closing = true;
+                pending.clear();
+                pending.addLast(Message.RESYNC);
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            synchronized (this) {
+                if (!ready || draining || closed || pending.isEmpty()) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Apagado en curso: stop() ya completó el emitter
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Message message;
+                boolean finished = false;
+                synchronized (this) {
+                    message = closed ? null : pending.pollFirst();
+                    if (message == null) {
+                        draining = false;
+                        // Enviado el resync: se cierra la conexión
+                        finished = closing && !closed;
+                        closed = closed || finished;
+                    }
+                }
+                if (message == null) {
+                    if (finished) {
+                        remove(this);
+                        emitter.complete();
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(message.toEvent());
+                } catch (IOException | IllegalStateException e) {
+                    // Cliente desconectado: el contenedor completa el emitter
+                    synchronized (this) {
+                        closed = true;
+                        draining = false;
+                        pending.clear();
+                    }
+                    remove(this);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.innova.restaurant.service.floor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.innova.restaurant.dto.FloorBoardDto.ReservationEntry;
+import com.innova.restaurant.dto.FloorBoardDto.TableEntry;
+import com.innova.restaurant.repository.jpa.ReservationRepository;
+import com.innova.restaurant.repository.jpa.RestaurantTableRepository;
+
+/**
+ * Lecturas con las que una instancia reconstruye los cambios de tablero publicados por otra
+ *
+ * Los avisos entre instancias solo llevan IDs; cada lectura es una única consulta y solo se hace
+ * si la instancia tiene tablets conectados al restaurante.
+ */
+@Component
+@Transactional(readOnly = true)
+public class FloorBoardLoader {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    /**
+     * Reservas por ID (las que ya no existen se omiten)
+     */
+    public List<ReservationEntry> reservations(Collection<Long> reservationIds) {
+        return reservationRepository.findAllById(reservationIds).stream().map(ReservationEntry::from).toList();
+    }
+
+    /**
+     * Mesa por ID, si aún existe
+     */
+    public Optional<TableEntry> table(Long tableId) {
+        return restaurantTableRepository.findById(tableId).map(TableEntry::from);
+    }
+
+    /**
+     * Plano completo de un restaurante
+     */
+    public List<TableEntry> tables(Long restaurantId) {
+        return restaurantTableRepository.findByRestaurantIdOrderByTableNumberAsc(restaurantId).stream()
+            .map(TableEntry::from)
+            .toList();
+    }
+}
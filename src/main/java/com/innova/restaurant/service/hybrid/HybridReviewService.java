@@ -8,13 +8,26 @@ import com.innova.restaurant.repository.jpa.RestaurantRepository;
 import com.innova.restaurant.repository.jpa.UserRepository;
 import com.innova.restaurant.repository.document.ReviewDocumentRepository;
 import com.innova.restaurant.repository.document.UserActivityDocumentRepository;
+import com.innova.restaurant.service.activity.ActivityLogAppender;
+import com.innova.restaurant.service.conditional.ResourceVersion;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +52,15 @@ public class HybridReviewService {
     @Autowired
     private UserActivityDocumentRepository userActivityRepository; // MongoDB
 
+    @Autowired
+    private ActivityLogAppender activityLogAppender; // MongoDB (escritura por lotes)
+
+    @Autowired
+    private MongoTemplate mongoTemplate; // MongoDB (agregaciones)
+
+    @Autowired
+    private ReviewRollupService reviewRollupService; // MongoDB (acumulados por restaurante)
+
     /**
      * Crear una review utilizando datos de PostgreSQL y almacenando en MongoDB
      */
@@ -77,6 +99,7 @@ public class HybridReviewService {
 
         // 5. Guardar la review en MongoDB
         ReviewDocument savedReview = reviewDocumentRepository.save(review);
+        reviewRollupService.recordReview(savedReview);
 
         // 6. Registrar la actividad en MongoDB
         logUserActivity(userId, "review_created", 
@@ -105,6 +128,66 @@ public class HybridReviewService {
         return reviews;
     }
 
+    /**
+     * Obtener una página de reviews de varios restaurantes en una sola consulta
+     *
+     * Ejecuta un $match por restaurant_id con $in y un $group que conserva,
+     * mediante $topN, las primeras reviews de cada restaurante junto con su total.
+     * Los restaurantes sin reviews reciben una página vacía.
+     */
+    public Map<Long, Page<ReviewDocument>> getRestaurantsReviews(Collection<Long> restaurantIds, Pageable pageable) {
+        Map<Long, Page<ReviewDocument>> pages = new HashMap<>();
+        if (restaurantIds.isEmpty()) {
+            return pages;
+        }
+
+        // $topN conserva offset + size reviews por restaurante; la página se recorta en memoria
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int pageSize = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        long keep = Math.min(offset + (long) pageSize, Integer.MAX_VALUE);
+
+        Document topN = new Document("n", (int) keep)
+            .append("sortBy", reviewSortDocument(pageable.getSort()))
+            .append("output", "$$ROOT");
+        Document group = new Document("_id", "$restaurant_id")
+            .append("total", new Document("$sum", 1))
+            .append("reviews", new Document("$topN", topN));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("restaurant_id").in(restaurantIds)),
+            context -> new Document("$group", group));
+
+        for (Document result : mongoTemplate.aggregate(aggregation, reviewCollection(), Document.class)) {
+            Long restaurantId = ((Number) result.get("_id")).longValue();
+            List<ReviewDocument> reviews = new ArrayList<>();
+            List<?> top = result.getList("reviews", Object.class);
+            for (int i = (int) Math.min(offset, top.size()); i < top.size(); i++) {
+                reviews.add(mongoTemplate.getConverter().read(ReviewDocument.class, (Document) top.get(i)));
+            }
+            long total = ((Number) result.get("total")).longValue();
+            pages.put(restaurantId, new PageImpl<>(reviews, pageable, total));
+        }
+
+        for (Long restaurantId : restaurantIds) {
+            pages.computeIfAbsent(restaurantId, id -> new PageImpl<>(List.of(), pageable, 0));
+        }
+
+        logSystemActivity("restaurants_reviews_viewed",
+            "Reviews de " + restaurantIds.size() + " restaurantes fueron consultadas");
+
+        return pages;
+    }
+
+    /**
+     * Obtener estadísticas de reviews de varios restaurantes desde sus acumulados
+     *
+     * Devuelve por restaurante las mismas claves de reviews que getRestaurantStatistics,
+     * incluidos los restaurantes sin reviews (con totales a cero).
+     */
+    public Map<Long, Map<String, Object>> getRestaurantsStatistics(Collection<Long> restaurantIds) {
+        return reviewRollupService.getStatistics(restaurantIds);
+    }
+
     /**
      * Obtener reviews de un usuario
      */
@@ -146,6 +229,7 @@ public class HybridReviewService {
 
         // 4. Actualizar la review en MongoDB
         review.setRestaurantResponse(restaurantResponse);
+        review.setUpdatedAt(LocalDateTime.now());
         ReviewDocument updatedReview = reviewDocumentRepository.save(review);
 
         // 5. Registrar actividad
@@ -172,6 +256,7 @@ public class HybridReviewService {
 
     /**
      * Obtener estadísticas híbridas de un restaurante
+     * Las estadísticas de reviews se leen del acumulado del restaurante (review_rollups)
      */
     public Map<String, Object> getRestaurantStatistics(Long restaurantId) {
         
@@ -179,28 +264,16 @@ public class HybridReviewService {
         Restaurant restaurant = restaurantRepository.findById(restaurantId)
             .orElseThrow(() -> new RuntimeException("Restaurante no encontrado"));
 
-        // 2. Obtener estadísticas de reviews desde MongoDB usando query methods
-        List<ReviewDocument> allReviews = reviewDocumentRepository.findByRestaurantId(restaurantId);
-        List<ReviewDocument> highRatedReviews = reviewDocumentRepository
-            .findByRestaurantIdAndOverallRatingGreaterThanEqual(restaurantId, 4.0);
-        long totalReviews = reviewDocumentRepository.countByRestaurantId(restaurantId);
-
-        // 3. Calcular estadísticas
-        double averageRating = allReviews.stream()
-            .mapToDouble(ReviewDocument::getOverallRating)
-            .average()
-            .orElse(0.0);
+        // 2. Leer el acumulado de reviews en MongoDB (búsqueda por ID)
+        Map<String, Object> reviewStatistics = reviewRollupService.getStatistics(List.of(restaurantId))
+            .get(restaurantId);
 
-        // 4. Crear mapa de estadísticas híbridas
-        Map<String, Object> statistics = new HashMap<>();
+        // 3. Crear mapa de estadísticas híbridas
+        Map<String, Object> statistics = new HashMap<>(reviewStatistics);
         statistics.put("restaurantName", restaurant.getName());
         statistics.put("restaurantAddress", restaurant.getAddress());
-        statistics.put("totalReviews", totalReviews);
-        statistics.put("averageRating", averageRating);
-        statistics.put("highRatedReviews", highRatedReviews.size());
-        statistics.put("highRatedPercentage", totalReviews > 0 ? (double) highRatedReviews.size() / totalReviews * 100 : 0);
 
-        // 5. Registrar consulta de estadísticas
+        // 4. Registrar consulta de estadísticas
         logSystemActivity("restaurant_statistics_viewed", 
             "Estadísticas del restaurante " + restaurant.getName() + " fueron consultadas");
 
@@ -222,6 +295,55 @@ public class HybridReviewService {
         }
     }
 
+    /**
+     * Versión de las reviews de un restaurante para GET condicional
+     *
+     * Un único $group sobre el índice de restaurant_id devuelve el total y el updated_at
+     * más reciente, sin leer ni convertir las reviews. Cualquier alta o respuesta cambia
+     * alguno de los dos valores.
+     */
+    public ResourceVersion getReviewsVersion(Long restaurantId) {
+        Document group = new Document("_id", null)
+            .append("total", new Document("$sum", 1))
+            .append("lastUpdated", new Document("$max", "$updated_at"));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("restaurant_id").is(restaurantId)),
+            context -> new Document("$group", group));
+
+        Document result = mongoTemplate.aggregate(aggregation, reviewCollection(), Document.class)
+            .getUniqueMappedResult();
+        long total = result != null ? ((Number) result.get("total")).longValue() : 0;
+        Date lastUpdated = result != null ? result.getDate("lastUpdated") : null;
+        LocalDateTime lastModified = lastUpdated != null ? ResourceVersion.fromInstant(lastUpdated.toInstant()) : null;
+
+        return ResourceVersion.strong(lastModified, "reviews", restaurantId, total,
+            lastUpdated != null ? lastUpdated.getTime() : 0);
+    }
+
+    /**
+     * Traduce la ordenación de Spring Data a nombres de campo de MongoDB para $topN
+     * Sin ordenación explícita se usa el orden de inserción (_id)
+     */
+    private Document reviewSortDocument(Sort sort) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+            .getRequiredPersistentEntity(ReviewDocument.class);
+        Document sortBy = new Document();
+        for (Sort.Order order : sort) {
+            MongoPersistentProperty property = entity.getPersistentProperty(order.getProperty());
+            String field = property != null ? property.getFieldName() : order.getProperty();
+            sortBy.append(field, order.isAscending() ? 1 : -1);
+        }
+        if (!sortBy.containsKey("_id")) {
+            sortBy.append("_id", 1);
+        }
+        return sortBy;
+    }
+
+    private String reviewCollection() {
+        return mongoTemplate.getCollectionName(ReviewDocument.class);
+    }
+
     /**
      * Método privado para registrar actividad de usuario
      */
@@ -235,7 +357,7 @@ public class HybridReviewService {
         activity.setResourceType(resourceType);
         activity.setResourceId(resourceId);
         
-        userActivityRepository.save(activity);
+        activityLogAppender.append(activity);
     }
 
     /**
@@ -248,7 +370,7 @@ public class HybridReviewService {
         activity.setDescription(description);
         activity.setResourceType("system");
         
-        userActivityRepository.save(activity);
+        activityLogAppender.append(activity);
     }
 
     /**
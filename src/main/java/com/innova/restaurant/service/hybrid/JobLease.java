@@ -0,0 +1,61 @@
+package com.innova.restaurant.service.hybrid;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lease en MongoDB para que un job programado se ejecute en un solo nodo
+ *
+ * Cada job tiene un documento en job_leases con su dueño y su caducidad. Tomar el lease es un
+ * upsert condicionado a que esté libre (caducado) o ya sea de este nodo: si otro nodo lo tiene,
+ * el upsert intenta insertar el mismo _id y falla con clave duplicada.
+ *
+ * El lease no se libera al terminar: con el mismo cron en todos los nodos, el que llega tarde
+ * debe seguir viéndolo tomado. La duración debe cubrir la ejecución y ser menor que el intervalo.
+ */
+@Component
+public class JobLease {
+
+    static final String COLLECTION = "job_leases";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Intenta tomar (o renovar) el lease del job
+     *
+     * @return true si este nodo debe ejecutar el job
+     */
+    public boolean tryAcquire(String job, Duration duration) {
+        Date now = new Date();
+        Query free = Query.query(Criteria.where("_id").is(job).orOperator(
+            Criteria.where("expires_at").lt(now),
+            Criteria.where("owner").is(nodeId)));
+        Update acquire = new Update()
+            .set("owner", nodeId)
+            .set("acquired_at", now)
+            .set("expires_at", new Date(now.getTime() + duration.toMillis()));
+        try {
+            mongoTemplate.upsert(free, acquire, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Lease vigente de otro nodo
+            return false;
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
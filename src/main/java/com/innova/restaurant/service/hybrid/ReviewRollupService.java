@@ -0,0 +1,450 @@
+package com.innova.restaurant.service.hybrid;
+
+import com.innova.restaurant.model.document.ReviewDocument;
+import com.innova.restaurant.model.document.ReviewRollupDocument;
+import com.innova.restaurant.repository.document.ReviewRollupDocumentRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Servicio de acumulados (rollups) de reviews por restaurante
+ *
+ * - Cada alta, baja o edición de review aplica $inc atómicos sobre review_rollups
+ * - Las estadísticas se leen del acumulado con una búsqueda por ID
+ * - Si un restaurante aún no tiene acumulado, se calcula desde reviews y se guarda
+ *   (una sola inserción para todos los que falten en la lectura, o al aplicar su primer $inc)
+ * - Un job de reconciliación (un solo nodo, por lease) recalcula todos los acumulados,
+ *   informa desviaciones y las corrige con una escritura condicionada a la versión leída
+ */
+@Service
+public class ReviewRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewRollupService.class);
+
+    /**
+     * Rating mínimo para considerar una review como destacada
+     */
+    public static final double HIGH_RATING_THRESHOLD = 4.0;
+
+    /**
+     * Restaurantes recalculados por agregación en la reconciliación
+     */
+    private static final int RECONCILE_BATCH_SIZE = 200;
+
+    private static final String RECONCILE_JOB = "review-rollup-reconcile";
+
+    private static final int DUPLICATE_KEY_CODE = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReviewRollupDocumentRepository rollupRepository;
+
+    @Autowired
+    private JobLease jobLease;
+
+    @Value("${app.reviews.rollup.reconcile-lease-minutes:60}")
+    private long reconcileLeaseMinutes;
+
+    /**
+     * Suma una review nueva al acumulado de su restaurante
+     */
+    public void recordReview(ReviewDocument review) {
+        Map<String, Number> increments = new LinkedHashMap<>();
+        addIncrements(increments, review, 1);
+        applyIncrements(review.getRestaurantId(), increments);
+    }
+
+    /**
+     * Resta una review eliminada del acumulado de su restaurante
+     */
+    public void removeReview(ReviewDocument review) {
+        Map<String, Number> increments = new LinkedHashMap<>();
+        addIncrements(increments, review, -1);
+        applyIncrements(review.getRestaurantId(), increments);
+    }
+
+    /**
+     * Refleja la edición de una review con una sola actualización atómica
+     */
+    public void replaceReview(ReviewDocument before, ReviewDocument after) {
+        if (!before.getRestaurantId().equals(after.getRestaurantId())) {
+            removeReview(before);
+            recordReview(after);
+            return;
+        }
+        Map<String, Number> increments = new LinkedHashMap<>();
+        addIncrements(increments, before, -1);
+        addIncrements(increments, after, 1);
+        applyIncrements(after.getRestaurantId(), increments);
+    }
+
+    /**
+     * Estadísticas de reviews de varios restaurantes leídas de sus acumulados
+     *
+     * Claves por restaurante: totalReviews, averageRating, highRatedReviews,
+     * highRatedPercentage, ratingDistribution y averageDetailedRatings.
+     */
+    public Map<Long, Map<String, Object>> getStatistics(Collection<Long> restaurantIds) {
+        Map<Long, Map<String, Object>> statisticsById = new HashMap<>();
+        if (restaurantIds.isEmpty()) {
+            return statisticsById;
+        }
+
+        Set<Long> missing = new LinkedHashSet<>(restaurantIds);
+        for (ReviewRollupDocument rollup : rollupRepository.findAllById(restaurantIds)) {
+            statisticsById.put(rollup.getRestaurantId(), toStatistics(rollup));
+            missing.remove(rollup.getRestaurantId());
+        }
+
+        // Primera lectura de un restaurante: calcular desde reviews y materializar
+        if (!missing.isEmpty()) {
+            Map<Long, ReviewRollupDocument> computed = computeFromReviews(missing);
+            List<ReviewRollupDocument> created = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+            for (Long restaurantId : missing) {
+                ReviewRollupDocument rollup = computed.getOrDefault(restaurantId, new ReviewRollupDocument(restaurantId));
+                rollup.setUpdatedAt(now);
+                created.add(rollup);
+                statisticsById.put(restaurantId, toStatistics(rollup));
+            }
+            insertMissing(created);
+        }
+        return statisticsById;
+    }
+
+    /**
+     * Materializa los acumulados que faltaban con una sola inserción no ordenada
+     *
+     * Los que otro nodo, petición o $inc creó primero fallan por clave duplicada y se ignoran:
+     * el resto del lote se inserta igualmente.
+     */
+    private void insertMissing(List<ReviewRollupDocument> rollups) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReviewRollupDocument.class)
+                .insert(rollups)
+                .execute();
+        } catch (DuplicateKeyException e) {
+            // Otro nodo o petición materializó alguno primero
+        } catch (BulkOperationException e) {
+            if (!e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY_CODE)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Reconstruye todos los acumulados desde la colección reviews
+     *
+     * Solo lo ejecuta el nodo que tiene el lease. Cada acumulado se lee antes de agregar y se
+     * reescribe con $set condicionado a su versión: si un $inc concurrente lo cambió entre medias,
+     * se deja como está y se revisa en la siguiente ejecución. Una review guardada en reviews cuyo
+     * $inc aún no se ha aplicado puede contarse dos veces hasta esa siguiente ejecución.
+     *
+     * @return número de restaurantes cuyo acumulado tenía desviaciones
+     */
+    @Scheduled(cron = "${app.reviews.rollup.reconcile-cron:0 30 3 * * *}")
+    public int reconcile() {
+        if (!jobLease.tryAcquire(RECONCILE_JOB, Duration.ofMinutes(reconcileLeaseMinutes))) {
+            logger.info("Reconciliación de acumulados de reviews en curso en otro nodo");
+            return 0;
+        }
+
+        Set<Long> restaurantIds = new LinkedHashSet<>(
+            mongoTemplate.findDistinct(new Query(), "restaurant_id", ReviewDocument.class, Long.class));
+        restaurantIds.addAll(mongoTemplate.findDistinct(new Query(), "_id", ReviewRollupDocument.class, Long.class));
+
+        List<Long> ids = new ArrayList<>(restaurantIds);
+        int drifted = 0;
+        int skipped = 0;
+        for (int from = 0; from < ids.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, ids.size()));
+            // Primero los acumulados: su versión delata cualquier $inc posterior a la agregación
+            Map<Long, ReviewRollupDocument> stored = new HashMap<>();
+            rollupRepository.findAllById(batch).forEach(rollup -> stored.put(rollup.getRestaurantId(), rollup));
+            Map<Long, ReviewRollupDocument> computed = computeFromReviews(batch);
+
+            for (Long restaurantId : batch) {
+                ReviewRollupDocument expected = computed.getOrDefault(restaurantId, new ReviewRollupDocument(restaurantId));
+                ReviewRollupDocument actual = stored.get(restaurantId);
+                if (actual != null && expected.sameTotals(actual)) {
+                    continue;
+                }
+                drifted++;
+                logger.warn("Acumulado de reviews desviado para restaurante {}: guardado={}, calculado={}",
+                            restaurantId, actual, expected);
+                if (!rewrite(actual, expected)) {
+                    skipped++;
+                }
+            }
+        }
+
+        logger.info("Reconciliación de acumulados de reviews: {} restaurantes revisados, {} con desviación, {} cambiados durante la revisión",
+                    ids.size(), drifted, skipped);
+        return drifted;
+    }
+
+    /**
+     * Convierte un acumulado en el mapa de estadísticas de reviews
+     */
+    public Map<String, Object> toStatistics(ReviewRollupDocument rollup) {
+        Map<String, Object> statistics = emptyStatistics();
+        long totalReviews = rollup.getReviewCount();
+        statistics.put("totalReviews", totalReviews);
+        statistics.put("averageRating", rollup.getRatedCount() > 0 ? rollup.getRatingSum() / rollup.getRatedCount() : 0.0);
+        statistics.put("highRatedReviews", (int) rollup.getHighRatedCount());
+        statistics.put("highRatedPercentage",
+            totalReviews > 0 ? (double) rollup.getHighRatedCount() / totalReviews * 100 : 0);
+
+        @SuppressWarnings("unchecked")
+        Map<Integer, Long> ratingDistribution = (Map<Integer, Long>) statistics.get("ratingDistribution");
+        if (rollup.getHistogram() != null) {
+            rollup.getHistogram().forEach((stars, count) -> ratingDistribution.put(Integer.valueOf(stars), count));
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Double> averageDetailedRatings = (Map<String, Double>) statistics.get("averageDetailedRatings");
+        if (rollup.getCategorySums() != null && rollup.getCategoryCounts() != null) {
+            rollup.getCategorySums().forEach((category, sum) -> {
+                long count = rollup.getCategoryCounts().getOrDefault(category, 0L);
+                if (count > 0) {
+                    averageDetailedRatings.put(category, sum / count);
+                }
+            });
+        }
+        return statistics;
+    }
+
+    /**
+     * Estadísticas de un restaurante sin reviews
+     */
+    public static Map<String, Object> emptyStatistics() {
+        Map<Integer, Long> ratingDistribution = new TreeMap<>();
+        for (int stars = 1; stars <= 5; stars++) {
+            ratingDistribution.put(stars, 0L);
+        }
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("totalReviews", 0L);
+        statistics.put("averageRating", 0.0);
+        statistics.put("highRatedReviews", 0);
+        statistics.put("highRatedPercentage", 0);
+        statistics.put("ratingDistribution", ratingDistribution);
+        statistics.put("averageDetailedRatings", new TreeMap<String, Double>());
+        return statistics;
+    }
+
+    /**
+     * Estrella (1-5) de un rating: redondeo hacia arriba en .5, igual que la agregación
+     */
+    static int starsFor(double rating) {
+        return (int) Math.min(5, Math.max(1, Math.floor(rating + 0.5)));
+    }
+
+    /**
+     * Calcula los acumulados desde reviews con una sola agregación
+     *
+     * Un único $match por restaurant_id seguido de un $facet con tres ramas:
+     * - summary: total, suma de ratings y número de reviews con rating >= 4.0
+     * - distribution: número de reviews por estrella
+     * - detailed: suma y número de valores por categoría de detailed_ratings
+     */
+    Map<Long, ReviewRollupDocument> computeFromReviews(Collection<Long> restaurantIds) {
+        Document isRated = new Document("$isNumber", "$overall_rating");
+        Document highRated = new Document("$cond", List.of(
+            new Document("$and", List.of(isRated,
+                new Document("$gte", List.of("$overall_rating", HIGH_RATING_THRESHOLD)))), 1, 0));
+        Document summary = new Document("$group", new Document("_id", "$restaurant_id")
+            .append("reviewCount", new Document("$sum", 1))
+            .append("ratedCount", new Document("$sum", new Document("$cond", List.of(isRated, 1, 0))))
+            .append("ratingSum", new Document("$sum", "$overall_rating"))
+            .append("highRatedCount", new Document("$sum", highRated)));
+
+        // Estrella = overall_rating redondeado hacia arriba en .5 y acotado a 1-5
+        Document stars = new Document("$min", List.of(5, new Document("$max", List.of(1,
+            new Document("$floor", new Document("$add", List.of("$overall_rating", 0.5)))))));
+        List<Document> distribution = List.of(
+            new Document("$match", new Document("overall_rating", new Document("$type", "number"))),
+            new Document("$group", new Document("_id",
+                    new Document("restaurant", "$restaurant_id").append("stars", stars))
+                .append("count", new Document("$sum", 1))));
+
+        List<Document> detailed = List.of(
+            new Document("$match", new Document("detailed_ratings", new Document("$type", "object"))),
+            new Document("$project", new Document("restaurant_id", 1)
+                .append("category", new Document("$objectToArray", "$detailed_ratings"))),
+            new Document("$unwind", "$category"),
+            new Document("$match", new Document("category.v", new Document("$type", "number"))),
+            new Document("$group", new Document("_id",
+                    new Document("restaurant", "$restaurant_id").append("category", "$category.k"))
+                .append("sum", new Document("$sum", "$category.v"))
+                .append("count", new Document("$sum", 1))));
+
+        Document facet = new Document("summary", List.of(summary))
+            .append("distribution", distribution)
+            .append("detailed", detailed);
+
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("restaurant_id").in(restaurantIds)),
+            context -> new Document("$facet", facet));
+
+        Map<Long, ReviewRollupDocument> rollups = new HashMap<>();
+        Document result = mongoTemplate.aggregate(aggregation,
+            mongoTemplate.getCollectionName(ReviewDocument.class), Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return rollups;
+        }
+
+        for (Document row : result.getList("summary", Document.class)) {
+            ReviewRollupDocument rollup = new ReviewRollupDocument(((Number) row.get("_id")).longValue());
+            rollup.setReviewCount(((Number) row.get("reviewCount")).longValue());
+            rollup.setRatedCount(((Number) row.get("ratedCount")).longValue());
+            rollup.setRatingSum(((Number) row.get("ratingSum")).doubleValue());
+            rollup.setHighRatedCount(((Number) row.get("highRatedCount")).longValue());
+            rollups.put(rollup.getRestaurantId(), rollup);
+        }
+
+        for (Document row : result.getList("distribution", Document.class)) {
+            Document key = row.get("_id", Document.class);
+            ReviewRollupDocument rollup = rollups.get(((Number) key.get("restaurant")).longValue());
+            if (rollup != null) {
+                rollup.getHistogram().put(String.valueOf(((Number) key.get("stars")).intValue()),
+                                          ((Number) row.get("count")).longValue());
+            }
+        }
+
+        for (Document row : result.getList("detailed", Document.class)) {
+            Document key = row.get("_id", Document.class);
+            ReviewRollupDocument rollup = rollups.get(((Number) key.get("restaurant")).longValue());
+            if (rollup != null) {
+                rollup.getCategorySums().put(key.getString("category"), ((Number) row.get("sum")).doubleValue());
+                rollup.getCategoryCounts().put(key.getString("category"), ((Number) row.get("count")).longValue());
+            }
+        }
+        return rollups;
+    }
+
+    /**
+     * Acumula los incrementos que una review aporta (sign = 1) o retira (sign = -1)
+     */
+    private void addIncrements(Map<String, Number> increments, ReviewDocument review, int sign) {
+        increments.merge("review_count", (long) sign, ReviewRollupService::add);
+        Double rating = review.getOverallRating();
+        if (rating != null) {
+            increments.merge("rated_count", (long) sign, ReviewRollupService::add);
+            increments.merge("rating_sum", sign * rating, ReviewRollupService::add);
+            increments.merge("histogram." + starsFor(rating), (long) sign, ReviewRollupService::add);
+            if (rating >= HIGH_RATING_THRESHOLD) {
+                increments.merge("high_rated_count", (long) sign, ReviewRollupService::add);
+            }
+        }
+        if (review.getDetailedRatings() != null) {
+            review.getDetailedRatings().forEach((category, value) -> {
+                if (value != null && isSafeFieldName(category)) {
+                    increments.merge("category_sums." + category, sign * value, ReviewRollupService::add);
+                    increments.merge("category_counts." + category, (long) sign, ReviewRollupService::add);
+                }
+            });
+        }
+    }
+
+    /**
+     * Aplica los incrementos con un único $inc atómico (upsert)
+     *
+     * Si el acumulado no existía, el upsert lo crea solo con esta review: se sustituye enseguida por el
+     * calculado desde reviews, condicionado a la versión recién creada. Si otro $inc se adelanta, queda
+     * para la reconciliación.
+     */
+    private void applyIncrements(Long restaurantId, Map<String, Number> increments) {
+        Update update = new Update();
+        increments.forEach((field, delta) -> {
+            if (delta.doubleValue() != 0) {
+                update.inc(field, delta);
+            }
+        });
+        update.inc("version", 1L);
+        update.set("updated_at", LocalDateTime.now());
+        UpdateResult result = mongoTemplate.upsert(
+            Query.query(Criteria.where("_id").is(restaurantId)), update, ReviewRollupDocument.class);
+
+        if (result.getUpsertedId() != null) {
+            ReviewRollupDocument created = new ReviewRollupDocument(restaurantId);
+            created.setVersion(1L);
+            rewrite(created, computeFromReviews(List.of(restaurantId))
+                .getOrDefault(restaurantId, new ReviewRollupDocument(restaurantId)));
+        }
+    }
+
+    /**
+     * Sustituye el acumulado guardado por el calculado si nadie lo ha modificado desde que se leyó
+     *
+     * @return false si un $inc concurrente lo cambió (o lo creó) y no se ha tocado
+     */
+    private boolean rewrite(ReviewRollupDocument actual, ReviewRollupDocument expected) {
+        expected.setUpdatedAt(LocalDateTime.now());
+        if (actual == null) {
+            try {
+                rollupRepository.insert(expected);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+
+        Criteria unchanged = Criteria.where("_id").is(actual.getRestaurantId());
+        if (actual.getVersion() == 0) {
+            // Acumulados anteriores al campo version
+            unchanged = unchanged.orOperator(Criteria.where("version").is(0L), Criteria.where("version").exists(false));
+        } else {
+            unchanged = unchanged.and("version").is(actual.getVersion());
+        }
+        Update update = new Update()
+            .set("review_count", expected.getReviewCount())
+            .set("rated_count", expected.getRatedCount())
+            .set("rating_sum", expected.getRatingSum())
+            .set("high_rated_count", expected.getHighRatedCount())
+            .set("histogram", expected.getHistogram())
+            .set("category_sums", expected.getCategorySums())
+            .set("category_counts", expected.getCategoryCounts())
+            .set("updated_at", expected.getUpdatedAt())
+            .inc("version", 1L);
+        return mongoTemplate.updateFirst(Query.query(unchanged), update, ReviewRollupDocument.class).getMatchedCount() > 0;
+    }
+
+    private static Number add(Number a, Number b) {
+        if (a instanceof Long && b instanceof Long) {
+            return a.longValue() + b.longValue();
+        }
+        return a.doubleValue() + b.doubleValue();
+    }
+
+    private static boolean isSafeFieldName(String category) {
+        return category != null && !category.isEmpty() && !category.contains(".") && !category.startsWith("$");
+    }
+}
@@ -1,38 +1,67 @@
 package com.innova.restaurant.service.impl;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.innova.restaurant.controller.ReservationController;
+import com.innova.restaurant.dto.CursorSliceDto;
+import com.innova.restaurant.dto.ReservationBatchResultDto;
+import com.innova.restaurant.dto.RestaurantAvailabilityDto;
+import com.innova.restaurant.exception.ResourceNotFoundException;
 import com.innova.restaurant.model.entity.Reservation;
 import com.innova.restaurant.model.entity.Restaurant;
 import com.innova.restaurant.model.entity.RestaurantTable;
 import com.innova.restaurant.model.entity.User;
 import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.model.enums.TableStatus;
 import com.innova.restaurant.repository.jpa.ReservationRepository;
+import com.innova.restaurant.repository.jpa.ReservationSpecifications;
 import com.innova.restaurant.repository.jpa.RestaurantRepository;
 import com.innova.restaurant.repository.jpa.RestaurantTableRepository;
 import com.innova.restaurant.repository.jpa.UserRepository;
 import com.innova.restaurant.service.ReservationService;
+import com.innova.restaurant.service.availability.TableAvailabilityIndex;
+import com.innova.restaurant.service.availability.TableBookingLock;
+import com.innova.restaurant.service.floor.FloorBoardBroadcaster;
+import com.innova.restaurant.service.pagination.KeysetCursor;
 
 /**
  * Implementación del servicio de reservas
  * 
  * Gestiona toda la lógica de negocio relacionada con las reservas:
- * - Creación y validación de reservas
+ * - Creación y validación de reservas, individuales o en lote
  * - Gestión de estados de reserva
- * - Validaciones de disponibilidad
+ * - Validaciones de disponibilidad en base de datos con la mesa bloqueada
+ * - Serialización de reservas concurrentes por mesa
  * - Operaciones de consulta y filtrado
  * 
  * Utiliza métodos automáticos de Spring Data JPA siguiendo el patrón establecido
@@ -44,6 +73,22 @@ public class ReservationServiceImpl implements ReservationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReservationServiceImpl.class);
 
+    /**
+     * Ventana máxima que se puede consultar en una búsqueda de disponibilidad
+     */
+    private static final Duration MAX_AVAILABILITY_WINDOW = Duration.ofDays(7);
+
+    /**
+     * Reservas máximas por lote
+     */
+    static final int MAX_BATCH_SIZE = 5000;
+
+    /**
+     * Tiempo tras la hora de la reserva en el que aún se admite el check-in;
+     * pasado este margen, NoShowSweeper la marca como NO_SHOW
+     */
+    public static final Duration CHECK_IN_LATE_LIMIT = Duration.ofHours(2);
+
     @Autowired
     private ReservationRepository reservationRepository;
 
@@ -56,12 +101,27 @@ public class ReservationServiceImpl implements ReservationService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TableAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private TableBookingLock bookingLock;
+
+    @Autowired
+    private FloorBoardBroadcaster floorBoard;
+
     @Override
     @Transactional(readOnly = true)
     public Page<Reservation> findAllReservations(Pageable pageable) {
         return reservationRepository.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSliceDto<Reservation> findAllReservations(String after, int size) {
+        return scrollReservations(Specification.where(null), after, size);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Reservation findReservationById(Long id) {
@@ -69,6 +129,18 @@ public class ReservationServiceImpl implements ReservationService {
             .orElseThrow(() -> new RuntimeException("Reserva no encontrada con ID: " + id));
     }
 
+    /**
+     * Carga una reserva para modificarla, con su fila bloqueada hasta el commit
+     *
+     * Sin el bloqueo, un cambio de estado leído antes de que un barrido cambie la reserva
+     * escribiría la fila completa encima y la franja, ya liberada, podría reservarse dos veces.
+     * Con él, el cambio espera al barrido (o el barrido salta la fila) y valida el estado real.
+     */
+    private Reservation findReservationForUpdate(Long id) {
+        return reservationRepository.findLockedById(id)
+            .orElseThrow(() -> new RuntimeException("Reserva no encontrada con ID: " + id));
+    }
+
     @Override
     public Reservation createReservation(ReservationController.CreateReservationRequest request) {
         logger.info("Creando nueva reserva para restaurante ID: {} en fecha: {}", 
@@ -100,6 +172,217 @@ public class ReservationServiceImpl implements ReservationService {
             .orElseThrow(() -> new RuntimeException("Mesa no encontrada"));
         logger.debug("Mesa encontrada: mesa #{}, capacidad: {}", table.getTableNumber(), table.getCapacity());
 
+        // Validar capacidad, fecha futura y horario de operación
+        validateReservationRequest(restaurant, table, request);
+
+        // Validar disponibilidad en base de datos y crear la reserva con la mesa bloqueada hasta el commit
+        return bookingLock.executeLocked(table.getId(), () -> {
+            logger.debug("Validando disponibilidad de mesa...");
+            if (findBookableTables(Set.of(table.getId())).isEmpty()) {
+                throw new RuntimeException("La mesa ya no está disponible para reservas");
+            }
+            validateTableAvailability(request.getTableId(), request.getReservationDateTime(), null);
+
+            // Crear la reserva
+            logger.debug("Creando entidad Reservation...");
+            Reservation reservation = new Reservation(
+                customer, restaurant, table, 
+                request.getReservationDateTime(), 
+                request.getNumberOfPeople(),
+                request.getSpecialRequests()
+            );
+            
+            logger.debug("Entidad creada, ID antes de save: {}", reservation.getId());
+            logger.debug("Guardando reserva en base de datos...");
+            Reservation savedReservation = reservationRepository.save(reservation);
+            availabilityIndex.track(savedReservation);
+            floorBoard.reservationChanged(savedReservation);
+            logger.info("Reserva creada exitosamente con ID: {}", savedReservation.getId());
+
+            return savedReservation;
+        });
+    }
+
+    @Override
+    public ReservationBatchResultDto createReservations(Long ownerId,
+                                                        List<ReservationController.CreateReservationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new RuntimeException("El lote de reservas está vacío");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("El lote no puede superar " + MAX_BATCH_SIZE + " reservas");
+        }
+        logger.info("Creando lote de {} reservas", requests.size());
+
+        // 1. Restaurantes, clientes y mesas del lote: una consulta por entidad
+        Map<Long, Restaurant> restaurants = byId(restaurantRepository.findAllById(
+            distinctIds(requests, ReservationController.CreateReservationRequest::getRestaurantId)), Restaurant::getId);
+        Map<Long, User> customers = byId(userRepository.findAllById(
+            distinctIds(requests, ReservationController.CreateReservationRequest::getUserId)), User::getId);
+        Map<Long, RestaurantTable> tables = byId(restaurantTableRepository.findAllById(
+            distinctIds(requests, ReservationController.CreateReservationRequest::getTableId)), RestaurantTable::getId);
+
+        // 2. Validaciones por reserva; las inválidas se rechazan sin abortar el lote
+        ReservationBatchResultDto.ItemResult[] results = new ReservationBatchResultDto.ItemResult[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                validateBatchItem(ownerId, requests.get(i), restaurants, customers, tables);
+                candidates.add(i);
+            } catch (RuntimeException e) {
+                results[i] = ReservationBatchResultDto.ItemResult.rejected(i, e.getMessage());
+            }
+        }
+
+        // 3. Conflictos e inserción con todas las mesas del lote bloqueadas hasta el commit
+        if (!candidates.isEmpty()) {
+            Set<Long> tableIds = candidates.stream()
+                .map(i -> requests.get(i).getTableId())
+                .collect(Collectors.toSet());
+            bookingLock.executeLocked(tableIds, () -> {
+                insertBatch(requests, candidates, tableIds, restaurants, customers, tables, results);
+                return null;
+            });
+        }
+
+        ReservationBatchResultDto result = new ReservationBatchResultDto(Arrays.asList(results));
+        logger.info("Lote de reservas procesado: {} creadas, {} rechazadas", result.getCreated(), result.getRejected());
+        return result;
+    }
+
+    /**
+     * Valida conflictos del lote en bloque e inserta las reservas aceptadas con INSERT por lotes JDBC
+     *
+     * Con todas las mesas bloqueadas, una única consulta trae las reservas activas de esas mesas,
+     * incluidas las confirmadas por otras instancias. Las reservas del propio lote también cuentan
+     * como conflicto entre sí. Las mesas que un cambio de plano retiró o borró se rechazan.
+     */
+    private void insertBatch(List<ReservationController.CreateReservationRequest> requests, List<Integer> candidates,
+                             Set<Long> tableIds, Map<Long, Restaurant> restaurants, Map<Long, User> customers,
+                             Map<Long, RestaurantTable> tables, ReservationBatchResultDto.ItemResult[] results) {
+        Map<Long, NavigableSet<LocalDateTime>> existing =
+            findBookedSlots(tableIds, candidates.stream().map(i -> requests.get(i).getReservationDateTime()).toList());
+        Map<Long, NavigableSet<LocalDateTime>> accepted = new HashMap<>();
+        Set<Long> bookable = findBookableTables(tableIds);
+
+        List<Reservation> reservations = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i : candidates) {
+            ReservationController.CreateReservationRequest request = requests.get(i);
+            Long tableId = request.getTableId();
+            LocalDateTime dateTime = request.getReservationDateTime();
+            if (!bookable.contains(tableId)) {
+                results[i] = ReservationBatchResultDto.ItemResult.rejected(i,
+                    "La mesa ya no está disponible para reservas");
+                continue;
+            }
+            if (overlaps(existing.get(tableId), dateTime) || overlaps(accepted.get(tableId), dateTime)) {
+                results[i] = ReservationBatchResultDto.ItemResult.rejected(i,
+                    "La mesa no está disponible para la fecha y hora solicitada");
+                continue;
+            }
+            accepted.computeIfAbsent(tableId, id -> new TreeSet<>()).add(dateTime);
+            reservations.add(new Reservation(
+                customers.get(request.getUserId()), restaurants.get(request.getRestaurantId()), tables.get(tableId),
+                dateTime, request.getNumberOfPeople(), request.getSpecialRequests()));
+            indexes.add(i);
+        }
+
+        // IDs por secuencia: se asignan sin INSERT y Hibernate agrupa las sentencias al hacer flush
+        List<Reservation> saved = reservationRepository.saveAll(reservations);
+        availabilityIndex.trackAll(saved);
+        for (int k = 0; k < saved.size(); k++) {
+            Reservation reservation = saved.get(k);
+            results[indexes.get(k)] = ReservationBatchResultDto.ItemResult.created(indexes.get(k), reservation.getId());
+        }
+        floorBoard.reservationsChanged(saved);
+    }
+
+    /**
+     * Reservas activas de varias mesas alrededor de las fechas del lote, en una sola consulta
+     * que solo trae mesa y fecha/hora (el rango va de la primera a la última fecha del lote)
+     */
+    private Map<Long, NavigableSet<LocalDateTime>> findBookedSlots(Set<Long> tableIds, List<LocalDateTime> dates) {
+        long window = TableAvailabilityIndex.CONFLICT_WINDOW_HOURS;
+        LocalDateTime start = dates.stream().min(LocalDateTime::compareTo).orElseThrow().minusHours(window);
+        LocalDateTime end = dates.stream().max(LocalDateTime::compareTo).orElseThrow().plusHours(window);
+        return reservationRepository
+            .findBookedSlots(tableIds, start, end, ReservationStatus.CANCELLED)
+            .stream()
+            .collect(Collectors.groupingBy(
+                ReservationRepository.BookedSlot::getTableId,
+                Collectors.mapping(ReservationRepository.BookedSlot::getReservationDate,
+                                   Collectors.toCollection(TreeSet::new))));
+    }
+
+    /**
+     * Mesas que siguen existiendo y no están fuera de servicio
+     *
+     * Se consulta con las mesas bloqueadas: replaceLayout retira y borra mesas con el mismo lock,
+     * y la mesa cargada al validar la petición puede estar ya desactualizada.
+     */
+    private Set<Long> findBookableTables(Set<Long> tableIds) {
+        return new HashSet<>(restaurantTableRepository.findTableIdsWithStatusNot(tableIds, TableStatus.OUT_OF_SERVICE));
+    }
+
+    /**
+     * Indica si alguna reserva cae dentro de la ventana de conflicto de la fecha
+     */
+    private static boolean overlaps(NavigableSet<LocalDateTime> booked, LocalDateTime dateTime) {
+        if (booked == null) {
+            return false;
+        }
+        long window = TableAvailabilityIndex.CONFLICT_WINDOW_HOURS;
+        LocalDateTime nearest = booked.ceiling(dateTime.minusHours(window));
+        return nearest != null && !nearest.isAfter(dateTime.plusHours(window));
+    }
+
+    /**
+     * Valida una reserva del lote contra las entidades precargadas
+     *
+     * @param ownerId propietario que envía el lote: solo puede reservar en sus restaurantes
+     */
+    private void validateBatchItem(Long ownerId, ReservationController.CreateReservationRequest request,
+                                   Map<Long, Restaurant> restaurants, Map<Long, User> customers,
+                                   Map<Long, RestaurantTable> tables) {
+        if (request == null || request.getUserId() == null || request.getRestaurantId() == null
+                || request.getTableId() == null || request.getReservationDateTime() == null
+                || request.getNumberOfPeople() == null) {
+            throw new RuntimeException(
+                "userId, restaurantId, tableId, reservationDateTime y numberOfPeople son obligatorios");
+        }
+        if (request.getNumberOfPeople() < 1) {
+            throw new RuntimeException("El número de personas debe ser mayor a 0");
+        }
+        Restaurant restaurant = restaurants.get(request.getRestaurantId());
+        if (restaurant == null) {
+            throw new RuntimeException("Restaurante no encontrado");
+        }
+        // El ID del propietario se lee del proxy sin inicializarlo
+        if (!Objects.equals(restaurant.getOwner().getId(), ownerId)) {
+            throw new RuntimeException("El restaurante no pertenece al propietario autenticado");
+        }
+        if (!restaurant.getIsActive()) {
+            throw new RuntimeException("El restaurante no está disponible para reservas");
+        }
+        if (!customers.containsKey(request.getUserId())) {
+            throw new RuntimeException("Usuario no encontrado");
+        }
+        RestaurantTable table = tables.get(request.getTableId());
+        if (table == null) {
+            throw new RuntimeException("Mesa no encontrada");
+        }
+        if (!Objects.equals(table.getRestaurant().getId(), restaurant.getId())) {
+            throw new RuntimeException("La mesa no pertenece al restaurante");
+        }
+        validateReservationRequest(restaurant, table, request);
+    }
+
+    /**
+     * Valida capacidad de la mesa, fecha futura y horario de operación del restaurante
+     */
+    private void validateReservationRequest(Restaurant restaurant, RestaurantTable table,
+                                            ReservationController.CreateReservationRequest request) {
         // Validar que el número de personas no exceda la capacidad de la mesa
         if (request.getNumberOfPeople() > table.getCapacity()) {
             throw new RuntimeException(
@@ -119,33 +402,27 @@ public class ReservationServiceImpl implements ReservationService {
             reservationTime.isAfter(restaurant.getClosingTime())) {
             throw new RuntimeException("La hora de reserva está fuera del horario de operación");
         }
+    }
 
-        // Validar disponibilidad de la mesa
-        logger.debug("Validando disponibilidad de mesa...");
-        validateTableAvailability(request.getTableId(), request.getReservationDateTime());
-
-        // Crear la reserva
-        logger.debug("Creando entidad Reservation...");
-        Reservation reservation = new Reservation(
-            customer, restaurant, table, 
-            request.getReservationDateTime(), 
-            request.getNumberOfPeople(),
-            request.getSpecialRequests()
-        );
-        
-        logger.debug("Entidad creada, ID antes de save: {}", reservation.getId());
-        logger.debug("Guardando reserva en base de datos...");
-        Reservation savedReservation = reservationRepository.save(reservation);
-        logger.info("Reserva creada exitosamente con ID: {}", savedReservation.getId());
+    private static List<Long> distinctIds(List<ReservationController.CreateReservationRequest> requests,
+                                          Function<ReservationController.CreateReservationRequest, Long> id) {
+        return requests.stream()
+            .filter(Objects::nonNull)
+            .map(id)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+    }
 
-        return savedReservation;
+    private static <T> Map<Long, T> byId(Collection<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
     }
 
     @Override
     public Reservation updateReservation(Long id, ReservationController.UpdateReservationRequest request) {
         logger.info("Actualizando reserva ID: {}", id);
 
-        Reservation existingReservation = findReservationById(id);
+        Reservation existingReservation = findReservationForUpdate(id);
 
         // Solo se pueden modificar reservas pendientes
         if (existingReservation.getStatus() != ReservationStatus.PENDING) {
@@ -157,9 +434,12 @@ public class ReservationServiceImpl implements ReservationService {
             if (request.getReservationDateTime().isBefore(LocalDateTime.now())) {
                 throw new RuntimeException("No se pueden hacer reservas en el pasado");
             }
-            validateTableAvailability(existingReservation.getTable().getId(), 
-                                    request.getReservationDateTime());
-            existingReservation.setReservationDate(request.getReservationDateTime());
+            Long tableId = existingReservation.getTable().getId();
+            bookingLock.executeLocked(tableId, () -> {
+                validateTableAvailability(tableId, request.getReservationDateTime(), id);
+                existingReservation.setReservationDate(request.getReservationDateTime());
+                return existingReservation;
+            });
         }
 
         // Actualizar otros campos permitidos
@@ -172,6 +452,8 @@ public class ReservationServiceImpl implements ReservationService {
         }
 
         Reservation savedReservation = reservationRepository.save(existingReservation);
+        availabilityIndex.track(savedReservation);
+        floorBoard.reservationChanged(savedReservation);
         logger.info("Reserva actualizada exitosamente");
 
         return savedReservation;
@@ -181,7 +463,7 @@ public class ReservationServiceImpl implements ReservationService {
     public Reservation updateStatus(Long id, String status) {
         logger.info("Actualizando estado de reserva ID: {} a: {}", id, status);
 
-        Reservation reservation = findReservationById(id);
+        Reservation reservation = findReservationForUpdate(id);
         ReservationStatus newStatus;
 
         try {
@@ -196,6 +478,8 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setStatus(newStatus);
 
         Reservation updatedReservation = reservationRepository.save(reservation);
+        availabilityIndex.track(updatedReservation);
+        floorBoard.reservationChanged(updatedReservation);
         logger.info("Estado de reserva actualizado exitosamente");
 
         return updatedReservation;
@@ -205,7 +489,7 @@ public class ReservationServiceImpl implements ReservationService {
     public void cancelReservation(Long id) {
         logger.info("Cancelando reserva ID: {}", id);
 
-        Reservation reservation = findReservationById(id);
+        Reservation reservation = findReservationForUpdate(id);
 
         // Solo se pueden cancelar reservas pendientes o confirmadas
         if (reservation.getStatus() == ReservationStatus.CANCELLED || 
@@ -214,7 +498,9 @@ public class ReservationServiceImpl implements ReservationService {
         }
 
         reservation.setStatus(ReservationStatus.CANCELLED);
-        reservationRepository.save(reservation);
+        Reservation cancelledReservation = reservationRepository.save(reservation);
+        availabilityIndex.track(cancelledReservation);
+        floorBoard.reservationChanged(cancelledReservation);
         
         logger.info("Reserva cancelada exitosamente");
     }
@@ -228,16 +514,66 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     @Transactional(readOnly = true)
     public List<Reservation> findByRestaurant(Long restaurantId, String status) {
-        if (status == null || status.isEmpty()) {
+        ReservationStatus reservationStatus = parseStatus(status);
+        if (reservationStatus == null) {
             return reservationRepository.findByRestaurantIdOrderByReservationDateAsc(restaurantId);
         }
+        return reservationRepository.findByRestaurantIdAndStatusOrderByReservationDateAsc(
+            restaurantId, reservationStatus);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSliceDto<Reservation> findByRestaurant(Long restaurantId, String status, String after, int size) {
+        Specification<Reservation> spec = Specification
+            .where(ReservationSpecifications.hasRestaurantId(restaurantId))
+            .and(ReservationSpecifications.hasStatus(parseStatus(status)));
+        return scrollReservations(spec, after, size);
+    }
+
+    /**
+     * Pagina reservas por keyset sobre (reservation_date, id), sin COUNT(*)
+     */
+    private CursorSliceDto<Reservation> scrollReservations(Specification<Reservation> spec, String after, int size) {
+        KeysetCursor.validateSize(size);
+
+        // Posición de seek: (reservation_date, id) de la última fila de la página anterior
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        if (!KeysetCursor.isFirstPage(after)) {
+            String[] keys = KeysetCursor.decode(after, 2);
+            Map<String, Object> lastSeen = new LinkedHashMap<>();
+            try {
+                lastSeen.put("reservationDate", LocalDateTime.parse(keys[0]));
+                lastSeen.put("id", Long.valueOf(keys[1]));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Cursor de paginación inválido: " + after);
+            }
+            position = ScrollPosition.forward(lastSeen);
+        }
+
+        KeysetScrollPosition from = position;
+        Window<Reservation> window = reservationRepository.findBy(spec, query -> query
+            .sortBy(Sort.by("reservationDate", "id"))
+            .limit(size)
+            .scroll(from));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Reservation last = window.getContent().get(window.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getReservationDate(), last.getId());
+        }
+        return new CursorSliceDto<>(window.getContent(), size, nextCursor != null, nextCursor);
+    }
 
+    /**
+     * Convierte el estado recibido como texto, null si no se filtra por estado
+     */
+    private ReservationStatus parseStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
         try {
-            ReservationStatus reservationStatus = ReservationStatus.valueOf(status.toUpperCase());
-            return reservationRepository.findByStatusOrderByReservationDateAsc(reservationStatus)
-                .stream()
-                .filter(r -> r.getRestaurant().getId().equals(restaurantId))
-                .collect(Collectors.toList());
+            return ReservationStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Estado de reserva inválido: " + status);
         }
@@ -270,7 +606,8 @@ public class ReservationServiceImpl implements ReservationService {
     public Reservation checkInReservation(Long id) {
         logger.info("Registrando check-in para reserva ID: {}", id);
 
-        Reservation reservation = findReservationById(id);
+        // Bloqueada: NoShowSweeper marca NO_SHOW las mismas filas CONFIRMED con FOR UPDATE
+        Reservation reservation = findReservationForUpdate(id);
 
         if (reservation.getStatus() != ReservationStatus.CONFIRMED) {
             throw new RuntimeException("Solo se puede hacer check-in de reservas confirmadas");
@@ -281,34 +618,114 @@ public class ReservationServiceImpl implements ReservationService {
         LocalDateTime reservationTime = reservation.getReservationDate();
         
         if (now.isBefore(reservationTime.minusMinutes(30)) || 
-            now.isAfter(reservationTime.plusHours(2))) {
+            now.isAfter(reservationTime.plus(CHECK_IN_LATE_LIMIT))) {
             throw new RuntimeException("Check-in fuera del tiempo permitido");
         }
 
         reservation.setStatus(ReservationStatus.COMPLETED);
         Reservation checkedInReservation = reservationRepository.save(reservation);
+        availabilityIndex.track(checkedInReservation);
+        floorBoard.reservationChanged(checkedInReservation);
         
         logger.info("Check-in registrado exitosamente");
         return checkedInReservation;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public RestaurantAvailabilityDto findAvailability(Long restaurantId, int partySize,
+                                                      LocalDateTime from, LocalDateTime to, int slotMinutes) {
+        if (partySize < 1) {
+            throw new RuntimeException("El número de personas debe ser mayor a 0");
+        }
+        if (slotMinutes < 5) {
+            throw new RuntimeException("La duración de la franja debe ser de al menos 5 minutos");
+        }
+        if (to.isBefore(from)) {
+            throw new RuntimeException("La fecha final debe ser posterior a la inicial");
+        }
+        if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_WINDOW) > 0) {
+            throw new RuntimeException("La ventana de búsqueda no puede superar " + MAX_AVAILABILITY_WINDOW.toDays() + " días");
+        }
+
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+            .orElseThrow(() -> new ResourceNotFoundException("Restaurante no encontrado con ID: " + restaurantId));
+
+        // 1. Mesas con capacidad suficiente
+        List<RestaurantTable> tables = restaurantTableRepository
+            .findByRestaurantIdAndCapacityGreaterThanEqual(restaurantId, partySize)
+            .stream()
+            .filter(table -> table.getStatus() != TableStatus.OUT_OF_SERVICE)
+            .sorted((a, b) -> a.getTableNumber().compareTo(b.getTableNumber()))
+            .collect(Collectors.toList());
+
+        if (tables.isEmpty() || !restaurant.getIsActive()) {
+            return new RestaurantAvailabilityDto(restaurantId, partySize, from, to, slotMinutes, List.of());
+        }
+
+        // 2. Una sola consulta con todas las reservas activas que solapan la ventana
+        long window = TableAvailabilityIndex.CONFLICT_WINDOW_HOURS;
+        Map<Long, NavigableSet<LocalDateTime>> bookedByTable = reservationRepository
+            .findByRestaurantIdAndReservationDateBetweenAndStatusNotOrderByReservationDateAsc(
+                restaurantId, from.minusHours(window), to.plusHours(window), ReservationStatus.CANCELLED)
+            .stream()
+            .collect(Collectors.groupingBy(
+                r -> r.getTable().getId(),
+                Collectors.mapping(Reservation::getReservationDate, Collectors.toCollection(TreeSet::new))));
+
+        // 3. Franjas candidatas dentro del horario del restaurante y en el futuro
+        LocalDateTime now = LocalDateTime.now();
+        List<LocalDateTime> candidates = new ArrayList<>();
+        for (LocalDateTime slot = from; !slot.isAfter(to); slot = slot.plusMinutes(slotMinutes)) {
+            LocalTime time = slot.toLocalTime();
+            if (!slot.isBefore(now)
+                    && !time.isBefore(restaurant.getOpeningTime())
+                    && !time.isAfter(restaurant.getClosingTime())) {
+                candidates.add(slot);
+            }
+        }
+
+        // 4. Franjas libres por mesa
+        List<RestaurantAvailabilityDto.TableSlots> result = new ArrayList<>();
+        for (RestaurantTable table : tables) {
+            NavigableSet<LocalDateTime> booked = bookedByTable.getOrDefault(table.getId(), new TreeSet<>());
+            List<LocalDateTime> freeSlots = new ArrayList<>();
+            for (LocalDateTime slot : candidates) {
+                LocalDateTime nearest = booked.ceiling(slot.minusHours(window));
+                if (nearest == null || nearest.isAfter(slot.plusHours(window))) {
+                    freeSlots.add(slot);
+                }
+            }
+            if (!freeSlots.isEmpty()) {
+                result.add(new RestaurantAvailabilityDto.TableSlots(
+                    table.getId(), table.getTableNumber(), table.getCapacity(), freeSlots));
+            }
+        }
+
+        return new RestaurantAvailabilityDto(restaurantId, partySize, from, to, slotMinutes, result);
+    }
+
     /**
      * Valida que una mesa esté disponible para una fecha específica
+     *
+     * Se llama con la mesa bloqueada (pg_advisory_xact_lock entre instancias) y consulta siempre
+     * la base de datos, que es la única fuente que ve las reservas confirmadas por cualquier nodo.
+     * El índice en memoria no decide: puede estar desfasado (canal entre instancias, recarga).
+     *
+     * @param excludeReservationId reserva que se está modificando (no cuenta como conflicto)
      */
-    private void validateTableAvailability(Long tableId, LocalDateTime dateTime) {
-        // Obtener reservas existentes en una ventana de 2 horas alrededor de la hora solicitada
-        LocalDateTime start = dateTime.minusHours(1);
-        LocalDateTime end = dateTime.plusHours(1);
-        
-        List<Reservation> existingReservations = reservationRepository
-            .findByTableIdAndReservationDateBetweenOrderByReservationDateAsc(tableId, start, end);
-        
-        // Filtrar solo reservas activas (no canceladas)
-        List<Reservation> activeReservations = existingReservations.stream()
-            .filter(r -> r.getStatus() != ReservationStatus.CANCELLED)
-            .collect(Collectors.toList());
-        
-        if (!activeReservations.isEmpty()) {
+    private void validateTableAvailability(Long tableId, LocalDateTime dateTime, Long excludeReservationId) {
+        // Reservas activas (no canceladas) en la ventana de conflicto alrededor de la hora solicitada
+        LocalDateTime start = dateTime.minusHours(TableAvailabilityIndex.CONFLICT_WINDOW_HOURS);
+        LocalDateTime end = dateTime.plusHours(TableAvailabilityIndex.CONFLICT_WINDOW_HOURS);
+
+        boolean conflict = excludeReservationId == null
+            ? reservationRepository.existsByTableIdAndReservationDateBetweenAndStatusNot(
+                tableId, start, end, ReservationStatus.CANCELLED)
+            : reservationRepository.existsByTableIdAndReservationDateBetweenAndStatusNotAndIdNot(
+                tableId, start, end, ReservationStatus.CANCELLED, excludeReservationId);
+
+        if (conflict) {
             throw new RuntimeException("La mesa no está disponible para la fecha y hora solicitada");
         }
     }
@@ -3,16 +3,23 @@ package com.innova.restaurant.service.impl;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.innova.restaurant.controller.RestaurantController;
+import com.innova.restaurant.dto.CursorSliceDto;
 import com.innova.restaurant.dto.RestaurantWithReviewsDto;
 import com.innova.restaurant.exception.ResourceNotFoundException;
 import com.innova.restaurant.model.document.ReviewDocument;
@@ -21,7 +28,12 @@ import com.innova.restaurant.model.entity.User;
 import com.innova.restaurant.repository.jpa.RestaurantRepository;
 import com.innova.restaurant.repository.jpa.UserRepository;
 import com.innova.restaurant.service.RestaurantService;
+import com.innova.restaurant.service.cache.RestaurantCache;
+import com.innova.restaurant.service.conditional.ResourceVersion;
 import com.innova.restaurant.service.hybrid.HybridReviewService;
+import com.innova.restaurant.service.pagination.KeysetCursor;
+import com.innova.restaurant.service.search.RestaurantSuggestIndex;
+import com.innova.restaurant.service.search.RestaurantTextSearch;
 
 /**
  * Implementación del servicio de restaurantes con query methods sin @Query
@@ -39,13 +51,74 @@ public class RestaurantServiceImpl implements RestaurantService {
     @Autowired
     private HybridReviewService hybridReviewService;
 
+    @Autowired
+    private RestaurantCache restaurantCache;
+
+    @Autowired
+    private RestaurantTextSearch restaurantTextSearch;
+
+    @Autowired
+    private RestaurantSuggestIndex restaurantSuggestIndex;
+
     @Override
     public Page<Restaurant> findAllRestaurants(Pageable pageable) {
         return restaurantRepository.findAll(pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorSliceDto<Restaurant> findAllRestaurants(String after, int size) {
+        KeysetCursor.validateSize(size);
+        long lastId = 0L;
+        if (!KeysetCursor.isFirstPage(after)) {
+            try {
+                lastId = Long.parseLong(KeysetCursor.decode(after, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Cursor de paginación inválido: " + after);
+            }
+        }
+
+        Slice<Restaurant> slice = restaurantRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, size));
+        String nextCursor = slice.hasNext()
+            ? KeysetCursor.encode(slice.getContent().get(slice.getNumberOfElements() - 1).getId())
+            : null;
+        return new CursorSliceDto<>(slice.getContent(), size, slice.hasNext(), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Restaurant findRestaurantById(Long id) {
+        Restaurant restaurant = restaurantCache.getRestaurant(id, key -> restaurantRepository.findById(key)
+            .map(found -> {
+                // Se cachea como instantánea: el propietario debe quedar cargado para copiarlo
+                Hibernate.initialize(found.getOwner());
+                return found;
+            })
+            .orElse(null));
+        if (restaurant == null) {
+            throw new ResourceNotFoundException("Restaurante no encontrado con ID: " + id);
+        }
+        return restaurant;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getRestaurantVersion(Long id) {
+        Restaurant restaurant = findRestaurantById(id);
+        // Débil: la respuesta embebe al propietario, que no cambia updated_at
+        return ResourceVersion.weak(restaurant.getUpdatedAt(), "restaurant", restaurant.getId(), restaurant.getUpdatedAt());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getRestaurantWithReviewsVersion(Long id) {
+        return getRestaurantVersion(id).and(hybridReviewService.getReviewsVersion(id));
+    }
+
+    /**
+     * Carga la entidad gestionada para modificarla (nunca la instancia compartida de la caché)
+     */
+    private Restaurant loadRestaurant(Long id) {
         return restaurantRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Restaurante no encontrado con ID: " + id));
     }
@@ -70,12 +143,14 @@ public class RestaurantServiceImpl implements RestaurantService {
         restaurant.setCreatedAt(LocalDateTime.now());
         restaurant.setUpdatedAt(LocalDateTime.now());
 
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        restaurantSuggestIndex.update(saved);
+        return saved;
     }
 
     @Override
     public Restaurant updateRestaurant(Long id, RestaurantController.UpdateRestaurantRequest request) {
-        Restaurant restaurant = findRestaurantById(id);
+        Restaurant restaurant = loadRestaurant(id);
         
         restaurant.setName(request.getName());
         restaurant.setDescription(request.getDescription());
@@ -87,12 +162,15 @@ public class RestaurantServiceImpl implements RestaurantService {
         restaurant.setMaxCapacity(request.getMaxCapacity());
         restaurant.setUpdatedAt(LocalDateTime.now());
 
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        restaurantCache.evictRestaurant(id);
+        restaurantSuggestIndex.update(saved);
+        return saved;
     }
 
     @Override
     public Restaurant patchRestaurant(Long id, RestaurantController.PatchRestaurantRequest request) {
-        Restaurant restaurant = findRestaurantById(id);
+        Restaurant restaurant = loadRestaurant(id);
 
         // Solo actualizar campos no nulos
         if (request.getName() != null) {
@@ -124,25 +202,56 @@ public class RestaurantServiceImpl implements RestaurantService {
         }
 
         restaurant.setUpdatedAt(LocalDateTime.now());
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        restaurantCache.evictRestaurant(id);
+        restaurantSuggestIndex.update(saved);
+        return saved;
     }
 
     @Override
     public void deleteRestaurant(Long id) {
-        Restaurant restaurant = findRestaurantById(id);
+        Restaurant restaurant = loadRestaurant(id);
         restaurant.setIsActive(false); // Soft delete
         restaurant.setUpdatedAt(LocalDateTime.now());
         restaurantRepository.save(restaurant);
+        restaurantCache.evictRestaurant(id);
+        restaurantSuggestIndex.update(restaurant);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Restaurant> searchByName(String name, boolean activeOnly) {
-        if (activeOnly) {
-            // Query method sin @Query
-            return restaurantRepository.findByNameContainingIgnoreCaseAndIsActive(name, true);
-        } else {
-            return restaurantRepository.findByNameContainingIgnoreCase(name);
+        // Solo por nombre; el índice trigram resuelve el LIKE '%x%' y el resultado se acota a una página
+        return loadInOrder(restaurantTextSearch.searchName(name, activeOnly, KeysetCursor.MAX_PAGE_SIZE));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Restaurant> searchRestaurants(String query, boolean activeOnly, int page, int size) {
+        KeysetCursor.validateSize(size);
+        if (page < 0) {
+            throw new RuntimeException("El número de página no puede ser negativo");
         }
+
+        // Un resultado extra indica si hay más páginas sin contar el total
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        List<Long> ids = restaurantTextSearch.search(query, activeOnly, offset, size + 1);
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        return new SliceImpl<>(loadInOrder(pageIds), PageRequest.of(page, size), hasNext);
+    }
+
+    /**
+     * Carga los restaurantes conservando el orden de relevancia de los IDs
+     */
+    private List<Restaurant> loadInOrder(List<Long> ids) {
+        Map<Long, Restaurant> byId = restaurantRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
 
     @Override
@@ -157,10 +266,13 @@ public class RestaurantServiceImpl implements RestaurantService {
 
     @Override
     public Restaurant updateStatus(Long id, boolean active) {
-        Restaurant restaurant = findRestaurantById(id);
+        Restaurant restaurant = loadRestaurant(id);
         restaurant.setIsActive(active);
         restaurant.setUpdatedAt(LocalDateTime.now());
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        restaurantCache.evictRestaurant(id);
+        restaurantSuggestIndex.update(saved);
+        return saved;
     }
 
     @Override
@@ -191,13 +303,23 @@ public class RestaurantServiceImpl implements RestaurantService {
     public Page<RestaurantWithReviewsDto> findAllRestaurantsWithReviews(Pageable restaurantsPageable, Pageable reviewsPageable) {
         // 1. Obtener página de restaurantes
         Page<Restaurant> restaurantsPage = findAllRestaurants(restaurantsPageable);
-        
-        // 2. Para cada restaurante, agregar sus reviews
+        List<Long> restaurantIds = restaurantsPage.getContent().stream()
+            .map(Restaurant::getId)
+            .collect(Collectors.toList());
+
+        // 2. Reviews y estadísticas de toda la página con dos consultas a MongoDB
+        Map<Long, Page<ReviewDocument>> reviewsByRestaurant =
+            hybridReviewService.getRestaurantsReviews(restaurantIds, reviewsPageable);
+        Map<Long, Map<String, Object>> statisticsByRestaurant =
+            hybridReviewService.getRestaurantsStatistics(restaurantIds);
+
+        // 3. Combinar cada restaurante con sus reviews
         List<RestaurantWithReviewsDto> restaurantsWithReviews = restaurantsPage.getContent()
             .stream()
             .map(restaurant -> {
-                Page<ReviewDocument> reviewsPage = hybridReviewService.getRestaurantReviews(restaurant.getId(), reviewsPageable);
-                RestaurantWithReviewsDto.ReviewStats stats = calculateReviewStats(restaurant.getId());
+                Page<ReviewDocument> reviewsPage = reviewsByRestaurant.get(restaurant.getId());
+                RestaurantWithReviewsDto.ReviewStats stats =
+                    toReviewStats(statisticsByRestaurant.getOrDefault(restaurant.getId(), Map.of()));
                 
                 RestaurantWithReviewsDto.ReviewPagination pagination = new RestaurantWithReviewsDto.ReviewPagination(
                     reviewsPage.getNumber(),
@@ -234,24 +356,24 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     private RestaurantWithReviewsDto.ReviewStats calculateReviewStats(Long restaurantId) {
         // Obtener estadísticas del servicio híbrido
-        Map<String, Object> hybridStats = hybridReviewService.getRestaurantStatistics(restaurantId);
-        
+        return toReviewStats(hybridReviewService.getRestaurantStatistics(restaurantId));
+    }
+
+    /**
+     * Convierte las estadísticas híbridas de reviews al DTO de respuesta
+     */
+    private RestaurantWithReviewsDto.ReviewStats toReviewStats(Map<String, Object> hybridStats) {
         // Extraer valores de las estadísticas híbridas
-        long totalReviews = ((Number) hybridStats.getOrDefault("total_reviews", 0L)).longValue();
-        double averageRating = ((Number) hybridStats.getOrDefault("average_rating", 0.0)).doubleValue();
+        long totalReviews = ((Number) hybridStats.getOrDefault("totalReviews", 0L)).longValue();
+        double averageRating = ((Number) hybridStats.getOrDefault("averageRating", 0.0)).doubleValue();
         
-        // Calcular distribución de ratings (simplificado)
-        Map<Integer, Long> ratingDistribution = Map.of(
-            1, 0L, 2, 0L, 3, 0L, 4, 0L, 5, 0L
-        );
-        
-        // Para ratings detallados promedio (simplificado)
-        Map<String, Double> averageDetailedRatings = Map.of(
-            "food", averageRating,
-            "service", averageRating,
-            "ambiance", averageRating,
-            "value", averageRating
-        );
+        // Distribución por estrellas y promedios por categoría calculados en MongoDB
+        @SuppressWarnings("unchecked")
+        Map<Integer, Long> ratingDistribution = (Map<Integer, Long>) hybridStats.getOrDefault(
+            "ratingDistribution", Map.of(1, 0L, 2, 0L, 3, 0L, 4, 0L, 5, 0L));
+        @SuppressWarnings("unchecked")
+        Map<String, Double> averageDetailedRatings = (Map<String, Double>) hybridStats.getOrDefault(
+            "averageDetailedRatings", Map.of());
         
         return new RestaurantWithReviewsDto.ReviewStats(
             totalReviews, 
@@ -260,4 +382,4 @@ public class RestaurantServiceImpl implements RestaurantService {
             averageDetailedRatings
         );
     }
-}
\ No newline at end of file
+}
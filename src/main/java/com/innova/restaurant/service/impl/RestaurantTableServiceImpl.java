@@ -1,22 +1,41 @@
 package com.innova.restaurant.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.innova.restaurant.controller.RestaurantTableController.CreateTableRequest;
+import com.innova.restaurant.controller.RestaurantTableController.TableLayoutRequest;
 import com.innova.restaurant.controller.RestaurantTableController.UpdateTableRequest;
+import com.innova.restaurant.dto.TableLayoutResultDto;
 import com.innova.restaurant.exception.DuplicateResourceException;
 import com.innova.restaurant.exception.ResourceNotFoundException;
 import com.innova.restaurant.model.entity.Restaurant;
 import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.enums.ReservationStatus;
 import com.innova.restaurant.model.enums.TableStatus;
+import com.innova.restaurant.repository.jpa.ReservationRepository;
 import com.innova.restaurant.repository.jpa.RestaurantRepository;
 import com.innova.restaurant.repository.jpa.RestaurantTableRepository;
+import com.innova.restaurant.repository.jpa.RestaurantTableRepository.TablesVersion;
 import com.innova.restaurant.service.RestaurantTableService;
+import com.innova.restaurant.service.availability.TableBookingLock;
+import com.innova.restaurant.service.cache.RestaurantCache;
+import com.innova.restaurant.service.conditional.ResourceVersion;
+import com.innova.restaurant.service.floor.FloorBoardBroadcaster;
 
 /**
  * Implementación del servicio para gestión de mesas de restaurantes
@@ -25,20 +44,56 @@ import com.innova.restaurant.service.RestaurantTableService;
 @Transactional
 public class RestaurantTableServiceImpl implements RestaurantTableService {
 
+    /**
+     * Mesas máximas en un plano
+     */
+    static final int MAX_LAYOUT_TABLES = 1000;
+
     @Autowired
     private RestaurantTableRepository restaurantTableRepository;
 
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RestaurantCache restaurantCache;
+
+    @Autowired
+    private FloorBoardBroadcaster floorBoard;
+
+    @Autowired
+    private TableBookingLock bookingLock;
+
     @Override
     @Transactional(readOnly = true)
     public List<RestaurantTable> findByRestaurantId(Long restaurantId) {
-        // Verificar que el restaurante existe
-        if (!restaurantRepository.existsById(restaurantId)) {
-            throw new ResourceNotFoundException("Restaurante no encontrado con ID: " + restaurantId);
-        }
-        return restaurantTableRepository.findByRestaurantIdOrderByTableNumberAsc(restaurantId);
+        return restaurantCache.getTables(restaurantId, id -> {
+            // Verificar que el restaurante existe
+            if (!restaurantRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Restaurante no encontrado con ID: " + id);
+            }
+            List<RestaurantTable> tables = restaurantTableRepository.findByRestaurantIdOrderByTableNumberAsc(id);
+            // Se cachean como instantáneas: el restaurante y su propietario deben quedar cargados para copiarlos
+            for (RestaurantTable table : tables) {
+                Hibernate.initialize(table.getRestaurant());
+                Hibernate.initialize(table.getRestaurant().getOwner());
+            }
+            return tables;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getTablesVersion(Long restaurantId) {
+        // Una sola consulta agregada: no carga la lista aunque no esté en caché
+        TablesVersion summary = restaurantTableRepository.findTablesVersion(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurante no encontrado con ID: " + restaurantId));
+        // Sin Last-Modified: borrar una mesa no avanza ningún updated_at (solo cambia el número de mesas)
+        return ResourceVersion.weak(null, "tables", restaurantId, summary.getRestaurantUpdatedAt(),
+                                    summary.getTableCount(), summary.getLastUpdated());
     }
 
     @Override
@@ -75,7 +130,115 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
         table.setCreatedAt(LocalDateTime.now());
         table.setUpdatedAt(LocalDateTime.now());
 
-        return restaurantTableRepository.save(table);
+        RestaurantTable saved = restaurantTableRepository.save(table);
+        restaurantCache.evictTables(restaurantId);
+        floorBoard.tableChanged(saved);
+        return saved;
+    }
+
+    /**
+     * Aplica un plano completo comparándolo con las mesas actuales, leídas en una sola consulta
+     *
+     * Las mesas se emparejan por número. Las altas se insertan en lotes JDBC (IDs por secuencia),
+     * las modificaciones se agrupan al hacer flush y las bajas se borran con una única sentencia.
+     * Una mesa retirada con reservas futuras activas impide aplicar el plano; si solo tiene
+     * historial se marca OUT_OF_SERVICE, ya que las reservas la siguen referenciando.
+     * Esa comprobación y las bajas se hacen con las mesas retiradas bloqueadas hasta el commit,
+     * de modo que una reserva concurrente no puede colarse entre ambas.
+     */
+    @Override
+    public TableLayoutResultDto replaceLayout(Long restaurantId, Long requesterId, boolean admin,
+                                              TableLayoutRequest request) {
+        List<CreateTableRequest> layout = request.getTables();
+        if (layout == null || layout.isEmpty()) {
+            throw new RuntimeException("El plano debe incluir al menos una mesa");
+        }
+        if (layout.size() > MAX_LAYOUT_TABLES) {
+            throw new RuntimeException("El plano no puede superar " + MAX_LAYOUT_TABLES + " mesas");
+        }
+        Set<Integer> numbers = new HashSet<>();
+        for (CreateTableRequest entry : layout) {
+            if (!numbers.add(entry.getTableNumber())) {
+                throw new DuplicateResourceException("El número de mesa " + entry.getTableNumber() + " está repetido en el plano");
+            }
+        }
+
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurante no encontrado con ID: " + restaurantId));
+        // El ID del propietario se lee del proxy sin inicializarlo
+        if (!admin && !Objects.equals(restaurant.getOwner().getId(), requesterId)) {
+            throw new AccessDeniedException("El restaurante no pertenece al propietario autenticado");
+        }
+        Map<Integer, RestaurantTable> current = new HashMap<>();
+        for (RestaurantTable table : restaurantTableRepository.findByRestaurantIdOrderByTableNumberAsc(restaurantId)) {
+            current.put(table.getTableNumber(), table);
+        }
+
+        // Diferencias: altas, modificaciones (por dirty checking) y mesas que salen del plano
+        List<RestaurantTable> created = new ArrayList<>();
+        List<RestaurantTable> board = new ArrayList<>();
+        int updated = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (CreateTableRequest entry : layout) {
+            TableStatus status = entry.getStatus() != null ? entry.getStatus() : TableStatus.AVAILABLE;
+            RestaurantTable table = current.remove(entry.getTableNumber());
+            if (table == null) {
+                table = new RestaurantTable(entry.getTableNumber(), entry.getCapacity(), restaurant);
+                table.setStatus(status);
+                created.add(table);
+            } else if (!Objects.equals(table.getCapacity(), entry.getCapacity()) || table.getStatus() != status) {
+                table.setCapacity(entry.getCapacity());
+                table.setStatus(status);
+                table.setUpdatedAt(now);
+                updated++;
+            }
+            board.add(table);
+        }
+        List<RestaurantTable> removed = new ArrayList<>(current.values());
+
+        // Bajas: sin reservas pendientes; las que tienen historial se retiran en lugar de borrarse
+        List<RestaurantTable> deleted = new ArrayList<>();
+        int retired = 0;
+        if (!removed.isEmpty()) {
+            List<Long> removedIds = removed.stream().map(RestaurantTable::getId).toList();
+            retired = bookingLock.executeLocked(removedIds, () -> {
+                Set<Long> bookedIds = new HashSet<>(reservationRepository.findTableIdsBookedAfter(
+                    removedIds, now, ReservationStatus.CANCELLED));
+                if (!bookedIds.isEmpty()) {
+                    Set<Integer> booked = new TreeSet<>();
+                    removed.stream()
+                        .filter(table -> bookedIds.contains(table.getId()))
+                        .forEach(table -> booked.add(table.getTableNumber()));
+                    throw new RuntimeException("No se pueden retirar mesas con reservas pendientes: " + booked);
+                }
+                Set<Long> withHistory = new HashSet<>(reservationRepository.findTableIdsWithReservations(removedIds));
+                int retiring = 0;
+                for (RestaurantTable table : removed) {
+                    if (withHistory.contains(table.getId())) {
+                        if (table.getStatus() != TableStatus.OUT_OF_SERVICE) {
+                            table.setStatus(TableStatus.OUT_OF_SERVICE);
+                            table.setUpdatedAt(now);
+                            retiring++;
+                        }
+                        board.add(table);
+                    } else {
+                        deleted.add(table);
+                    }
+                }
+                if (!deleted.isEmpty()) {
+                    restaurantTableRepository.deleteAllInBatch(deleted);
+                }
+                return retiring;
+            });
+        }
+
+        restaurantTableRepository.saveAll(created);
+        restaurantCache.evictTables(restaurantId);
+        board.sort(Comparator.comparing(RestaurantTable::getTableNumber));
+        floorBoard.layoutReplaced(restaurantId, board);
+
+        return new TableLayoutResultDto(restaurantId, created.size(), updated,
+                layout.size() - created.size() - updated, deleted.size(), retired);
     }
 
     @Override
@@ -102,7 +265,10 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
 
         table.setUpdatedAt(LocalDateTime.now());
 
-        return restaurantTableRepository.save(table);
+        RestaurantTable saved = restaurantTableRepository.save(table);
+        restaurantCache.evictTables(restaurantId);
+        floorBoard.tableChanged(saved);
+        return saved;
     }
 
     @Override
@@ -114,6 +280,8 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
         // Esto podríamos implementarlo más adelante si es necesario
 
         restaurantTableRepository.delete(table);
+        restaurantCache.evictTables(restaurantId);
+        floorBoard.tableRemoved(restaurantId, tableId);
     }
 
     @Override
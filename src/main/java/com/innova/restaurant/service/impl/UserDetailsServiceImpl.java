@@ -33,6 +33,19 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         return new CustomUserPrincipal(user);
     }
 
+    /**
+     * Carga el principal por ID de usuario (claim userId del token)
+     * Búsqueda por clave primaria, usada por el filtro JWT en un fallo de caché
+     *
+     * @param userId ID del usuario
+     * @return principal o null si el usuario ya no existe
+     */
+    public CustomUserPrincipal loadUserById(Long userId) {
+        return userRepository.findById(userId)
+            .map(CustomUserPrincipal::new)
+            .orElse(null);
+    }
+
     /**
      * Clase interna para UserDetails personalizado
      */
@@ -5,6 +5,9 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -12,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.innova.restaurant.config.DatabaseConfig;
 import com.innova.restaurant.dto.CreateUserDto;
+import com.innova.restaurant.dto.CursorSliceDto;
 import com.innova.restaurant.dto.UpdateUserDto;
 import com.innova.restaurant.dto.UserDto;
 import com.innova.restaurant.exception.DuplicateResourceException;
@@ -22,7 +26,9 @@ import com.innova.restaurant.model.enums.UserRole;
 import com.innova.restaurant.repository.jpa.UserRepository;
 import com.innova.restaurant.repository.jpa.UserSpecifications;
 import com.innova.restaurant.repository.document.UserDocumentRepository;
+import com.innova.restaurant.security.PrincipalCache;
 import com.innova.restaurant.service.UserService;
+import com.innova.restaurant.service.pagination.KeysetCursor;
 
 /**
  * Implementación del servicio de usuario que utiliza inversión de control
@@ -32,20 +38,28 @@ import com.innova.restaurant.service.UserService;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    /**
+     * ObjectId mínimo, punto de partida de la paginación por cursor en MongoDB
+     */
+    private static final String FIRST_OBJECT_ID = "000000000000000000000000";
+
     private final DatabaseConfig databaseConfig;
     private final UserRepository userRepository;
     private final UserDocumentRepository userDocumentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     @Autowired
     public UserServiceImpl(DatabaseConfig databaseConfig,
                           UserRepository userRepository,
                           UserDocumentRepository userDocumentRepository,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          PrincipalCache principalCache) {
         this.databaseConfig = databaseConfig;
         this.userRepository = userRepository;
         this.userDocumentRepository = userDocumentRepository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -122,6 +136,33 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSliceDto<UserDto> getAllUsers(String after, int size) {
+        KeysetCursor.validateSize(size);
+        String lastId = KeysetCursor.isFirstPage(after) ? null : KeysetCursor.decode(after, 1)[0];
+        Pageable firstRows = PageRequest.of(0, size);
+
+        Slice<UserDto> slice;
+        if (databaseConfig.isJpaEnabled()) {
+            long fromId;
+            try {
+                fromId = lastId == null ? 0L : Long.parseLong(lastId);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Cursor de paginación inválido: " + after);
+            }
+            slice = userRepository.findByIdGreaterThanOrderByIdAsc(fromId, firstRows).map(this::convertToDto);
+        } else {
+            String fromId = lastId == null ? FIRST_OBJECT_ID : lastId;
+            slice = userDocumentRepository.findByIdGreaterThanOrderByIdAsc(fromId, firstRows).map(this::convertToDto);
+        }
+
+        String nextCursor = slice.hasNext()
+                ? KeysetCursor.encode(slice.getContent().get(slice.getNumberOfElements() - 1).getId())
+                : null;
+        return new CursorSliceDto<>(slice.getContent(), size, slice.hasNext(), nextCursor);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<UserDto> getUsersByRole(UserRole role) {
@@ -254,6 +295,7 @@ public class UserServiceImpl implements UserService {
 
         updateUserFields(user, updateUserDto);
         User updatedUser = userRepository.save(user);
+        principalCache.invalidate(userId);
         return convertToDto(updatedUser);
     }
 
@@ -285,6 +327,7 @@ public class UserServiceImpl implements UserService {
             Long userId = Long.valueOf(id);
             if (userRepository.existsById(userId)) {
                 userRepository.deleteById(userId);
+                principalCache.invalidate(userId);
                 return true;
             }
             return false;
@@ -308,6 +351,7 @@ public class UserServiceImpl implements UserService {
         
         user.setIsActive(isActive);
         User updatedUser = userRepository.save(user);
+        principalCache.invalidate(userId);
         return convertToDto(updatedUser);
     }
 
@@ -0,0 +1,192 @@
+package com.innova.restaurant.service.lifecycle;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Transición de estado de reservas por bloques, sin cargar entidades
+ *
+ * Cada bloque es una transacción corta:
+ *
+ * - SELECT id, restaurant_id ... WHERE status = ? AND columna < ? ORDER BY columna, id LIMIT n FOR UPDATE
+ *   (SKIP LOCKED en PostgreSQL, para que varias instancias se repartan las filas sin esperarse)
+ * - UPDATE reservations SET status = ?, updated_at = ? WHERE status = ? AND id IN (...)
+ *
+ * Se repite hasta que un bloque sale incompleto o se agota el presupuesto de tiempo; lo que
+ * quede se procesa en la siguiente ejecución y se refleja en la métrica de retraso.
+ */
+class ChunkedStatusSweep {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedStatusSweep.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReservationStatus from;
+
+    private final ReservationStatus to;
+
+    private final String column;
+
+    private final int chunkSize;
+
+    private final Duration maxRun;
+
+    private final Counter counter;
+
+    private final Timer runTimer;
+
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private final boolean skipLocked;
+
+    /**
+     * @param column columna de fecha comparada con el límite (created_at, reservation_date)
+     * @param counterName contador de filas actualizadas
+     * @param metricPrefix prefijo del timer (.run) y del gauge de retraso (.lag)
+     */
+    ChunkedStatusSweep(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry, ReservationStatus from, ReservationStatus to,
+                       String column, int chunkSize, Duration maxRun,
+                       String counterName, String metricPrefix, String description) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunk-size debe ser mayor a 0");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.skipLocked = databasePlatform.isPostgres();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.from = from;
+        this.to = to;
+        this.column = column;
+        this.chunkSize = chunkSize;
+        this.maxRun = maxRun;
+        this.counter = Counter.builder(counterName)
+            .description(description)
+            .register(meterRegistry);
+        this.runTimer = Timer.builder(metricPrefix + ".run")
+            .description("Duración de cada barrido: " + description)
+            .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".lag", lagSeconds, AtomicLong::get)
+            .description("Retraso de la fila más antigua aún sin procesar: " + description)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Procesa en bloques las filas con la columna anterior a cutoff
+     *
+     * @param onChunk acción dentro de la transacción de cada bloque con las filas actualizadas
+     * @return filas actualizadas en esta ejecución
+     */
+    int run(LocalDateTime cutoff, LocalDateTime now, Consumer<List<SweptReservation>> onChunk) {
+        long deadline = System.nanoTime() + maxRun.toNanos();
+        Timer.Sample sample = Timer.start();
+        int total = 0;
+        boolean drained = false;
+        try {
+            while (!drained && System.nanoTime() < deadline) {
+                List<SweptReservation> updated = transactionTemplate.execute(status -> chunk(cutoff, now, onChunk));
+                int count = updated == null ? 0 : updated.size();
+                total += count;
+                counter.increment(count);
+                drained = count < chunkSize;
+            }
+        } finally {
+            sample.stop(runTimer);
+        }
+        lagSeconds.set(drained ? 0 : lag(cutoff));
+        if (total > 0) {
+            logger.info("Reservas {} → {}: {} (anteriores a {}){}", from, to, total, cutoff,
+                        drained ? "" : "; quedan pendientes para la siguiente ejecución");
+        }
+        return total;
+    }
+
+    /**
+     * Un bloque: selecciona y bloquea los IDs y los actualiza con una sola sentencia
+     */
+    private List<SweptReservation> chunk(LocalDateTime cutoff, LocalDateTime now,
+                                         Consumer<List<SweptReservation>> onChunk) {
+        String select = "SELECT id, restaurant_id FROM reservations WHERE status = ? AND " + column + " < ? "
+            + "ORDER BY " + column + ", id LIMIT ? FOR UPDATE" + (skipLocked ? " SKIP LOCKED" : "");
+        List<SweptReservation> rows = jdbcTemplate.query(select,
+            (rs, rowNum) -> new SweptReservation(rs.getLong("id"), rs.getLong("restaurant_id")),
+            from.name(), Timestamp.valueOf(cutoff), chunkSize);
+        if (rows.isEmpty()) {
+            return rows;
+        }
+
+        List<Object> params = new ArrayList<>(rows.size() + 3);
+        params.add(to.name());
+        params.add(Timestamp.valueOf(now));
+        params.add(from.name());
+        for (SweptReservation row : rows) {
+            params.add(row.id());
+        }
+        jdbcTemplate.update("UPDATE reservations SET status = ?, updated_at = ? WHERE status = ? AND id IN ("
+            + String.join(", ", Collections.nCopies(rows.size(), "?")) + ")", params.toArray());
+
+        // Filas bloqueadas desde el SELECT: todas siguen en el estado de origen y se actualizan
+        onChunk.accept(rows);
+        return rows;
+    }
+
+    /**
+     * Segundos entre el límite y la fila pendiente más antigua
+     */
+    private long lag(LocalDateTime cutoff) {
+        try {
+            Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(" + column + ") FROM reservations WHERE status = ? AND " + column + " < ?",
+                Timestamp.class, from.name(), Timestamp.valueOf(cutoff));
+            if (oldest == null) {
+                return 0;
+            }
+            return Duration.between(oldest.toLocalDateTime(), cutoff).getSeconds();
+        } catch (RuntimeException e) {
+            logger.debug("No se pudo calcular el retraso del barrido {}: {}", from, e.getMessage());
+            return lagSeconds.get();
+        }
+    }
+
+    /**
+     * Reserva actualizada en un bloque
+     */
+    record SweptReservation(Long id, Long restaurantId) {
+
+        /**
+         * IDs agrupados por restaurante, en el orden del bloque
+         */
+        static Map<Long, List<Long>> idsByRestaurant(List<SweptReservation> rows) {
+            Map<Long, List<Long>> grouped = new LinkedHashMap<>();
+            for (SweptReservation row : rows) {
+                grouped.computeIfAbsent(row.restaurantId(), id -> new ArrayList<>()).add(row.id());
+            }
+            return grouped;
+        }
+    }
+}
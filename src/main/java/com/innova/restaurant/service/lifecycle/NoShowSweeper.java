@@ -0,0 +1,106 @@
+package com.innova.restaurant.service.lifecycle;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+import com.innova.restaurant.service.floor.FloorBoardBroadcaster;
+import com.innova.restaurant.service.impl.ReservationServiceImpl;
+import com.innova.restaurant.service.lifecycle.ChunkedStatusSweep.SweptReservation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Paso automático a NO_SHOW de reservas CONFIRMED que nadie registró
+ *
+ * Pasado el margen de check-in (ReservationServiceImpl.CHECK_IN_LATE_LIMIT) una reserva
+ * confirmada ya no puede completarse; sin este barrido se quedaría CONFIRMED en el pasado
+ * para siempre. Trabaja igual que PendingReservationExpiry, por bloques y sin entidades,
+ * sobre reservation_date:
+ *
+ * - SELECT id, restaurant_id ... WHERE status = 'CONFIRMED' AND reservation_date < ? ... FOR UPDATE [SKIP LOCKED]
+ * - UPDATE reservations SET status = 'NO_SHOW' ... WHERE status = 'CONFIRMED' AND id IN (...)
+ *
+ * El índice de disponibilidad no se toca: la franja ya quedó atrás y la purga diaria la retira.
+ * Tras el commit de cada bloque se avisa al tablero de salón de cada restaurante afectado.
+ * Métricas: reservations.noshow.marked (filas), reservations.noshow.sweep.run (duración)
+ * y reservations.noshow.sweep.lag (segundos de retraso de la confirmada vencida más antigua).
+ */
+@Component
+public class NoShowSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoShowSweeper.class);
+
+    private final FloorBoardBroadcaster floorBoard;
+
+    private final boolean enabled;
+
+    private final Duration grace;
+
+    private final ChunkedStatusSweep sweep;
+
+    @Autowired
+    public NoShowSweeper(JdbcTemplate jdbcTemplate,
+                         DatabasePlatform databasePlatform,
+                         PlatformTransactionManager transactionManager,
+                         FloorBoardBroadcaster floorBoard,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.reservations.no-show.enabled:true}") boolean enabled,
+                         @Value("${app.reservations.no-show.grace-minutes:120}") long graceMinutes,
+                         @Value("${app.reservations.no-show.chunk-size:500}") int chunkSize,
+                         @Value("${app.reservations.no-show.max-run-ms:5000}") long maxRunMillis) {
+        this.grace = Duration.ofMinutes(graceMinutes);
+        if (grace.compareTo(ReservationServiceImpl.CHECK_IN_LATE_LIMIT) < 0) {
+            throw new IllegalArgumentException("grace-minutes no puede ser menor que el margen de check-in ("
+                + ReservationServiceImpl.CHECK_IN_LATE_LIMIT.toMinutes() + " minutos)");
+        }
+        this.floorBoard = floorBoard;
+        this.enabled = enabled;
+        this.sweep = new ChunkedStatusSweep(jdbcTemplate, databasePlatform, transactionManager, meterRegistry,
+            ReservationStatus.CONFIRMED, ReservationStatus.NO_SHOW, "reservation_date",
+            chunkSize, Duration.ofMillis(maxRunMillis),
+            "reservations.noshow.marked", "reservations.noshow.sweep",
+            "Reservas CONFIRMED sin check-in marcadas como NO_SHOW");
+    }
+
+    /**
+     * Barrido periódico
+     */
+    @Scheduled(fixedDelayString = "${app.reservations.no-show.interval-ms:300000}",
+               initialDelayString = "${app.reservations.no-show.interval-ms:300000}")
+    public void sweepMissed() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            sweep(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            logger.warn("Fallo al marcar reservas no presentadas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Marca en bloques como NO_SHOW las reservas CONFIRMED con hora anterior a now - margen
+     *
+     * @return reservas marcadas en esta ejecución
+     */
+    public int sweep(LocalDateTime now) {
+        return sweep.run(now.minus(grace), now, this::marked);
+    }
+
+    private void marked(List<SweptReservation> rows) {
+        SweptReservation.idsByRestaurant(rows).forEach((restaurantId, ids) ->
+            floorBoard.reservationsStatusChanged(restaurantId, ReservationStatus.NO_SHOW, ids));
+    }
+}
@@ -0,0 +1,109 @@
+package com.innova.restaurant.service.lifecycle;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+import com.innova.restaurant.service.availability.TableAvailabilityIndex;
+import com.innova.restaurant.service.floor.FloorBoardBroadcaster;
+import com.innova.restaurant.service.lifecycle.ChunkedStatusSweep.SweptReservation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caducidad de reservas PENDING que nadie confirmó
+ *
+ * Una reserva pendiente ocupa su mesa en la validación de conflictos igual que una confirmada;
+ * pasado el ttl se cancela para liberar la franja. El barrido trabaja en bloques, cada uno en
+ * su propia transacción corta y sin cargar entidades (ver ChunkedStatusSweep):
+ *
+ * - SELECT id, restaurant_id ... WHERE status = 'PENDING' AND created_at < ? ORDER BY created_at LIMIT n FOR UPDATE
+ *   (SKIP LOCKED en PostgreSQL, para que varias instancias no se esperen entre sí)
+ * - UPDATE reservations SET status = 'CANCELLED' ... WHERE status = 'PENDING' AND id IN (...)
+ *
+ * Cada ejecución tiene un presupuesto de tiempo; lo que quede se procesa en la siguiente.
+ * Tras el commit de cada bloque se liberan las franjas del índice de disponibilidad y se avisa
+ * al tablero de salón de cada restaurante afectado.
+ * Métricas: reservations.pending.expired (filas), reservations.pending.expiry.run (duración)
+ * y reservations.pending.expiry.lag (segundos de retraso de la pendiente caducada más antigua).
+ */
+@Component
+public class PendingReservationExpiry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingReservationExpiry.class);
+
+    private final TableAvailabilityIndex availabilityIndex;
+
+    private final FloorBoardBroadcaster floorBoard;
+
+    private final boolean enabled;
+
+    private final Duration ttl;
+
+    private final ChunkedStatusSweep sweep;
+
+    @Autowired
+    public PendingReservationExpiry(JdbcTemplate jdbcTemplate,
+                                    DatabasePlatform databasePlatform,
+                                    PlatformTransactionManager transactionManager,
+                                    TableAvailabilityIndex availabilityIndex,
+                                    FloorBoardBroadcaster floorBoard,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.reservations.pending-expiry.enabled:true}") boolean enabled,
+                                    @Value("${app.reservations.pending-expiry.ttl-minutes:1440}") long ttlMinutes,
+                                    @Value("${app.reservations.pending-expiry.chunk-size:500}") int chunkSize,
+                                    @Value("${app.reservations.pending-expiry.max-run-ms:5000}") long maxRunMillis) {
+        this.availabilityIndex = availabilityIndex;
+        this.floorBoard = floorBoard;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.sweep = new ChunkedStatusSweep(jdbcTemplate, databasePlatform, transactionManager, meterRegistry,
+            ReservationStatus.PENDING, ReservationStatus.CANCELLED, "created_at",
+            chunkSize, Duration.ofMillis(maxRunMillis),
+            "reservations.pending.expired", "reservations.pending.expiry",
+            "Reservas PENDING canceladas por caducidad");
+    }
+
+    /**
+     * Barrido periódico
+     */
+    @Scheduled(fixedDelayString = "${app.reservations.pending-expiry.interval-ms:60000}",
+               initialDelayString = "${app.reservations.pending-expiry.interval-ms:60000}")
+    public void expireStale() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            expire(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            logger.warn("Fallo al caducar reservas pendientes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cancela en bloques las reservas PENDING creadas antes de now - ttl, hasta agotarlas
+     * o consumir el presupuesto de tiempo
+     *
+     * @return reservas canceladas en esta ejecución
+     */
+    public int expire(LocalDateTime now) {
+        return sweep.run(now.minus(ttl), now, this::released);
+    }
+
+    private void released(List<SweptReservation> rows) {
+        availabilityIndex.release(rows.stream().map(SweptReservation::id).toList());
+        SweptReservation.idsByRestaurant(rows).forEach((restaurantId, ids) ->
+            floorBoard.reservationsStatusChanged(restaurantId, ReservationStatus.CANCELLED, ids));
+    }
+}
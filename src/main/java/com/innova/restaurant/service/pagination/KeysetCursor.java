@@ -0,0 +1,80 @@
+package com.innova.restaurant.service.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginación por keyset (seek)
+ *
+ * Codifica los valores de la última fila devuelta (por ejemplo fecha de reserva e ID)
+ * en una cadena Base64 URL-safe. La siguiente página se obtiene con un predicado
+ * "mayor que" sobre esas columnas en lugar de un OFFSET, por lo que el coste de
+ * cada página no crece con la profundidad.
+ */
+public final class KeysetCursor {
+
+    /**
+     * Tamaño máximo de página admitido en la paginación por cursor
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {}
+
+    /**
+     * Codifica los valores de ordenación de la última fila
+     *
+     * @param keys valores en el mismo orden que la ordenación de la consulta
+     * @return cursor opaco
+     */
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Valida el tamaño de página solicitado
+     *
+     * @param size tamaño de página
+     */
+    public static void validateSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Indica si se solicitó la primera página (cursor ausente o vacío)
+     */
+    public static boolean isFirstPage(String cursor) {
+        return cursor == null || cursor.isEmpty();
+    }
+
+    /**
+     * Decodifica un cursor en sus valores de ordenación
+     *
+     * @param cursor cursor recibido del cliente
+     * @param expectedKeys número de valores esperado
+     * @return valores en formato texto
+     */
+    public static String[] decode(String cursor, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\" + SEPARATOR, -1);
+            if (keys.length != expectedKeys) {
+                throw new IllegalArgumentException("Número de claves inesperado");
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Cursor de paginación inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.innova.restaurant.service.search;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.repository.jpa.RestaurantRepository;
+import com.innova.restaurant.service.cache.CacheInvalidationBus;
+
+/**
+ * Índice en memoria para autocompletar nombres y direcciones de restaurantes activos
+ *
+ * Se carga al arrancar desde findByIsActive(true) y se mantiene al día con las altas,
+ * modificaciones y cambios de estado (tras el commit y, en otras instancias, mediante
+ * CacheInvalidationBus). Las lecturas comparten un read lock; las escrituras son puntuales.
+ *
+ * Memoria: unos 190 bytes por restaurante con nombre y dirección de ~7 términos,
+ * es decir ~190 MB por millón (ver RestaurantSuggestBenchmark y SuggestTrie.estimatedBytes).
+ * Cuando los huecos por borrados superan rebuild-dead-ratio se reconstruye de madrugada.
+ */
+@Component
+public class RestaurantSuggestIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantSuggestIndex.class);
+
+    static final String SUGGEST = "restaurant-suggest";
+
+    /**
+     * Máximo de sugerencias por consulta
+     */
+    public static final int MAX_LIMIT = 20;
+
+    private final RestaurantRepository restaurantRepository;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    private final boolean enabled;
+
+    private final double rebuildDeadRatio;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Queue<Long> changedDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    private volatile SuggestTrie trie = new SuggestTrie();
+
+    private volatile boolean rebuilding;
+
+    private volatile boolean ready;
+
+    @Autowired
+    public RestaurantSuggestIndex(RestaurantRepository restaurantRepository,
+                                  CacheInvalidationBus invalidationBus,
+                                  @Value("${app.search.suggest.enabled:true}") boolean enabled,
+                                  @Value("${app.search.suggest.rebuild-dead-ratio:0.3}") double rebuildDeadRatio) {
+        this.restaurantRepository = restaurantRepository;
+        this.invalidationBus = invalidationBus;
+        this.enabled = enabled;
+        this.rebuildDeadRatio = rebuildDeadRatio;
+        invalidationBus.register(SUGGEST, key -> refresh(Long.valueOf(key)), this::resync);
+    }
+
+    /**
+     * Sugerencias para el texto tecleado
+     *
+     * @param query prefijo de uno o varios términos (nombre o dirección)
+     * @param limit número máximo de sugerencias (1 a MAX_LIMIT)
+     */
+    public List<SuggestTrie.Suggestion> suggest(String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new RuntimeException("El límite de sugerencias debe estar entre 1 y " + MAX_LIMIT);
+        }
+        lock.readLock().lock();
+        try {
+            return trie.suggest(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Refleja en el índice el estado de un restaurante modificado
+     *
+     * Dentro de una transacción se aplica tras el commit; las demás instancias lo recargan.
+     */
+    public void update(Restaurant restaurant) {
+        if (!enabled) {
+            return;
+        }
+        Long id = restaurant.getId();
+        String name = restaurant.getName();
+        String address = restaurant.getAddress();
+        boolean active = Boolean.TRUE.equals(restaurant.getIsActive());
+        Runnable apply = () -> apply(id, name, address, active);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+        invalidationBus.publish(SUGGEST, id);
+    }
+
+    /**
+     * Carga inicial de los restaurantes activos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reconstruye el índice si los borrados dejaron demasiados huecos
+     */
+    @Scheduled(cron = "${app.search.suggest.rebuild-cron:0 30 4 * * *}")
+    public void rebuildIfFragmented() {
+        if (enabled && ready && trie.deadRatio() > rebuildDeadRatio) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Construye un índice nuevo fuera del lock y lo publica; los cambios ocurridos mientras
+     * tanto se vuelven a leer de la base de datos
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        try {
+            SuggestTrie rebuilt = new SuggestTrie();
+            for (Restaurant restaurant : restaurantRepository.findByIsActive(true)) {
+                rebuilt.put(restaurant.getId(), restaurant.getName(), restaurant.getAddress());
+            }
+            lock.writeLock().lock();
+            try {
+                trie = rebuilt;
+                rebuilding = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Long changed;
+            while ((changed = changedDuringRebuild.poll()) != null) {
+                refresh(changed);
+            }
+            ready = true;
+            logger.info("Índice de autocompletado cargado: {} restaurantes, {} nodos en {} ms",
+                        rebuilt.size(), rebuilt.nodeCount(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            logger.error("No se pudo cargar el índice de autocompletado", e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return trie.size();
+    }
+
+    /**
+     * El canal entre instancias pudo perder cambios: se reconstruye el índice desde la base de datos
+     */
+    private void resync() {
+        if (enabled && ready) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Relee un restaurante de la base de datos (cambio en otra instancia o durante una reconstrucción)
+     */
+    private void refresh(Long id) {
+        if (!enabled) {
+            return;
+        }
+        Restaurant restaurant = restaurantRepository.findById(id).orElse(null);
+        if (restaurant == null) {
+            apply(id, null, null, false);
+        } else {
+            apply(id, restaurant.getName(), restaurant.getAddress(), Boolean.TRUE.equals(restaurant.getIsActive()));
+        }
+    }
+
+    private void apply(Long id, String name, String address, boolean active) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.add(id);
+            }
+            if (active) {
+                trie.put(id, name, address);
+            } else {
+                trie.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.innova.restaurant.service.search;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Búsqueda de texto completo de restaurantes por nombre, descripción y dirección
+ *
+ * - PostgreSQL: tsvector ponderado (nombre A, dirección B, descripción C) con índice GIN
+ *   y consultas por prefijo (término:*), más pg_trgm sobre lower(name) para tolerar
+ *   errores tipográficos y subcadenas. Orden por ts_rank_cd + similarity.
+ * - H2 (tests): LIKE por término con un orden de relevancia sencillo sobre el nombre.
+ *
+ * Los índices se crean al arrancar con CREATE INDEX CONCURRENTLY IF NOT EXISTS, ya que
+ * ddl-auto=update no crea índices de expresión; los que quedaron inválidos por una creación
+ * interrumpida se eliminan y se vuelven a crear. Si pg_trgm no puede instalarse se busca
+ * solo por tsvector. Devuelve IDs ordenados por relevancia; el servicio carga las entidades.
+ *
+ * searchName se limita al nombre (subcadena sin distinguir mayúsculas) para GET /search.
+ *
+ * Latencia en restaurant.search (histograma con el SLO configurado como bucket).
+ */
+@Component
+public class RestaurantTextSearch {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantTextSearch.class);
+
+    /**
+     * Máximo de términos considerados de la consulta
+     */
+    static final int MAX_TERMS = 8;
+
+    /**
+     * Documento indexado; debe coincidir exactamente con la expresión del índice GIN
+     */
+    private static final String DOCUMENT =
+        "(setweight(to_tsvector('simple', coalesce(name, '')), 'A')"
+        + " || setweight(to_tsvector('simple', coalesce(address, '')), 'B')"
+        + " || setweight(to_tsvector('simple', coalesce(description, '')), 'C'))";
+
+    private static final String TRIGRAM_NAME = "lower(name)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DatabasePlatform databasePlatform;
+
+    private final Timer searchTimer;
+
+    private final boolean createIndexes;
+
+    private final int maxResults;
+
+    private volatile Engine engine;
+
+    enum Engine {
+        POSTGRES_TRIGRAM,
+        POSTGRES,
+        LIKE
+    }
+
+    @Autowired
+    public RestaurantTextSearch(JdbcTemplate jdbcTemplate,
+                                DatabasePlatform databasePlatform,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.search.restaurants.create-indexes:true}") boolean createIndexes,
+                                @Value("${app.search.restaurants.max-results:1000}") int maxResults,
+                                @Value("${app.search.restaurants.slo-ms:100}") long sloMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+        this.createIndexes = createIndexes;
+        this.maxResults = maxResults;
+        this.searchTimer = Timer.builder("restaurant.search")
+            .description("Latencia de la búsqueda de texto completo de restaurantes")
+            .publishPercentileHistogram()
+            .serviceLevelObjectives(Duration.ofMillis(sloMillis))
+            .register(meterRegistry);
+    }
+
+    /**
+     * Crea los índices de búsqueda en PostgreSQL al arrancar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!createIndexes || !databasePlatform.isPostgres()) {
+            return;
+        }
+        try {
+            createIndex("idx_restaurant_search", DOCUMENT);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo crear el índice de texto completo de restaurantes: {}", e.getMessage());
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            createIndex("idx_restaurant_name_trgm", TRIGRAM_NAME + " gin_trgm_ops");
+        } catch (RuntimeException e) {
+            logger.warn("pg_trgm no disponible, búsqueda sin tolerancia a errores: {}", e.getMessage());
+        }
+        engine = null;
+    }
+
+    /**
+     * Crea un índice GIN sobre restaurants sin bloquear escrituras
+     *
+     * Un CREATE INDEX CONCURRENTLY interrumpido deja el índice marcado como inválido: no se usa
+     * en las consultas pero se sigue manteniendo en cada escritura, y IF NOT EXISTS lo daría por
+     * creado. Por eso se elimina antes de reintentar y también si la creación vuelve a fallar.
+     */
+    private void createIndex(String name, String expression) {
+        dropIfInvalid(name);
+        try {
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name
+                + " ON restaurants USING GIN (" + expression + ")");
+        } catch (RuntimeException e) {
+            try {
+                dropIfInvalid(name);
+            } catch (RuntimeException dropFailure) {
+                e.addSuppressed(dropFailure);
+            }
+            throw e;
+        }
+    }
+
+    private void dropIfInvalid(String name) {
+        List<Boolean> valid = jdbcTemplate.queryForList(
+            "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)", Boolean.class, name);
+        if (!valid.isEmpty() && !Boolean.TRUE.equals(valid.get(0))) {
+            logger.warn("Índice {} inválido (creación concurrente interrumpida), se vuelve a crear", name);
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+        }
+    }
+
+    /**
+     * Busca restaurantes por relevancia
+     *
+     * @param query texto libre introducido por el usuario
+     * @param activeOnly solo restaurantes activos
+     * @param offset posición del primer resultado
+     * @param limit número máximo de IDs a devolver
+     * @return IDs ordenados por relevancia (vacío si la consulta no tiene términos)
+     */
+    public List<Long> search(String query, boolean activeOnly, int offset, int limit) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty() || offset >= maxResults) {
+            return List.of();
+        }
+        int bounded = Math.min(limit, maxResults - offset);
+        Timer.Sample sample = Timer.start();
+        try {
+            return switch (engine()) {
+                case POSTGRES_TRIGRAM -> searchPostgres(terms, activeOnly, offset, bounded, true);
+                case POSTGRES -> searchPostgres(terms, activeOnly, offset, bounded, false);
+                case LIKE -> searchLike(terms, activeOnly, offset, bounded);
+            };
+        } finally {
+            sample.stop(searchTimer);
+        }
+    }
+
+    /**
+     * Busca restaurantes cuyo nombre contiene el texto, sin distinguir mayúsculas
+     *
+     * Solo mira el nombre, como la búsqueda por nombre original; dirección y descripción quedan
+     * para search. En PostgreSQL con pg_trgm el LIKE '%texto%' se resuelve con el índice trigram
+     * sobre lower(name). Orden: nombre exacto, prefijo y subcadena, después por ID.
+     *
+     * @param name texto a buscar dentro del nombre
+     * @param activeOnly solo restaurantes activos
+     * @param limit número máximo de IDs a devolver
+     * @return IDs ordenados por coincidencia con el nombre
+     */
+    public List<Long> searchName(String name, boolean activeOnly, int limit) {
+        String phrase = escapeLike(name == null ? "" : name.toLowerCase(Locale.ROOT));
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT id FROM restaurants WHERE ")
+            .append(TRIGRAM_NAME).append(" LIKE ? ESCAPE '\\'");
+        params.add("%" + phrase + "%");
+        if (activeOnly) {
+            sql.append(" AND is_active = true");
+        }
+        sql.append(" ORDER BY CASE WHEN ").append(TRIGRAM_NAME).append(" LIKE ? ESCAPE '\\' THEN 0 WHEN ")
+            .append(TRIGRAM_NAME).append(" LIKE ? ESCAPE '\\' THEN 1 ELSE 2 END, id LIMIT ?");
+        params.add(phrase);
+        params.add(phrase + "%");
+        params.add(Math.min(limit, maxResults));
+
+        Timer.Sample sample = Timer.start();
+        try {
+            return jdbcTemplate.queryForList(sql.toString(), Long.class, params.toArray());
+        } finally {
+            sample.stop(searchTimer);
+        }
+    }
+
+    /**
+     * Escapa los comodines de LIKE para buscar el texto literal
+     */
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Normaliza la consulta en términos alfanuméricos en minúsculas
+     *
+     * Al contener solo letras y dígitos pueden usarse en to_tsquery y LIKE sin escapar.
+     */
+    static List<String> terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query != null) {
+            for (String term : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!term.isEmpty() && terms.size() < MAX_TERMS) {
+                    terms.add(term);
+                }
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private List<Long> searchPostgres(List<String> terms, boolean activeOnly, int offset, int limit, boolean trigram) {
+        String tsQuery = String.join(" & ", terms.stream().map(term -> term + ":*").toList());
+        String phrase = String.join(" ", terms);
+        List<Object> params = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder("SELECT id FROM restaurants WHERE (")
+            .append(DOCUMENT).append(" @@ to_tsquery('simple', ?)");
+        params.add(tsQuery);
+        if (trigram) {
+            // Ambos predicados usan el índice trigram: errores tipográficos y subcadenas
+            sql.append(" OR ").append(TRIGRAM_NAME).append(" % ?")
+                .append(" OR ").append(TRIGRAM_NAME).append(" LIKE ?");
+            params.add(phrase);
+            params.add("%" + phrase + "%");
+        }
+        sql.append(")");
+        if (activeOnly) {
+            sql.append(" AND is_active = true");
+        }
+        sql.append(" ORDER BY ts_rank_cd(").append(DOCUMENT).append(", to_tsquery('simple', ?))");
+        params.add(tsQuery);
+        if (trigram) {
+            sql.append(" + similarity(").append(TRIGRAM_NAME).append(", ?)");
+            params.add(phrase);
+        }
+        sql.append(" DESC, id LIMIT ? OFFSET ?");
+        params.add(limit);
+        params.add(offset);
+
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, params.toArray());
+    }
+
+    private List<Long> searchLike(List<String> terms, boolean activeOnly, int offset, int limit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT id FROM restaurants WHERE 1 = 1");
+        for (String term : terms) {
+            String pattern = "%" + term + "%";
+            sql.append(" AND (lower(name) LIKE ? OR lower(address) LIKE ? OR lower(description) LIKE ?)");
+            params.add(pattern);
+            params.add(pattern);
+            params.add(pattern);
+        }
+        if (activeOnly) {
+            sql.append(" AND is_active = true");
+        }
+        // Coincidencia exacta, prefijo o subcadena del nombre antes que dirección o descripción
+        String phrase = String.join(" ", terms);
+        sql.append(" ORDER BY CASE WHEN lower(name) = ? THEN 0 WHEN lower(name) LIKE ? THEN 1")
+            .append(" WHEN lower(name) LIKE ? THEN 2 ELSE 3 END, id LIMIT ? OFFSET ?");
+        params.add(phrase);
+        params.add(phrase + "%");
+        params.add("%" + phrase + "%");
+        params.add(limit);
+        params.add(offset);
+
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, params.toArray());
+    }
+
+    private Engine engine() {
+        Engine current = engine;
+        if (current == null) {
+            current = Engine.LIKE;
+            if (databasePlatform.isPostgres()) {
+                try {
+                    Integer trigram = jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM pg_extension WHERE extname = 'pg_trgm'", Integer.class);
+                    current = trigram != null && trigram > 0 ? Engine.POSTGRES_TRIGRAM : Engine.POSTGRES;
+                } catch (RuntimeException e) {
+                    current = Engine.POSTGRES;
+                }
+            }
+            logger.info("Búsqueda de restaurantes: {}", current);
+            engine = current;
+        }
+        return current;
+    }
+}
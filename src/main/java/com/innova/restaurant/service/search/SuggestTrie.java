@@ -0,0 +1,440 @@
+package com.innova.restaurant.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Trie compacto de términos para autocompletado por prefijo
+ *
+ * Los nodos viven en arrays primitivos (etiqueta, primer hijo, siguiente hermano, padre,
+ * profundidad) y cada nodo terminal guarda una lista de ordinales de documento en un int[].
+ * Los hijos se mantienen ordenados, por lo que el recorrido en preorden devuelve las
+ * palabras completadas en orden alfabético (primero la palabra exacta).
+ *
+ * Una consulta con varios términos recorre el subárbol del término más largo y verifica
+ * el resto subiendo por los padres desde los términos de cada documento candidato.
+ * Los borrados son perezosos (bit de vivo por ordinal); los huecos se eliminan reconstruyendo.
+ *
+ * No es thread-safe: RestaurantSuggestIndex serializa las escrituras y protege las lecturas.
+ */
+public final class SuggestTrie {
+
+    /**
+     * Longitud máxima indexada de cada término (los más largos se truncan)
+     */
+    static final int MAX_TERM_LENGTH = 32;
+
+    /**
+     * Candidatos máximos examinados por consulta, para acotar la latencia con prefijos cortos
+     */
+    static final int MAX_SCANNED = 20_000;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final int ROOT = 0;
+
+    private static final int NONE = -1;
+
+    // Nodos
+    private char[] labels = new char[16];
+    private int[] firstChild = new int[16];
+    private int[] nextSibling = new int[16];
+    private int[] parent = new int[16];
+    private byte[] depth = new byte[16];
+    private int[][] postings = new int[16][];
+    private int[] postingSizes = new int[16];
+    private int nodeCount;
+
+    // Documentos por ordinal
+    private long[] docIds = new long[16];
+    private String[] docNames = new String[16];
+    private int[][] docTerms = new int[16][];
+    private long[] alive = new long[1];
+    private int docCount;
+    private int liveCount;
+
+    private final LongIntMap ordinals = new LongIntMap();
+
+    /**
+     * Sugerencia devuelta por el índice
+     */
+    public record Suggestion(long id, String name) {
+    }
+
+    public SuggestTrie() {
+        nodeCount = 1;
+        firstChild[ROOT] = NONE;
+        nextSibling[ROOT] = NONE;
+        parent[ROOT] = NONE;
+    }
+
+    /**
+     * Indexa (o reindexa) un documento por los términos de su nombre y dirección
+     */
+    public void put(long id, String name, String address) {
+        remove(id);
+        Set<String> terms = new LinkedHashSet<>(normalize(name));
+        terms.addAll(normalize(address));
+        if (terms.isEmpty()) {
+            return;
+        }
+
+        int ordinal = docCount++;
+        ensureDocCapacity(docCount);
+        docIds[ordinal] = id;
+        docNames[ordinal] = name;
+        int[] nodes = new int[terms.size()];
+        int i = 0;
+        for (String term : terms) {
+            int node = insert(term);
+            addPosting(node, ordinal);
+            nodes[i++] = node;
+        }
+        docTerms[ordinal] = nodes;
+        alive[ordinal >>> 6] |= 1L << ordinal;
+        liveCount++;
+        ordinals.put(id, ordinal);
+    }
+
+    /**
+     * Quita un documento del índice (sus entradas quedan como huecos hasta reconstruir el índice)
+     */
+    public void remove(long id) {
+        int ordinal = ordinals.remove(id);
+        if (ordinal == NONE) {
+            return;
+        }
+        alive[ordinal >>> 6] &= ~(1L << ordinal);
+        docNames[ordinal] = null;
+        docTerms[ordinal] = null;
+        liveCount--;
+    }
+
+    /**
+     * Devuelve los documentos que tienen, para cada término de la consulta, un término con ese prefijo
+     *
+     * @param query texto tecleado (se normaliza igual que los documentos)
+     * @param limit número máximo de sugerencias
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        List<String> terms = normalize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int[] nodes = new int[terms.size()];
+        int pivot = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = find(terms.get(i));
+            if (nodes[i] == NONE) {
+                return List.of();
+            }
+            if (depth[nodes[i]] > depth[nodes[pivot]]) {
+                pivot = i;
+            }
+        }
+
+        List<Suggestion> results = new ArrayList<>(Math.min(limit, 16));
+        Set<Integer> seen = new HashSet<>();
+        int scanned = 0;
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = nodes[pivot];
+        while (top > 0 && results.size() < limit && scanned < MAX_SCANNED) {
+            int node = stack[--top];
+            int[] list = postings[node];
+            for (int p = 0; p < postingSizes[node] && results.size() < limit; p++) {
+                int ordinal = list[p];
+                scanned++;
+                if (isAlive(ordinal) && seen.add(ordinal) && matchesAll(ordinal, nodes, pivot)) {
+                    results.add(new Suggestion(docIds[ordinal], docNames[ordinal]));
+                }
+            }
+            // Hijos apilados en orden inverso para visitarlos alfabéticamente
+            int childrenStart = top;
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = child;
+            }
+            reverse(stack, childrenStart, top - 1);
+        }
+        return results;
+    }
+
+    /**
+     * Documentos indexados y vivos
+     */
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * Proporción de ordinales borrados que siguen ocupando espacio
+     */
+    public double deadRatio() {
+        return docCount == 0 ? 0 : (docCount - liveCount) / (double) docCount;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Estimación de memoria retenida en bytes (arrays y nombres; cabeceras de 16 bytes, referencias de 4)
+     */
+    public long estimatedBytes() {
+        long bytes = 16L * 7 + (long) labels.length * 2 + (long) firstChild.length * 4 * 3
+            + depth.length + (long) postings.length * 4 + (long) postingSizes.length * 4;
+        for (int node = 0; node < nodeCount; node++) {
+            if (postings[node] != null) {
+                bytes += 16 + (long) postings[node].length * 4;
+            }
+        }
+        bytes += 16L * 4 + (long) docIds.length * 8 + (long) docNames.length * 4
+            + (long) docTerms.length * 4 + (long) alive.length * 8;
+        for (int ordinal = 0; ordinal < docCount; ordinal++) {
+            if (docTerms[ordinal] != null) {
+                bytes += 16 + (long) docTerms[ordinal].length * 4;
+            }
+            if (docNames[ordinal] != null) {
+                // String compacto (LATIN1) con su array de bytes
+                bytes += 24 + 16 + docNames[ordinal].length();
+            }
+        }
+        return bytes + ordinals.estimatedBytes();
+    }
+
+    /**
+     * Minúsculas, sin acentos y separado en términos alfanuméricos
+     */
+    static List<String> normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(folded)) {
+            if (!term.isEmpty()) {
+                terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+            }
+        }
+        return terms;
+    }
+
+    private boolean matchesAll(int ordinal, int[] nodes, int pivot) {
+        int[] terms = docTerms[ordinal];
+        for (int i = 0; i < nodes.length; i++) {
+            if (i != pivot && !hasTermUnder(terms, nodes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasTermUnder(int[] terms, int prefixNode) {
+        int prefixDepth = depth[prefixNode];
+        for (int term : terms) {
+            int node = term;
+            while (depth[node] > prefixDepth) {
+                node = parent[node];
+            }
+            if (node == prefixNode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int find(String term) {
+        int node = ROOT;
+        for (int i = 0; i < term.length() && node != NONE; i++) {
+            node = child(node, term.charAt(i));
+        }
+        return node;
+    }
+
+    private int child(int node, char label) {
+        for (int child = firstChild[node]; child != NONE && labels[child] <= label; child = nextSibling[child]) {
+            if (labels[child] == label) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    private int insert(String term) {
+        int node = ROOT;
+        for (int i = 0; i < term.length(); i++) {
+            char label = term.charAt(i);
+            int previous = NONE;
+            int child = firstChild[node];
+            while (child != NONE && labels[child] < label) {
+                previous = child;
+                child = nextSibling[child];
+            }
+            if (child == NONE || labels[child] != label) {
+                int created = newNode(node, label);
+                nextSibling[created] = child;
+                if (previous == NONE) {
+                    firstChild[node] = created;
+                } else {
+                    nextSibling[previous] = created;
+                }
+                child = created;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private int newNode(int parentNode, char label) {
+        int node = nodeCount++;
+        if (node == labels.length) {
+            int capacity = labels.length + (labels.length >> 1);
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            depth = Arrays.copyOf(depth, capacity);
+            postings = Arrays.copyOf(postings, capacity);
+            postingSizes = Arrays.copyOf(postingSizes, capacity);
+        }
+        labels[node] = label;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        parent[node] = parentNode;
+        depth[node] = (byte) (depth[parentNode] + 1);
+        return node;
+    }
+
+    private void addPosting(int node, int ordinal) {
+        int[] list = postings[node];
+        int size = postingSizes[node];
+        if (list == null) {
+            list = new int[1];
+        } else if (size == list.length) {
+            list = Arrays.copyOf(list, size + Math.max(1, size >> 1));
+        }
+        list[size] = ordinal;
+        postings[node] = list;
+        postingSizes[node] = size + 1;
+    }
+
+    private void ensureDocCapacity(int required) {
+        if (required > docIds.length) {
+            int capacity = Math.max(required, docIds.length + (docIds.length >> 1));
+            docIds = Arrays.copyOf(docIds, capacity);
+            docNames = Arrays.copyOf(docNames, capacity);
+            docTerms = Arrays.copyOf(docTerms, capacity);
+        }
+        if ((required + 63) >>> 6 > alive.length) {
+            alive = Arrays.copyOf(alive, Math.max((required + 63) >>> 6, alive.length * 2));
+        }
+    }
+
+    private boolean isAlive(int ordinal) {
+        return (alive[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    private static void reverse(int[] values, int from, int to) {
+        while (from < to) {
+            int tmp = values[from];
+            values[from++] = values[to];
+            values[to--] = tmp;
+        }
+    }
+
+    /**
+     * Mapa long -> int de direccionamiento abierto (ID de restaurante -> ordinal) sin boxing
+     */
+    private static final class LongIntMap {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(16);
+        private int[] values = new int[16];
+        private int size;
+
+        void put(long key, int value) {
+            if ((size + 1) * 4L > keys.length * 3L) {
+                resize(keys.length * 2);
+            }
+            int slot = slot(key, keys.length);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            if (keys[slot] == EMPTY) {
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int slot = slot(key, keys.length);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    int value = values[slot];
+                    // Borrado con desplazamiento hacia atrás para no romper las secuencias de sondeo
+                    int hole = slot;
+                    int next = (hole + 1) & mask;
+                    while (keys[next] != EMPTY) {
+                        int home = slot(keys[next], keys.length);
+                        if (((next - home) & mask) >= ((next - hole) & mask)) {
+                            keys[hole] = keys[next];
+                            values[hole] = values[next];
+                            hole = next;
+                        }
+                        next = (next + 1) & mask;
+                    }
+                    keys[hole] = EMPTY;
+                    size--;
+                    return value;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NONE;
+        }
+
+        long estimatedBytes() {
+            return 32L + keys.length * 8L + values.length * 4L;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(capacity);
+            values = new int[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int slot(long key, int capacity) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+}
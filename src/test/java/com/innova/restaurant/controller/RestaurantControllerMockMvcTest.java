@@ -0,0 +1,184 @@
+package com.innova.restaurant.controller;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.monitoring.RoundTripBudgetFilter;
+import com.innova.restaurant.monitoring.SqlStatementCounter;
+import com.innova.restaurant.service.ReservationService;
+import com.innova.restaurant.service.RestaurantService;
+import com.innova.restaurant.service.conditional.ResourceVersion;
+import com.innova.restaurant.service.search.RestaurantSuggestIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests de RestaurantController con MockMvc standalone (sin contexto de Spring)
+ * Valida los GET condicionales (ETag / 304) y el presupuesto de viajes a base de datos
+ * tal como se aplica en el perfil test
+ */
+@ExtendWith(MockitoExtension.class)
+class RestaurantControllerMockMvcTest {
+
+    @Mock
+    private RestaurantService restaurantService;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private RestaurantSuggestIndex restaurantSuggestIndex;
+
+    @InjectMocks
+    private RestaurantController restaurantController;
+
+    private MockMvc mockMvc;
+
+    private Restaurant restaurant;
+
+    private ResourceVersion version;
+
+    @BeforeEach
+    void setUp() {
+        // Mismo presupuesto que application.yml y fail-on-exceeded como en el perfil test
+        RoundTripBudgetFilter budgetFilter = new RoundTripBudgetFilter(new SimpleMeterRegistry(), true, true, "50:20",
+            List.of("GET /api/restaurants/{id}=3:0"));
+        mockMvc = MockMvcBuilders.standaloneSetup(restaurantController)
+            .addFilters(budgetFilter)
+            .build();
+
+        restaurant = new Restaurant();
+        restaurant.setId(1L);
+        restaurant.setName("Test Restaurant");
+        restaurant.setAddress("123 Test St");
+        restaurant.setOpeningTime(LocalTime.of(9, 0));
+        restaurant.setClosingTime(LocalTime.of(22, 0));
+        restaurant.setMaxCapacity(50);
+        restaurant.setIsActive(true);
+        restaurant.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        version = ResourceVersion.weak(restaurant.getUpdatedAt(), "restaurant", 1L, restaurant.getUpdatedAt());
+    }
+
+    @Test
+    void getRestaurantById_ExistingId_ReturnsRestaurantWithValidators() throws Exception {
+        // Given
+        when(restaurantService.getRestaurantVersion(1L)).thenReturn(version);
+        when(restaurantService.findRestaurantById(1L)).thenReturn(restaurant);
+
+        // When & Then
+        mockMvc.perform(get("/api/restaurants/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, version.getEtag()))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, version.getLastModified()))
+                .andExpect(jsonPath("$.name").value("Test Restaurant"));
+    }
+
+    @Test
+    void getRestaurantById_MatchingEtag_ReturnsNotModifiedWithoutLoading() throws Exception {
+        // Given
+        when(restaurantService.getRestaurantVersion(1L)).thenReturn(version);
+
+        // When & Then
+        mockMvc.perform(get("/api/restaurants/1")
+                .header(HttpHeaders.IF_NONE_MATCH, version.getEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version.getEtag()));
+
+        verify(restaurantService, never()).findRestaurantById(1L);
+    }
+
+    @Test
+    void getRestaurantById_StaleEtag_ReturnsRestaurant() throws Exception {
+        // Given
+        when(restaurantService.getRestaurantVersion(1L)).thenReturn(version);
+        when(restaurantService.findRestaurantById(1L)).thenReturn(restaurant);
+
+        // When & Then
+        mockMvc.perform(get("/api/restaurants/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, version.getEtag()));
+    }
+
+    @Test
+    void getRestaurantById_NotModifiedSince_ReturnsNotModified() throws Exception {
+        // Given
+        when(restaurantService.getRestaurantVersion(1L)).thenReturn(version);
+
+        // When & Then
+        mockMvc.perform(get("/api/restaurants/1")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, version.getLastModified()))
+                .andExpect(status().isNotModified());
+
+        verify(restaurantService, never()).findRestaurantById(1L);
+    }
+
+    @Test
+    void getRestaurantById_WithinBudget_ReturnsRestaurantWithCountHeaders() throws Exception {
+        // Given: sonda de versión y detalle con su propietario (3 sentencias)
+        when(restaurantService.getRestaurantVersion(1L)).thenAnswer(invocation -> {
+            executeStatements(1);
+            return version;
+        });
+        when(restaurantService.findRestaurantById(1L)).thenAnswer(invocation -> {
+            executeStatements(2);
+            return restaurant;
+        });
+
+        // When & Then
+        mockMvc.perform(get("/api/restaurants/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Test Restaurant"))
+                .andExpect(header().string(RoundTripBudgetFilter.SQL_COUNT_HEADER, "3"))
+                .andExpect(header().string(RoundTripBudgetFilter.MONGO_COUNT_HEADER, "0"));
+    }
+
+    @Test
+    void getRestaurantById_NPlusOneOverBudget_FailsWithServerError() throws Exception {
+        // Given: una carga perezosa por relación dispara el número de sentencias
+        when(restaurantService.getRestaurantVersion(1L)).thenAnswer(invocation -> {
+            executeStatements(1);
+            return version;
+        });
+        when(restaurantService.findRestaurantById(1L)).thenAnswer(invocation -> {
+            executeStatements(6);
+            return restaurant;
+        });
+
+        // When & Then
+        mockMvc.perform(get("/api/restaurants/1"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(header().string(RoundTripBudgetFilter.SQL_COUNT_HEADER, "7"))
+                .andExpect(jsonPath("$.message").value(
+                    org.hamcrest.Matchers.containsString("GET /api/restaurants/{id} superó su presupuesto")))
+                .andExpect(jsonPath("$.name").doesNotExist());
+    }
+
+    /**
+     * Simula las sentencias SQL que Hibernate enviaría a la base de datos
+     */
+    private static void executeStatements(int count) {
+        for (int i = 0; i < count; i++) {
+            new SqlStatementCounter().inspect("select 1");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.innova.restaurant.controller;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 
@@ -30,7 +31,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.service.ReservationService;
 import com.innova.restaurant.service.RestaurantService;
+import com.innova.restaurant.service.conditional.ResourceVersion;
+import com.innova.restaurant.service.search.RestaurantSuggestIndex;
 
 /**
  * Tests unitarios para RestaurantController
@@ -47,11 +51,18 @@ class RestaurantControllerTest {
     @MockBean
     private RestaurantService restaurantService;
 
+    @MockBean
+    private ReservationService reservationService;
+
+    @MockBean
+    private RestaurantSuggestIndex restaurantSuggestIndex;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private Restaurant testRestaurant;
     private RestaurantController.CreateRestaurantRequest createRequest;
+    private ResourceVersion version;
 
     @BeforeEach
     void setUp() {
@@ -66,6 +77,8 @@ class RestaurantControllerTest {
         testRestaurant.setClosingTime(LocalTime.of(22, 0));
         testRestaurant.setMaxCapacity(50);
         testRestaurant.setIsActive(true);
+        testRestaurant.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        version = ResourceVersion.weak(testRestaurant.getUpdatedAt(), "restaurant", 1L, testRestaurant.getUpdatedAt());
 
         createRequest = new RestaurantController.CreateRestaurantRequest();
         createRequest.setName("New Restaurant");
@@ -100,6 +113,7 @@ class RestaurantControllerTest {
     @Test
     void getRestaurantById_ExistingId_ReturnsRestaurant() throws Exception {
         // Given
+        when(restaurantService.getRestaurantVersion(1L)).thenReturn(version);
         when(restaurantService.findRestaurantById(1L)).thenReturn(testRestaurant);
 
         // When & Then
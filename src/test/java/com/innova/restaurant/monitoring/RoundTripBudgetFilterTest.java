@@ -0,0 +1,126 @@
+package com.innova.restaurant.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Tests unitarios para RoundTripBudgetFilter
+ * Valida el conteo por request, las cabeceras, las métricas y el presupuesto por endpoint
+ */
+class RoundTripBudgetFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/api/restaurants/5");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_WithinBudget_CountsExposedAsHeadersAndMetrics() throws Exception {
+        // Given
+        RoundTripBudgetFilter filter = new RoundTripBudgetFilter(meterRegistry, true, true, "50:20",
+            List.of("GET /api/restaurants/{id}=3:1"));
+
+        // When
+        filter.doFilter(request, response, handler(2, 1));
+
+        // Then
+        assertEquals("2", response.getHeader(RoundTripBudgetFilter.SQL_COUNT_HEADER));
+        assertEquals("1", response.getHeader(RoundTripBudgetFilter.MONGO_COUNT_HEADER));
+        assertEquals("ok", response.getContentAsString());
+        assertEquals(2.0, meterRegistry.get("db.roundtrips").tag("store", "sql")
+            .tag("uri", "/api/restaurants/{id}").summary().totalAmount());
+    }
+
+    @Test
+    void doFilter_BudgetExceeded_FailsWhenConfigured() {
+        // Given
+        RoundTripBudgetFilter filter = new RoundTripBudgetFilter(meterRegistry, true, true, "50:20",
+            List.of("GET /api/restaurants/{id}=3:0"));
+
+        // When
+        filter.doFilter(request, response, handler(4, 0));
+
+        // Then: el cuerpo retenido se descarta y el request falla con 500
+        assertEquals(500, response.getStatus());
+        assertTrue(response.getContentAsString().contains("superó su presupuesto"));
+        assertFalse(response.getContentAsString().contains("ok"));
+        assertEquals("4", response.getHeader(RoundTripBudgetFilter.SQL_COUNT_HEADER));
+        assertEquals(1.0, meterRegistry.get("db.roundtrips.budget.exceeded").counter().count());
+    }
+
+    @Test
+    void doFilter_HeadersOnly_WritesHeadersBeforeCommitWithoutBuffering() throws Exception {
+        // Given
+        RoundTripBudgetFilter filter = new RoundTripBudgetFilter(meterRegistry, true, false, "50:20", List.of());
+        FilterChain streaming = (servletRequest, servletResponse) -> {
+            assertNull(WebUtils.getNativeResponse(servletResponse, ContentCachingResponseWrapper.class));
+            new SqlStatementCounter().inspect("select 1");
+            servletResponse.getWriter().write("ok");
+            servletResponse.flushBuffer();
+            // El cuerpo ya llegó al cliente: el conteo que viaja en las cabeceras es el del commit
+            assertTrue(response.isCommitted());
+            new SqlStatementCounter().inspect("select 1");
+        };
+
+        // When
+        filter.doFilter(request, response, streaming);
+
+        // Then
+        assertEquals("1", response.getHeader(RoundTripBudgetFilter.SQL_COUNT_HEADER));
+        assertEquals("ok", response.getContentAsString());
+        assertEquals(2, request.getAttribute(RoundTripBudgetFilter.SQL_COUNT_ATTRIBUTE));
+    }
+
+    @Test
+    void doFilter_BudgetExceeded_OnlyWarnsInProduction() throws Exception {
+        // Given
+        RoundTripBudgetFilter filter = new RoundTripBudgetFilter(meterRegistry, false, false, "1:0", List.of());
+
+        // When
+        filter.doFilter(request, response, handler(4, 2));
+
+        // Then
+        assertNull(response.getHeader(RoundTripBudgetFilter.SQL_COUNT_HEADER));
+        assertEquals(4, request.getAttribute(RoundTripBudgetFilter.SQL_COUNT_ATTRIBUTE));
+        assertEquals(1.0, meterRegistry.get("db.roundtrips.budget.exceeded").counter().count());
+    }
+
+    /**
+     * Simula un controlador que ejecuta sql sentencias y mongo comandos
+     */
+    private FilterChain handler(int sql, int mongo) {
+        return (servletRequest, servletResponse) -> {
+            for (int i = 0; i < sql; i++) {
+                new SqlStatementCounter().inspect("select 1");
+            }
+            for (int i = 0; i < mongo; i++) {
+                new MongoCommandCounter().commandStarted(null);
+            }
+            servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/restaurants/{id}");
+            servletResponse.getWriter().write("ok");
+        };
+    }
+}
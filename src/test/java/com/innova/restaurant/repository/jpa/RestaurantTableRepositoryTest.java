@@ -0,0 +1,116 @@
+package com.innova.restaurant.repository.jpa;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.model.enums.UserRole;
+import com.innova.restaurant.repository.jpa.RestaurantTableRepository.TablesVersion;
+
+/**
+ * Tests de integración para RestaurantTableRepository sobre H2
+ * Ejecuta la consulta agregada de versión de mesas (sin el contexto completo de la aplicación)
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RestaurantTableRepositoryTest {
+
+    @Configuration
+    @EntityScan(basePackageClasses = RestaurantTable.class)
+    @EnableJpaRepositories(basePackageClasses = RestaurantTableRepository.class)
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Test
+    void findTablesVersion_RestaurantWithTables_CountsAndReturnsLatestUpdate() {
+        // Given
+        Restaurant restaurant = restaurant();
+        LocalDateTime latest = LocalDateTime.of(2024, 1, 1, 12, 30);
+        table(restaurant, 1, LocalDateTime.of(2024, 1, 1, 12, 0));
+        table(restaurant, 2, latest);
+        table(restaurant(), 1, latest.plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        TablesVersion version = restaurantTableRepository.findTablesVersion(restaurant.getId()).orElseThrow();
+
+        // Then
+        assertEquals(2L, version.getTableCount());
+        assertEquals(latest, version.getLastUpdated());
+        assertNotNull(version.getRestaurantUpdatedAt());
+    }
+
+    @Test
+    void findTablesVersion_RestaurantWithoutTables_ZeroCount() {
+        // Given
+        Restaurant restaurant = restaurant();
+        entityManager.flush();
+
+        // When
+        TablesVersion version = restaurantTableRepository.findTablesVersion(restaurant.getId()).orElseThrow();
+
+        // Then
+        assertEquals(0L, version.getTableCount());
+        assertNull(version.getLastUpdated());
+    }
+
+    @Test
+    void findTablesVersion_MissingRestaurant_Empty() {
+        // When & Then
+        assertTrue(restaurantTableRepository.findTablesVersion(-1L).isEmpty());
+    }
+
+    private Restaurant restaurant() {
+        long n = System.nanoTime();
+        User owner = entityManager.persist(new User("owner" + n, "owner" + n + "@example.com", "password123",
+                                                    "Owner", "Test", UserRole.RESTAURANT_OWNER));
+        return entityManager.persist(new Restaurant("Restaurante " + n, "Calle 1", null, null,
+                                                    LocalTime.of(9, 0), LocalTime.of(23, 0), 40, owner));
+    }
+
+    private void table(Restaurant restaurant, int number, LocalDateTime updatedAt) {
+        RestaurantTable table = entityManager.persist(new RestaurantTable(number, 4, restaurant));
+        // Se fija tras el alta: @PrePersist/@PreUpdate pondrían la hora actual
+        entityManager.flush();
+        entityManager.getEntityManager()
+            .createQuery("UPDATE RestaurantTable t SET t.updatedAt = :updatedAt WHERE t.id = :id")
+            .setParameter("updatedAt", updatedAt)
+            .setParameter("id", table.getId())
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,132 @@
+package com.innova.restaurant.security;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.model.enums.UserRole;
+import com.innova.restaurant.service.cache.CacheInvalidationBus;
+import com.innova.restaurant.service.impl.UserDetailsServiceImpl;
+import com.innova.restaurant.service.impl.UserDetailsServiceImpl.CustomUserPrincipal;
+
+/**
+ * Tests unitarios para JwtAuthenticationFilter
+ * Valida la resolución del principal desde tokens verificados y la caché de principals
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    private JwtUtil jwtUtil;
+
+    private PrincipalCache principalCache;
+
+    private JwtAuthenticationFilter filter;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil("testSecretKey123456789testSecretKey123456789testSecretKey123456789", 3600000L, 100);
+        principalCache = new PrincipalCache(mock(CacheInvalidationBus.class), 100, 300);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalCache", principalCache);
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("maria");
+        user.setEmail("maria@example.com");
+        user.setRole(UserRole.CUSTOMER);
+        user.setIsActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_TokenWithUserId_PrincipalLoadedOncePerCacheEntry() throws Exception {
+        // Given
+        when(userDetailsService.loadUserById(7L)).thenReturn(new CustomUserPrincipal(user));
+        String token = jwtUtil.generateToken("maria", "CUSTOMER", 7L);
+
+        // When
+        Authentication first = authenticate(token);
+        Authentication second = authenticate(token);
+
+        // Then
+        assertEquals("ROLE_CUSTOMER", first.getAuthorities().iterator().next().getAuthority());
+        assertEquals(first.getPrincipal(), second.getPrincipal());
+        verify(userDetailsService, times(1)).loadUserById(7L);
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    void doFilter_UserDeactivatedAndInvalidated_NotAuthenticated() throws Exception {
+        // Given
+        User inactive = new User();
+        inactive.setId(7L);
+        inactive.setUsername("maria");
+        inactive.setEmail("maria@example.com");
+        inactive.setRole(UserRole.CUSTOMER);
+        inactive.setIsActive(false);
+        when(userDetailsService.loadUserById(7L))
+            .thenReturn(new CustomUserPrincipal(user), new CustomUserPrincipal(inactive));
+        String token = jwtUtil.generateToken("maria", "CUSTOMER", 7L);
+        authenticate(token);
+
+        // When
+        principalCache.invalidate(7L);
+        Authentication afterInvalidation = authenticate(token);
+
+        // Then
+        assertNull(afterInvalidation);
+        verify(userDetailsService, times(2)).loadUserById(7L);
+    }
+
+    @Test
+    void doFilter_TamperedToken_NoDatabaseLookup() throws Exception {
+        // Given
+        String token = jwtUtil.generateToken("maria", "CUSTOMER", 7L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When
+        Authentication authentication = authenticate(tampered);
+
+        // Then
+        assertNull(authentication);
+        verify(userDetailsService, never()).loadUserById(any());
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurants");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
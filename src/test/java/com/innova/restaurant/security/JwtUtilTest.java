@@ -0,0 +1,78 @@
+package com.innova.restaurant.security;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.innova.restaurant.security.JwtUtil.VerifiedToken;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Tests unitarios para JwtUtil
+ * Valida la verificación única por token y la caché de tokens verificados
+ */
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKey123456789testSecretKey123456789testSecretKey123456789";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3600000L, 100);
+    }
+
+    @Test
+    void verify_SameToken_VerifiedOnceAndReused() {
+        // Given
+        String token = jwtUtil.generateToken("maria", "CUSTOMER", 7L);
+
+        // When
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        // Then
+        assertSame(first, second);
+        assertEquals("maria", jwtUtil.extractUsername(token));
+        assertEquals("CUSTOMER", jwtUtil.extractRole(token));
+        assertEquals(7L, jwtUtil.extractUserId(token));
+    }
+
+    @Test
+    void verify_InvalidTokens_Rejected() {
+        // Given
+        String token = jwtUtil.generateToken("maria", "CUSTOMER", 7L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String expired = new JwtUtil(SECRET, -1000L, 100).generateToken("maria", "CUSTOMER", 7L);
+
+        // When / Then
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(expired));
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(expired));
+    }
+
+    @Test
+    void verify_TokenWithoutExpiration_RejectedAsInvalid() {
+        // Given: firma válida pero sin claim exp
+        String token = Jwts.builder()
+                .setSubject("maria")
+                .setIssuedAt(new Date())
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        // When / Then
+        assertThrows(MissingClaimException.class, () -> jwtUtil.verify(token));
+        assertFalse(jwtUtil.isTokenValid(token));
+    }
+}
@@ -0,0 +1,124 @@
+package com.innova.restaurant.service.activity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.anyList;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.innova.restaurant.model.document.UserActivityDocument;
+
+/**
+ * Tests unitarios para ActivityLogAppender
+ * Valida los lotes no ordenados, las políticas de desbordamiento y el vaciado al parar
+ */
+@ExtendWith(MockitoExtension.class)
+class ActivityLogAppenderTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Test
+    void flush_PendingActivities_UnorderedBatchesOfBatchSize() {
+        // Given
+        whenBulkInserting();
+        ActivityLogAppender appender = appender(10, 2, ActivityLogAppender.OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 5; i++) {
+            appender.append(activity("a" + i));
+        }
+
+        // When
+        appender.flush();
+
+        // Then
+        verify(mongoTemplate, times(3)).bulkOps(BulkOperations.BulkMode.UNORDERED, UserActivityDocument.class);
+        verify(bulkOperations, times(3)).execute();
+        assertEquals(5, appender.getWrittenCount());
+        assertEquals(0, appender.getPendingCount());
+    }
+
+    @Test
+    void append_FullBufferDropNewest_RejectsIncoming() {
+        // Given
+        ActivityLogAppender appender = appender(2, 10, ActivityLogAppender.OverflowPolicy.DROP_NEWEST);
+        appender.append(activity("a1"));
+        appender.append(activity("a2"));
+
+        // When
+        boolean accepted = appender.append(activity("a3"));
+
+        // Then
+        assertFalse(accepted);
+        assertEquals(1, appender.getDroppedCount());
+        assertEquals(2, appender.getPendingCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void append_FullBufferDropOldest_KeepsNewest() {
+        // Given
+        whenBulkInserting();
+        ActivityLogAppender appender = appender(2, 10, ActivityLogAppender.OverflowPolicy.DROP_OLDEST);
+        appender.append(activity("a1"));
+        appender.append(activity("a2"));
+
+        // When
+        boolean accepted = appender.append(activity("a3"));
+        appender.flush();
+
+        // Then
+        assertTrue(accepted);
+        assertEquals(1, appender.getDroppedCount());
+        ArgumentCaptor<List<UserActivityDocument>> batch = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(batch.capture());
+        assertEquals(List.of("a2", "a3"), batch.getValue().stream().map(UserActivityDocument::getActionType).toList());
+    }
+
+    @Test
+    void stop_PendingActivities_FlushedAndLaterAppendsDropped() {
+        // Given
+        whenBulkInserting();
+        ActivityLogAppender appender = appender(10, 100, ActivityLogAppender.OverflowPolicy.BLOCK);
+        appender.start();
+        appender.append(activity("a1"));
+
+        // When
+        appender.stop();
+
+        // Then
+        assertEquals(1, appender.getWrittenCount());
+        assertFalse(appender.isRunning());
+        assertFalse(appender.append(activity("a2")));
+    }
+
+    private void whenBulkInserting() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserActivityDocument.class))
+            .thenReturn(bulkOperations);
+        lenient().when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+    }
+
+    private ActivityLogAppender appender(int capacity, int batchSize, ActivityLogAppender.OverflowPolicy policy) {
+        return new ActivityLogAppender(mongoTemplate, capacity, batchSize, 60_000, policy, 10);
+    }
+
+    private UserActivityDocument activity(String actionType) {
+        UserActivityDocument activity = new UserActivityDocument();
+        activity.setActionType(actionType);
+        return activity;
+    }
+}
@@ -0,0 +1,210 @@
+package com.innova.restaurant.service.availability;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.repository.jpa.ReservationRepository;
+import com.innova.restaurant.service.cache.CacheInvalidationBus;
+
+/**
+ * Tests unitarios para TableAvailabilityIndex
+ * Valida la detección de conflictos, el mantenimiento del índice y su réplica entre instancias
+ */
+class TableAvailabilityIndexTest {
+
+    private static final LocalDateTime EIGHT_PM = LocalDateTime.of(2030, 5, 10, 20, 0);
+
+    private TableAvailabilityIndex index;
+    private RestaurantTable table;
+
+    @BeforeEach
+    void setUp() {
+        index = new TableAvailabilityIndex(null, null, true);
+        table = new RestaurantTable();
+        table.setId(1L);
+        index.load(List.of());
+    }
+
+    @Test
+    void hasConflict_WithinWindow_ReturnsTrue() {
+        // Given
+        index.track(reservation(10L, EIGHT_PM, ReservationStatus.CONFIRMED));
+
+        // Then
+        assertTrue(index.hasConflict(1L, EIGHT_PM.plusMinutes(59), null));
+        assertTrue(index.hasConflict(1L, EIGHT_PM.minusHours(1), null));
+    }
+
+    @Test
+    void hasConflict_OutsideWindowOrOtherTable_ReturnsFalse() {
+        // Given
+        index.track(reservation(10L, EIGHT_PM, ReservationStatus.PENDING));
+
+        // Then
+        assertFalse(index.hasConflict(1L, EIGHT_PM.plusMinutes(61), null));
+        assertFalse(index.hasConflict(2L, EIGHT_PM, null));
+    }
+
+    @Test
+    void hasConflict_ExcludingOwnReservation_ReturnsFalse() {
+        // Given
+        index.track(reservation(10L, EIGHT_PM, ReservationStatus.PENDING));
+
+        // Then
+        assertFalse(index.hasConflict(1L, EIGHT_PM.plusMinutes(30), 10L));
+        assertTrue(index.hasConflict(1L, EIGHT_PM.plusMinutes(30), 11L));
+    }
+
+    @Test
+    void track_CancelledReservation_ReleasesSlot() {
+        // Given
+        index.track(reservation(10L, EIGHT_PM, ReservationStatus.CONFIRMED));
+
+        // When
+        index.track(reservation(10L, EIGHT_PM, ReservationStatus.CANCELLED));
+
+        // Then
+        assertFalse(index.hasConflict(1L, EIGHT_PM, null));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void track_RescheduledReservation_MovesSlot() {
+        // Given
+        index.track(reservation(10L, EIGHT_PM, ReservationStatus.PENDING));
+
+        // When
+        index.track(reservation(10L, EIGHT_PM.plusHours(3), ReservationStatus.PENDING));
+
+        // Then
+        assertFalse(index.hasConflict(1L, EIGHT_PM, null));
+        assertTrue(index.hasConflict(1L, EIGHT_PM.plusHours(3), null));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void evictBefore_RemovesPastReservations() {
+        // Given
+        index.track(reservation(10L, EIGHT_PM, ReservationStatus.CONFIRMED));
+        index.track(reservation(11L, EIGHT_PM.plusDays(1), ReservationStatus.CONFIRMED));
+
+        // When
+        index.evictBefore(EIGHT_PM.plusHours(2));
+
+        // Then
+        assertFalse(index.hasConflict(1L, EIGHT_PM, null));
+        assertTrue(index.hasConflict(1L, EIGHT_PM.plusDays(1), null));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void trackAndRelease_PublishedToOtherInstance_KeepsRemoteIndexInSync() {
+        // Given: dos instancias unidas por el canal de invalidación
+        CacheInvalidationBus bus = mock(CacheInvalidationBus.class);
+        TableAvailabilityIndex local = new TableAvailabilityIndex(null, bus, true);
+        TableAvailabilityIndex remote = new TableAvailabilityIndex(null, null, true);
+        local.load(List.of());
+        remote.load(List.of());
+        doAnswer(invocation -> {
+            remote.receive(invocation.getArgument(1));
+            return null;
+        }).when(bus).publish(eq(TableAvailabilityIndex.CHANNEL), any());
+
+        // When
+        local.track(reservation(10L, EIGHT_PM, ReservationStatus.CONFIRMED));
+        local.track(reservation(11L, EIGHT_PM.plusDays(1), ReservationStatus.PENDING));
+
+        // Then
+        assertTrue(remote.hasConflict(1L, EIGHT_PM.plusMinutes(30), null));
+        assertEquals(2, remote.size());
+
+        // When
+        local.release(List.of(10L, 11L));
+
+        // Then
+        assertFalse(remote.hasConflict(1L, EIGHT_PM, null));
+        assertEquals(0, remote.size());
+    }
+
+    @Test
+    void resync_MissedRemoteRelease_ReloadsFromDatabase() {
+        // Given: la liberación de la reserva 10 en otra instancia se perdió
+        ReservationRepository repository = mock(ReservationRepository.class);
+        TableAvailabilityIndex stale = new TableAvailabilityIndex(repository, null, true);
+        stale.load(List.of(reservation(10L, EIGHT_PM, ReservationStatus.CONFIRMED)));
+        when(repository.findByReservationDateAfterAndStatusNot(any(), eq(ReservationStatus.CANCELLED)))
+            .thenReturn(List.of(reservation(11L, EIGHT_PM.plusDays(1), ReservationStatus.PENDING)));
+
+        // When
+        stale.resync();
+
+        // Then
+        assertTrue(stale.isReady());
+        assertFalse(stale.hasConflict(1L, EIGHT_PM, null));
+        assertTrue(stale.hasConflict(1L, EIGHT_PM.plusDays(1), null));
+        assertEquals(1, stale.size());
+    }
+
+    @Test
+    void resync_ReleaseAppliedDuringReload_NotLostToStaleRead() {
+        // Given: la consulta de recarga lee la reserva 10 antes de que se confirme su cancelación
+        ReservationRepository repository = mock(ReservationRepository.class);
+        TableAvailabilityIndex reloading = new TableAvailabilityIndex(repository, null, true);
+        reloading.load(List.of(reservation(10L, EIGHT_PM, ReservationStatus.CONFIRMED)));
+        when(repository.findByReservationDateAfterAndStatusNot(any(), eq(ReservationStatus.CANCELLED)))
+            .thenAnswer(invocation -> {
+                reloading.release(List.of(10L));
+                reloading.track(reservation(11L, EIGHT_PM.plusDays(1), ReservationStatus.PENDING));
+                return List.of(reservation(10L, EIGHT_PM, ReservationStatus.CONFIRMED));
+            });
+
+        // When
+        reloading.resync();
+
+        // Then: los cambios llegados durante la recarga se reaplican sobre lo leído
+        assertTrue(reloading.isReady());
+        assertFalse(reloading.hasConflict(1L, EIGHT_PM, null));
+        assertTrue(reloading.hasConflict(1L, EIGHT_PM.plusDays(1), null));
+        assertEquals(1, reloading.size());
+    }
+
+    @Test
+    void resync_ReloadFails_StaysNotReady() {
+        // Given
+        ReservationRepository repository = mock(ReservationRepository.class);
+        TableAvailabilityIndex failing = new TableAvailabilityIndex(repository, null, true);
+        failing.load(List.of(reservation(10L, EIGHT_PM, ReservationStatus.CONFIRMED)));
+        when(repository.findByReservationDateAfterAndStatusNot(any(), eq(ReservationStatus.CANCELLED)))
+            .thenThrow(new IllegalStateException("sin conexión"));
+
+        // When
+        failing.resync();
+
+        // Then
+        assertFalse(failing.isReady());
+        assertEquals(0, failing.size());
+    }
+
+    private Reservation reservation(Long id, LocalDateTime dateTime, ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setTable(table);
+        reservation.setReservationDate(dateTime);
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
@@ -0,0 +1,193 @@
+package com.innova.restaurant.service.cache;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitarios para CacheInvalidationBus
+ * Valida la aplicación de invalidaciones remotas, el descarte de las propias, la métrica de retraso
+ * y la reanudación del cursor en orden de inserción
+ */
+class CacheInvalidationBusTest {
+
+    private MongoTemplate mongoTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private List<String> invalidated;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        invalidated = new ArrayList<>();
+    }
+
+    @Test
+    void handle_RemoteMessage_InvokesHandlerAndRecordsLag() {
+        // Given
+        CacheInvalidationBus bus = bus(true);
+        bus.register("restaurants", invalidated::add);
+
+        // When
+        bus.handle(message("restaurants", "7", "other-node", new Date(System.currentTimeMillis() - 50)));
+
+        // Then
+        assertEquals(List.of("7"), invalidated);
+        assertEquals(1.0, meterRegistry.counter("cache.invalidation.received", "cache", "restaurants").count());
+        Timer lag = meterRegistry.find("cache.invalidation.lag").tag("cache", "restaurants").timer();
+        assertEquals(1, lag.count());
+        assertTrue(lag.totalTime(TimeUnit.MILLISECONDS) >= 50);
+    }
+
+    @Test
+    void handle_OwnMessage_Ignored() {
+        // Given
+        CacheInvalidationBus bus = bus(true);
+        bus.register("restaurants", invalidated::add);
+
+        // When
+        bus.handle(message("restaurants", "7", bus.getNodeId(), new Date()));
+
+        // Then
+        assertTrue(invalidated.isEmpty());
+    }
+
+    @Test
+    void handle_UnknownCache_Ignored() {
+        // Given
+        CacheInvalidationBus bus = bus(true);
+        bus.register("restaurants", invalidated::add);
+
+        // When
+        bus.handle(message("principals", "3", "other-node", new Date()));
+
+        // Then
+        assertTrue(invalidated.isEmpty());
+    }
+
+    @Test
+    void handle_RemoteResyncMessage_RunsEveryResyncHandler() {
+        // Given
+        CacheInvalidationBus bus = bus(true);
+        List<String> resynced = new ArrayList<>();
+        bus.register("restaurants", invalidated::add, () -> resynced.add("restaurants"));
+        bus.register("tables", invalidated::add, () -> resynced.add("tables"));
+        bus.register("principals", invalidated::add);
+
+        // When
+        bus.handle(message(CacheInvalidationBus.RESYNC, "other-node", "other-node", new Date()));
+        bus.handle(message(CacheInvalidationBus.RESYNC, bus.getNodeId(), bus.getNodeId(), new Date()));
+
+        // Then: solo la de otra instancia, y sin pasar por los manejadores de claves
+        assertEquals(List.of("restaurants", "tables"), resynced.stream().sorted().toList());
+        assertTrue(invalidated.isEmpty());
+        assertEquals(1.0, meterRegistry.counter("cache.invalidation.resync").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tail_ReopenedCursor_ResumesAfterLastSeenInInsertionOrder() {
+        // Given: el mensaje nuevo de otro nodo tiene un ObjectId menor que el último leído
+        CacheInvalidationBus bus = runningBus();
+        List<String> resynced = new ArrayList<>();
+        bus.register("restaurants", invalidated::add, () -> resynced.add("restaurants"));
+        ObjectId lastSeen = new ObjectId(new Date());
+        ObjectId skewed = new ObjectId(new Date(System.currentTimeMillis() - 60_000));
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.tryNext()).thenReturn(
+            withId(new ObjectId(new Date(0)), message("restaurants", "1", "other-node", new Date())),
+            withId(lastSeen, message("restaurants", "2", "other-node", new Date())),
+            withId(skewed, message("restaurants", "3", "other-node", new Date())),
+            null);
+        when(cursor.getServerCursor()).thenReturn(null);
+
+        // When
+        ObjectId position = bus.tail(cursor, lastSeen);
+
+        // Then
+        assertEquals(List.of("3"), invalidated);
+        assertEquals(skewed, position);
+        assertTrue(resynced.isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tail_LastSeenAlreadyEvicted_ResyncsAndKeepsTailing() {
+        // Given
+        CacheInvalidationBus bus = runningBus();
+        List<String> resynced = new ArrayList<>();
+        bus.register("restaurants", invalidated::add, () -> resynced.add("restaurants"));
+        ObjectId newer = new ObjectId();
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.tryNext()).thenReturn(
+            withId(new ObjectId(), message("restaurants", "1", "other-node", new Date())),
+            null,
+            withId(newer, message("restaurants", "2", "other-node", new Date())),
+            null);
+        when(cursor.getServerCursor()).thenReturn(new ServerCursor(1L, new ServerAddress()), (ServerCursor) null);
+
+        // When
+        ObjectId position = bus.tail(cursor, new ObjectId(new Date(0)));
+
+        // Then
+        assertEquals(List.of("restaurants"), resynced);
+        assertEquals(List.of("2"), invalidated);
+        assertEquals(newer, position);
+    }
+
+    @Test
+    void publish_Disabled_DoesNotTouchMongo() {
+        // Given
+        CacheInvalidationBus bus = bus(false);
+
+        // When
+        bus.publish("restaurants", 7L);
+        bus.stop();
+
+        // Then
+        verify(mongoTemplate, never()).getCollection(anyString());
+    }
+
+    private CacheInvalidationBus bus(boolean enabled) {
+        return new CacheInvalidationBus(mongoTemplate, meterRegistry, enabled, 1024, 100, 10, 10);
+    }
+
+    private CacheInvalidationBus runningBus() {
+        CacheInvalidationBus bus = bus(true);
+        ReflectionTestUtils.setField(bus, "running", true);
+        return bus;
+    }
+
+    private static Document withId(ObjectId id, Document message) {
+        return message.append("_id", id);
+    }
+
+    private static Document message(String cache, String key, String node, Date publishedAt) {
+        return new Document("cache", cache)
+            .append("key", key)
+            .append("node", node)
+            .append("published_at", publishedAt);
+    }
+}
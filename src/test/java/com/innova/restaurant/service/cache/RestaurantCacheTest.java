@@ -0,0 +1,206 @@
+package com.innova.restaurant.service.cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.innova.restaurant.exception.ResourceNotFoundException;
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.model.enums.TableStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitarios para RestaurantCache
+ * Valida la lectura a través de la caché, el aislamiento de las copias devueltas
+ * y la invalidación selectiva
+ */
+class RestaurantCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationBus invalidationBus;
+    private RestaurantCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        invalidationBus = mock(CacheInvalidationBus.class);
+        cache = new RestaurantCache(meterRegistry, invalidationBus, 100, 600, 100, 600);
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getRestaurant_SecondRead_ServedFromCache() {
+        // When
+        Restaurant first = cache.getRestaurant(1L, this::loadRestaurant);
+        Restaurant second = cache.getRestaurant(1L, this::loadRestaurant);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(first.getId(), second.getId());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "restaurants")
+            .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void getRestaurant_CallerMutatesCopy_CachedEntryUnchanged() {
+        // Given
+        Restaurant first = cache.getRestaurant(1L, this::loadRestaurant);
+
+        // When
+        first.setName("Modificado");
+        first.getOwner().setFirstName("Modificado");
+        Restaurant second = cache.getRestaurant(1L, this::loadRestaurant);
+
+        // Then
+        assertEquals("Restaurante 1", second.getName());
+        assertEquals("Owner", second.getOwner().getFirstName());
+        assertNotSame(first.getOwner(), second.getOwner());
+    }
+
+    @Test
+    void getRestaurant_OwnerPassword_NeitherCachedNorSerialized() throws Exception {
+        // Given
+        Restaurant loaded = loadRestaurant(1L);
+        loaded.getOwner().setPassword("$2a$10$hash");
+
+        // When
+        Restaurant cached = cache.getRestaurant(1L, id -> loaded);
+        String json = JsonMapper.builder().findAndAddModules().build().writeValueAsString(loaded);
+
+        // Then
+        assertNull(cached.getOwner().getPassword());
+        assertFalse(json.contains("password"));
+        assertFalse(json.contains("$2a$10$hash"));
+    }
+
+    @Test
+    void getRestaurant_LoadedEntityChangedAfterCaching_CachedEntryUnchanged() {
+        // Given: la entidad que devuelve el cargador sigue gestionada en su transacción
+        Restaurant loaded = loadRestaurant(1L);
+        cache.getRestaurant(1L, id -> loaded);
+
+        // When
+        loaded.setName("Modificado");
+
+        // Then
+        assertEquals("Restaurante 1", cache.getRestaurant(1L, this::loadRestaurant).getName());
+    }
+
+    @Test
+    void getTables_CallerMutatesCopies_CachedEntryUnchanged() {
+        // Given
+        List<RestaurantTable> first = cache.getTables(1L, this::loadTables);
+
+        // When
+        first.get(0).setStatus(TableStatus.OCCUPIED);
+        first.get(0).getRestaurant().setName("Modificado");
+        List<RestaurantTable> second = cache.getTables(1L, this::loadTables);
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(TableStatus.AVAILABLE, second.get(0).getStatus());
+        assertEquals("Restaurante 1", second.get(0).getRestaurant().getName());
+        assertSame(second.get(0).getRestaurant(), second.get(1).getRestaurant());
+    }
+
+    @Test
+    void getRestaurant_LoaderFails_NothingCached() {
+        // When / Then
+        assertThrows(ResourceNotFoundException.class, () -> cache.getRestaurant(2L, id -> {
+            throw new ResourceNotFoundException("Restaurante no encontrado con ID: " + id);
+        }));
+        cache.getRestaurant(2L, this::loadRestaurant);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evictTables_KeepsRestaurant_EvictRestaurantDropsBoth() {
+        // Given
+        cache.getRestaurant(1L, this::loadRestaurant);
+        cache.getTables(1L, this::loadTables);
+
+        // When
+        cache.evictTables(1L);
+        cache.getRestaurant(1L, this::loadRestaurant);
+        cache.getTables(1L, this::loadTables);
+
+        // Then
+        assertEquals(3, loads.get());
+
+        // When
+        cache.evictRestaurant(1L);
+        cache.getRestaurant(1L, this::loadRestaurant);
+        cache.getTables(1L, this::loadTables);
+
+        // Then
+        assertEquals(5, loads.get());
+        verify(invalidationBus).publish(RestaurantCache.TABLES, 1L);
+        verify(invalidationBus).publish(RestaurantCache.RESTAURANTS, 1L);
+    }
+
+    @Test
+    void evictRestaurant_InTransaction_EvictedAgainAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        cache.getRestaurant(1L, this::loadRestaurant);
+
+        // When: una lectura concurrente vuelve a cachear antes del commit
+        cache.evictRestaurant(1L);
+        cache.getRestaurant(1L, this::loadRestaurant);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.getRestaurant(1L, this::loadRestaurant);
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+
+    private Restaurant loadRestaurant(Long id) {
+        loads.incrementAndGet();
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurante " + id);
+        User owner = new User();
+        owner.setId(100L);
+        owner.setFirstName("Owner");
+        restaurant.setOwner(owner);
+        return restaurant;
+    }
+
+    private List<RestaurantTable> loadTables(Long restaurantId) {
+        loads.incrementAndGet();
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(restaurantId);
+        restaurant.setName("Restaurante " + restaurantId);
+        RestaurantTable first = new RestaurantTable(1, 4, restaurant);
+        first.setId(10L);
+        RestaurantTable second = new RestaurantTable(2, 2, restaurant);
+        second.setId(11L);
+        return List.of(first, second);
+    }
+}
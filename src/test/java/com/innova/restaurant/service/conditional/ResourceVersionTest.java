@@ -0,0 +1,69 @@
+package com.innova.restaurant.service.conditional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitarios para ResourceVersion
+ * Valida el formato de los ETag fuertes/débiles, su estabilidad y la combinación de versiones
+ */
+class ResourceVersionTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2030, 5, 17, 20, 30);
+
+    @Test
+    void strong_SameParts_SameQuotedEtag() {
+        // When
+        ResourceVersion first = ResourceVersion.strong(UPDATED_AT, "reviews", 1L, 3);
+        ResourceVersion second = ResourceVersion.strong(UPDATED_AT, "reviews", 1L, 3);
+
+        // Then
+        assertEquals(first.getEtag(), second.getEtag());
+        assertTrue(first.getEtag().startsWith("\"") && first.getEtag().endsWith("\""));
+        assertFalse(first.isWeak());
+        assertEquals(UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), first.getLastModified());
+    }
+
+    @Test
+    void weak_DifferentParts_DifferentEtag() {
+        // When
+        ResourceVersion before = ResourceVersion.weak(UPDATED_AT, "restaurant", 1L, UPDATED_AT);
+        ResourceVersion after = ResourceVersion.weak(UPDATED_AT.plusSeconds(1), "restaurant", 1L, UPDATED_AT.plusSeconds(1));
+
+        // Then
+        assertTrue(before.getEtag().startsWith("W/\""));
+        assertTrue(before.isWeak());
+        assertNotEquals(before.getEtag(), after.getEtag());
+    }
+
+    @Test
+    void weak_WithoutLastModified_ReturnsMinusOne() {
+        // When
+        ResourceVersion version = ResourceVersion.weak(null, "tables", 1L);
+
+        // Then
+        assertEquals(-1, version.getLastModified());
+    }
+
+    @Test
+    void and_CombinesEtagsAndKeepsLatestLastModified() {
+        // Given
+        ResourceVersion restaurant = ResourceVersion.weak(UPDATED_AT, "restaurant", 1L);
+        ResourceVersion reviews = ResourceVersion.strong(UPDATED_AT.plusHours(1), "reviews", 1L, 3);
+
+        // When
+        ResourceVersion combined = restaurant.and(reviews);
+
+        // Then
+        assertTrue(combined.isWeak());
+        assertNotEquals(restaurant.getEtag(), combined.getEtag());
+        assertEquals(reviews.getLastModified(), combined.getLastModified());
+        assertEquals(-1, restaurant.and(ResourceVersion.weak(null, "tables", 1L)).getLastModified());
+    }
+}
@@ -0,0 +1,141 @@
+package com.innova.restaurant.service.floor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innova.restaurant.dto.FloorBoardDto;
+import com.innova.restaurant.dto.FloorBoardDto.TableEntry;
+import com.innova.restaurant.exception.ResourceNotFoundException;
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.model.enums.TableStatus;
+import com.innova.restaurant.service.cache.CacheInvalidationBus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitarios para FloorBoardBroadcaster
+ * Valida el registro de suscriptores, la serialización única de cada cambio y los avisos entre instancias
+ */
+class FloorBoardBroadcasterTest {
+
+    private CacheInvalidationBus invalidationBus;
+    private FloorBoardLoader loader;
+    private SimpleMeterRegistry meterRegistry;
+    private FloorBoardBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        invalidationBus = mock(CacheInvalidationBus.class);
+        loader = mock(FloorBoardLoader.class);
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new FloorBoardBroadcaster(new ObjectMapper().findAndRegisterModules(), invalidationBus,
+                                                loader, meterRegistry, 60_000, 16, 1);
+        broadcaster.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.stop();
+    }
+
+    @Test
+    void reservationsStatusChanged_SerializedOnceAndNoticeRelayedToOtherInstances() {
+        // When
+        broadcaster.reservationsStatusChanged(1L, ReservationStatus.CANCELLED, List.of(7L, 8L));
+
+        // Then: solo IDs y estado, nunca el JSON del evento
+        verify(invalidationBus).publish(FloorBoardBroadcaster.CHANNEL, "1|reservations-status|7,8|CANCELLED");
+        assertEquals(1.0, meterRegistry.get("floor.board.events").counter().count());
+    }
+
+    @Test
+    void layoutReplaced_PublishesNoticeWithoutTables() {
+        // Given
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(3L);
+        RestaurantTable table = new RestaurantTable(5, 4, restaurant);
+        table.setId(50L);
+
+        // When
+        broadcaster.layoutReplaced(3L, List.of(table));
+
+        // Then
+        verify(invalidationBus).publish(FloorBoardBroadcaster.CHANNEL, "3|tables|");
+    }
+
+    @Test
+    void subscribe_SnapshotFails_PropagatesAndUnregisters() {
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> broadcaster.subscribe(9L, () -> {
+            throw new ResourceNotFoundException("Restaurante no encontrado con ID: 9");
+        }));
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void subscribe_WithSnapshot_RegistersSubscriber() {
+        // When
+        SseEmitter emitter = broadcaster.subscribe(1L, () -> new FloorBoardDto(1L, null, List.of(), List.of()));
+        broadcaster.receive("1|table-removed|4");
+        broadcaster.receive("sin-formato");
+
+        // Then
+        assertNotNull(emitter);
+        assertEquals(1, broadcaster.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("floor.board.subscribers").gauge().value());
+    }
+
+    @Test
+    void receive_NoSubscribersForRestaurant_NoDatabaseRead() {
+        // When
+        broadcaster.receive("1|tables|");
+        broadcaster.receive("1|reservation|7");
+
+        // Then
+        verify(loader, never()).tables(any());
+        verify(loader, never()).reservations(any());
+        assertEquals(2.0, meterRegistry.get("floor.board.events").counter().count());
+    }
+
+    @Test
+    void receive_SubscribedRestaurant_RebuildsEventFromDatabase() {
+        // Given
+        when(loader.tables(1L)).thenReturn(List.of(new TableEntry(50L, 5, 4, TableStatus.AVAILABLE)));
+        broadcaster.subscribe(1L, () -> new FloorBoardDto(1L, null, List.of(), List.of()));
+
+        // When
+        broadcaster.receive("1|tables|");
+
+        // Then
+        verify(loader).tables(1L);
+        assertEquals(1.0, meterRegistry.get("floor.board.events").counter().count());
+    }
+
+    @Test
+    void receive_RebuildFails_SubscribersResynced() {
+        // Given
+        when(loader.reservations(List.of(7L))).thenThrow(new IllegalStateException("sin conexión"));
+        broadcaster.subscribe(1L, () -> new FloorBoardDto(1L, null, List.of(), List.of()));
+
+        // When
+        broadcaster.receive("1|reservation|7");
+
+        // Then: el aviso no se entrega y no se propaga el error al hilo del canal
+        assertEquals(0.0, meterRegistry.get("floor.board.events").counter().count());
+    }
+}
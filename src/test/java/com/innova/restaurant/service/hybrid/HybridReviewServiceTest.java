@@ -0,0 +1,141 @@
+package com.innova.restaurant.service.hybrid;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.bson.Document;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.innova.restaurant.model.document.ReviewDocument;
+import com.innova.restaurant.model.document.UserActivityDocument;
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.repository.jpa.RestaurantRepository;
+import com.innova.restaurant.repository.document.ReviewDocumentRepository;
+import com.innova.restaurant.repository.document.UserActivityDocumentRepository;
+import com.innova.restaurant.service.activity.ActivityLogAppender;
+
+/**
+ * Tests unitarios para HybridReviewService
+ * Valida las consultas agrupadas de reviews y la lectura de estadísticas
+ */
+@ExtendWith(MockitoExtension.class)
+class HybridReviewServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private ReviewDocumentRepository reviewDocumentRepository;
+
+    @Mock
+    private UserActivityDocumentRepository userActivityRepository;
+
+    @Mock
+    private ReviewRollupService reviewRollupService;
+
+    @Mock
+    private ActivityLogAppender activityLogAppender;
+
+    @InjectMocks
+    private HybridReviewService hybridReviewService;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        lenient().when(mongoTemplate.getConverter()).thenReturn(converter);
+        lenient().when(mongoTemplate.getCollectionName(ReviewDocument.class)).thenReturn("reviews");
+    }
+
+    @Test
+    void getRestaurantsReviews_SeveralRestaurants_SingleAggregationWithTopN() {
+        // Given
+        Document group = new Document("_id", 1L)
+            .append("total", 7)
+            .append("reviews", List.of(review("a", 1L, 5.0), review("b", 1L, 4.5), review("c", 1L, 4.0)));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("reviews"), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(group), new Document()));
+
+        // When
+        Map<Long, Page<ReviewDocument>> pages = hybridReviewService.getRestaurantsReviews(
+            List.of(1L, 2L), PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "overallRating")));
+
+        // Then
+        assertEquals(1, pages.get(1L).getContent().size());
+        assertEquals("c", pages.get(1L).getContent().get(0).getId());
+        assertEquals(7, pages.get(1L).getTotalElements());
+        assertTrue(pages.get(2L).getContent().isEmpty());
+
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate, times(1)).aggregate(aggregation.capture(), eq("reviews"), eq(Document.class));
+        Document topN = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).get(1)
+            .get("$group", Document.class).get("reviews", Document.class).get("$topN", Document.class);
+        assertEquals(4, topN.getInteger("n"));
+        assertEquals(new Document("overall_rating", -1).append("_id", 1), topN.get("sortBy"));
+        verify(restaurantRepository, never()).findById(any());
+        verify(activityLogAppender, times(1)).append(any(UserActivityDocument.class));
+        verifyNoInteractions(userActivityRepository);
+    }
+
+    @Test
+    void getRestaurantStatistics_ReadsRollup_NoReviewsLoaded() {
+        // Given
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(3L);
+        restaurant.setName("La Terraza");
+        when(restaurantRepository.findById(3L)).thenReturn(Optional.of(restaurant));
+        Map<String, Object> rollupStatistics = ReviewRollupService.emptyStatistics();
+        rollupStatistics.put("totalReviews", 4L);
+        when(reviewRollupService.getStatistics(List.of(3L))).thenReturn(Map.of(3L, rollupStatistics));
+
+        // When
+        Map<String, Object> statistics = hybridReviewService.getRestaurantStatistics(3L);
+
+        // Then
+        assertEquals("La Terraza", statistics.get("restaurantName"));
+        assertEquals(4L, statistics.get("totalReviews"));
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), any(String.class), eq(Document.class));
+        verifyNoInteractions(reviewDocumentRepository);
+    }
+
+    private Document review(String id, Long restaurantId, double rating) {
+        return new Document("_id", id)
+            .append("restaurant_id", restaurantId)
+            .append("overall_rating", rating);
+    }
+}
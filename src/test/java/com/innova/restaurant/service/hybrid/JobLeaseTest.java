@@ -0,0 +1,61 @@
+package com.innova.restaurant.service.hybrid;
+
+import java.time.Duration;
+
+import org.bson.Document;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Tests unitarios para JobLease
+ * Valida la toma del lease con upsert condicionado
+ */
+@ExtendWith(MockitoExtension.class)
+class JobLeaseTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private JobLease jobLease;
+
+    @Test
+    void tryAcquire_FreeOrOwnLease_AcquiredForThisNode() {
+        // When
+        boolean acquired = jobLease.tryAcquire("job", Duration.ofMinutes(5));
+
+        // Then
+        assertTrue(acquired);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(JobLease.COLLECTION));
+        assertEquals("job", query.getValue().getQueryObject().get("_id"));
+        assertEquals(jobLease.getNodeId(),
+            update.getValue().getUpdateObject().get("$set", Document.class).get("owner"));
+    }
+
+    @Test
+    void tryAcquire_LeaseHeldByOtherNode_NotAcquired() {
+        // Given: el upsert no encuentra el lease libre e intenta insertar un _id existente
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(JobLease.COLLECTION)))
+            .thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        // When & Then
+        assertFalse(jobLease.tryAcquire("job", Duration.ofMinutes(5)));
+    }
+}
@@ -0,0 +1,318 @@
+package com.innova.restaurant.service.hybrid;
+
+import java.util.List;
+import java.util.Map;
+
+import org.bson.BsonInt64;
+import org.bson.Document;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.client.result.UpdateResult;
+
+import com.innova.restaurant.model.document.ReviewDocument;
+import com.innova.restaurant.model.document.ReviewRollupDocument;
+import com.innova.restaurant.repository.document.ReviewRollupDocumentRepository;
+
+/**
+ * Tests unitarios para ReviewRollupService
+ * Valida los $inc por review, la lectura de acumulados y la reconciliación
+ */
+@ExtendWith(MockitoExtension.class)
+class ReviewRollupServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ReviewRollupDocumentRepository rollupRepository;
+
+    @Mock
+    private JobLease jobLease;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private ReviewRollupService reviewRollupService;
+
+    @Test
+    void recordReview_RatedReview_SingleAtomicIncrement() {
+        // Given
+        ReviewDocument review = new ReviewDocument();
+        review.setRestaurantId(3L);
+        review.setOverallRating(4.5);
+        review.setDetailedRatings(Map.of("food", 5.0, "bad.key", 1.0));
+        whenUpserting(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        reviewRollupService.recordReview(review);
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), update.capture(), eq(ReviewRollupDocument.class));
+        Document inc = update.getValue().getUpdateObject().get("$inc", Document.class);
+        assertEquals(1L, inc.get("review_count"));
+        assertEquals(1L, inc.get("rated_count"));
+        assertEquals(4.5, inc.get("rating_sum"));
+        assertEquals(1L, inc.get("high_rated_count"));
+        assertEquals(1L, inc.get("histogram.5"));
+        assertEquals(5.0, inc.get("category_sums.food"));
+        assertEquals(1L, inc.get("category_counts.food"));
+        assertNull(inc.get("category_sums.bad.key"));
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), any(String.class), eq(Document.class));
+    }
+
+    @Test
+    void recordReview_MissingRollup_CreatedByIncrementThenRewrittenFromReviews() {
+        // Given: el $inc crea el acumulado solo con esta review; el restaurante ya tenía otra
+        ReviewDocument review = new ReviewDocument();
+        review.setRestaurantId(3L);
+        review.setOverallRating(4.5);
+        whenUpserting(UpdateResult.acknowledged(0, 0L, new BsonInt64(3L)));
+        whenAggregating(facetResult(3L, 2, 9.0));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ReviewRollupDocument.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        reviewRollupService.recordReview(review);
+
+        // Then: reescritura completa condicionada a la versión que dejó el upsert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(ReviewRollupDocument.class));
+        assertEquals(1L, query.getValue().getQueryObject().get("version"));
+        assertEquals(2L, update.getValue().getUpdateObject().get("$set", Document.class).get("review_count"));
+    }
+
+    @Test
+    void replaceReview_SameRestaurant_OnlyNetChanges() {
+        // Given
+        ReviewDocument before = new ReviewDocument();
+        before.setRestaurantId(3L);
+        before.setOverallRating(3.0);
+        ReviewDocument after = new ReviewDocument();
+        after.setRestaurantId(3L);
+        after.setOverallRating(4.0);
+        whenUpserting(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        reviewRollupService.replaceReview(before, after);
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), update.capture(), eq(ReviewRollupDocument.class));
+        Document inc = update.getValue().getUpdateObject().get("$inc", Document.class);
+        assertNull(inc.get("review_count"));
+        assertEquals(1.0, inc.get("rating_sum"));
+        assertEquals(-1L, inc.get("histogram.3"));
+        assertEquals(1L, inc.get("histogram.4"));
+        assertEquals(1L, inc.get("high_rated_count"));
+    }
+
+    @Test
+    void getStatistics_StoredRollup_NoAggregation() {
+        // Given
+        ReviewRollupDocument rollup = new ReviewRollupDocument(3L);
+        rollup.setReviewCount(4);
+        rollup.setRatedCount(4);
+        rollup.setRatingSum(17.0);
+        rollup.setHighRatedCount(3);
+        rollup.getHistogram().put("5", 3L);
+        rollup.getCategorySums().put("food", 9.0);
+        rollup.getCategoryCounts().put("food", 2L);
+        when(rollupRepository.findAllById(List.of(3L))).thenReturn(List.of(rollup));
+
+        // When
+        Map<String, Object> statistics = reviewRollupService.getStatistics(List.of(3L)).get(3L);
+
+        // Then
+        assertEquals(4L, statistics.get("totalReviews"));
+        assertEquals(4.25, statistics.get("averageRating"));
+        assertEquals(75.0, statistics.get("highRatedPercentage"));
+        assertEquals(Map.of(1, 0L, 2, 0L, 3, 0L, 4, 0L, 5, 3L), statistics.get("ratingDistribution"));
+        assertEquals(Map.of("food", 4.5), statistics.get("averageDetailedRatings"));
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), any(String.class), eq(Document.class));
+    }
+
+    @Test
+    void getStatistics_MissingRollup_ComputedAndMaterialized() {
+        // Given
+        when(rollupRepository.findAllById(List.of(3L, 4L))).thenReturn(List.of());
+        whenAggregating(facetResult(3L, 2, 9.0));
+        whenBulkInserting();
+
+        // When
+        Map<Long, Map<String, Object>> statistics = reviewRollupService.getStatistics(List.of(3L, 4L));
+
+        // Then
+        assertEquals(2L, statistics.get(3L).get("totalReviews"));
+        assertEquals(4.5, statistics.get(3L).get("averageRating"));
+        assertEquals(0L, statistics.get(4L).get("totalReviews"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReviewRollupDocument>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(inserted.capture());
+        assertEquals(List.of(3L, 4L), inserted.getValue().stream().map(ReviewRollupDocument::getRestaurantId).toList());
+        verify(bulkOperations).execute();
+        verify(rollupRepository, never()).insert(any(ReviewRollupDocument.class));
+    }
+
+    @Test
+    void getStatistics_RollupMaterializedConcurrently_DuplicateIgnored() {
+        // Given
+        when(rollupRepository.findAllById(List.of(3L))).thenReturn(List.of());
+        whenAggregating(facetResult(3L, 2, 9.0));
+        whenBulkInserting();
+        when(bulkOperations.execute()).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        // When
+        Map<Long, Map<String, Object>> statistics = reviewRollupService.getStatistics(List.of(3L));
+
+        // Then
+        assertEquals(2L, statistics.get(3L).get("totalReviews"));
+    }
+
+    @Test
+    void reconcile_DriftedRollup_RewrittenIfUnchangedAndReported() {
+        // Given
+        when(jobLease.tryAcquire(anyString(), any())).thenReturn(true);
+        whenDistinctRestaurants(3L);
+        ReviewRollupDocument stored = new ReviewRollupDocument(3L);
+        stored.setReviewCount(5);
+        stored.setVersion(8);
+        when(rollupRepository.findAllById(anyCollection())).thenReturn(List.of(stored));
+        whenAggregating(facetResult(3L, 2, 9.0));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ReviewRollupDocument.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        int drifted = reviewRollupService.reconcile();
+
+        // Then
+        assertEquals(1, drifted);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(ReviewRollupDocument.class));
+        assertEquals(8L, query.getValue().getQueryObject().get("version"));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(2L, set.get("review_count"));
+        assertEquals(9.0, set.get("rating_sum"));
+        assertEquals(1L, update.getValue().getUpdateObject().get("$inc", Document.class).get("version"));
+        verify(rollupRepository, never()).save(any(ReviewRollupDocument.class));
+    }
+
+    @Test
+    void reconcile_RollupChangedDuringReview_LeftUntouched() {
+        // Given: un $inc concurrente cambió la versión tras la lectura
+        when(jobLease.tryAcquire(anyString(), any())).thenReturn(true);
+        whenDistinctRestaurants(3L);
+        ReviewRollupDocument stored = new ReviewRollupDocument(3L);
+        stored.setReviewCount(1);
+        stored.setVersion(8);
+        when(rollupRepository.findAllById(anyCollection())).thenReturn(List.of(stored));
+        whenAggregating(facetResult(3L, 2, 9.0));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ReviewRollupDocument.class)))
+            .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        // When
+        int drifted = reviewRollupService.reconcile();
+
+        // Then: se informa, no se sobrescribe con save
+        assertEquals(1, drifted);
+        verify(rollupRepository, never()).save(any(ReviewRollupDocument.class));
+        verify(rollupRepository, never()).insert(any(ReviewRollupDocument.class));
+    }
+
+    @Test
+    void reconcile_MissingRollup_Inserted() {
+        // Given
+        when(jobLease.tryAcquire(anyString(), any())).thenReturn(true);
+        whenDistinctRestaurants(3L);
+        when(rollupRepository.findAllById(anyCollection())).thenReturn(List.of());
+        whenAggregating(facetResult(3L, 2, 9.0));
+
+        // When
+        int drifted = reviewRollupService.reconcile();
+
+        // Then
+        assertEquals(1, drifted);
+        ArgumentCaptor<ReviewRollupDocument> inserted = ArgumentCaptor.forClass(ReviewRollupDocument.class);
+        verify(rollupRepository).insert(inserted.capture());
+        assertEquals(2L, inserted.getValue().getReviewCount());
+        assertNotNull(inserted.getValue().getUpdatedAt());
+    }
+
+    @Test
+    void reconcile_LeaseHeldByOtherNode_NothingDone() {
+        // Given
+        when(jobLease.tryAcquire(anyString(), any())).thenReturn(false);
+
+        // When
+        int drifted = reviewRollupService.reconcile();
+
+        // Then
+        assertEquals(0, drifted);
+        verify(rollupRepository, never()).findAllById(anyCollection());
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), any(String.class), eq(Document.class));
+    }
+
+    private void whenUpserting(UpdateResult result) {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(ReviewRollupDocument.class))).thenReturn(result);
+    }
+
+    private void whenBulkInserting() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReviewRollupDocument.class))
+            .thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+    }
+
+    private void whenDistinctRestaurants(Long restaurantId) {
+        lenient().when(mongoTemplate.findDistinct(any(Query.class), eq("restaurant_id"), eq(ReviewDocument.class), eq(Long.class)))
+            .thenReturn(List.of(restaurantId));
+        lenient().when(mongoTemplate.findDistinct(any(Query.class), eq("_id"), eq(ReviewRollupDocument.class), eq(Long.class)))
+            .thenReturn(List.of(restaurantId));
+    }
+
+    private void whenAggregating(Document facetResult) {
+        when(mongoTemplate.getCollectionName(ReviewDocument.class)).thenReturn("reviews");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("reviews"), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(facetResult), new Document()));
+    }
+
+    private Document facetResult(Long restaurantId, int reviews, double ratingSum) {
+        Document summary = new Document("_id", restaurantId)
+            .append("reviewCount", reviews)
+            .append("ratedCount", reviews)
+            .append("ratingSum", ratingSum)
+            .append("highRatedCount", reviews);
+        Document stars = new Document("_id", new Document("restaurant", restaurantId).append("stars", 5))
+            .append("count", reviews);
+        return new Document("summary", List.of(summary))
+            .append("distribution", List.of(stars))
+            .append("detailed", List.of());
+    }
+}
@@ -0,0 +1,234 @@
+package com.innova.restaurant.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.innova.restaurant.controller.ReservationController;
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+import com.innova.restaurant.repository.jpa.ReservationRepository;
+import com.innova.restaurant.repository.jpa.RestaurantRepository;
+import com.innova.restaurant.repository.jpa.RestaurantTableRepository;
+import com.innova.restaurant.repository.jpa.UserRepository;
+import com.innova.restaurant.service.availability.TableAvailabilityIndex;
+import com.innova.restaurant.service.availability.TableBookingLock;
+import com.innova.restaurant.service.floor.FloorBoardBroadcaster;
+
+/**
+ * Test de estrés de concurrencia para ReservationServiceImpl
+ * Valida que reservas simultáneas sobre la misma mesa nunca producen dobles reservas
+ * y que mesas distintas no se bloquean entre sí
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceImplConcurrencyTest {
+
+    private static final int TABLES = 8;
+    private static final int THREADS = 64;
+    private static final int REQUESTS_PER_TABLE = 50;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FloorBoardBroadcaster floorBoard;
+
+    @InjectMocks
+    private ReservationServiceImpl reservationService;
+
+    private TableBookingLock bookingLock;
+    private ExecutorService executor;
+    private final SavedReservations saved = new SavedReservations();
+    private final LocalDateTime slot = LocalDate.now().plusDays(1).atTime(20, 0);
+
+    @BeforeEach
+    void setUp() {
+        TableAvailabilityIndex availabilityIndex = new TableAvailabilityIndex(null, null, true);
+        availabilityIndex.load(List.of());
+        bookingLock = new TableBookingLock(null, new DatabasePlatform(null), 256);
+        ReflectionTestUtils.setField(reservationService, "availabilityIndex", availabilityIndex);
+        ReflectionTestUtils.setField(reservationService, "bookingLock", bookingLock);
+
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(1L);
+        restaurant.setName("Stress Restaurant");
+        restaurant.setIsActive(true);
+        restaurant.setOpeningTime(LocalTime.MIN);
+        restaurant.setClosingTime(LocalTime.MAX);
+
+        User customer = new User();
+        customer.setId(1L);
+        customer.setUsername("stress");
+
+        Map<Long, RestaurantTable> tables = new HashMap<>();
+        for (long id = 1; id <= TABLES; id++) {
+            RestaurantTable table = new RestaurantTable(1, 4, restaurant);
+            table.setId(id);
+            tables.put(id, table);
+        }
+
+        AtomicLong ids = new AtomicLong();
+        lenient().when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        lenient().when(userRepository.findById(anyLong())).thenReturn(Optional.of(customer));
+        lenient().when(restaurantTableRepository.findById(anyLong()))
+            .thenAnswer(invocation -> Optional.ofNullable(tables.get(invocation.<Long>getArgument(0))));
+        lenient().when(restaurantTableRepository.findTableIdsWithStatusNot(any(), any()))
+            .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<Long>>getArgument(0)));
+        lenient().when(reservationRepository.existsByTableIdAndReservationDateBetweenAndStatusNot(
+                anyLong(), any(), any(), any()))
+            .thenAnswer(invocation -> !saved.between(invocation.getArgument(0),
+                                                     invocation.getArgument(1), invocation.getArgument(2)).isEmpty());
+        lenient().when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            Thread.sleep(1); // Ensancha la ventana entre validación e inserción
+            reservation.setId(ids.incrementAndGet());
+            saved.add(reservation);
+            return reservation;
+        });
+
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void createReservation_ConcurrentRequestsSameSlot_NoDoubleBookings() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < TABLES * REQUESTS_PER_TABLE; i++) {
+            long tableId = (i % TABLES) + 1;
+            // Cada petición pide la misma mesa a una hora distinta dentro de la ventana de conflicto
+            LocalDateTime dateTime = slot.plusMinutes(i % 60);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    reservationService.createReservation(request(tableId, dateTime));
+                } catch (RuntimeException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        // When
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertEquals(TABLES, saved.size());
+        for (long tableId = 1; tableId <= TABLES; tableId++) {
+            assertEquals(1, saved.countForTable(tableId), "Mesa " + tableId + " reservada más de una vez");
+        }
+        assertEquals(TABLES * REQUESTS_PER_TABLE - TABLES, rejected.get());
+    }
+
+    @Test
+    void createReservation_OtherTableLocked_DoesNotBlock() throws Exception {
+        // Given
+        CountDownLatch lockHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> bookingLock.executeLocked(1L, () -> {
+            lockHeld.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertTrue(lockHeld.await(5, TimeUnit.SECONDS));
+
+        // When
+        Future<Reservation> other = executor.submit(() -> reservationService.createReservation(request(2L, slot)));
+
+        // Then
+        Reservation reservation = other.get(5, TimeUnit.SECONDS);
+        assertEquals(2L, reservation.getTable().getId());
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    private ReservationController.CreateReservationRequest request(Long tableId, LocalDateTime dateTime) {
+        ReservationController.CreateReservationRequest request = new ReservationController.CreateReservationRequest();
+        request.setUserId(1L);
+        request.setRestaurantId(1L);
+        request.setTableId(tableId);
+        request.setReservationDateTime(dateTime);
+        request.setNumberOfPeople(2);
+        return request;
+    }
+
+    /**
+     * Registro thread-safe de las reservas persistidas
+     */
+    private static class SavedReservations {
+        private final ConcurrentLinkedQueue<Reservation> reservations = new ConcurrentLinkedQueue<>();
+
+        void add(Reservation reservation) {
+            reservations.add(reservation);
+        }
+
+        int size() {
+            return reservations.size();
+        }
+
+        List<Reservation> between(Long tableId, LocalDateTime start, LocalDateTime end) {
+            return reservations.stream()
+                .filter(r -> r.getTable().getId().equals(tableId))
+                .filter(r -> !r.getReservationDate().isBefore(start) && !r.getReservationDate().isAfter(end))
+                .toList();
+        }
+
+        long countForTable(long tableId) {
+            return reservations.stream().filter(r -> r.getTable().getId() == tableId).count();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.innova.restaurant.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import static org.mockito.Mockito.mock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.innova.restaurant.controller.ReservationController;
+import com.innova.restaurant.dto.ReservationBatchResultDto;
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.model.enums.UserRole;
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+import com.innova.restaurant.repository.jpa.ReservationRepository;
+import com.innova.restaurant.repository.jpa.RestaurantRepository;
+import com.innova.restaurant.repository.jpa.RestaurantTableRepository;
+import com.innova.restaurant.repository.jpa.UserRepository;
+import com.innova.restaurant.service.availability.TableAvailabilityIndex;
+import com.innova.restaurant.service.availability.TableBookingLock;
+import com.innova.restaurant.service.floor.FloorBoardBroadcaster;
+
+/**
+ * Test de integración con dos instancias del servicio de reservas sobre la misma base de datos
+ *
+ * Cada nodo tiene su propio índice de disponibilidad y sus propios locks en memoria, como dos réplicas
+ * detrás del balanceador. Por defecto usa H2; con TEST_POSTGRES_URL (base de datos desechable) también
+ * comprueba la serialización concurrente entre nodos con pg_advisory_xact_lock.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReservationServiceImplMultiNodeTest {
+
+    private static final String POSTGRES_URL_ENV = "TEST_POSTGRES_URL";
+
+    private static final AtomicLong SEED = new AtomicLong();
+
+    @Configuration
+    @EntityScan(basePackageClasses = Reservation.class)
+    @EnableJpaRepositories(basePackageClasses = ReservationRepository.class)
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            String url = System.getenv(POSTGRES_URL_ENV);
+            if (url == null || url.isBlank()) {
+                return new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true)
+                    .build();
+            }
+            return new DriverManagerDataSource(url,
+                System.getenv().getOrDefault("TEST_POSTGRES_USERNAME", "postgres"),
+                System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", "postgres"));
+        }
+    }
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime eightPm = LocalDate.now().plusDays(1).atTime(20, 0);
+
+    @Test
+    void createReservation_BookedOnOtherNode_RejectedFromDatabase() {
+        // Given
+        Seed seed = seed();
+        ReservationServiceImpl nodeA = node();
+        ReservationServiceImpl nodeB = node();
+
+        // When
+        Reservation booked = nodeA.createReservation(request(seed, eightPm));
+
+        // Then: el índice de B no conoce la reserva de A, la consulta bajo el lock sí
+        assertNotNull(booked.getId());
+        RuntimeException conflict = assertThrows(RuntimeException.class,
+            () -> nodeB.createReservation(request(seed, eightPm.plusMinutes(30))));
+        assertTrue(conflict.getMessage().contains("no está disponible"));
+        assertEquals(1, activeReservations(seed));
+    }
+
+    @Test
+    void createReservations_BookedOnOtherNode_BatchItemRejected() {
+        // Given
+        Seed seed = seed();
+        ReservationServiceImpl nodeA = node();
+        ReservationServiceImpl nodeB = node();
+        nodeA.createReservation(request(seed, eightPm));
+
+        // When
+        ReservationBatchResultDto result = nodeB.createReservations(seed.ownerId(), List.of(
+            request(seed, eightPm.plusMinutes(45)),
+            request(seed, eightPm.plusHours(3))));
+
+        // Then
+        assertEquals(1, result.getCreated());
+        assertTrue(result.getItems().get(0).getError().contains("no está disponible"));
+        assertEquals(2, activeReservations(seed));
+    }
+
+    @Test
+    void createReservation_IndexHitAlreadyCancelledInDatabase_Created() {
+        // Given: el índice de B se cargó con la reserva de A y no recibió su cancelación
+        Seed seed = seed();
+        ReservationServiceImpl nodeA = node();
+        Reservation booked = nodeA.createReservation(request(seed, eightPm));
+        ReservationServiceImpl nodeB = node();
+        nodeA.cancelReservation(booked.getId());
+
+        // When
+        Reservation rebooked = nodeB.createReservation(request(seed, eightPm.plusMinutes(30)));
+
+        // Then: el acierto del índice no decide; la consulta bajo el lock ve la mesa libre
+        assertNotNull(rebooked.getId());
+        assertEquals(1, activeReservations(seed));
+    }
+
+    @Test
+    void updateReservation_MoveWithinOwnWindow_IgnoresItself() {
+        // Given
+        Seed seed = seed();
+        ReservationServiceImpl node = node();
+        Reservation booked = node.createReservation(request(seed, eightPm));
+        ReservationController.UpdateReservationRequest update = new ReservationController.UpdateReservationRequest();
+        update.setReservationDateTime(eightPm.plusMinutes(30));
+
+        // When
+        Reservation moved = node.updateReservation(booked.getId(), update);
+
+        // Then
+        assertEquals(eightPm.plusMinutes(30), moved.getReservationDate());
+        assertEquals(1, activeReservations(seed));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @EnabledIfEnvironmentVariable(named = POSTGRES_URL_ENV, matches = ".+")
+    void createReservation_ConcurrentRequestsOnTwoNodes_NoDoubleBookings() throws Exception {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Seed seed = transaction.execute(status -> seed());
+        List<ReservationServiceImpl> nodes = List.of(node(), node());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 40; i++) {
+                ReservationServiceImpl node = nodes.get(i % nodes.size());
+                LocalDateTime dateTime = eightPm.plusMinutes(i % 60);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        transaction.executeWithoutResult(status -> node.createReservation(request(seed, dateTime)));
+                        created.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        // Conflicto: la mesa ya estaba reservada por otro nodo u otro hilo
+                    }
+                    return null;
+                }));
+            }
+
+            // When
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(1, created.get());
+        assertEquals(1, (long) transaction.execute(status -> activeReservations(seed)));
+    }
+
+    /**
+     * Instancia del servicio con su propio índice (cargado y listo) y sus propios locks en memoria
+     */
+    private ReservationServiceImpl node() {
+        TableAvailabilityIndex availabilityIndex = new TableAvailabilityIndex(reservationRepository, null, true);
+        availabilityIndex.afterSingletonsInstantiated();
+
+        ReservationServiceImpl node = new ReservationServiceImpl();
+        ReflectionTestUtils.setField(node, "reservationRepository", reservationRepository);
+        ReflectionTestUtils.setField(node, "restaurantRepository", restaurantRepository);
+        ReflectionTestUtils.setField(node, "restaurantTableRepository", restaurantTableRepository);
+        ReflectionTestUtils.setField(node, "userRepository", userRepository);
+        ReflectionTestUtils.setField(node, "availabilityIndex", availabilityIndex);
+        ReflectionTestUtils.setField(node, "bookingLock",
+                                     new TableBookingLock(jdbcTemplate, new DatabasePlatform(jdbcTemplate), 16));
+        ReflectionTestUtils.setField(node, "floorBoard", mock(FloorBoardBroadcaster.class));
+        return node;
+    }
+
+    private Seed seed() {
+        long n = SEED.incrementAndGet() + System.nanoTime() % 1_000_000;
+        User owner = userRepository.save(new User("owner" + n, "owner" + n + "@example.com", "password123",
+                                                  "Owner", "Test", UserRole.RESTAURANT_OWNER));
+        User customer = userRepository.save(new User("customer" + n, "customer" + n + "@example.com", "password123",
+                                                     "Customer", "Test", UserRole.CUSTOMER));
+        Restaurant restaurant = restaurantRepository.save(new Restaurant("Multi Node " + n, "Calle 1", null, null,
+                                                                         LocalTime.MIN, LocalTime.of(23, 59), 40, owner));
+        RestaurantTable table = restaurantTableRepository.save(new RestaurantTable(1, 4, restaurant));
+        return new Seed(owner.getId(), restaurant.getId(), table.getId(), customer.getId());
+    }
+
+    private long activeReservations(Seed seed) {
+        return reservationRepository.findByTableIdAndReservationDateBetweenOrderByReservationDateAsc(
+                seed.tableId(), eightPm.minusDays(1), eightPm.plusDays(1))
+            .stream()
+            .filter(reservation -> reservation.getStatus() != ReservationStatus.CANCELLED)
+            .count();
+    }
+
+    private ReservationController.CreateReservationRequest request(Seed seed, LocalDateTime dateTime) {
+        ReservationController.CreateReservationRequest request = new ReservationController.CreateReservationRequest();
+        request.setUserId(seed.customerId());
+        request.setRestaurantId(seed.restaurantId());
+        request.setTableId(seed.tableId());
+        request.setReservationDateTime(dateTime);
+        request.setNumberOfPeople(2);
+        return request;
+    }
+
+    private record Seed(Long ownerId, Long restaurantId, Long tableId, Long customerId) {
+    }
+}
@@ -0,0 +1,390 @@
+package com.innova.restaurant.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.innova.restaurant.controller.ReservationController;
+
+import com.innova.restaurant.dto.CursorSliceDto;
+import com.innova.restaurant.dto.ReservationBatchResultDto;
+import com.innova.restaurant.dto.RestaurantAvailabilityDto;
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.model.enums.TableStatus;
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+import com.innova.restaurant.repository.jpa.ReservationRepository;
+import com.innova.restaurant.repository.jpa.RestaurantRepository;
+import com.innova.restaurant.repository.jpa.RestaurantTableRepository;
+import com.innova.restaurant.repository.jpa.UserRepository;
+import com.innova.restaurant.service.availability.TableAvailabilityIndex;
+import com.innova.restaurant.service.availability.TableBookingLock;
+import com.innova.restaurant.service.floor.FloorBoardBroadcaster;
+import com.innova.restaurant.service.pagination.KeysetCursor;
+
+/**
+ * Tests unitarios para ReservationServiceImpl
+ * Valida la búsqueda de disponibilidad de mesas, las consultas por restaurante y las altas en lote
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceImplTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FloorBoardBroadcaster floorBoard;
+
+    @InjectMocks
+    private ReservationServiceImpl reservationService;
+
+    private Restaurant restaurant;
+    private RestaurantTable tableOne;
+    private RestaurantTable tableTwo;
+    private LocalDateTime eightPm;
+
+    private static final Long OWNER_ID = 7L;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setId(OWNER_ID);
+        restaurant = new Restaurant();
+        restaurant.setId(1L);
+        restaurant.setOwner(owner);
+        restaurant.setIsActive(true);
+        restaurant.setOpeningTime(LocalTime.of(12, 0));
+        restaurant.setClosingTime(LocalTime.of(23, 0));
+
+        tableOne = new RestaurantTable(1, 4, restaurant);
+        tableOne.setId(10L);
+        tableTwo = new RestaurantTable(2, 6, restaurant);
+        tableTwo.setId(20L);
+
+        eightPm = LocalDate.now().plusDays(1).atTime(20, 0);
+
+        // Índice sin cargar: los conflictos del lote se resuelven con la consulta a base de datos
+        ReflectionTestUtils.setField(reservationService, "availabilityIndex",
+                                     new TableAvailabilityIndex(reservationRepository, null, true));
+        ReflectionTestUtils.setField(reservationService, "bookingLock",
+                                     new TableBookingLock(null, new DatabasePlatform(null), 16));
+    }
+
+    @Test
+    void findAvailability_BookedTable_ExcludesConflictingSlots() {
+        // Given
+        Reservation booked = new Reservation();
+        booked.setTable(tableOne);
+        booked.setReservationDate(eightPm);
+        booked.setStatus(ReservationStatus.CONFIRMED);
+
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        when(restaurantTableRepository.findByRestaurantIdAndCapacityGreaterThanEqual(1L, 4))
+            .thenReturn(List.of(tableTwo, tableOne));
+        when(reservationRepository.findByRestaurantIdAndReservationDateBetweenAndStatusNotOrderByReservationDateAsc(
+                eq(1L), any(), any(), eq(ReservationStatus.CANCELLED)))
+            .thenReturn(List.of(booked));
+
+        // When
+        RestaurantAvailabilityDto availability =
+            reservationService.findAvailability(1L, 4, eightPm.minusHours(1), eightPm.plusHours(2), 30);
+
+        // Then
+        assertEquals(2, availability.getTables().size());
+        RestaurantAvailabilityDto.TableSlots first = availability.getTables().get(0);
+        assertEquals(1, first.getTableNumber());
+        assertEquals(List.of(eightPm.plusMinutes(90), eightPm.plusHours(2)), first.getFreeSlots());
+        assertEquals(7, availability.getTables().get(1).getFreeSlots().size());
+    }
+
+    @Test
+    void findAvailability_OutsideOpeningHoursAndOutOfService_ReturnsNoTables() {
+        // Given
+        tableTwo.setStatus(TableStatus.OUT_OF_SERVICE);
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        when(restaurantTableRepository.findByRestaurantIdAndCapacityGreaterThanEqual(1L, 6))
+            .thenReturn(List.of(tableTwo));
+
+        // When
+        RestaurantAvailabilityDto availability =
+            reservationService.findAvailability(1L, 6, eightPm, eightPm.plusHours(1), 30);
+
+        // Then
+        assertTrue(availability.getTables().isEmpty());
+    }
+
+    @Test
+    void findAvailability_WindowTooLarge_ThrowsException() {
+        // When & Then
+        assertThrows(RuntimeException.class,
+            () -> reservationService.findAvailability(1L, 2, eightPm, eightPm.plusDays(8), 30));
+        verify(restaurantRepository, never()).findById(any());
+    }
+
+    @Test
+    void findByRestaurant_WithStatus_FiltersInDatabase() {
+        // Given
+        Reservation confirmed = reservationAt(eightPm, 5L);
+        when(reservationRepository.findByRestaurantIdAndStatusOrderByReservationDateAsc(1L, ReservationStatus.CONFIRMED))
+            .thenReturn(List.of(confirmed));
+
+        // When
+        List<Reservation> reservations = reservationService.findByRestaurant(1L, "confirmed");
+
+        // Then
+        assertEquals(List.of(confirmed), reservations);
+        verify(reservationRepository, never()).findByStatusOrderByReservationDateAsc(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findByRestaurant_WithCursor_ReturnsNextCursorFromLastRow() {
+        // Given
+        Reservation first = reservationAt(eightPm, 7L);
+        Reservation second = reservationAt(eightPm.plusHours(1), 9L);
+        when(reservationRepository.findBy(any(Specification.class), any(Function.class)))
+            .thenReturn(Window.from(List.of(first, second), index -> ScrollPosition.offset(index), true));
+
+        // When
+        CursorSliceDto<Reservation> slice = reservationService.findByRestaurant(1L, null, "", 2);
+
+        // Then
+        assertEquals(2, slice.getContent().size());
+        assertTrue(slice.isHasNext());
+        assertArrayEquals(new String[] { eightPm.plusHours(1).toString(), "9" },
+                          KeysetCursor.decode(slice.getNextCursor(), 2));
+    }
+
+    @Test
+    void findByRestaurant_InvalidCursor_ThrowsException() {
+        // When & Then
+        assertThrows(RuntimeException.class,
+            () -> reservationService.findByRestaurant(1L, null, "no-es-un-cursor", 20));
+    }
+
+    @Test
+    void createReservations_MixedBatch_CreatesValidAndReportsEachRejection() {
+        // Given
+        User customer = new User();
+        customer.setId(3L);
+        when(restaurantRepository.findAllById(anyList())).thenReturn(List.of(restaurant));
+        when(userRepository.findAllById(anyList())).thenReturn(List.of(customer));
+        when(restaurantTableRepository.findAllById(anyList())).thenReturn(List.of(tableOne, tableTwo));
+        when(restaurantTableRepository.findTableIdsWithStatusNot(any(), eq(TableStatus.OUT_OF_SERVICE)))
+            .thenReturn(List.of(10L, 20L));
+        when(reservationRepository.findBookedSlots(any(), any(), any(), eq(ReservationStatus.CANCELLED)))
+            .thenReturn(List.of(bookedSlot(10L, eightPm)));
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Reservation> reservations = invocation.getArgument(0);
+            long id = 100;
+            for (Reservation reservation : reservations) {
+                reservation.setId(id++);
+            }
+            return reservations;
+        });
+
+        List<ReservationController.CreateReservationRequest> requests = List.of(
+            request(3L, 20L, eightPm, 4),                  // creada
+            request(3L, 10L, eightPm.plusMinutes(30), 2),  // conflicto con reserva existente
+            request(3L, 20L, eightPm.plusMinutes(45), 2),  // conflicto con la primera del lote
+            request(3L, 99L, eightPm, 2),                  // mesa inexistente
+            request(3L, 10L, eightPm.minusDays(2), 2),     // fecha pasada
+            request(3L, 10L, eightPm.plusHours(2), 8),     // excede la capacidad
+            request(3L, 10L, eightPm.plusHours(2), 2));    // creada
+
+        // When
+        ReservationBatchResultDto result = reservationService.createReservations(OWNER_ID, requests);
+
+        // Then
+        assertEquals(7, result.getRequested());
+        assertEquals(2, result.getCreated());
+        assertEquals(5, result.getRejected());
+        assertEquals(100L, result.getItems().get(0).getReservationId());
+        assertEquals(101L, result.getItems().get(6).getReservationId());
+        assertTrue(result.getItems().get(1).getError().contains("no está disponible"));
+        assertTrue(result.getItems().get(2).getError().contains("no está disponible"));
+        assertEquals("Mesa no encontrada", result.getItems().get(3).getError());
+        assertFalse(result.getItems().get(4).isCreated());
+        assertNull(result.getItems().get(5).getReservationId());
+        verify(reservationRepository).findBookedSlots(any(), any(), any(), eq(ReservationStatus.CANCELLED));
+    }
+
+    @Test
+    void createReservations_EmptyOrOversizedBatch_ThrowsException() {
+        // Given
+        List<ReservationController.CreateReservationRequest> oversized = Collections.nCopies(
+            ReservationServiceImpl.MAX_BATCH_SIZE + 1, request(3L, 10L, eightPm, 2));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> reservationService.createReservations(OWNER_ID, List.of()));
+        assertThrows(RuntimeException.class, () -> reservationService.createReservations(OWNER_ID, oversized));
+        verify(reservationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void createReservations_RestaurantOfAnotherOwner_RejectsEveryItem() {
+        // Given
+        User customer = new User();
+        customer.setId(3L);
+        when(restaurantRepository.findAllById(anyList())).thenReturn(List.of(restaurant));
+        when(userRepository.findAllById(anyList())).thenReturn(List.of(customer));
+        when(restaurantTableRepository.findAllById(anyList())).thenReturn(List.of(tableOne));
+
+        // When
+        ReservationBatchResultDto result = reservationService.createReservations(
+            99L, List.of(request(3L, 10L, eightPm, 2)));
+
+        // Then
+        assertEquals(0, result.getCreated());
+        assertEquals("El restaurante no pertenece al propietario autenticado", result.getItems().get(0).getError());
+        verify(reservationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void createReservations_IndexReady_StillChecksConflictsInDatabase() {
+        // Given: el índice listo y vacío no ve la reserva que otra instancia ya confirmó
+        TableAvailabilityIndex readyIndex = new TableAvailabilityIndex(reservationRepository, null, true);
+        readyIndex.load(List.of());
+        ReflectionTestUtils.setField(reservationService, "availabilityIndex", readyIndex);
+        User customer = new User();
+        customer.setId(3L);
+        when(restaurantRepository.findAllById(anyList())).thenReturn(List.of(restaurant));
+        when(userRepository.findAllById(anyList())).thenReturn(List.of(customer));
+        when(restaurantTableRepository.findAllById(anyList())).thenReturn(List.of(tableOne));
+        when(restaurantTableRepository.findTableIdsWithStatusNot(any(), eq(TableStatus.OUT_OF_SERVICE)))
+            .thenReturn(List.of(10L));
+        when(reservationRepository.findBookedSlots(any(), any(), any(), eq(ReservationStatus.CANCELLED)))
+            .thenReturn(List.of(bookedSlot(10L, eightPm)));
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ReservationBatchResultDto result = reservationService.createReservations(
+            OWNER_ID, List.of(request(3L, 10L, eightPm.plusMinutes(15), 2)));
+
+        // Then
+        assertEquals(0, result.getCreated());
+        assertTrue(result.getItems().get(0).getError().contains("no está disponible"));
+    }
+
+    @Test
+    void createReservations_TableRetiredByLayoutChange_RejectsItem() {
+        // Given: la mesa se cargó en servicio, pero un cambio de plano la retiró antes de tomar el lock
+        User customer = new User();
+        customer.setId(3L);
+        when(restaurantRepository.findAllById(anyList())).thenReturn(List.of(restaurant));
+        when(userRepository.findAllById(anyList())).thenReturn(List.of(customer));
+        when(restaurantTableRepository.findAllById(anyList())).thenReturn(List.of(tableOne, tableTwo));
+        when(restaurantTableRepository.findTableIdsWithStatusNot(any(), eq(TableStatus.OUT_OF_SERVICE)))
+            .thenReturn(List.of(20L));
+        when(reservationRepository.findBookedSlots(any(), any(), any(), eq(ReservationStatus.CANCELLED)))
+            .thenReturn(List.of());
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ReservationBatchResultDto result = reservationService.createReservations(
+            OWNER_ID, List.of(request(3L, 10L, eightPm, 2), request(3L, 20L, eightPm, 2)));
+
+        // Then
+        assertEquals(1, result.getCreated());
+        assertEquals("La mesa ya no está disponible para reservas", result.getItems().get(0).getError());
+        assertTrue(result.getItems().get(1).isCreated());
+    }
+
+    @Test
+    void confirmReservation_CancelledBySweepMeanwhile_RejectedWithoutOverwriting() {
+        // Given: la carga bloqueada ve el estado que dejó el barrido de pendientes
+        Reservation swept = reservationAt(eightPm, 5L);
+        swept.setStatus(ReservationStatus.CANCELLED);
+        when(reservationRepository.findLockedById(5L)).thenReturn(Optional.of(swept));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> reservationService.confirmReservation(5L));
+        verify(reservationRepository, never()).findById(any());
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    void checkInReservation_MarkedNoShowMeanwhile_RejectedWithoutOverwriting() {
+        // Given: la carga bloqueada ve el NO_SHOW que dejó NoShowSweeper
+        Reservation swept = reservationAt(LocalDateTime.now(), 5L);
+        swept.setStatus(ReservationStatus.NO_SHOW);
+        when(reservationRepository.findLockedById(5L)).thenReturn(Optional.of(swept));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> reservationService.checkInReservation(5L));
+        verify(reservationRepository, never()).save(any());
+    }
+
+    private ReservationController.CreateReservationRequest request(Long userId, Long tableId,
+                                                                   LocalDateTime dateTime, int people) {
+        ReservationController.CreateReservationRequest request = new ReservationController.CreateReservationRequest();
+        request.setUserId(userId);
+        request.setRestaurantId(1L);
+        request.setTableId(tableId);
+        request.setReservationDateTime(dateTime);
+        request.setNumberOfPeople(people);
+        return request;
+    }
+
+    private ReservationRepository.BookedSlot bookedSlot(Long tableId, LocalDateTime dateTime) {
+        return new ReservationRepository.BookedSlot() {
+            @Override
+            public Long getTableId() {
+                return tableId;
+            }
+
+            @Override
+            public LocalDateTime getReservationDate() {
+                return dateTime;
+            }
+        };
+    }
+
+    private Reservation reservationAt(LocalDateTime dateTime, Long id) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setTable(tableOne);
+        reservation.setReservationDate(dateTime);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        return reservation;
+    }
+}
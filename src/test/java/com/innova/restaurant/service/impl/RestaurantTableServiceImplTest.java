@@ -0,0 +1,254 @@
+package com.innova.restaurant.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.innova.restaurant.controller.RestaurantTableController.CreateTableRequest;
+import com.innova.restaurant.controller.RestaurantTableController.TableLayoutRequest;
+import com.innova.restaurant.dto.TableLayoutResultDto;
+import com.innova.restaurant.exception.ResourceNotFoundException;
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.model.enums.TableStatus;
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+import com.innova.restaurant.repository.jpa.ReservationRepository;
+import com.innova.restaurant.repository.jpa.RestaurantRepository;
+import com.innova.restaurant.repository.jpa.RestaurantTableRepository;
+import com.innova.restaurant.repository.jpa.RestaurantTableRepository.TablesVersion;
+import com.innova.restaurant.service.availability.TableBookingLock;
+import com.innova.restaurant.service.conditional.ResourceVersion;
+import com.innova.restaurant.service.cache.RestaurantCache;
+import com.innova.restaurant.service.floor.FloorBoardBroadcaster;
+
+/**
+ * Tests unitarios para RestaurantTableServiceImpl
+ * Valida la comparación del plano de mesas con las mesas actuales y la versión de la lista de mesas
+ */
+@ExtendWith(MockitoExtension.class)
+class RestaurantTableServiceImplTest {
+
+    @Mock
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private RestaurantCache restaurantCache;
+
+    @Mock
+    private FloorBoardBroadcaster floorBoard;
+
+    @InjectMocks
+    private RestaurantTableServiceImpl restaurantTableService;
+
+    private Restaurant restaurant;
+    private List<RestaurantTable> current;
+
+    private static final Long OWNER_ID = 7L;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setId(OWNER_ID);
+        restaurant = new Restaurant();
+        restaurant.setId(1L);
+        restaurant.setOwner(owner);
+        ReflectionTestUtils.setField(restaurantTableService, "bookingLock",
+                                     new TableBookingLock(null, new DatabasePlatform(null), 16));
+
+        current = new ArrayList<>();
+        current.add(table(10L, 1, 4));
+        current.add(table(20L, 2, 2));
+        current.add(table(30L, 3, 6));
+        current.add(table(40L, 4, 2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaceLayout_DiffAgainstCurrent_InsertsUpdatesAndDeletes() {
+        // Given
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        when(restaurantTableRepository.findByRestaurantIdOrderByTableNumberAsc(1L)).thenReturn(current);
+        when(reservationRepository.findTableIdsBookedAfter(anyList(), any(), eq(ReservationStatus.CANCELLED)))
+            .thenReturn(List.of());
+        when(reservationRepository.findTableIdsWithReservations(anyList())).thenReturn(List.of(30L));
+
+        TableLayoutRequest request = layout(entry(1, 4), entry(2, 4), entry(5, 8), entry(6, 2));
+
+        // When
+        TableLayoutResultDto result = restaurantTableService.replaceLayout(1L, OWNER_ID, false, request);
+
+        // Then
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(1, result.getDeleted());
+        assertEquals(1, result.getRetired());
+        assertEquals(4, current.get(1).getCapacity());
+        assertEquals(TableStatus.OUT_OF_SERVICE, current.get(2).getStatus());
+
+        ArgumentCaptor<List<RestaurantTable>> saved = ArgumentCaptor.forClass(List.class);
+        verify(restaurantTableRepository).saveAll(saved.capture());
+        assertEquals(List.of(5, 6), saved.getValue().stream().map(RestaurantTable::getTableNumber).toList());
+        verify(restaurantTableRepository).deleteAllInBatch(List.of(current.get(3)));
+        verify(reservationRepository, times(1)).findTableIdsWithReservations(anyList());
+        verify(restaurantCache).evictTables(1L);
+
+        ArgumentCaptor<List<RestaurantTable>> board = ArgumentCaptor.forClass(List.class);
+        verify(floorBoard).layoutReplaced(eq(1L), board.capture());
+        assertEquals(List.of(1, 2, 3, 5, 6), board.getValue().stream().map(RestaurantTable::getTableNumber).toList());
+    }
+
+    @Test
+    void replaceLayout_RemovedTableWithPendingReservations_ThrowsException() {
+        // Given
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        when(restaurantTableRepository.findByRestaurantIdOrderByTableNumberAsc(1L)).thenReturn(current);
+        when(reservationRepository.findTableIdsBookedAfter(anyList(), any(), eq(ReservationStatus.CANCELLED)))
+            .thenReturn(List.of(40L));
+
+        TableLayoutRequest request = layout(entry(1, 4), entry(2, 2), entry(3, 6));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> restaurantTableService.replaceLayout(1L, OWNER_ID, false, request));
+        assertEquals("No se pueden retirar mesas con reservas pendientes: [4]", exception.getMessage());
+        verify(restaurantTableRepository, never()).saveAll(anyList());
+        verify(restaurantTableRepository, never()).deleteAllInBatch(anyList());
+    }
+
+    @Test
+    void replaceLayout_RestaurantOfAnotherOwner_AccessDeniedWithoutChanges() {
+        // Given
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        TableLayoutRequest request = layout(entry(1, 4));
+
+        // When & Then
+        assertThrows(AccessDeniedException.class,
+            () -> restaurantTableService.replaceLayout(1L, 99L, false, request));
+        verify(restaurantTableRepository, never()).findByRestaurantIdOrderByTableNumberAsc(any());
+        verify(restaurantTableRepository, never()).deleteAllInBatch(anyList());
+    }
+
+    @Test
+    void replaceLayout_Admin_AllowedOnAnyRestaurant() {
+        // Given
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        when(restaurantTableRepository.findByRestaurantIdOrderByTableNumberAsc(1L)).thenReturn(current);
+
+        TableLayoutRequest request = layout(entry(1, 4), entry(2, 2), entry(3, 6), entry(4, 2));
+
+        // When
+        TableLayoutResultDto result = restaurantTableService.replaceLayout(1L, 99L, true, request);
+
+        // Then
+        assertEquals(4, result.getUnchanged());
+    }
+
+    @Test
+    void replaceLayout_RepeatedTableNumber_ThrowsBeforeReading() {
+        // Given
+        TableLayoutRequest request = layout(entry(1, 4), entry(1, 2));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> restaurantTableService.replaceLayout(1L, OWNER_ID, false, request));
+        verify(restaurantRepository, never()).findById(any());
+    }
+
+    @Test
+    void getTablesVersion_FromAggregate_ChangesWithCountAndLastUpdate() {
+        // Given
+        LocalDateTime noon = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(restaurantTableRepository.findTablesVersion(1L)).thenReturn(
+            Optional.of(new Summary(noon, 4L, noon)),
+            Optional.of(new Summary(noon, 3L, noon)),
+            Optional.of(new Summary(noon, 4L, noon.plusMinutes(1))));
+
+        // When
+        ResourceVersion original = restaurantTableService.getTablesVersion(1L);
+        ResourceVersion afterDelete = restaurantTableService.getTablesVersion(1L);
+        ResourceVersion afterUpdate = restaurantTableService.getTablesVersion(1L);
+
+        // Then: sin cargar la lista de mesas
+        assertNotEquals(original.getEtag(), afterDelete.getEtag());
+        assertNotEquals(original.getEtag(), afterUpdate.getEtag());
+        assertEquals(-1, original.getLastModified());
+        verify(restaurantCache, never()).getTables(any(), any());
+        verify(restaurantTableRepository, never()).findByRestaurantIdOrderByTableNumberAsc(any());
+    }
+
+    @Test
+    void getTablesVersion_MissingRestaurant_ThrowsNotFound() {
+        // Given
+        when(restaurantTableRepository.findTablesVersion(9L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> restaurantTableService.getTablesVersion(9L));
+    }
+
+    private record Summary(LocalDateTime restaurantUpdatedAt, Long tableCount, LocalDateTime lastUpdated)
+            implements TablesVersion {
+
+        @Override
+        public LocalDateTime getRestaurantUpdatedAt() {
+            return restaurantUpdatedAt;
+        }
+
+        @Override
+        public Long getTableCount() {
+            return tableCount;
+        }
+
+        @Override
+        public LocalDateTime getLastUpdated() {
+            return lastUpdated;
+        }
+    }
+
+    private RestaurantTable table(Long id, int number, int capacity) {
+        RestaurantTable table = new RestaurantTable(number, capacity, restaurant);
+        table.setId(id);
+        return table;
+    }
+
+    private static CreateTableRequest entry(int number, int capacity) {
+        CreateTableRequest entry = new CreateTableRequest();
+        entry.setTableNumber(number);
+        entry.setCapacity(capacity);
+        return entry;
+    }
+
+    private static TableLayoutRequest layout(CreateTableRequest... entries) {
+        TableLayoutRequest request = new TableLayoutRequest();
+        request.setTables(List.of(entries));
+        return request;
+    }
+}
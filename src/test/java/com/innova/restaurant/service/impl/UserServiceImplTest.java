@@ -29,6 +29,7 @@ import com.innova.restaurant.exception.DuplicateResourceException;
 import com.innova.restaurant.model.entity.User;
 import com.innova.restaurant.model.enums.UserRole;
 import com.innova.restaurant.repository.document.UserDocumentRepository;
+import com.innova.restaurant.security.PrincipalCache;
 import com.innova.restaurant.repository.jpa.UserRepository;
 
 /**
@@ -52,6 +53,9 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
     
+    @Mock
+    private PrincipalCache principalCache;
+    
     @InjectMocks
     private UserServiceImpl userService;
     
@@ -0,0 +1,260 @@
+package com.innova.restaurant.service.lifecycle;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.model.enums.UserRole;
+import com.innova.restaurant.repository.jpa.ReservationRepository;
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+import com.innova.restaurant.repository.jpa.RestaurantRepository;
+import com.innova.restaurant.repository.jpa.RestaurantTableRepository;
+import com.innova.restaurant.repository.jpa.UserRepository;
+import com.innova.restaurant.service.lifecycle.ChunkedStatusSweep.SweptReservation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests de integración para ChunkedStatusSweep sobre H2
+ * Ejecuta el SELECT ... FOR UPDATE y el UPDATE por bloques contra el esquema de las entidades
+ * y comprueba que la carga bloqueada de un cambio de estado espera al barrido
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ChunkedStatusSweepTest {
+
+    private static final AtomicLong SEED = new AtomicLong();
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 5, 10, 12, 0);
+
+    @Configuration
+    @EntityScan(basePackageClasses = Reservation.class)
+    @EnableJpaRepositories(basePackageClasses = ReservationRepository.class)
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        }
+    }
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void run_StalePendingInChunks_CancelsOnlyMatchingRows() {
+        // Given
+        Seed seed = seed();
+        Long first = reservation(seed, ReservationStatus.PENDING, NOW.minusDays(3));
+        Long second = reservation(seed, ReservationStatus.PENDING, NOW.minusDays(2));
+        Long third = reservation(seed, ReservationStatus.PENDING, NOW.minusHours(30));
+        Long fresh = reservation(seed, ReservationStatus.PENDING, NOW.minusHours(1));
+        Long confirmed = reservation(seed, ReservationStatus.CONFIRMED, NOW.minusDays(3));
+        List<List<Long>> chunks = new ArrayList<>();
+
+        // When
+        int swept = sweep(2).run(NOW.minusDays(1), NOW,
+            rows -> chunks.add(rows.stream().map(SweptReservation::id).toList()));
+
+        // Then: bloques por created_at, id; el último sale incompleto y termina la ejecución
+        assertEquals(3, swept);
+        assertEquals(List.of(List.of(first, second), List.of(third)), chunks);
+        assertEquals("CANCELLED", status(first));
+        assertEquals("CANCELLED", status(third));
+        assertEquals("PENDING", status(fresh));
+        assertEquals("CONFIRMED", status(confirmed));
+        assertEquals(Timestamp.valueOf(NOW), jdbcTemplate.queryForObject(
+            "SELECT updated_at FROM reservations WHERE id = ?", Timestamp.class, second));
+    }
+
+    @Test
+    void run_GroupsSweptRowsByRestaurant() {
+        // Given
+        Seed one = seed();
+        Seed other = seed();
+        Long a = reservation(one, ReservationStatus.PENDING, NOW.minusDays(3));
+        Long b = reservation(other, ReservationStatus.PENDING, NOW.minusDays(2));
+        List<SweptReservation> swept = new ArrayList<>();
+
+        // When
+        sweep(10).run(NOW.minusDays(1), NOW, swept::addAll);
+
+        // Then
+        assertEquals(List.of(a), SweptReservation.idsByRestaurant(swept).get(one.restaurantId()));
+        assertEquals(List.of(b), SweptReservation.idsByRestaurant(swept).get(other.restaurantId()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void run_ConcurrentLockedLoad_WaitsForSweepAndSeesCancelled() throws Exception {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long id = transaction.execute(status -> reservation(seed(), ReservationStatus.PENDING, NOW.minusDays(2)));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When: el barrido tiene la fila bloqueada y un confirmar la carga para modificarla
+            Future<Integer> sweeping = executor.submit(() -> sweep(10).run(NOW.minusDays(1), NOW, rows -> {
+                locked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+            Future<ReservationStatus> confirming = executor.submit(() -> transaction.execute(
+                status -> reservationRepository.findLockedById(id).orElseThrow().getStatus()));
+            Thread.sleep(200);
+            boolean waited = !confirming.isDone();
+            release.countDown();
+
+            // Then: la carga espera al commit del barrido y ve la reserva ya cancelada
+            assertEquals(1, sweeping.get(5, TimeUnit.SECONDS));
+            assertTrue(waited);
+            assertEquals(ReservationStatus.CANCELLED, confirming.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void run_NoShowWhileCheckInHoldsRow_KeepsCheckIn() throws Exception {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long id = transaction.execute(status -> reservation(seed(), ReservationStatus.CONFIRMED, NOW.minusDays(2)));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When: el check-in tiene la fila bloqueada cuando arranca el barrido de no presentados
+            Future<?> checkIn = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                Reservation reservation = reservationRepository.findLockedById(id).orElseThrow();
+                locked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                reservation.setStatus(ReservationStatus.COMPLETED);
+                reservationRepository.saveAndFlush(reservation);
+            }));
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+            Future<Integer> sweeping = executor.submit(() -> noShowSweep().run(NOW.plusDays(2), NOW, rows -> { }));
+            Thread.sleep(200);
+            boolean waited = !sweeping.isDone();
+            release.countDown();
+
+            // Then: el barrido espera al check-in y no lo pisa con NO_SHOW
+            checkIn.get(5, TimeUnit.SECONDS);
+            sweeping.get(5, TimeUnit.SECONDS);
+            assertTrue(waited);
+            assertEquals("COMPLETED", status(id));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ChunkedStatusSweep sweep(int chunkSize) {
+        return new ChunkedStatusSweep(jdbcTemplate, new DatabasePlatform(jdbcTemplate), transactionManager,
+            new SimpleMeterRegistry(),
+            ReservationStatus.PENDING, ReservationStatus.CANCELLED, "created_at",
+            chunkSize, Duration.ofSeconds(5),
+            "test.swept", "test.sweep", "Barrido de prueba");
+    }
+
+    private ChunkedStatusSweep noShowSweep() {
+        return new ChunkedStatusSweep(jdbcTemplate, new DatabasePlatform(jdbcTemplate), transactionManager,
+            new SimpleMeterRegistry(),
+            ReservationStatus.CONFIRMED, ReservationStatus.NO_SHOW, "reservation_date",
+            10, Duration.ofSeconds(5),
+            "test.no_show", "test.no_show_sweep", "Barrido de prueba");
+    }
+
+    private Seed seed() {
+        long n = SEED.incrementAndGet();
+        User owner = userRepository.save(new User("owner" + n, "owner" + n + "@example.com", "password123",
+                                                  "Owner", "Test", UserRole.RESTAURANT_OWNER));
+        Restaurant restaurant = restaurantRepository.save(new Restaurant("Sweep " + n, "Calle 1", null, null,
+                                                                         LocalTime.MIN, LocalTime.of(23, 59), 40, owner));
+        RestaurantTable table = restaurantTableRepository.save(new RestaurantTable(1, 4, restaurant));
+        return new Seed(owner, restaurant, table);
+    }
+
+    private Long reservation(Seed seed, ReservationStatus status, LocalDateTime createdAt) {
+        Reservation reservation = new Reservation(seed.owner(), seed.restaurant(), seed.table(),
+                                                  NOW.plusDays(1), 2, null);
+        reservation.setStatus(status);
+        Long id = reservationRepository.saveAndFlush(reservation).getId();
+        // Se fija tras el alta: @PrePersist pondría la hora actual
+        jdbcTemplate.update("UPDATE reservations SET created_at = ? WHERE id = ?", Timestamp.valueOf(createdAt), id);
+        return id;
+    }
+
+    private String status(Long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM reservations WHERE id = ?", String.class, id);
+    }
+
+    private record Seed(User owner, Restaurant restaurant, RestaurantTable table) {
+
+        Long restaurantId() {
+            return restaurant.getId();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.innova.restaurant.service.lifecycle;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+import com.innova.restaurant.service.floor.FloorBoardBroadcaster;
+import com.innova.restaurant.service.lifecycle.ChunkedStatusSweep.SweptReservation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitarios para NoShowSweeper
+ * Valida el límite de check-in y la transición CONFIRMED → NO_SHOW por bloques
+ */
+class NoShowSweeperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 5, 10, 23, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private FloorBoardBroadcaster floorBoard;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        floorBoard = mock(FloorBoardBroadcaster.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void sweep_ConfirmedPastCheckInLimit_MarksNoShow() {
+        // Given
+        NoShowSweeper sweeper = new NoShowSweeper(jdbcTemplate, new DatabasePlatform(jdbcTemplate),
+                                                  mock(PlatformTransactionManager.class), floorBoard, meterRegistry, true, 120, 10, 5000);
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<SweptReservation>>any(),
+                                eq("CONFIRMED"), any(Timestamp.class), eq(10)))
+            .thenReturn(List.of(new SweptReservation(7L, 1L), new SweptReservation(8L, 1L)));
+
+        // When
+        int marked = sweeper.sweep(NOW);
+
+        // Then
+        assertEquals(2, marked);
+        verify(jdbcTemplate).query(contains("reservation_date < ? ORDER BY reservation_date, id LIMIT ? FOR UPDATE SKIP LOCKED"),
+                                   ArgumentMatchers.<RowMapper<SweptReservation>>any(),
+                                   eq("CONFIRMED"), eq(Timestamp.valueOf(NOW.minusHours(2))), eq(10));
+        verify(jdbcTemplate).update(anyString(), eq("NO_SHOW"), eq(Timestamp.valueOf(NOW)), eq("CONFIRMED"), eq(7L), eq(8L));
+        verify(floorBoard).reservationsStatusChanged(1L, ReservationStatus.NO_SHOW, List.of(7L, 8L));
+        assertEquals(2.0, meterRegistry.get("reservations.noshow.marked").counter().count());
+        assertEquals(0.0, meterRegistry.get("reservations.noshow.sweep.lag").gauge().value());
+    }
+
+    @Test
+    void constructor_GraceShorterThanCheckInLimit_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new NoShowSweeper(jdbcTemplate, new DatabasePlatform(jdbcTemplate),
+                                    mock(PlatformTransactionManager.class), floorBoard, meterRegistry, true, 60, 10, 5000));
+    }
+}
@@ -0,0 +1,132 @@
+package com.innova.restaurant.service.lifecycle;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.innova.restaurant.model.entity.Reservation;
+import com.innova.restaurant.model.entity.RestaurantTable;
+import com.innova.restaurant.model.enums.ReservationStatus;
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+import com.innova.restaurant.service.availability.TableAvailabilityIndex;
+import com.innova.restaurant.service.floor.FloorBoardBroadcaster;
+import com.innova.restaurant.service.lifecycle.ChunkedStatusSweep.SweptReservation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitarios para PendingReservationExpiry
+ * Valida el barrido por bloques y la liberación de franjas en el índice
+ */
+class PendingReservationExpiryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 5, 10, 12, 0);
+    private static final LocalDateTime EIGHT_PM = LocalDateTime.of(2030, 5, 12, 20, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private TableAvailabilityIndex availabilityIndex;
+    private FloorBoardBroadcaster floorBoard;
+    private SimpleMeterRegistry meterRegistry;
+    private PendingReservationExpiry expiry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+        availabilityIndex = new TableAvailabilityIndex(null, null, true);
+        availabilityIndex.load(List.of());
+        floorBoard = mock(FloorBoardBroadcaster.class);
+        meterRegistry = new SimpleMeterRegistry();
+        expiry = new PendingReservationExpiry(jdbcTemplate, new DatabasePlatform(jdbcTemplate),
+                                              mock(PlatformTransactionManager.class),
+                                              availabilityIndex, floorBoard, meterRegistry, true, 60, 2, 5000);
+    }
+
+    @Test
+    void expire_ChunksUntilShortChunk_CancelsAndReleasesSlots() {
+        // Given
+        availabilityIndex.track(reservation(1L, 10L));
+        availabilityIndex.track(reservation(2L, 11L));
+        availabilityIndex.track(reservation(3L, 12L));
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<SweptReservation>>any(),
+                                eq("PENDING"), any(Timestamp.class), eq(2)))
+            .thenReturn(List.of(new SweptReservation(1L, 5L), new SweptReservation(2L, 6L)),
+                        List.of(new SweptReservation(3L, 5L)));
+
+        // When
+        int expired = expiry.expire(NOW);
+
+        // Then
+        assertEquals(3, expired);
+        verify(jdbcTemplate, times(2)).query(anyString(), ArgumentMatchers.<RowMapper<SweptReservation>>any(),
+                                             eq("PENDING"), eq(Timestamp.valueOf(NOW.minusHours(1))), eq(2));
+        verify(jdbcTemplate).update(anyString(), eq("CANCELLED"), any(Timestamp.class), eq("PENDING"), eq(1L), eq(2L));
+        verify(jdbcTemplate).update(anyString(), eq("CANCELLED"), any(Timestamp.class), eq("PENDING"), eq(3L));
+        assertFalse(availabilityIndex.hasConflict(10L, EIGHT_PM, null));
+        assertFalse(availabilityIndex.hasConflict(12L, EIGHT_PM, null));
+        verify(floorBoard).reservationsStatusChanged(5L, ReservationStatus.CANCELLED, List.of(1L));
+        verify(floorBoard).reservationsStatusChanged(6L, ReservationStatus.CANCELLED, List.of(2L));
+        verify(floorBoard).reservationsStatusChanged(5L, ReservationStatus.CANCELLED, List.of(3L));
+        assertEquals(3.0, meterRegistry.get("reservations.pending.expired").counter().count());
+        assertEquals(0.0, meterRegistry.get("reservations.pending.expiry.lag").gauge().value());
+    }
+
+    @Test
+    void expire_NothingStale_DoesNotUpdate() {
+        // Given
+        availabilityIndex.track(reservation(1L, 10L));
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<SweptReservation>>any(),
+                                eq("PENDING"), any(Timestamp.class), eq(2)))
+            .thenReturn(List.of());
+
+        // When
+        int expired = expiry.expire(NOW);
+
+        // Then
+        assertEquals(0, expired);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        assertTrue(availabilityIndex.hasConflict(10L, EIGHT_PM, null));
+        verifyNoInteractions(floorBoard);
+    }
+
+    @Test
+    void constructor_ChunkSizeBelowOne_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new PendingReservationExpiry(jdbcTemplate, new DatabasePlatform(jdbcTemplate),
+                                               mock(PlatformTransactionManager.class),
+                                               availabilityIndex, floorBoard, meterRegistry, true, 60, 0, 5000));
+    }
+
+    private static Reservation reservation(Long id, Long tableId) {
+        RestaurantTable table = new RestaurantTable();
+        table.setId(tableId);
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setTable(table);
+        reservation.setReservationDate(EIGHT_PM);
+        reservation.setStatus(ReservationStatus.PENDING);
+        return reservation;
+    }
+}
@@ -0,0 +1,48 @@
+package com.innova.restaurant.service.pagination;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitarios para KeysetCursor
+ * Valida la codificación de cursores opacos y la validación de tamaños de página
+ */
+class KeysetCursorTest {
+
+    @Test
+    void encodeDecode_RoundTrip_PreservesKeys() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2030, 5, 17, 20, 30);
+
+        // When
+        String cursor = KeysetCursor.encode(date, 42L);
+
+        // Then
+        assertFalse(cursor.contains("|"));
+        assertArrayEquals(new String[] { "2030-05-17T20:30", "42" }, KeysetCursor.decode(cursor, 2));
+    }
+
+    @Test
+    void decode_WrongNumberOfKeys_ThrowsException() {
+        // Given
+        String cursor = KeysetCursor.encode(42L);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode(cursor, 2));
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode("%%%", 1));
+    }
+
+    @Test
+    void validateSize_OutOfRange_ThrowsException() {
+        // When & Then
+        assertThrows(RuntimeException.class, () -> KeysetCursor.validateSize(0));
+        assertThrows(RuntimeException.class, () -> KeysetCursor.validateSize(KeysetCursor.MAX_PAGE_SIZE + 1));
+        KeysetCursor.validateSize(KeysetCursor.MAX_PAGE_SIZE);
+        assertTrue(KeysetCursor.isFirstPage(""));
+    }
+}
@@ -0,0 +1,202 @@
+package com.innova.restaurant.service.search;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.innova.restaurant.model.entity.Restaurant;
+import com.innova.restaurant.model.entity.User;
+import com.innova.restaurant.model.enums.UserRole;
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests de integración de la búsqueda LIKE de RestaurantTextSearch sobre H2
+ * Ejecuta la SQL contra el esquema generado por las entidades: orden de relevancia,
+ * filtro de activos, paginación y tope de resultados
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RestaurantTextSearchLikeTest {
+
+    @Configuration
+    @EntityScan(basePackageClasses = Restaurant.class)
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private RestaurantTextSearch textSearch;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        textSearch = new RestaurantTextSearch(jdbcTemplate, new DatabasePlatform(jdbcTemplate),
+                                              new SimpleMeterRegistry(), false, 1000, 100);
+        owner = entityManager.persist(new User("owner", "owner@example.com", "password123",
+                                               "Owner", "Test", UserRole.RESTAURANT_OWNER));
+    }
+
+    @Test
+    void search_MatchesInNameAndOtherFields_OrdersByRelevanceThenId() {
+        // Given: alta en orden inverso a la relevancia para que el ID no explique el orden
+        Long inDescription = restaurant("El Rincón", "Plaza Mayor 1", "Sushi y ramen", true);
+        Long inAddress = restaurant("Casa Pepe", "Calle Sushi 3", null, true);
+        Long substring = restaurant("Casa Sushi", "Calle Mayor 5", null, true);
+        Long prefix = restaurant("Sushi Bar", "Calle Luna 7", null, true);
+        Long exact = restaurant("SUSHI", "Calle Sol 9", null, true);
+        restaurant("Pizzería Roma", "Calle Roma 2", "Pizza al horno", true);
+        entityManager.flush();
+
+        // When
+        List<Long> ids = textSearch.search("sushi", false, 0, 20);
+
+        // Then: exacto, prefijo y subcadena del nombre; después dirección y descripción por ID
+        assertEquals(List.of(exact, prefix, substring, inDescription, inAddress), ids);
+    }
+
+    @Test
+    void search_SeveralTerms_RequiresEveryTermInAnyField() {
+        // Given
+        Long nameOnly = restaurant("Casa Sushi", "Calle Mayor 5", null, true);
+        Long nameAndAddress = restaurant("Casa Pepe", "Calle Sushi 3", null, true);
+        restaurant("Casa Roma", "Calle Roma 2", null, true);
+        entityManager.flush();
+
+        // When
+        List<Long> ids = textSearch.search("Sushi, casa", false, 0, 20);
+
+        // Then: ningún nombre coincide con la frase "sushi casa"; desempate por ID
+        assertEquals(List.of(nameOnly, nameAndAddress), ids);
+    }
+
+    @Test
+    void search_ActiveOnly_ExcludesInactiveRestaurants() {
+        // Given
+        Long active = restaurant("Tapas Sol", "Calle Sol 1", null, true);
+        Long inactive = restaurant("Tapas Luna", "Calle Luna 2", null, false);
+        entityManager.flush();
+
+        // When
+        List<Long> activeIds = textSearch.search("tapas", true, 0, 20);
+        List<Long> allIds = textSearch.search("tapas", false, 0, 20);
+
+        // Then
+        assertEquals(List.of(active), activeIds);
+        assertEquals(List.of(active, inactive), allIds);
+    }
+
+    @Test
+    void search_OffsetAndLimit_ReturnsRequestedPage() {
+        // Given
+        Long first = restaurant("Asador 1", "Calle A", null, true);
+        Long second = restaurant("Asador 2", "Calle B", null, true);
+        Long third = restaurant("Asador 3", "Calle C", null, true);
+        restaurant("Asador 4", "Calle D", null, true);
+        entityManager.flush();
+
+        // When
+        List<Long> firstPage = textSearch.search("asador", false, 0, 2);
+        List<Long> secondPage = textSearch.search("asador", false, 1, 2);
+
+        // Then
+        assertEquals(List.of(first, second), firstPage);
+        assertEquals(List.of(second, third), secondPage);
+    }
+
+    @Test
+    void search_PageCrossesMaxResults_TruncatedToMaxResults() {
+        // Given
+        RestaurantTextSearch bounded = new RestaurantTextSearch(jdbcTemplate, new DatabasePlatform(jdbcTemplate),
+                                                                new SimpleMeterRegistry(), false, 3, 100);
+        restaurant("Asador 1", "Calle A", null, true);
+        restaurant("Asador 2", "Calle B", null, true);
+        Long third = restaurant("Asador 3", "Calle C", null, true);
+        restaurant("Asador 4", "Calle D", null, true);
+        entityManager.flush();
+
+        // When
+        List<Long> lastPage = bounded.search("asador", false, 2, 10);
+        List<Long> beyond = bounded.search("asador", false, 3, 10);
+
+        // Then
+        assertEquals(List.of(third), lastPage);
+        assertTrue(beyond.isEmpty());
+    }
+
+    @Test
+    void searchName_IgnoresAddressAndDescription_OrdersByNameMatchThenId() {
+        // Given
+        restaurant("El Rincón", "Plaza Mayor 1", "Sushi y ramen", true);
+        restaurant("Casa Pepe", "Calle Sushi 3", null, true);
+        Long substring = restaurant("Casa Sushi", "Calle Mayor 5", null, true);
+        Long prefix = restaurant("Sushi Bar", "Calle Luna 7", null, true);
+        Long exact = restaurant("SUSHI", "Calle Sol 9", null, true);
+        restaurant("Sushi Cerrado", "Calle Sol 11", null, false);
+        entityManager.flush();
+
+        // When
+        List<Long> ids = textSearch.searchName("Sushi", true, 20);
+
+        // Then: solo coincidencias en el nombre de restaurantes activos
+        assertEquals(List.of(exact, prefix, substring), ids);
+    }
+
+    @Test
+    void searchName_WildcardCharacters_MatchedLiterally() {
+        // Given
+        Long literal = restaurant("Bar 100%", "Calle A", null, true);
+        restaurant("Bar 1000", "Calle B", null, true);
+        Long underscored = restaurant("Bar_1", "Calle C", null, true);
+        entityManager.flush();
+
+        // When
+        List<Long> percent = textSearch.searchName("100%", false, 20);
+        List<Long> underscore = textSearch.searchName("r_1", false, 20);
+
+        // Then: % y _ no actúan como comodines ("Bar 1000" y "Bar 100%" no encajan con "r_1")
+        assertEquals(List.of(literal), percent);
+        assertEquals(List.of(underscored), underscore);
+    }
+
+    private Long restaurant(String name, String address, String description, boolean active) {
+        Restaurant restaurant = new Restaurant(name, address, null, null,
+                                               LocalTime.of(9, 0), LocalTime.of(23, 0), 40, owner);
+        restaurant.setDescription(description);
+        restaurant.setIsActive(active);
+        return entityManager.persist(restaurant).getId();
+    }
+}
@@ -0,0 +1,115 @@
+package com.innova.restaurant.service.search;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import org.mockito.InOrder;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.innova.restaurant.repository.jpa.DatabasePlatform;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitarios para RestaurantTextSearch
+ * Valida la normalización de la consulta, los límites de paginación y la recreación
+ * de índices inválidos
+ */
+class RestaurantTextSearchTest {
+
+    @Test
+    void terms_MixedInput_LowercaseAlphanumericTerms() {
+        // When
+        List<String> terms = RestaurantTextSearch.terms("  Café-Bar  'La Ñata' & 24h | CAFÉ ");
+
+        // Then
+        assertEquals(List.of("café", "bar", "la", "ñata", "24h"), terms);
+    }
+
+    @Test
+    void terms_TooManyTerms_KeepsFirstMaxTerms() {
+        // When
+        List<String> terms = RestaurantTextSearch.terms("a b c d e f g h i j");
+
+        // Then
+        assertEquals(RestaurantTextSearch.MAX_TERMS, terms.size());
+        assertEquals("a", terms.get(0));
+    }
+
+    @Test
+    void search_NoTermsOrBeyondMaxResults_DoesNotQuery() {
+        // Given
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        RestaurantTextSearch search = new RestaurantTextSearch(jdbcTemplate, new DatabasePlatform(null),
+                                                               new SimpleMeterRegistry(), false, 100, 100);
+
+        // When
+        List<Long> empty = search.search(" -*- ", true, 0, 20);
+        List<Long> tooDeep = search.search("pizza", true, 100, 20);
+
+        // Then
+        assertTrue(empty.isEmpty());
+        assertTrue(tooDeep.isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void ensureIndexes_InvalidIndexLeftByFailedBuild_DropsAndRecreates() {
+        // Given
+        JdbcTemplate jdbcTemplate = postgres();
+        when(jdbcTemplate.queryForList(startsWith("SELECT indisvalid"), eq(Boolean.class), eq("idx_restaurant_search")))
+            .thenReturn(List.of(false));
+        RestaurantTextSearch search = new RestaurantTextSearch(jdbcTemplate, new DatabasePlatform(jdbcTemplate),
+                                                               new SimpleMeterRegistry(), true, 100, 100);
+
+        // When
+        search.ensureIndexes();
+
+        // Then
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_restaurant_search");
+        order.verify(jdbcTemplate).execute(startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restaurant_search"));
+        verify(jdbcTemplate, never()).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_restaurant_name_trgm");
+        verify(jdbcTemplate).execute(startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restaurant_name_trgm"));
+    }
+
+    @Test
+    void ensureIndexes_CreationFails_DropsInvalidLeftover() {
+        // Given: el índice queda inválido tras el fallo de la creación concurrente
+        JdbcTemplate jdbcTemplate = postgres();
+        when(jdbcTemplate.queryForList(startsWith("SELECT indisvalid"), eq(Boolean.class), eq("idx_restaurant_search")))
+            .thenReturn(List.of(), List.of(false));
+        doThrow(new DataAccessResourceFailureException("deadlock detected"))
+            .when(jdbcTemplate).execute(startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restaurant_search"));
+        RestaurantTextSearch search = new RestaurantTextSearch(jdbcTemplate, new DatabasePlatform(jdbcTemplate),
+                                                               new SimpleMeterRegistry(), true, 100, 100);
+
+        // When
+        search.ensureIndexes();
+
+        // Then: se elimina y el índice trigram se crea igualmente
+        verify(jdbcTemplate).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_restaurant_search");
+        verify(jdbcTemplate).execute(startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restaurant_name_trgm"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JdbcTemplate postgres() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        return jdbcTemplate;
+    }
+}
@@ -0,0 +1,90 @@
+package com.innova.restaurant.service.search;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests unitarios para SuggestTrie
+ * Valida el autocompletado por prefijo, la consulta con varios términos y las actualizaciones
+ */
+class SuggestTrieTest {
+
+    private SuggestTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestTrie();
+        trie.put(1L, "Pizzería Napoli", "Calle Mayor 10");
+        trie.put(2L, "Pizza Express", "Avenida del Sol 5");
+        trie.put(3L, "Café Central", "Plaza Mayor 1");
+        trie.put(4L, "Sushi Bar", "Calle Luna 22");
+    }
+
+    @Test
+    void suggest_Prefix_AlphabeticalCompletionsAccentInsensitive() {
+        // When
+        List<SuggestTrie.Suggestion> suggestions = trie.suggest("PIZZ", 10);
+
+        // Then
+        assertEquals(List.of(2L, 1L), ids(suggestions));
+        assertEquals("Pizzería Napoli", suggestions.get(1).name());
+        assertEquals(List.of(3L), ids(trie.suggest("cafe", 10)));
+    }
+
+    @Test
+    void suggest_SeveralTerms_MatchesEveryTermInNameOrAddress() {
+        // When & Then
+        assertEquals(List.of(1L), ids(trie.suggest("pizz calle", 10)));
+        assertEquals(List.of(1L, 3L), ids(trie.suggest("mayor", 10)));
+        assertTrue(trie.suggest("sushi mayor", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_Limit_StopsEarly() {
+        // When & Then
+        assertEquals(1, trie.suggest("p", 1).size());
+        assertTrue(trie.suggest("", 10).isEmpty());
+        assertTrue(trie.suggest("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void putAndRemove_UpdatesSuggestions() {
+        // When
+        trie.put(2L, "Trattoria Roma", "Avenida del Sol 5");
+        trie.remove(4L);
+
+        // Then
+        assertEquals(List.of(1L), ids(trie.suggest("pizz", 10)));
+        assertEquals(List.of(2L), ids(trie.suggest("tratt", 10)));
+        assertTrue(trie.suggest("sushi", 10).isEmpty());
+        assertEquals(3, trie.size());
+        assertTrue(trie.deadRatio() > 0);
+    }
+
+    @Test
+    void put_ManyDocuments_GrowsAndKeepsIdLookup() {
+        // Given
+        for (long id = 100; id < 5_100; id++) {
+            trie.put(id, "Restaurante " + id, "Calle " + (id % 50));
+        }
+
+        // When
+        for (long id = 100; id < 5_100; id += 2) {
+            trie.remove(id);
+        }
+
+        // Then
+        assertEquals(List.of(101L), ids(trie.suggest("restaurante 101", 1)));
+        assertTrue(trie.suggest("restaurante 100", 10).stream().noneMatch(s -> s.id() == 100L));
+        assertEquals(3 + 2_500, trie.size());
+        assertTrue(trie.estimatedBytes() > 0);
+    }
+
+    private static List<Long> ids(List<SuggestTrie.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestTrie.Suggestion::id).toList();
+    }
+}